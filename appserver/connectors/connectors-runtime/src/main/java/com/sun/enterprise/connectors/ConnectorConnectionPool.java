@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2025 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -93,6 +93,10 @@ public class ConnectorConnectionPool implements Serializable {
     //This property will be set by ConnectorConnectionPoolDeployer or
     //JdbcConnectionPoolDeployer.
     private boolean preferValidateOverRecreate;
+    //Set by the "background-validation-interval-in-seconds" and
+    //"background-validation-idle-threshold-in-seconds" properties, in millis.
+    private long backgroundValidationInterval;
+    private long backgroundValidationIdleThreshold;
 
     private String validateAtmostOncePeriod;
 
@@ -644,6 +648,10 @@ public class ConnectorConnectionPool implements Serializable {
             sb.append(isConnectionValidationRequired);
             sb.append("\npreferValidateOverRecreate ");
             sb.append(preferValidateOverRecreate);
+            sb.append("\nbackgroundValidationInterval ");
+            sb.append(backgroundValidationInterval);
+            sb.append("\nbackgroundValidationIdleThreshold ");
+            sb.append(backgroundValidationIdleThreshold);
 
             sb.append("\nmatchConnections ");
             sb.append(matchConnections);
@@ -764,6 +772,30 @@ public class ConnectorConnectionPool implements Serializable {
         this.preferValidateOverRecreate = preferValidateOverRecreate;
     }
 
+    /**
+     * @return interval of the background validation of idle connections in millis, 0 if disabled.
+     */
+    public long getBackgroundValidationInterval() {
+        return backgroundValidationInterval;
+    }
+
+    public void setBackgroundValidationInterval(long backgroundValidationInterval) {
+        this.backgroundValidationInterval = backgroundValidationInterval;
+    }
+
+    /**
+     * @return time in millis a connection has to be idle to be validated when it is taken from
+     *         the pool while the background validation is enabled, 0 to use the background
+     *         validation interval.
+     */
+    public long getBackgroundValidationIdleThreshold() {
+        return backgroundValidationIdleThreshold;
+    }
+
+    public void setBackgroundValidationIdleThreshold(long backgroundValidationIdleThreshold) {
+        this.backgroundValidationIdleThreshold = backgroundValidationIdleThreshold;
+    }
+
     public long getDynamicReconfigWaitTimeout() {
         return dynamicReconfigWaitTimeout;
     }
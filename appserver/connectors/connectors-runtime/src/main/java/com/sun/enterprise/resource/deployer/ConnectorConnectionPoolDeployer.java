@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -445,11 +445,24 @@ public class ConnectorConnectionPoolDeployer
                                 value);
                     }
                     ccp.setPreferValidateOverRecreate(toBoolean(value, false));
+                } else if ("BACKGROUND-VALIDATION-INTERVAL-IN-SECONDS".equals(ep.getName().toUpperCase(locale))) {
+                    ccp.setBackgroundValidationInterval(toMillis(ep.getName(), ep.getValue()));
+                } else if ("BACKGROUND-VALIDATION-IDLE-THRESHOLD-IN-SECONDS".equals(ep.getName().toUpperCase(locale))) {
+                    ccp.setBackgroundValidationIdleThreshold(toMillis(ep.getName(), ep.getValue()));
                 }
             }
         }
     }
 
+    private long toMillis(String name, String seconds) {
+        try {
+            return Long.parseLong(seconds) * 1000L;
+        } catch (NumberFormatException e) {
+            LOG.log(Level.WARNING, "Invalid value for ''{0}'': {1}", new Object[] {name, seconds});
+            return 0;
+        }
+    }
+
     private boolean toBoolean(Object prop, boolean defaultVal) {
         if (prop == null) {
             return defaultVal;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2025 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -25,6 +25,7 @@ import com.sun.enterprise.resource.allocator.ResourceAllocator;
 import com.sun.enterprise.resource.pool.datastructure.DataStructureFactory;
 import com.sun.enterprise.resource.pool.datastructure.ListDataStructure;
 import com.sun.enterprise.resource.pool.resizer.AssocWithThreadPoolResizer;
+import com.sun.enterprise.resource.pool.resizer.BackgroundValidator;
 import com.sun.enterprise.resource.pool.resizer.Resizer;
 
 import java.util.Hashtable;
@@ -131,6 +132,14 @@ public class AssocWithThreadResourcePool extends ConnectionPool {
         return new AssocWithThreadPoolResizer(poolInfo, dataStructure, this, this, preferValidateOverRecreate);
     }
 
+    /**
+     * Free resources may stay associated with a thread, they are validated by the resizer.
+     */
+    @Override
+    protected BackgroundValidator initializeBackgroundValidator() {
+        return null;
+    }
+
     /**
      * check whether the resource is unused
      *
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2025 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -27,6 +27,7 @@ import com.sun.enterprise.resource.allocator.ResourceAllocator;
 import com.sun.enterprise.resource.listener.PoolLifeCycleListener;
 import com.sun.enterprise.resource.pool.datastructure.DataStructure;
 import com.sun.enterprise.resource.pool.datastructure.DataStructureFactory;
+import com.sun.enterprise.resource.pool.resizer.BackgroundValidator;
 import com.sun.enterprise.resource.pool.resizer.Resizer;
 import com.sun.enterprise.resource.pool.waitqueue.PoolWaitQueue;
 import com.sun.enterprise.resource.pool.waitqueue.PoolWaitQueueFactory;
@@ -140,6 +141,22 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
      */
     protected boolean preferValidateOverRecreate;
 
+    /**
+     * Represents the "background-validation-interval-in-seconds" property configuration value, but in millis.<br>
+     * If greater than zero and {@link #connectionValidationRequired} is true, free connections are validated by a
+     * background task in this interval, and a connection is validated when it is taken from the pool only if it was
+     * neither used nor validated for {@link #backgroundValidationIdleThreshold}.<br>
+     * Default: 0 (disabled)
+     */
+    protected long backgroundValidationInterval;
+
+    /**
+     * Represents the "background-validation-idle-threshold-in-seconds" property configuration value, but in millis.<br>
+     * Used only when the background validation is enabled.<br>
+     * Default: {@link #backgroundValidationInterval}
+     */
+    protected long backgroundValidationIdleThreshold;
+
     /**
      * True if the pool is initialized
      */
@@ -155,6 +172,11 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
      */
     protected Timer resizerTaskTimer;
 
+    /**
+     * Reference to the background validation task, scheduled by the {@link #resizerTaskTimer}.
+     */
+    protected volatile BackgroundValidator backgroundValidatorTask;
+
     // advanced pool config properties
     /**
      * Represents the "connection-creation-retry-attempts" configuration value.<br>
@@ -241,6 +263,9 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
      * Reentrant lock to ensure calls to {@link #getResourceFromPool(ResourceAllocator, ResourceSpec)} and
      * {@link #freeResource(ResourceHandle)} are not executed at the same time to solve issue 24843, because one is getting
      * resources from the pool and possibly resizing the pool while the other is returning resources to the pool.
+     * <p>
+     * When the {@link DataStructure#isLockFree() datastructure is lock-free}, only the resizing of the pool is done
+     * under this lock.
      */
     private final ReentrantLock getResourceFromPoolAndFreeResourceMethodsLock = new ReentrantLock(true);
 
@@ -350,6 +375,8 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
         // if the idle time out is 0, then don't schedule the resizer task
         if (idletime > 0) {
             scheduleResizerTask();
+        } else {
+            scheduleBackgroundValidatorTask();
         }
 
         // Need to set the numConnFree of monitoring statistics to the steadyPoolSize
@@ -383,12 +410,50 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
 
         resizerTaskTimer.scheduleAtFixedRate(resizerTask, idletime, idletime);
         LOG.log(DEBUG, "Scheduled resizer task with the idle time {0} ms", idletime);
+
+        scheduleBackgroundValidatorTask();
     }
 
     protected Resizer initializeResizer() {
         return new Resizer(poolInfo, dataStructure, this, this, preferValidateOverRecreate);
     }
 
+    /**
+     * Schedules the background validation task if it is enabled. If a task is currently scheduled, it would be cancelled.
+     */
+    protected void scheduleBackgroundValidatorTask() {
+        if (backgroundValidatorTask != null) {
+            backgroundValidatorTask.cancel();
+            backgroundValidatorTask = null;
+        }
+        if (!isBackgroundValidationEnabled()) {
+            return;
+        }
+
+        backgroundValidatorTask = initializeBackgroundValidator();
+        if (backgroundValidatorTask == null) {
+            return;
+        }
+
+        if (resizerTaskTimer == null) {
+            resizerTaskTimer = ConnectorRuntime.getRuntime().getTimer();
+        }
+
+        resizerTaskTimer.scheduleAtFixedRate(backgroundValidatorTask, backgroundValidationInterval, backgroundValidationInterval);
+        LOG.log(DEBUG, "Scheduled background validation task with the interval {0} ms", backgroundValidationInterval);
+    }
+
+    /**
+     * @return new background validation task or null if the pool does not support it.
+     */
+    protected BackgroundValidator initializeBackgroundValidator() {
+        return new BackgroundValidator(poolInfo, dataStructure, this, this, backgroundValidationInterval);
+    }
+
+    private boolean isBackgroundValidationEnabled() {
+        return connectionValidationRequired && backgroundValidationInterval > 0;
+    }
+
     /**
      * Add a resource to the pooled resources data structure.
      *
@@ -472,24 +537,12 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
                 waitForReconfiguration();
             }
             // add to wait-queue
-            final Object waitMonitor = new Object();
             if (poolLifeCycleListener != null) {
                 poolLifeCycleListener.connectionRequestQueued();
             }
-            synchronized (waitMonitor) {
-                waitQueue.addToQueue(waitMonitor);
-                try {
-                    LOG.log(TRACE, "Getting on wait queue");
-                    waitMonitor.wait(remainingTime);
-                } catch (InterruptedException e) {
-                    LOG.log(TRACE, "Waiting interrupted.", e);
-                    Thread.currentThread().interrupt();
-                } finally {
-                    LOG.log(TRACE, "Removing wait monitor from queue: {0}", waitMonitor);
-                    if (waitQueue.removeFromQueue(waitMonitor) && poolLifeCycleListener != null) {
-                        poolLifeCycleListener.connectionRequestDequeued();
-                    }
-                }
+            LOG.log(TRACE, "Getting on wait queue");
+            if (waitQueue.await(remainingTime) && poolLifeCycleListener != null) {
+                poolLifeCycleListener.connectionRequestDequeued();
             }
         }
     }
@@ -712,7 +765,13 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
         final boolean validationRequired;
         final long currentTime = System.currentTimeMillis();
         final ResourceState state = resourceHandle.getResourceState();
-        if (validationPeriod <= 0) {
+        if (backgroundValidatorTask != null) {
+            // idle connections are validated by the background validator,
+            // recently used ones are very likely still valid.
+            final long idleThreshold = backgroundValidationIdleThreshold > 0 ? backgroundValidationIdleThreshold
+                : backgroundValidationInterval;
+            validationRequired = currentTime - Math.max(state.getLastUsage(), state.getLastValidated()) >= idleThreshold;
+        } else if (validationPeriod <= 0) {
             validationRequired = true;
         } else {
             validationRequired = currentTime - state.getLastValidated() >= validationPeriod;
@@ -785,8 +844,11 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
         ResourceHandle resourceHandle;
         List<ResourceHandle> freeResources = new ArrayList<>();
 
+        final boolean lockFree = dataStructure.isLockFree();
         try {
-            getResourceFromPoolAndFreeResourceMethodsLock.lock();
+            if (!lockFree) {
+                getResourceFromPoolAndFreeResourceMethodsLock.lock();
+            }
             try {
                 while ((resourceHandle = dataStructure.getResource()) != null) {
                     // Resource from the pool should never be busy before it is returned
@@ -820,7 +882,7 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
                             if (failAllConnections) {
                                 // If a failAllConnections has happened, the pool has been flushed but
                                 // still an inValid resource is received. Get a fresh resource.
-                                resourceFromPool = createSingleResourceAndAdjustPool(resourceAllocator);
+                                resourceFromPool = createSingleResourceAndAdjustPoolLocked(resourceAllocator);
                                 // No need to match since the resource is created with the allocator of caller.
                                 break;
                             }
@@ -864,7 +926,7 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
 
             if (resourceFromPool == null) {
                 // Set state to Busy via resizePoolAndGetNewResource call
-                resourceFromPool = resizePoolAndGetNewResource(resourceAllocator);
+                resourceFromPool = resizePoolAndGetNewResourceLocked(resourceAllocator);
             } else {
                 // Set state to Busy
                 setResourceStateToBusy(resourceFromPool);
@@ -877,12 +939,36 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
                 makeSureResourceIsNotEnlisted(resourceHandle);
             }
         } finally {
-            getResourceFromPoolAndFreeResourceMethodsLock.unlock();
+            if (!lockFree) {
+                getResourceFromPoolAndFreeResourceMethodsLock.unlock();
+            }
         }
 
         return resourceFromPool;
     }
 
+    /**
+     * Resizing is serialized even when the datastructure is lock-free. The lock is reentrant,
+     * so this is a no-op for the thread which already holds it.
+     */
+    private ResourceHandle resizePoolAndGetNewResourceLocked(ResourceAllocator resourceAllocator) throws PoolingException {
+        getResourceFromPoolAndFreeResourceMethodsLock.lock();
+        try {
+            return resizePoolAndGetNewResource(resourceAllocator);
+        } finally {
+            getResourceFromPoolAndFreeResourceMethodsLock.unlock();
+        }
+    }
+
+    private ResourceHandle createSingleResourceAndAdjustPoolLocked(ResourceAllocator resourceAllocator) throws PoolingException {
+        getResourceFromPoolAndFreeResourceMethodsLock.lock();
+        try {
+            return createSingleResourceAndAdjustPool(resourceAllocator);
+        } finally {
+            getResourceFromPoolAndFreeResourceMethodsLock.unlock();
+        }
+    }
+
     private void makeSureResourceIsBusy(ResourceHandle resourceHandle) {
         if (!resourceHandle.getResourceState().isBusy()) {
             throw new IllegalStateException("Resource must be marked busy! handle: " + resourceHandle);
@@ -1212,8 +1298,12 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
         // TODO: There is no validation here at all that the resourceHandle.state is already set to unenlisted
 
         LOG.log(DEBUG, "freeUnenlistedResource handle: {0}", resourceHandle);
+        // The monitoring counters and the wait queue synchronize on their own
+        final boolean lockFree = dataStructure.isLockFree();
         try {
-            getResourceFromPoolAndFreeResourceMethodsLock.lock();
+            if (!lockFree) {
+                getResourceFromPoolAndFreeResourceMethodsLock.lock();
+            }
             if (cleanupResource(resourceHandle)) {
                 // Only when resource handle usage count is more than maxConnUsage
                 if (maxConnectionUsage > 0 && resourceHandle.getResourceState().getUsageCount() >= maxConnectionUsage) {
@@ -1233,7 +1323,9 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
                 notifyWaitingThreads();
             }
         } finally {
-            getResourceFromPoolAndFreeResourceMethodsLock.unlock();
+            if (!lockFree) {
+                getResourceFromPoolAndFreeResourceMethodsLock.unlock();
+            }
         }
     }
 
@@ -1406,22 +1498,13 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
 
     protected void notifyWaitingThreads() {
         // notify the first thread in the waitQueue
-        Object waitMonitor = null;
-        synchronized (waitQueue) {
-            if (waitQueue.getQueueLength() > 0) {
-                waitMonitor = waitQueue.remove();
-                if (poolLifeCycleListener != null) {
-                    poolLifeCycleListener.connectionRequestDequeued();
-                }
+        if (waitQueue.notifyFirst()) {
+            LOG.log(DEBUG, "Notified the first waiting thread.");
+            if (poolLifeCycleListener != null) {
+                poolLifeCycleListener.connectionRequestDequeued();
             }
-        }
-        if (waitMonitor == null) {
-            LOG.log(DEBUG, "Wait monitor is null");
         } else {
-            synchronized (waitMonitor) {
-                LOG.log(DEBUG, "Notifying wait monitor: {0}", waitMonitor);
-                waitMonitor.notifyAll();
-            }
+            LOG.log(DEBUG, "No thread is waiting in the queue.");
         }
     }
 
@@ -1527,6 +1610,9 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
         this.connectionValidationRequired = poolResource.isIsConnectionValidationRequired();
         this.failAllConnections = poolResource.isFailAllConnections();
         setAdvancedPoolConfiguration(poolResource);
+        if (this.poolInitialized) {
+            scheduleBackgroundValidatorTask();
+        }
 
         final int maxPoolSizeParam = Integer.parseInt(poolResource.getMaxPoolSize());
         final int oldMaxPoolSize = this.maxPoolSize;
@@ -1589,6 +1675,8 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
     private void setAdvancedPoolConfiguration(ConnectorConnectionPool poolResource) {
         matchConnections = poolResource.matchConnections();
         preferValidateOverRecreate = poolResource.isPreferValidateOverRecreate();
+        backgroundValidationInterval = poolResource.getBackgroundValidationInterval();
+        backgroundValidationIdleThreshold = poolResource.getBackgroundValidationIdleThreshold();
         maxConnectionUsage = Integer.parseInt(poolResource.getMaxConnectionUsage());
         connectionCreationRetryAttempts_ = Integer.parseInt(poolResource.getConCreationRetryAttempts());
         // Converting seconds to milliseconds as TimerTask will take input in milliseconds
@@ -1655,6 +1743,10 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
             resizerTask.cancel();
         }
         resizerTask = null;
+        if (backgroundValidatorTask != null) {
+            backgroundValidatorTask.cancel();
+        }
+        backgroundValidatorTask = null;
         if (resizerTaskTimer != null) {
             resizerTaskTimer.purge();
         }
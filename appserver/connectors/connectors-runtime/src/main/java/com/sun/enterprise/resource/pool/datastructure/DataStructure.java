@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2025 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -104,4 +104,14 @@ public interface DataStructure {
      * @return the list of resources in the data structure.
      */
     List<ResourceHandle> getAllResources();
+
+    /**
+     * Tells the pool whether concurrent getResource and returnResource calls are safe
+     * without the pool serializing them. The pool then takes its own lock only to resize.
+     *
+     * @return true if the datastructure decides ownership of a resource without locking
+     */
+    default boolean isLockFree() {
+        return false;
+    }
 }
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.logging.LogDomains;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lock-free datastructure for pool which partitions free resources into stripes.
+ * <p>
+ * A thread returning a resource puts it to the head of its own stripe, so the next
+ * {@link #getResource()} of the same thread usually takes the same (hot) resource back without
+ * touching any other stripe. When the own stripe is empty, the resource is stolen from the other
+ * stripes. Ownership of a resource is decided by a single compare-and-set of its slot state,
+ * so neither acquire nor release of an idle resource takes a lock.
+ * <p>
+ * The number of stripes can be set by the {@code datastructure-parameters} property
+ * of the pool, otherwise it is derived from the number of available processors.
+ */
+public class PartitionedDataStructure implements DataStructure {
+
+    private static final Logger LOG = LogDomains.getLogger(PartitionedDataStructure.class, LogDomains.RSR_LOGGER);
+
+    private static final int MAX_STRIPES = 64;
+
+    private final ConcurrentHashMap<ResourceHandle, Slot> slots = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<Slot>[] stripes;
+    private final int stripeMask;
+    private final LongAdder freeCount = new LongAdder();
+    private final DataStructureSemaphore availableResources;
+
+    private final ResourceHandler handler;
+
+    private volatile int maxSize;
+
+    @SuppressWarnings("unchecked")
+    public PartitionedDataStructure(String parameters, int maxSize, ResourceHandler handler) {
+        int stripeCount = toPowerOfTwo(parseStripeCount(parameters));
+        this.stripes = new ConcurrentLinkedDeque[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ConcurrentLinkedDeque<>();
+        }
+        this.stripeMask = stripeCount - 1;
+        this.availableResources = new DataStructureSemaphore(maxSize);
+        this.handler = handler;
+        this.maxSize = maxSize;
+
+        LOG.log(Level.FINEST, "pool.datastructure.partitionedds.init", stripeCount);
+    }
+
+    @Override
+    public int addResource(ResourceAllocator allocator, int count) throws PoolingException {
+        int numResAdded = 0;
+        for (int i = 0; i < count; i++) {
+            if (!availableResources.tryAcquire()) {
+                break;
+            }
+
+            ResourceHandle resource;
+            try {
+                resource = handler.createResource(allocator);
+            } catch (Exception e) {
+                availableResources.release();
+                throw new PoolingException(e.getMessage(), e);
+            }
+
+            Slot slot = new Slot(resource);
+            slots.put(resource, slot);
+            offer(slot);
+            numResAdded++;
+        }
+        return numResAdded;
+    }
+
+    @Override
+    public ResourceHandle getResource() {
+        int home = homeStripe();
+        for (int i = 0; i <= stripeMask; i++) {
+            ConcurrentLinkedDeque<Slot> stripe = stripes[(home + i) & stripeMask];
+            Slot slot;
+            while ((slot = stripe.pollFirst()) != null) {
+                if (slot.state.compareAndSet(Slot.FREE, Slot.IN_USE)) {
+                    freeCount.decrement();
+                    return slot.resource;
+                }
+                // Slot was removed concurrently, just drop it.
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void removeResource(ResourceHandle resource) {
+        Slot slot = slots.remove(resource);
+        if (slot == null) {
+            return;
+        }
+
+        int previousState = slot.state.getAndSet(Slot.REMOVED);
+        if (previousState == Slot.FREE) {
+            freeCount.decrement();
+            stripes[slot.stripe].remove(slot);
+        }
+
+        availableResources.release();
+        handler.deleteResource(resource);
+    }
+
+    @Override
+    public void returnResource(ResourceHandle resource) {
+        Slot slot = slots.get(resource);
+        if (slot == null || !slot.state.compareAndSet(Slot.IN_USE, Slot.FREE)) {
+            return;
+        }
+
+        offer(slot);
+    }
+
+    @Override
+    public int getFreeListSize() {
+        return Math.max(0, freeCount.intValue());
+    }
+
+    @Override
+    public void removeAll() {
+        for (ResourceHandle resource : new ArrayList<>(slots.keySet())) {
+            removeResource(resource);
+        }
+    }
+
+    @Override
+    public int getResourcesSize() {
+        return slots.size();
+    }
+
+    @Override
+    public synchronized void setMaxSize(int newMaxSize) {
+        int permits = newMaxSize - maxSize;
+
+        switch (Integer.signum(permits)) {
+            case 1:
+                availableResources.release(permits);
+                break;
+            case -1:
+                availableResources.reducePermits(Math.abs(permits));
+                break;
+            default:
+                return;
+        }
+
+        this.maxSize = newMaxSize;
+    }
+
+    @Override
+    public List<ResourceHandle> getAllResources() {
+        return new ArrayList<>(slots.keySet());
+    }
+
+    @Override
+    public boolean isLockFree() {
+        return true;
+    }
+
+    private void offer(Slot slot) {
+        freeCount.increment();
+        slot.stripe = homeStripe();
+        stripes[slot.stripe].offerFirst(slot);
+    }
+
+    private int homeStripe() {
+        long threadId = Thread.currentThread().threadId();
+        return Long.hashCode(threadId * 0x9E3779B97F4A7C15L) & stripeMask;
+    }
+
+    private static int parseStripeCount(String parameters) {
+        if (parameters != null && !parameters.isBlank()) {
+            try {
+                return Math.min(MAX_STRIPES, Math.max(1, Integer.parseInt(parameters.trim())));
+            } catch (NumberFormatException e) {
+                LOG.log(Level.WARNING, "pool.datastructure.partitionedds.invalid.parameters", parameters);
+            }
+        }
+        return Math.min(MAX_STRIPES, Runtime.getRuntime().availableProcessors());
+    }
+
+    private static int toPowerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * Holder of the resource and of its ownership state.
+     */
+    private static final class Slot {
+
+        static final int FREE = 0;
+        static final int IN_USE = 1;
+        static final int REMOVED = 2;
+
+        final ResourceHandle resource;
+        final AtomicInteger state = new AtomicInteger(FREE);
+        volatile int stripe;
+
+        Slot(ResourceHandle resource) {
+            this.resource = resource;
+        }
+    }
+
+    /**
+     * Semaphore whose available permits change according to the
+     * changes in max-pool-size via a reconfiguration.
+     */
+    private static final class DataStructureSemaphore extends Semaphore {
+
+        DataStructureSemaphore(int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
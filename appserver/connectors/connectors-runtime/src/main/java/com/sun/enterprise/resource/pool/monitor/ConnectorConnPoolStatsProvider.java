@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2025 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -119,6 +119,21 @@ public class ConnectorConnPoolStatsProvider {
     private final CountStatisticImpl waitQueueLength = new CountStatisticImpl(
             "WaitQueueLength", StatisticImpl.UNIT_COUNT,
             "Number of connection requests in the queue waiting to be serviced.");
+    private final CountStatisticImpl connRequestWaitTimeUpTo10ms = new CountStatisticImpl(
+            "ConnRequestWaitTimeUpTo10ms", StatisticImpl.UNIT_COUNT,
+            "Number of connection requests served in less than 10 milliseconds.");
+    private final CountStatisticImpl connRequestWaitTimeUpTo100ms = new CountStatisticImpl(
+            "ConnRequestWaitTimeUpTo100ms", StatisticImpl.UNIT_COUNT,
+            "Number of connection requests served in 10 to 100 milliseconds.");
+    private final CountStatisticImpl connRequestWaitTimeUpTo1s = new CountStatisticImpl(
+            "ConnRequestWaitTimeUpTo1s", StatisticImpl.UNIT_COUNT,
+            "Number of connection requests served in 100 to 1000 milliseconds.");
+    private final CountStatisticImpl connRequestWaitTimeUpTo10s = new CountStatisticImpl(
+            "ConnRequestWaitTimeUpTo10s", StatisticImpl.UNIT_COUNT,
+            "Number of connection requests served in 1 to 10 seconds.");
+    private final CountStatisticImpl connRequestWaitTimeOver10s = new CountStatisticImpl(
+            "ConnRequestWaitTimeOver10s", StatisticImpl.UNIT_COUNT,
+            "Number of connection requests served in 10 seconds or more.");
     private static final String JCA_PROBE_LISTENER = "glassfish:jca:connection-pool:";
 
     public ConnectorConnPoolStatsProvider(PoolInfo poolInfo) {
@@ -288,9 +303,26 @@ public class ConnectorConnPoolStatsProvider {
             LOG.log(DEBUG, "Connection request served event received for pool: {0}", poolInfo);
             connRequestWaitTime.setCurrent(timeTakenInMillis);
             totalConnRequestWaitTime.increment(timeTakenInMillis);
+            getConnRequestWaitTimeBucket(timeTakenInMillis).increment();
         }
     }
 
+    private CountStatisticImpl getConnRequestWaitTimeBucket(long timeTakenInMillis) {
+        if (timeTakenInMillis < 10L) {
+            return connRequestWaitTimeUpTo10ms;
+        }
+        if (timeTakenInMillis < 100L) {
+            return connRequestWaitTimeUpTo100ms;
+        }
+        if (timeTakenInMillis < 1_000L) {
+            return connRequestWaitTimeUpTo1s;
+        }
+        if (timeTakenInMillis < 10_000L) {
+            return connRequestWaitTimeUpTo10s;
+        }
+        return connRequestWaitTimeOver10s;
+    }
+
     /**
      * When connection destroyed event is got increment numConnDestroyed.
      */
@@ -376,6 +408,11 @@ public class ConnectorConnPoolStatsProvider {
         averageConnWaitTime.reset();
         totalConnRequestWaitTime.reset();
         waitQueueLength.reset();
+        connRequestWaitTimeUpTo10ms.reset();
+        connRequestWaitTimeUpTo100ms.reset();
+        connRequestWaitTimeUpTo1s.reset();
+        connRequestWaitTimeUpTo10s.reset();
+        connRequestWaitTimeOver10s.reset();
     }
 
     /**
@@ -527,6 +564,31 @@ public class ConnectorConnPoolStatsProvider {
         return waitQueueLength;
     }
 
+    @ManagedAttribute(id = "connrequestwaittimeupto10ms")
+    public CountStatistic getConnRequestWaitTimeUpTo10ms() {
+        return connRequestWaitTimeUpTo10ms;
+    }
+
+    @ManagedAttribute(id = "connrequestwaittimeupto100ms")
+    public CountStatistic getConnRequestWaitTimeUpTo100ms() {
+        return connRequestWaitTimeUpTo100ms;
+    }
+
+    @ManagedAttribute(id = "connrequestwaittimeupto1s")
+    public CountStatistic getConnRequestWaitTimeUpTo1s() {
+        return connRequestWaitTimeUpTo1s;
+    }
+
+    @ManagedAttribute(id = "connrequestwaittimeupto10s")
+    public CountStatistic getConnRequestWaitTimeUpTo10s() {
+        return connRequestWaitTimeUpTo10s;
+    }
+
+    @ManagedAttribute(id = "connrequestwaittimeover10s")
+    public CountStatistic getConnRequestWaitTimeOver10s() {
+        return connRequestWaitTimeOver10s;
+    }
+
     private boolean isMyPool(String poolName, String appName, String moduleName) {
         PoolInfo other = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
         return poolInfo.equals(other);
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.resizer;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.ResourceState;
+import com.sun.enterprise.resource.pool.PoolProperties;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.enterprise.resource.pool.datastructure.DataStructure;
+
+import java.lang.System.Logger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimerTask;
+
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+
+import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.Logger.Level.WARNING;
+
+/**
+ * Validates the free resources of the pool in the background, so the application threads do not
+ * have to wait for the validation when they borrow a connection.
+ * <p>
+ * Only resources which were neither used nor validated within the validation interval are validated.
+ * They are validated one by one, every other free resource is returned to the pool immediately.
+ * Invalid resources are removed from the pool and replaced to maintain the steady pool size.
+ */
+public class BackgroundValidator extends TimerTask {
+
+    private static final Logger LOG = System.getLogger(BackgroundValidator.class.getName());
+
+    private final PoolInfo poolInfo;
+    private final DataStructure dataStructure;
+    private final PoolProperties pool;
+    private final ResourceHandler handler;
+    private final long validationInterval;
+
+    /**
+     * @param poolInfo pool identification
+     * @param ds pool data structure
+     * @param pp pool properties
+     * @param handler handler to replace invalid resources
+     * @param validationInterval validation interval in milliseconds
+     */
+    public BackgroundValidator(PoolInfo poolInfo, DataStructure ds, PoolProperties pp, ResourceHandler handler,
+        long validationInterval) {
+        this.poolInfo = poolInfo;
+        this.dataStructure = ds;
+        this.pool = pp;
+        this.handler = handler;
+        this.validationInterval = validationInterval;
+    }
+
+    @Override
+    public void run() {
+        LOG.log(DEBUG, () -> "Validating idle resources of the pool " + poolInfo);
+        try {
+            validateIdleResources();
+        } catch (Exception e) {
+            LOG.log(WARNING, "Validation of idle resources failed for pool: " + poolInfo, e);
+        }
+    }
+
+    /**
+     * Validates the resources which were idle for longer than the validation interval.
+     *
+     * @return number of removed invalid resources
+     */
+    public int validateIdleResources() {
+        // If the wait queue is NOT empty, there are no idle resources.
+        if (pool.getWaitQueueLength() > 0) {
+            return 0;
+        }
+
+        long currentTime = System.currentTimeMillis();
+        List<ResourceHandle> resourcesToValidate = new ArrayList<>();
+        List<ResourceHandle> resourcesToReturn = new ArrayList<>();
+        ResourceHandle h;
+        try {
+            while ((h = dataStructure.getResource()) != null) {
+                ResourceState state = h.getResourceState();
+                if (currentTime - Math.max(state.getLastUsage(), state.getLastValidated()) >= validationInterval) {
+                    resourcesToValidate.add(h);
+                } else {
+                    resourcesToReturn.add(h);
+                }
+            }
+        } finally {
+            for (ResourceHandle resource : resourcesToReturn) {
+                dataStructure.returnResource(resource);
+            }
+        }
+
+        int invalidResources = 0;
+        for (int i = 0; i < resourcesToValidate.size(); i++) {
+            ResourceHandle resource = resourcesToValidate.get(i);
+            try {
+                if (resource.getResourceAllocator().isConnectionValid(resource)) {
+                    resource.getResourceState().setLastValidated(System.currentTimeMillis());
+                    dataStructure.returnResource(resource);
+                } else {
+                    LOG.log(DEBUG, "Removing idle resource {0} from the pool {1} as the RA reports it to be invalid", resource, poolInfo);
+                    dataStructure.removeResource(resource);
+                    handler.invalidConnectionDetected(resource);
+                    invalidResources++;
+                }
+            } catch (RuntimeException e) {
+                // Never lose the remaining resources.
+                for (int j = i; j < resourcesToValidate.size(); j++) {
+                    dataStructure.returnResource(resourcesToValidate.get(j));
+                }
+                throw e;
+            }
+        }
+        LOG.log(DEBUG, "Validated {0} idle resources of the pool {1}, removed invalid resources: {2}",
+            resourcesToValidate.size(), poolInfo, invalidResources);
+
+        if (invalidResources > 0) {
+            ensureSteadyPool();
+        }
+        return invalidResources;
+    }
+
+    private void ensureSteadyPool() {
+        for (int i = dataStructure.getResourcesSize(); i < pool.getSteadyPoolSize(); i++) {
+            try {
+                handler.createResourceAndAddToPool();
+            } catch (PoolingException e) {
+                LOG.log(WARNING, "Steady pool size could not be ensured for pool: " + poolInfo, e);
+                return;
+            }
+        }
+    }
+}
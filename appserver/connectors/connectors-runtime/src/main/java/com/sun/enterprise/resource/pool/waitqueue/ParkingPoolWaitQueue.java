@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.waitqueue;
+
+import com.sun.logging.LogDomains;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Fair wait queue for the connection pool which parks waiting threads instead of using monitors.
+ * <p>
+ * Waiters are woken up strictly in FIFO order and exactly one waiter is woken up for every
+ * {@link #notifyFirst()}. A waiter which has already timed out can never consume the notification,
+ * so the notification is passed to the next waiter instead of being lost.
+ * As no monitor is held while waiting, the queue does not pin virtual threads to their carriers.
+ */
+public class ParkingPoolWaitQueue implements PoolWaitQueue {
+
+    private static final Logger LOG = LogDomains.getLogger(ParkingPoolWaitQueue.class, LogDomains.RSR_LOGGER);
+
+    private final ConcurrentLinkedDeque<Object> queue = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger length = new AtomicInteger();
+
+    public ParkingPoolWaitQueue() {
+        LOG.log(Level.FINE, "Initializing parking Pool Wait Queue");
+    }
+
+    @Override
+    public int getQueueLength() {
+        return length.get();
+    }
+
+    @Override
+    public void addToQueue(Object waitMonitor) {
+        queue.addLast(waitMonitor);
+        length.incrementAndGet();
+    }
+
+    @Override
+    public boolean removeFromQueue(Object waitMonitor) {
+        if (queue.removeFirstOccurrence(waitMonitor)) {
+            length.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Object remove() {
+        Object waitMonitor = queue.removeFirst();
+        length.decrementAndGet();
+        return waitMonitor;
+    }
+
+    @Override
+    public Object peek() {
+        return queue.peekFirst();
+    }
+
+    @Override
+    public Collection getQueueContents() {
+        return Collections.unmodifiableCollection(queue);
+    }
+
+    @Override
+    public boolean await(long timeoutInMillis) {
+        final Waiter waiter = new Waiter(Thread.currentThread());
+        addToQueue(waiter);
+
+        final long deadline = timeoutInMillis > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis) : 0L;
+        while (!waiter.isNotified()) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            if (deadline == 0L) {
+                LockSupport.park(this);
+                continue;
+            }
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0L) {
+                break;
+            }
+            LockSupport.parkNanos(this, remaining);
+        }
+
+        if (waiter.cancel()) {
+            // Timed out or interrupted, nobody notified us. If a notifier polled us in the meantime,
+            // it skips us and the queue is already without us.
+            removeFromQueue(waiter);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean notifyFirst() {
+        Object waitMonitor;
+        while ((waitMonitor = queue.pollFirst()) != null) {
+            length.decrementAndGet();
+            if (waitMonitor instanceof Waiter) {
+                if (((Waiter) waitMonitor).notifyWaiter()) {
+                    return true;
+                }
+                // The waiter already gave up, try the next one.
+                continue;
+            }
+            synchronized (waitMonitor) {
+                waitMonitor.notifyAll();
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Thread parked in the queue.
+     */
+    private static final class Waiter {
+
+        private static final int WAITING = 0;
+        private static final int NOTIFIED = 1;
+        private static final int CANCELLED = 2;
+
+        private final Thread thread;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        Waiter(Thread thread) {
+            this.thread = thread;
+        }
+
+        boolean isNotified() {
+            return state.get() == NOTIFIED;
+        }
+
+        boolean notifyWaiter() {
+            if (state.compareAndSet(WAITING, NOTIFIED)) {
+                LockSupport.unpark(thread);
+                return true;
+            }
+            return false;
+        }
+
+        boolean cancel() {
+            return state.compareAndSet(WAITING, CANCELLED);
+        }
+
+        @Override
+        public String toString() {
+            return "Waiter[" + thread.getName() + ", state=" + state.get() + "]";
+        }
+    }
+}
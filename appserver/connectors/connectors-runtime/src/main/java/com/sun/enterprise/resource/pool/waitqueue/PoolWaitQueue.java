@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -28,6 +28,7 @@ import java.util.Collection;
 public interface PoolWaitQueue {
     String DEFAULT_WAIT_QUEUE = "DEFAULT_WAIT_QUEUE";
     String THREAD_PRIORITY_BASED_WAIT_QUEUE = "THREAD_PRIORITY_BASED_WAIT_QUEUE";
+    String PARKING_WAIT_QUEUE = "PARKING_WAIT_QUEUE";
 
     /**
      * returns the length of wait queue
@@ -80,4 +81,45 @@ public interface PoolWaitQueue {
      * @return Collection
      */
     Collection getQueueContents();
+
+    /**
+     * Adds the calling thread to the queue and blocks it until it is woken up by {@link #notifyFirst()},
+     * the timeout expires or the thread is interrupted.
+     * The interrupted status of the thread is preserved.
+     *
+     * @param timeoutInMillis maximal time to wait, 0 means to wait until notified.
+     * @return true if the thread left the queue on its own (timeout or interruption), false if it was
+     *         removed from the queue by {@link #notifyFirst()}.
+     */
+    default boolean await(long timeoutInMillis) {
+        final Object waitMonitor = new Object();
+        synchronized (waitMonitor) {
+            addToQueue(waitMonitor);
+            try {
+                waitMonitor.wait(timeoutInMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return removeFromQueue(waitMonitor);
+        }
+    }
+
+    /**
+     * Removes the first waiting thread from the queue and wakes it up.
+     *
+     * @return true if a waiting thread was found, false if the queue was empty.
+     */
+    default boolean notifyFirst() {
+        final Object waitMonitor;
+        synchronized (this) {
+            if (getQueueLength() == 0) {
+                return false;
+            }
+            waitMonitor = remove();
+        }
+        synchronized (waitMonitor) {
+            waitMonitor.notifyAll();
+        }
+        return true;
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2024, 2025 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2024, 2026 Contributors to the Eclipse Foundation.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -28,6 +28,7 @@ import com.sun.enterprise.resource.ResourceState;
 import com.sun.enterprise.resource.allocator.LocalTxConnectorAllocator;
 import com.sun.enterprise.resource.allocator.ResourceAllocator;
 import com.sun.enterprise.resource.pool.datastructure.DataStructure;
+import com.sun.enterprise.resource.pool.datastructure.PartitionedDataStructure;
 import com.sun.enterprise.resource.pool.mock.MyJavaEETransactionManager;
 import com.sun.enterprise.transaction.api.JavaEETransaction;
 import com.sun.enterprise.transaction.api.JavaEETransactionManager;
@@ -39,6 +40,7 @@ import jakarta.resource.spi.ManagedConnectionFactory;
 import jakarta.resource.spi.RetryableUnavailableException;
 import jakarta.transaction.Transaction;
 
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -51,6 +53,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -72,6 +75,7 @@ import static org.easymock.EasyMock.replay;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -131,12 +135,20 @@ public class ConnectionPoolTest {
     }
 
     private void createConnectionPool(int maxPoolSize, int maxWaitTimeInMillis, int poolResizeQuantity) throws PoolingException {
+        createConnectionPool(maxPoolSize, maxWaitTimeInMillis, poolResizeQuantity, null);
+    }
+
+    private void createConnectionPool(int maxPoolSize, int maxWaitTimeInMillis, int poolResizeQuantity, String dataStructureType)
+        throws PoolingException {
         PoolInfo poolInfo = ConnectionPoolTest.getPoolInfo();
 
         Hashtable<Object, Object> env = new Hashtable<>();
         env.put("maxPoolSize", Integer.valueOf(maxPoolSize));
         env.put("maxWaitTimeInMillis", Integer.valueOf(maxWaitTimeInMillis));
         env.put("poolResizeQuantity", Integer.valueOf(poolResizeQuantity));
+        if (dataStructureType != null) {
+            env.put("dataStructureType", dataStructureType);
+        }
 
         connectionPool = new MyConnectionPool(poolInfo, env);
         assertEquals(0, connectionPool.getSteadyPoolSize());
@@ -264,7 +276,58 @@ public class ConnectionPoolTest {
         basicConnectionPoolMultiThreaded(true);
     }
 
+    @Test
+    @Timeout(value = 10)
+    void partitionedConnectionPoolMultiThreadedTest() throws Exception {
+        basicConnectionPoolMultiThreaded(false, DataStructure.DS_TYPE_PARTITIONED);
+    }
+
+    /**
+     * With a lock-free datastructure a free resource is acquired and released without the pool lock, which is then
+     * used only to resize the pool.
+     */
+    @Test
+    @Timeout(value = 10)
+    void partitionedConnectionPoolDoesNotLockAcquireAndRelease() throws Exception {
+        createConnectionPool(2, 1, 1, DataStructure.DS_TYPE_PARTITIONED);
+        assertInstanceOf(PartitionedDataStructure.class, connectionPool.dataStructure);
+
+        ResourceAllocator alloc = new LocalTxConnectorAllocator(null, managedConnectionFactory, resourceSpec, null,
+                null, null, null, false);
+        ResourceHandle resource = connectionPool.getResource(resourceSpec, alloc, javaEETransaction);
+        connectionPool.resourceClosed(resource);
+        assertResourcesSize(1);
+
+        Field lockField = ConnectionPool.class.getDeclaredField("getResourceFromPoolAndFreeResourceMethodsLock");
+        lockField.setAccessible(true);
+        ReentrantLock lock = (ReentrantLock) lockField.get(connectionPool);
+        lock.lock();
+        try {
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                ResourceHandle reused = executor.submit(() -> {
+                    ResourceHandle handle = connectionPool.getResource(resourceSpec, alloc, javaEETransaction);
+                    connectionPool.resourceClosed(handle);
+                    return handle;
+                }).get(5, TimeUnit.SECONDS);
+                assertEquals(resource, reused);
+            } finally {
+                executor.shutdownNow();
+            }
+        } finally {
+            lock.unlock();
+        }
+        assertResourceIsNotBusy(resource);
+        assertResourcesSize(1);
+
+        cleanupConnectionPool();
+    }
+
     void basicConnectionPoolMultiThreaded(boolean isShareable) throws Exception {
+        basicConnectionPoolMultiThreaded(isShareable, null);
+    }
+
+    void basicConnectionPoolMultiThreaded(boolean isShareable, String dataStructureType) throws Exception {
         // Use a low value to try and fill up the whole pool
         int maxConnectionPoolSize = 5;
 
@@ -276,7 +339,7 @@ public class ConnectionPoolTest {
         // It also means the highest amount of pool resize calls.
         final int poolResizeQuantity = 1;
 
-        createConnectionPool(maxConnectionPoolSize, maxWaitTimeInMillis, poolResizeQuantity);
+        createConnectionPool(maxConnectionPoolSize, maxWaitTimeInMillis, poolResizeQuantity, dataStructureType);
 
         ResourceAllocator alloc = new LocalTxConnectorAllocator(null, managedConnectionFactory, resourceSpec, null,
                 null, null, null, isShareable);
@@ -550,6 +613,7 @@ public class ConnectionPoolTest {
             int myMaxPoolSize = (int) env.get("maxPoolSize");
             int maxWaitTimeInMillis = (int) env.get("maxWaitTimeInMillis");
             int poolResizeQuantity = (int) env.get("poolResizeQuantity");
+            String dataStructureType = (String) env.get("dataStructureType");
 
             assertTrue(myMaxPoolSize > 0);
             assertTrue(poolResizeQuantity > 0);
@@ -559,6 +623,7 @@ public class ConnectionPoolTest {
             connectorConnectionPool.setMaxPoolSize("" + myMaxPoolSize);
             connectorConnectionPool.setMaxWaitTimeInMillis("" + maxWaitTimeInMillis);
             connectorConnectionPool.setPoolResizeQuantity("" + poolResizeQuantity);
+            connectorConnectionPool.setPoolDataStructureType(dataStructureType);
 
             return connectorConnectionPool;
         }
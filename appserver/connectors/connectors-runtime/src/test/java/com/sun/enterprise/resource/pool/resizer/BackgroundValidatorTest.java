@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.enterprise.resource.pool.resizer;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.PoolProperties;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.enterprise.resource.pool.datastructure.DataStructure;
+import com.sun.enterprise.resource.pool.datastructure.RWLockDataStructure;
+
+import jakarta.resource.spi.ManagedConnection;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BackgroundValidatorTest {
+
+    private static final long VALIDATION_INTERVAL = 10_000L;
+
+    private final Deque<ResourceHandle> resourcesToCreate = new ArrayDeque<>();
+    private final List<ResourceHandle> invalidResources = new ArrayList<>();
+
+    private ResourceAllocator allocator;
+    private PoolProperties poolProperties;
+    private DataStructure dataStructure;
+
+    @BeforeEach
+    public void createMocks() {
+        allocator = createNiceMock(ResourceAllocator.class);
+        poolProperties = createNiceMock(PoolProperties.class);
+        dataStructure = new RWLockDataStructure(null, 10, new TestResourceHandler());
+    }
+
+    @Test
+    public void testOnlyIdleResourcesAreValidated() throws Exception {
+        ResourceHandle fresh = new ResourceHandle(null, null, allocator);
+        ResourceHandle idleValid = createIdleResource();
+        ResourceHandle idleInvalid = createIdleResource();
+        expect(allocator.isConnectionValid(idleValid)).andReturn(true).once();
+        expect(allocator.isConnectionValid(idleInvalid)).andReturn(false).once();
+        expect(poolProperties.getSteadyPoolSize()).andReturn(0).anyTimes();
+        replay(allocator, poolProperties);
+
+        addResources(fresh, idleValid, idleInvalid);
+
+        BackgroundValidator validator = new BackgroundValidator(null, dataStructure, poolProperties, new TestResourceHandler(),
+            VALIDATION_INTERVAL);
+
+        assertEquals(1, validator.validateIdleResources());
+        verify(allocator);
+        assertAll(
+            () -> assertEquals(List.of(idleInvalid), invalidResources),
+            () -> assertEquals(2, dataStructure.getResourcesSize()),
+            () -> assertEquals(2, dataStructure.getFreeListSize()),
+            () -> assertFalse(dataStructure.getAllResources().contains(idleInvalid)),
+            () -> assertTrue(idleValid.getResourceState().getLastValidated() > 0),
+            () -> assertEquals(0, fresh.getResourceState().getLastValidated())
+        );
+
+        // validated resources are not validated again within the interval
+        assertEquals(0, validator.validateIdleResources());
+        verify(allocator);
+    }
+
+    @Test
+    public void testSteadyPoolSizeIsRestored() throws Exception {
+        ResourceHandle idleInvalid = createIdleResource();
+        ResourceHandle replacement = new ResourceHandle(null, null, allocator);
+        expect(allocator.isConnectionValid(idleInvalid)).andReturn(false).once();
+        expect(poolProperties.getSteadyPoolSize()).andReturn(1).anyTimes();
+        replay(allocator, poolProperties);
+
+        addResources(idleInvalid);
+        resourcesToCreate.add(replacement);
+
+        BackgroundValidator validator = new BackgroundValidator(null, dataStructure, poolProperties, new TestResourceHandler(),
+            VALIDATION_INTERVAL);
+
+        assertEquals(1, validator.validateIdleResources());
+        assertAll(
+            () -> assertEquals(Set.of(replacement), Set.copyOf(dataStructure.getAllResources())),
+            () -> assertEquals(1, dataStructure.getFreeListSize())
+        );
+    }
+
+    private ResourceHandle createIdleResource() {
+        ResourceHandle resource = new ResourceHandle(null, null, allocator);
+        resource.getResourceState().setLastUsage(System.currentTimeMillis() - 2 * VALIDATION_INTERVAL);
+        return resource;
+    }
+
+    private void addResources(ResourceHandle... resources) throws PoolingException {
+        for (ResourceHandle resource : resources) {
+            resourcesToCreate.add(resource);
+            dataStructure.addResource(allocator, 1);
+        }
+    }
+
+    private class TestResourceHandler implements ResourceHandler {
+
+        @Override
+        public void deleteResource(ResourceHandle resourceHandle) {
+        }
+
+        @Override
+        public ResourceHandle createResource(ResourceAllocator allocator) {
+            return resourcesToCreate.poll();
+        }
+
+        @Override
+        public void createResourceAndAddToPool() throws PoolingException {
+            dataStructure.addResource(allocator, 1);
+        }
+
+        @Override
+        public Set<ManagedConnection> getInvalidConnections(Set<ManagedConnection> connections) {
+            return Set.of();
+        }
+
+        @Override
+        public void invalidConnectionDetected(ResourceHandle h) {
+            invalidResources.add(h);
+        }
+    }
+}
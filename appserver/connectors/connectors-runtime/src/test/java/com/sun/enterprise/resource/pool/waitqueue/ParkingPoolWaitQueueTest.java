@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.waitqueue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParkingPoolWaitQueueTest {
+
+    @Test
+    public void testNotifyEmptyQueue() {
+        PoolWaitQueue queue = new ParkingPoolWaitQueue();
+        assertFalse(queue.notifyFirst());
+    }
+
+    @Test
+    @Timeout(10)
+    public void testAwaitTimeout() {
+        PoolWaitQueue queue = new ParkingPoolWaitQueue();
+        assertAll(
+            () -> assertTrue(queue.await(10L)),
+            () -> assertThat("Queue Length", queue.getQueueLength(), equalTo(0)),
+            () -> assertFalse(queue.notifyFirst())
+        );
+    }
+
+    @Test
+    @Timeout(10)
+    public void testNotifyWakesUpOnlyFirstWaiter() throws Exception {
+        PoolWaitQueue queue = new ParkingPoolWaitQueue();
+        ExecutorService threadPool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> first = threadPool.submit(() -> queue.await(0L));
+            waitForQueueLength(queue, 1);
+            Future<Boolean> second = threadPool.submit(() -> queue.await(0L));
+            waitForQueueLength(queue, 2);
+
+            assertTrue(queue.notifyFirst());
+            assertFalse(first.get(5, TimeUnit.SECONDS));
+            assertAll(
+                () -> assertFalse(second.isDone()),
+                () -> assertThat("Queue Length", queue.getQueueLength(), equalTo(1))
+            );
+
+            assertTrue(queue.notifyFirst());
+            assertFalse(second.get(5, TimeUnit.SECONDS));
+            assertThat("Queue Length", queue.getQueueLength(), equalTo(0));
+        } finally {
+            threadPool.shutdownNow();
+        }
+    }
+
+    private static void waitForQueueLength(PoolWaitQueue queue, int length) throws InterruptedException {
+        while (queue.getQueueLength() < length) {
+            Thread.sleep(1L);
+        }
+    }
+}
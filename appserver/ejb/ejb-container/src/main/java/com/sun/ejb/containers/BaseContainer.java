@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2025 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -28,6 +28,10 @@ import com.sun.ejb.codegen.EjbOptionalIntfGenerator;
 import com.sun.ejb.containers.interceptors.InterceptorManager;
 import com.sun.ejb.containers.interceptors.SystemInterceptorProxy;
 import com.sun.ejb.containers.util.MethodMap;
+import com.sun.ejb.containers.util.pool.AbstractPool;
+import com.sun.ejb.containers.util.pool.ConcurrentPool;
+import com.sun.ejb.containers.util.pool.NonBlockingPool;
+import com.sun.ejb.containers.util.pool.ObjectFactory;
 import com.sun.ejb.monitoring.probes.EjbCacheProbeProvider;
 import com.sun.ejb.monitoring.probes.EjbMonitoringProbeProvider;
 import com.sun.ejb.monitoring.probes.EjbTimedObjectProbeProvider;
@@ -235,6 +239,8 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
     private static final byte[] homeInstanceKey = { HOME_KEY };
 
     protected static final String SINGLETON_BEAN_POOL_PROP = "singleton-bean-pool";
+    protected static final String BEAN_POOL_TYPE_PROP = "bean-pool-type";
+    protected static final String CONCURRENT_BEAN_POOL_TYPE = "concurrent";
 
     protected final ClassLoader loader;
     protected Class<?> ejbClass;
@@ -893,6 +899,28 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
         return ejbDescriptor.getUniqueId();
     }
 
+    /**
+     * Creates the pool of bean instances. The {@link ConcurrentPool} is used if glassfish-ejb-jar.xml
+     * <enterprise-beans><property> bean-pool-type.&lt;ejb-name&gt; of this bean, or bean-pool-type of all beans,
+     * is concurrent, and the singleton-bean-pool does not apply. Otherwise it is the {@link NonBlockingPool}.
+     */
+    protected AbstractPool newBeanPool(String poolName, ObjectFactory factory, int steadyPoolSize, int resizeQuantity,
+        int maxPoolSize, int idleTimeoutInSeconds) {
+        EjbBundleDescriptor bundle = ejbDescriptor.getEjbBundleDescriptor();
+        boolean singletonBeanPool = Boolean.parseBoolean(bundle.getEnterpriseBeansProperty(SINGLETON_BEAN_POOL_PROP));
+        String poolType = bundle.getEnterpriseBeansProperty(BEAN_POOL_TYPE_PROP + '.' + ejbDescriptor.getName());
+        if (poolType == null) {
+            poolType = bundle.getEnterpriseBeansProperty(BEAN_POOL_TYPE_PROP);
+        }
+        if (CONCURRENT_BEAN_POOL_TYPE.equals(poolType) && !(singletonBeanPool && steadyPoolSize == 1 && maxPoolSize == 1)) {
+            _logger.log(FINE, "Using concurrent bean pool for {0}", poolName);
+            return new ConcurrentPool(getContainerId(), poolName, factory, steadyPoolSize, resizeQuantity, maxPoolSize,
+                idleTimeoutInSeconds, loader);
+        }
+        return new NonBlockingPool(getContainerId(), poolName, factory, steadyPoolSize, resizeQuantity, maxPoolSize,
+            idleTimeoutInSeconds, loader, singletonBeanPool);
+    }
+
     public final long getApplicationId() {
         return ejbDescriptor.getApplication().getUniqueId();
     }
@@ -1920,9 +1948,15 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
     /**
      * Encapsulate logic used to map invocation method to invocation info. At present, we have two different maps, one for
      * webservice invocation info and one for everything else. That might change in the future.
+     * The optimized proxy map is tried first, methods added after its creation (timeout methods)
+     * are found in the full map.
      */
     private InvocationInfo getInvocationInfo(EjbInvocation inv) {
-        return inv.isWebService ? webServiceInvocationInfoMap.get(inv.method) : invocationInfoMap.get(inv.method);
+        if (inv.isWebService) {
+            return webServiceInvocationInfoMap.get(inv.method);
+        }
+        InvocationInfo info = proxyInvocationInfoMap == null ? null : proxyInvocationInfoMap.get(inv.method);
+        return info == null ? invocationInfoMap.get(inv.method) : info;
     }
 
     private Throwable mapRemoteException(EjbInvocation inv) {
@@ -4233,6 +4267,12 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
         timerProbeNotifier.ejbTimerDeliveredEvent();
     }
 
+    protected void timerDeliveryLag(long lagInMillis) {
+        if (timerProbeNotifier != null) {
+            timerProbeNotifier.ejbTimerDeliveryLagEvent(lagInMillis);
+        }
+    }
+
     private static class JndiInfo {
         SimpleJndiName name;
         Object object;
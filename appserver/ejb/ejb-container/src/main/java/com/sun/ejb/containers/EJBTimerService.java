@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -46,10 +46,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.glassfish.api.invocation.ComponentInvocation;
+import org.glassfish.common.util.timer.TimingWheel;
 import org.glassfish.ejb.config.EjbContainer;
 import org.glassfish.ejb.config.EjbTimerService;
 import org.glassfish.ejb.deployment.descriptor.EjbDescriptor;
@@ -131,6 +135,20 @@ public class EJBTimerService {
     private static final String RESCHEDULE_FAILED_TIMER = "reschedule-failed-timer";
     private boolean rescheduleFailedTimer;
 
+    // Schedule the expirations by a timing wheel instead of the JDK timer
+    private static final String TIMER_SCHEDULER = "timer-scheduler";
+    private static final String TIMING_WHEEL_SCHEDULER = "timing-wheel";
+
+    // Precision of the timing wheel
+    private static final String TIMING_WHEEL_TICK = "timing-wheel-tick-in-millis";
+    private static final long DEFAULT_TIMING_WHEEL_TICK = 100;
+
+    // Where the timing wheel runs the expirations: timer-thread, virtual-threads or work-pool
+    private static final String TIMING_WHEEL_DISPATCH = "timing-wheel-dispatch";
+
+    private TimingWheel timingWheel;
+    private ExecutorService timingWheelExecutor;
+
     // Flag that allows to load EJBTimerService on the 1st access and
     // distinguish between not available and not loaded
     private static volatile boolean _timerServiceVerified;
@@ -253,6 +271,10 @@ public class EJBTimerService {
 
                 rescheduleFailedTimer = Boolean.valueOf(ejbt.getPropertyValue(RESCHEDULE_FAILED_TIMER));
 
+                if (TIMING_WHEEL_SCHEDULER.equals(ejbt.getPropertyValue(TIMER_SCHEDULER))) {
+                    initTimingWheel(ejbt.getPropertyValue(TIMING_WHEEL_TICK), ejbt.getPropertyValue(TIMING_WHEEL_DISPATCH));
+                }
+
                 // Load confing listener
                 ejbContainerUtil.getServices().getService(EJBTimerServiceConfigListener.class);
             }
@@ -265,7 +287,27 @@ public class EJBTimerService {
         logger.log(Level.FINE, "EJB Timer Service properties : " +
                    "min delivery interval = " + getMinimumDeliveryInterval() +
                    "\nmax redeliveries = " + maxRedeliveries_ +
-                   "\nredelivery interval = " + getRedeliveryInterval());
+                   "\nredelivery interval = " + getRedeliveryInterval() +
+                   "\ntiming wheel = " + (timingWheel != null));
+    }
+
+    private void initTimingWheel(String tickString, String dispatch) {
+        long tick = (tickString != null) ? Long.parseLong(tickString) : -1;
+        if( tick <= 0 ) {
+            tick = DEFAULT_TIMING_WHEEL_TICK;
+        }
+
+        Executor executor;
+        if( "virtual-threads".equals(dispatch) ) {
+            timingWheelExecutor = Executors.newVirtualThreadPerTaskExecutor();
+            executor = timingWheelExecutor;
+        } else if( "work-pool".equals(dispatch) ) {
+            executor = ejbContainerUtil::addWork;
+        } else {
+            // taskExpired is short, it hands the delivery over to the work pool anyway
+            executor = null;
+        }
+        timingWheel = new TimingWheel("EJB Timer Service timing wheel", tick, executor);
     }
 
     synchronized void timedObjectCount() {
@@ -332,9 +374,15 @@ public class EJBTimerService {
         }
     }
 
-    private void shutdown() {
+    protected void shutdown() {
         // Set flag to prevent any new timer expirations.
         shutdown_ = true;
+        if( timingWheel != null ) {
+            timingWheel.stop();
+        }
+        if( timingWheelExecutor != null ) {
+            timingWheelExecutor.shutdown();
+        }
     }
 
     /**
@@ -446,8 +494,13 @@ public class EJBTimerService {
                     timerState.scheduled(timerTask);
                 }
 
-                java.util.Timer jdkTimer = ejbContainerUtil.getTimer();
-                jdkTimer.schedule(timerTask, timerExpiration);
+                if( timingWheel != null ) {
+                    timerTask.setWheelTimeout(timingWheel.schedule(timerTask,
+                        timerExpiration.getTime() - System.currentTimeMillis()));
+                } else {
+                    java.util.Timer jdkTimer = ejbContainerUtil.getTimer();
+                    jdkTimer.schedule(timerTask, timerExpiration);
+                }
             }
         } else {
 
@@ -1378,6 +1431,7 @@ public class EJBTimerService {
         if( timerState != null ) {
             synchronized(timerState) {
                 if( timerState.isScheduled() ) {
+                    reportDeliveryLag(timerState);
                     timerState.delivered();
 
                     if( logger.isLoggable(Level.FINE) ) {
@@ -1400,6 +1454,15 @@ public class EJBTimerService {
         return;
     }
 
+    private void reportDeliveryLag(RuntimeTimerState timerState) {
+        BaseContainer container = getContainer(timerState.getContainerId());
+        if( container != null ) {
+            long lag = System.currentTimeMillis() -
+                timerState.getCurrentTimerTask().getTimeout().getTime();
+            container.timerDeliveryLag(Math.max(lag, 0L));
+        }
+    }
+
     /**
      * Generate a unique key for the persistent timer object.
      * Key must be unique across server shutdown and startup, and
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -20,9 +21,12 @@ package com.sun.ejb.containers;
 import java.util.Date;
 import java.util.TimerTask;
 
+import org.glassfish.common.util.timer.TimingWheel;
+
 
 /*
- * JDK timer task for timer expirations.
+ * JDK timer task for timer expirations. The task is scheduled either by the
+ * JDK timer or by the timing wheel of the timer service.
  *
  * @author Kenneth Saks
  */
@@ -31,6 +35,7 @@ public class EJBTimerTask extends TimerTask {
     private Date timeout_;
     private TimerPrimaryKey timerId_;
     private EJBTimerService timerService_;
+    private volatile TimingWheel.Timeout wheelTimeout_;
 
     EJBTimerTask(Date timeout, TimerPrimaryKey timerId,
                  EJBTimerService timerService)
@@ -49,5 +54,18 @@ public class EJBTimerTask extends TimerTask {
         return timeout_;
     }
 
+    void setWheelTimeout(TimingWheel.Timeout wheelTimeout) {
+        wheelTimeout_ = wheelTimeout;
+    }
+
+    @Override
+    public boolean cancel() {
+        TimingWheel.Timeout wheelTimeout = wheelTimeout_;
+        if (wheelTimeout != null) {
+            return wheelTimeout.cancel();
+        }
+        return super.cancel();
+    }
+
 }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2022 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,6 +17,7 @@
 
 package com.sun.ejb.containers.interceptors;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -30,12 +31,19 @@ public class AroundInvokeInvocationContext extends CallbackInvocationContext imp
     private int interceptorIndex = 0;
     private InterceptorManager.InterceptorChain chain;
     private Object[] parameters;
+    private final MethodHandle methodHandle;
 
     public AroundInvokeInvocationContext(Object targetObjectInstance, Object[] interceptorInstances, InterceptorManager.InterceptorChain chain, Method m, Object[] params) {
         super(targetObjectInstance, interceptorInstances, null);
         method = m;
         this.chain = chain;
         parameters = params;
+        // The chains built for the bean method carry its handle
+        if (chain instanceof AroundInvokeChainImpl && m == ((AroundInvokeChainImpl) chain).getBeanMethod()) {
+            methodHandle = ((AroundInvokeChainImpl) chain).getBeanMethodHandle();
+        } else {
+            methodHandle = null;
+        }
     }
 
     @Override
@@ -82,6 +90,9 @@ public class AroundInvokeInvocationContext extends CallbackInvocationContext imp
      */
     @Override
     public Object invokeBeanMethod() throws Throwable {
+        if (methodHandle != null) {
+            return (Object) methodHandle.invokeExact(getTarget(), parameters);
+        }
         try {
             return method.invoke(getTarget(), parameters);
         } catch (InvocationTargetException ite) {
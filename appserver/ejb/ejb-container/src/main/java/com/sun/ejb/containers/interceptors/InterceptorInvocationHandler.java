@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2022 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -108,16 +108,14 @@ public final class InterceptorInvocationHandler implements InvocationHandler, In
         Object returnValue = null;
 
         try {
-            Method beanClassMethod = targetInstance.getClass().getMethod(method.getName(), method.getParameterTypes());
-
-            InterceptorManager.InterceptorChain chain = interceptorManager.getAroundInvokeChain(null, beanClassMethod);
+            AroundInvokeChainImpl chain = interceptorManager.getBeanMethodChain(targetInstance, method);
 
             Object[] theArgs = (args == null) ? emptyArray : args;
 
             // Create context for around invoke invocation. Make sure method set on
             // InvocationContext is from bean class.
             AroundInvokeInvocationContext invContext =
-                new AroundInvokeInvocationContext(targetInstance, interceptorInstances, chain, beanClassMethod, theArgs);
+                new AroundInvokeInvocationContext(targetInstance, interceptorInstances, chain, chain.getBeanMethod(), theArgs);
 
             returnValue = interceptorManager.intercept(chain, invContext);
 
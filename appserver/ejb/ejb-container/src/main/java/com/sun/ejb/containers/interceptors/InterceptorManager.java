@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -31,6 +31,8 @@ import jakarta.ejb.EJBException;
 import jakarta.interceptor.InvocationContext;
 
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InaccessibleObjectException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -42,6 +44,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -49,6 +52,9 @@ import org.glassfish.ejb.deployment.descriptor.EjbDescriptor;
 import org.glassfish.ejb.deployment.descriptor.EjbSessionDescriptor;
 
 import static com.sun.ejb.EJBUtils.loadGeneratedSerializableClass;
+import static com.sun.ejb.containers.interceptors.InterceptorUtil.BEAN_CALLBACK_METHOD_TYPE;
+import static com.sun.ejb.containers.interceptors.InterceptorUtil.BEAN_METHOD_TYPE;
+import static com.sun.ejb.containers.interceptors.InterceptorUtil.INTERCEPTOR_METHOD_TYPE;
 import static com.sun.enterprise.deployment.LifecycleCallbackDescriptor.CallbackType.POST_ACTIVATE;
 import static com.sun.enterprise.deployment.LifecycleCallbackDescriptor.CallbackType.PRE_PASSIVATE;
 import static java.util.logging.Level.CONFIG;
@@ -93,6 +99,17 @@ public class InterceptorManager {
     // Optionally specified delegate to be set on SystemInterceptorProxy
     private Object runtimeInterceptor;
 
+    // Around invoke chains of a non-ejb, by the method of the client view
+    private final Map<Method, AroundInvokeChainImpl> aroundInvokeChains = new ConcurrentHashMap<>();
+
+    // Around invoke chains of a non-ejb whose instance is not of the bean class, e.g. a proxy or a subclass
+    private final ClassValue<Map<Method, AroundInvokeChainImpl>> targetClassAroundInvokeChains = new ClassValue<>() {
+        @Override
+        protected Map<Method, AroundInvokeChainImpl> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     List<InterceptorDescriptor> frameworkInterceptors = new LinkedList<>();
 
     public InterceptorManager(Logger _logger, BaseContainer container, Class<?>[] lcAnnotationClasses, String[] pre30LCMethodNames) throws Exception {
@@ -176,6 +193,42 @@ public class InterceptorManager {
     }
 
     public InterceptorManager.InterceptorChain getAroundInvokeChain(MethodDescriptor mDesc, Method beanMethod) {
+        return new AroundInvokeChainImpl(getAroundInvokeInterceptors(mDesc, beanMethod));
+    }
+
+    /**
+     * Returns the around invoke chain of a non-ejb for the method of its client view. The chain is built on the first
+     * call for the method and the class of the target instance and it also invokes the bean method, so no reflection is
+     * needed on the further calls.
+     *
+     * @param targetInstance the instance of the bean class, or of its proxy or subclass
+     * @param method the method of the client view
+     * @return the around invoke chain of the bean class method
+     * @throws NoSuchMethodException if the bean class does not implement the method
+     */
+    AroundInvokeChainImpl getBeanMethodChain(Object targetInstance, Method method) throws NoSuchMethodException {
+        // The target is expected to be of the bean class, resolve the bean method on its class otherwise
+        Class<?> targetClass = targetInstance.getClass();
+        Map<Method, AroundInvokeChainImpl> chains =
+            targetClass == beanClass ? aroundInvokeChains : targetClassAroundInvokeChains.get(targetClass);
+
+        AroundInvokeChainImpl chain = chains.get(method);
+        if (chain == null) {
+            chain = createAroundInvokeChain(targetClass.getMethod(method.getName(), method.getParameterTypes()));
+            AroundInvokeChainImpl existing = chains.putIfAbsent(method, chain);
+            if (existing != null) {
+                chain = existing;
+            }
+        }
+        return chain;
+    }
+
+    private AroundInvokeChainImpl createAroundInvokeChain(Method beanMethod) {
+        return new AroundInvokeChainImpl(getAroundInvokeInterceptors(null, beanMethod), beanMethod,
+            InterceptorUtil.unreflect(beanMethod, BEAN_METHOD_TYPE));
+    }
+
+    private AroundInvokeInterceptor[] getAroundInvokeInterceptors(MethodDescriptor mDesc, Method beanMethod) {
         List<AroundInvokeInterceptor> interceptors = new ArrayList<>();
 
         for (InterceptorDescriptor interceptor : frameworkInterceptors) {
@@ -222,7 +275,7 @@ public class InterceptorManager {
                 interceptorDescriptor.getInterceptorClass() != null ? interceptorDescriptor.getInterceptorClass().getClassLoader() : loader);
         }
 
-        return new AroundInvokeChainImpl(interceptors.toArray(new AroundInvokeInterceptor[interceptors.size()]));
+        return interceptors.toArray(new AroundInvokeInterceptor[interceptors.size()]);
     }
 
     public InterceptorManager.InterceptorChain getAroundTimeoutChain(MethodDescriptor methodDescriptor, Method beanMethod) {
@@ -697,10 +750,30 @@ class AroundInvokeChainImpl implements InterceptorManager.InterceptorChain {
     protected AroundInvokeInterceptor[] interceptors;
     protected int size;
 
+    // Set for the chains of a non-ejb, which invoke the bean method themselves
+    private final Method beanMethod;
+    private final MethodHandle beanMethodHandle;
+
     protected AroundInvokeChainImpl(AroundInvokeInterceptor[] interceptors) {
+        this(interceptors, null, null);
+    }
 
+    AroundInvokeChainImpl(AroundInvokeInterceptor[] interceptors, Method beanMethod, MethodHandle beanMethodHandle) {
         this.interceptors = interceptors;
         this.size = (interceptors == null) ? 0 : interceptors.length;
+        this.beanMethod = beanMethod;
+        this.beanMethodHandle = beanMethodHandle;
+    }
+
+    Method getBeanMethod() {
+        return beanMethod;
+    }
+
+    /**
+     * @return handle of the bean method of the chain, null if it must be invoked by reflection
+     */
+    MethodHandle getBeanMethodHandle() {
+        return beanMethodHandle;
     }
 
     @Override
@@ -722,6 +795,7 @@ class AroundInvokeChainImpl implements InterceptorManager.InterceptorChain {
 class AroundInvokeInterceptor {
     protected int index;
     protected Method method;
+    private final MethodHandle handle;
 
     AroundInvokeInterceptor(int index, Method method) {
         this.index = index;
@@ -736,11 +810,19 @@ class AroundInvokeInterceptor {
             throw new EJBException(e);
         }
 
+        handle = InterceptorUtil.unreflect(method, INTERCEPTOR_METHOD_TYPE);
     }
 
     Object intercept(final InterceptorManager.AroundInvokeContext invCtx) throws Throwable {
+        return invoke(invCtx.getInterceptorInstances()[index], invCtx);
+    }
+
+    final Object invoke(Object instance, InvocationContext invCtx) throws Throwable {
+        if (handle != null) {
+            return (Object) handle.invokeExact(instance, invCtx);
+        }
         try {
-            return method.invoke(invCtx.getInterceptorInstances()[index], invCtx);
+            return method.invoke(instance, invCtx);
         } catch (InvocationTargetException invEx) {
             throw invEx.getCause();
         }
@@ -761,19 +843,20 @@ class BeanAroundInvokeInterceptor extends AroundInvokeInterceptor {
 
     @Override
     Object intercept(final InterceptorManager.AroundInvokeContext invCtx) throws Throwable {
-        try {
-            return method.invoke(invCtx.getTarget(), invCtx);
-        } catch (InvocationTargetException invEx) {
-            throw invEx.getCause();
-        }
+        return invoke(invCtx.getTarget(), invCtx);
     }
 }
 
 class CallbackInterceptor {
     protected int index;
     protected Method method;
+    protected final MethodHandle handle;
 
     CallbackInterceptor(int index, Method method) {
+        this(index, method, INTERCEPTOR_METHOD_TYPE);
+    }
+
+    protected CallbackInterceptor(int index, Method method, MethodType handleType) {
         this.index = index;
         this.method = method;
 
@@ -785,11 +868,16 @@ class CallbackInterceptor {
             throw new EJBException(e);
         }
 
+        handle = InterceptorUtil.unreflect(method, handleType);
     }
 
     Object intercept(final CallbackInvocationContext invContext) throws Throwable {
+        Object instance = invContext.getInterceptorInstances()[index];
+        if (handle != null) {
+            return (Object) handle.invokeExact(instance, (InvocationContext) invContext);
+        }
         try {
-            return method.invoke(invContext.getInterceptorInstances()[index], invContext);
+            return method.invoke(instance, invContext);
         } catch (java.lang.reflect.InvocationTargetException invEx) {
             throw invEx.getCause();
         }
@@ -809,13 +897,17 @@ class BeanCallbackInterceptor extends CallbackInterceptor {
     private static final Object[] NULL_ARGS = null;
 
     BeanCallbackInterceptor(Method method) {
-        super(-1, method);
+        super(-1, method, BEAN_CALLBACK_METHOD_TYPE);
     }
 
     @Override
     Object intercept(final CallbackInvocationContext invContext) throws Throwable {
         try {
-            method.invoke(invContext.getTarget(), NULL_ARGS);
+            if (handle == null) {
+                method.invoke(invContext.getTarget(), NULL_ARGS);
+            } else {
+                handle.invokeExact(invContext.getTarget());
+            }
             return invContext.proceed();
         } catch (InvocationTargetException invEx) {
             throw invEx.getCause();
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2022 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -19,7 +19,14 @@
  */
 package com.sun.ejb.containers.interceptors;
 
+import jakarta.interceptor.InvocationContext;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -29,6 +36,15 @@ import java.util.Set;
  */
 public class InterceptorUtil {
 
+    /** Type of the handles of the interceptor methods, taking the instance and the invocation context. */
+    static final MethodType INTERCEPTOR_METHOD_TYPE = MethodType.methodType(Object.class, Object.class, InvocationContext.class);
+
+    /** Type of the handles of the callback methods of the bean class, taking the instance. */
+    static final MethodType BEAN_CALLBACK_METHOD_TYPE = MethodType.methodType(void.class, Object.class);
+
+    /** Type of the handles of the bean methods, taking the instance and the parameters. */
+    static final MethodType BEAN_METHOD_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
     private static Map<Class, Set<Class>> compatiblePrimitiveWrapper = new HashMap<Class, Set<Class>>();
 
     static {
@@ -122,4 +138,29 @@ public class InterceptorUtil {
 
     }
 
+    /**
+     * Binds a method handle to the given method, adapted to the given type.
+     * <p>
+     * The handle is invoked by the interceptor chains instead of the method, it throws the exceptions of the method
+     * as is and can be inlined by the JIT.
+     *
+     * @param method the method, accessible if not public
+     * @param type type of the handle, see the constants of this class
+     * @return the handle, or null if the method cannot be invoked by a handle and must be invoked by reflection
+     */
+    static MethodHandle unreflect(Method method, MethodType type) {
+        if (Modifier.isStatic(method.getModifiers())) {
+            return null;
+        }
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+            if (type == BEAN_METHOD_TYPE) {
+                handle = handle.asType(handle.type().generic()).asSpreader(Object[].class, method.getParameterCount());
+            }
+            return handle.asType(type);
+        } catch (IllegalAccessException | WrongMethodTypeException e) {
+            return null;
+        }
+    }
+
 }
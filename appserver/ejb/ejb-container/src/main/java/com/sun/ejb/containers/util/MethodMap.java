@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -20,10 +20,12 @@ package com.sun.ejb.containers.util;
 import com.sun.ejb.InvocationInfo;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * This is an optimized map for resolving {@link Method} objects.
@@ -34,6 +36,14 @@ import java.util.Set;
  * when performed in the common path of a local ejb invocation, where our
  * goal is to be as fast as a raw java method call.
  * <p>
+ * The methods are placed in a table by a perfect hash function built
+ * when the map is created, so every method has its own slot and the lookup
+ * needs no probing nor {@link Method#equals(Object)}.  The hash combines
+ * the declaring class, the method name and the parameter count, which
+ * are all cached by the JVM, so the lookup makes no copies either.
+ * Only the methods overloaded with the same number of parameters share
+ * a slot, these are resolved by the backing HashMap.
+ * <p>
  * A MethodMap must be created with an existing Map and is immutable after
  * construction(except for clear()).
  * <p>
@@ -49,16 +59,18 @@ public final class MethodMap extends HashMap<Method, InvocationInfo> {
 
     private static final long serialVersionUID = 1L;
 
-    // If bucket size is not specified by caller, this is the number
-    // of buckets per method that will be created.
-    private static final int DEFAULT_BUCKET_MULTIPLIER = 20;
+    // The slot table is at most half full, so a displacement placing all
+    // methods of a bucket is found after a few attempts.
+    private static final int MAX_DISPLACEMENT = 1 << 16;
+
+    private final int minSlots_;
 
-    private final int numBuckets_;
+    // Displacement of each bucket of the perfect hash function, the table
+    // of slots has the same length.  See getSlot() below.
+    private int[] displacements_;
 
-    // Sparse array of method info.  Each element represents one method
-    // or is null.  Array is hashed by a combination of the
-    // method name's hashcode and its parameter length.  See
-    // getBucket() below for more details.
+    // Table of method info.  Each element represents one method
+    // or is null.
     //
     // Note that reference equality is not very useful on Method since
     // it defines the equals() method and each call to Class.getMethods()
@@ -68,12 +80,15 @@ public final class MethodMap extends HashMap<Method, InvocationInfo> {
     public MethodMap(Map<Method, InvocationInfo> methodMap) {
         super(methodMap);
 
-        numBuckets_ = methodMap.size() * DEFAULT_BUCKET_MULTIPLIER;
-
+        minSlots_ = 1;
         buildLookupTable(methodMap);
     }
 
 
+    /**
+     * @param methodMap the methods
+     * @param numBuckets the minimal size of the lookup table
+     */
     public MethodMap(Map<Method, InvocationInfo> methodMap, int numBuckets) {
         super(methodMap);
 
@@ -81,7 +96,7 @@ public final class MethodMap extends HashMap<Method, InvocationInfo> {
             throw new IllegalArgumentException("Invalid value of numBuckets = " + numBuckets);
         }
 
-        numBuckets_ = numBuckets;
+        minSlots_ = numBuckets;
         buildLookupTable(methodMap);
     }
 
@@ -108,8 +123,7 @@ public final class MethodMap extends HashMap<Method, InvocationInfo> {
     public InvocationInfo get(Object key) {
         if (key instanceof Method) {
             Method m = (Method) key;
-            Class<?>[] paramTypes = m.getParameterTypes();
-            return get(m, paramTypes.length);
+            return get(m, m.getParameterCount());
         }
         return null;
     }
@@ -121,28 +135,32 @@ public final class MethodMap extends HashMap<Method, InvocationInfo> {
             throw new IllegalStateException("invalid numParams = " + numParams);
         }
 
-        InvocationInfo value = null;
-        MethodInfo methodInfo = methodInfo_[getBucket(m, numParams)];
-        if (methodInfo != null) {
-            // Declaring classes must be the same for methods to be equal.
-            if (methodInfo.declaringClass == m.getDeclaringClass()) {
-                value = methodInfo.value;
+        Class<?> declaringClass = m.getDeclaringClass();
+        String name = m.getName();
+        MethodInfo methodInfo = methodInfo_[getSlot(declaringClass, name, numParams)];
+        if (methodInfo != null && methodInfo.declaringClass == declaringClass && methodInfo.numParams == numParams
+            && methodInfo.name.equals(name)) {
+            if (methodInfo.value != null) {
+                return methodInfo.value;
             }
+            // Overloaded with the same number of parameters
+            return super.get(m);
         }
-        return value == null ? super.get(m) : value;
+        // Not in the map
+        return null;
     }
 
     @Override
     public void clear() {
         if (methodInfo_ != null) {
             methodInfo_ = null;
+            displacements_ = null;
             super.clear();
         }
     }
 
     private void buildLookupTable(Map<Method, InvocationInfo> methodMap) {
-        methodInfo_ = new MethodInfo[numBuckets_];
-        Set<Integer> occupied = new HashSet<>();
+        Map<MethodInfo, MethodInfo> methods = new HashMap<>();
         for (Entry<Method, InvocationInfo> entry : methodMap.entrySet()) {
             Object nextObj = entry.getKey();
             Method next = null;
@@ -155,66 +173,130 @@ public final class MethodMap extends HashMap<Method, InvocationInfo> {
                     "invalid key type = " + nextObj.getClass() + " key must be of type java.lang.reflect.Method");
             }
 
-            int bucket = getBucket(next);
-            if (occupied.contains(bucket)) {
-                // there's a clash for this bucket, so null it out and
-                // defer to backing HashMap for results.
-                methodInfo_[bucket] = null;
-            } else {
-                MethodInfo methodInfo = new MethodInfo();
+            MethodInfo methodInfo = new MethodInfo(next.getDeclaringClass(), next.getName(), next.getParameterCount());
+            MethodInfo overloaded = methods.putIfAbsent(methodInfo, methodInfo);
+            if (overloaded == null) {
                 methodInfo.value = entry.getValue();
+            } else {
+                // there's a clash for this slot, so null it out and
+                // defer to backing HashMap for results.
+                overloaded.value = null;
+            }
+        }
 
-                // cache declaring class so we can avoid the method call
-                // during lookup operation.
-                methodInfo.declaringClass = next.getDeclaringClass();
-                methodInfo_[bucket] = methodInfo;
-                occupied.add(bucket);
+        int numSlots = Integer.highestOneBit(Math.max(Math.max(methods.size() * 2, minSlots_) - 1, 1)) << 1;
+        while (!buildLookupTable(methods.keySet(), numSlots)) {
+            numSlots <<= 1;
+        }
+    }
+
+    /**
+     * Builds the perfect hash function by the hash and displace method.
+     * The methods are distributed to buckets by their hash code, and then
+     * a displacement is searched for each bucket, starting with the largest
+     * one, which places all its methods to free slots.
+     *
+     * @return false if there is a bucket which cannot be placed
+     */
+    private boolean buildLookupTable(Collection<MethodInfo> methods, int numSlots) {
+        List<List<MethodInfo>> buckets = new ArrayList<>(numSlots);
+        for (int i = 0; i < numSlots; i++) {
+            buckets.add(new ArrayList<>(2));
+        }
+        for (MethodInfo methodInfo : methods) {
+            buckets.get(methodInfo.hash & (numSlots - 1)).add(methodInfo);
+        }
+        buckets.sort(Comparator.comparingInt(bucket -> -bucket.size()));
+
+        int[] displacements = new int[numSlots];
+        MethodInfo[] slots = new MethodInfo[numSlots];
+        int[] placed = new int[numSlots];
+        for (List<MethodInfo> bucket : buckets) {
+            if (bucket.isEmpty()) {
+                break;
+            }
+            int displacement = 0;
+            while (!place(bucket, displacement, slots, placed)) {
+                if (++displacement == MAX_DISPLACEMENT) {
+                    return false;
+                }
             }
+            displacements[bucket.get(0).hash & (numSlots - 1)] = displacement;
         }
+
+        displacements_ = displacements;
+        methodInfo_ = slots;
+        return true;
     }
 
-    private int getBucket(Method m) {
-        // note : getParameterTypes is guaranteed to be 0-length array
-        // (as opposed to null) for a method with no arguments.
-        Class<?>[] paramTypes = m.getParameterTypes();
-        return getBucket(m, paramTypes.length);
+    private static boolean place(List<MethodInfo> bucket, int displacement, MethodInfo[] slots, int[] placed) {
+        int count = 0;
+        for (MethodInfo methodInfo : bucket) {
+            int slot = getSlot(methodInfo.hash, displacement, slots.length);
+            if (slots[slot] != null) {
+                for (int i = 0; i < count; i++) {
+                    slots[placed[i]] = null;
+                }
+                return false;
+            }
+            slots[slot] = methodInfo;
+            placed[count++] = slot;
+        }
+        return true;
     }
 
-    private int getBucket(Method m, int numParams) {
+    private int getSlot(Class<?> declaringClass, String methodName, int numParams) {
+        int hash = hash(declaringClass, methodName, numParams);
+        return getSlot(hash, displacements_[hash & (displacements_.length - 1)], displacements_.length);
+    }
 
-        String methodName = m.getName();
+    private static int getSlot(int hash, int displacement, int numSlots) {
+        int h = (hash ^ displacement * 0x9E3779B9) * 0x85EBCA6B;
+        return (h ^ (h >>> 15)) & (numSlots - 1);
+    }
 
+    private static int hash(Class<?> declaringClass, String methodName, int numParams) {
         // The normal Method.hashCode() method makes 5 method calls
         // and does not cache the result.  Here, we use the method name's
         // hashCode since String.hashCode() makes 0 method calls *and* caches
-        // the result.   The tradeoff is that using only method name will
-        // not account for overloaded methods, so we also add the number of
-        // parameters to the calculation.  In many cases, the caller
-        // already knows the number of parameters, so it can be passed in
-        // to the lookup.  This gives up some encapsulation for
-        // speed.   It will result in better performance because
-        // we can skip the call to m.getClass().getParameterTypes(),
-        // which results in multiple method calls and can involve some
-        // expensive copying depending of the types themselves.
-        // Of course, this still won't account for the case where methods
-        // are overloaded with the same number of parameters but different
-        // types.  However, the cache miss penalty should be small enough
-        // in this case that it's a fair tradeoff.  Adding anything else
-        // to the hashcode calculation will have too large an impact on the
-        // common case.
-
-        int hashCode = methodName.hashCode();
-
-        // account for negative hashcodes
-        hashCode = (hashCode >= 0) ? hashCode : (hashCode * -1);
-        hashCode = (hashCode > numParams) ?
-            (hashCode - numParams) : (hashCode + numParams);
-        return (hashCode % numBuckets_);
+        // the result, and the identity hash code of the declaring class,
+        // which is cached by the JVM.  Overloaded methods are told apart by
+        // the number of parameters.  In many cases, the caller already knows
+        // the number of parameters, so it can be passed in to the lookup.
+        // This gives up some encapsulation for speed, as we can skip the call
+        // to m.getParameterTypes(), which results in multiple method calls and
+        // can involve some expensive copying depending of the types themselves.
+        int hash = (methodName.hashCode() * 31 + numParams) * 31 + System.identityHashCode(declaringClass);
+        return hash ^ (hash >>> 16);
     }
 
 
     private static class MethodInfo {
-        public Class<?> declaringClass;
-        public InvocationInfo value;
+        final Class<?> declaringClass;
+        final String name;
+        final int numParams;
+        final int hash;
+        InvocationInfo value;
+
+        MethodInfo(Class<?> declaringClass, String name, int numParams) {
+            this.declaringClass = declaringClass;
+            this.name = name;
+            this.numParams = numParams;
+            this.hash = hash(declaringClass, name, numParams);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof MethodInfo)) {
+                return false;
+            }
+            MethodInfo other = (MethodInfo) obj;
+            return declaringClass == other.declaringClass && numParams == other.numParams && name.equals(other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
     }
 }
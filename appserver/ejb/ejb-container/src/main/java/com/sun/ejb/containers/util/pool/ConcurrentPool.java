@@ -0,0 +1,510 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.pool;
+
+import com.sun.ejb.containers.EJBContextImpl;
+import com.sun.ejb.containers.EjbContainerUtilImpl;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.sun.enterprise.util.Utility.setContextClassLoader;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+/**
+ * <p>
+ * Pool with the same sizing semantics as the {@link NonBlockingPool}, which does not lock on getting and returning
+ * objects.
+ *
+ * <p>
+ * Every platform thread keeps the last object it returned in its own cache, so a thread serving invocations of
+ * the same bean mostly gets the same instance back without touching any shared state. The other idle objects are kept
+ * in a shared lock-free stack, the most recently used objects are on its top and the idle ones sink to its bottom,
+ * where the periodic trimmer removes them. Virtual threads do not use the cache, they are not reused.
+ * When the shared stack is empty, an object cached by another thread is taken before a new one is created, otherwise
+ * the idle threads would hold the whole max pool size while the busy ones create and destroy objects.
+ *
+ * <p>
+ * The trimmer runs every idle timeout, destroys up to resize quantity objects idle longer than the idle timeout and
+ * populates the pool back to its steady size.
+ */
+public class ConcurrentPool extends AbstractPool {
+
+    private final String poolName;
+
+    /** Idle objects, the top is the first element. */
+    private final ConcurrentLinkedDeque<Object> sharedStack = new ConcurrentLinkedDeque<>();
+
+    private final Set<ThreadCache> threadCaches = ConcurrentHashMap.newKeySet();
+
+    private final ThreadLocal<ThreadCache> threadCache = ThreadLocal.withInitial(this::registerThreadCache);
+
+    /** Number of objects in the shared stack and the thread caches. */
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private final LongAdder success = new LongAdder();
+    private final LongAdder returned = new LongAdder();
+
+    private final AtomicBoolean resizeScheduled = new AtomicBoolean();
+
+    private TimerTask poolTimerTask;
+    private volatile boolean poolClosed;
+
+    public ConcurrentPool(long beanId, String poolName, ObjectFactory factory, int steadyPoolSize, int resizeQuantity, int maxPoolSize,
+            int idleTimeoutInSeconds, ClassLoader loader) {
+        this.poolName = poolName;
+        this.beanId = beanId;
+        this.pooledObjectFactory = factory;
+        this.maxPoolSize = maxPoolSize <= 0 ? Integer.MAX_VALUE : maxPoolSize;
+        this.steadyPoolSize = Math.min(Math.max(steadyPoolSize, 0), this.maxPoolSize);
+        this.resizeQuantity = Math.max(resizeQuantity, 0);
+        this.idleTimeoutInSeconds = Math.max(idleTimeoutInSeconds, 0);
+        this.containerClassLoader = loader;
+
+        if (this.idleTimeoutInSeconds > 0 && this.resizeQuantity > 0) {
+            try {
+                poolTimerTask = new PoolTrimmerTimerTask();
+                EjbContainerUtilImpl.getInstance()
+                                    .getTimer()
+                                    .scheduleAtFixedRate(
+                                        poolTimerTask, this.idleTimeoutInSeconds * 1000L, this.idleTimeoutInSeconds * 1000L);
+
+                _logger.log(FINE, () -> "[Pool-" + poolName + "]: Added PoolTrimmerTimerTask...");
+            } catch (Throwable th) {
+                _logger.log(WARNING, "[Pool-" + poolName + "]: Could not add PoolTimerTask. Continuing anyway...", th);
+            }
+        }
+    }
+
+    @Override
+    public Object getObject(Object param) {
+        Object pooledObject = takeIdleObject();
+        if (steadyPoolSize > 0 && idleCount.get() < steadyPoolSize) {
+            scheduleResize();
+        }
+
+        if (pooledObject != null) {
+            success.increment();
+            return pooledObject;
+        }
+
+        created.increment();
+        poolProbeNotifier.ejbObjectAddedEvent(beanId, appName, modName, ejbName);
+        try {
+            return pooledObjectFactory.create(param);
+        } catch (RuntimeException th) {
+            created.decrement();
+            poolProbeNotifier.ejbObjectAddFailedEvent(beanId, appName, modName, ejbName);
+            throw th;
+        }
+    }
+
+    /**
+     * Return an object back to the pool. An object that is obtained through getObject() must always be returned back to the
+     * pool using either returnObject(obj) or through destroyObject(obj).
+     */
+    @Override
+    public void returnObject(Object object) {
+        if (!poolClosed && addIdleObject(object)) {
+            returned.increment();
+            // The pool could have been drained by close() before the object was parked.
+            if (poolClosed && reclaimIdleObject(object)) {
+                destroyObject(object);
+            }
+            return;
+        }
+        destroyObject(object);
+    }
+
+    /**
+     * Destroys an Object. Note that applications should not ignore the reference to the object that they got from
+     * getObject(). An object that is obtained through getObject() must always be returned back to the pool using either
+     * returnObject(obj) or through destroyObject(obj). This method tells that the object should be destroyed and cannot be
+     * reused.
+     */
+    @Override
+    public void destroyObject(Object object) {
+        destroyed.increment();
+        poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+        try {
+            pooledObjectFactory.destroy(object);
+        } catch (Exception ex) {
+            _logger.log(FINE, "exception in destroyObject", ex);
+        }
+    }
+
+    /**
+     * Prepopulate the pool with objects.
+     *
+     * @param count the number of objects to be added.
+     */
+    public void prepopulate(int count) {
+        steadyPoolSize = Math.min(Math.max(count, 0), maxPoolSize);
+        if (steadyPoolSize > 0) {
+            preload(steadyPoolSize);
+        }
+    }
+
+    /**
+     * Preload the pool with objects.
+     *
+     * @param count the number of objects to be added.
+     */
+    @Override
+    protected void preload(int count) {
+        for (int i = 0; i < count && !poolClosed; i++) {
+            Object object;
+            try {
+                object = pooledObjectFactory.create(null);
+            } catch (Exception ex) {
+                // Need not throw this exception up since we are pre-populating
+                return;
+            }
+            created.increment();
+            if (!addIdleObject(object)) {
+                destroyObject(object);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Close the pool
+     */
+    @Override
+    public void close() {
+        poolClosed = true;
+        if (poolTimerTask != null) {
+            poolTimerTask.cancel();
+            poolTimerTask = null;
+        }
+
+        List<Object> objects = new ArrayList<>();
+        for (ThreadCache cache : threadCaches) {
+            Object object = cache.slot.getAndSet(null);
+            if (object != null) {
+                objects.add(object);
+            }
+        }
+        threadCaches.clear();
+        for (Object object = sharedStack.pollFirst(); object != null; object = sharedStack.pollFirst()) {
+            objects.add(object);
+        }
+        idleCount.addAndGet(-objects.size());
+
+        _logger.log(FINE, () -> "[Pool-" + poolName + "]: Destroying " + objects.size() + " beans from the pool...");
+
+        // Since we're calling into EJB code, we need to set context class loader
+        ClassLoader origLoader = setContextClassLoader(containerClassLoader);
+        try {
+            for (Object object : objects) {
+                destroyObject(object);
+            }
+            unregisterProbeProvider();
+        } finally {
+            setContextClassLoader(origLoader);
+        }
+        _logger.log(FINE, () -> "[Pool-" + poolName + "]: Pool closed....");
+    }
+
+    @Override
+    protected void remove(int count) {
+        for (int i = 0; i < count; i++) {
+            Object object = sharedStack.pollLast();
+            if (object == null) {
+                return;
+            }
+            idleCount.decrementAndGet();
+            destroyObject(object);
+        }
+    }
+
+    @Override
+    protected void removeIdleObjects() {
+        long allowedIdleTime = System.currentTimeMillis() - idleTimeoutInSeconds * 1000L;
+
+        // Objects cached by finished threads or by threads not serving this bean anymore go to the shared stack first.
+        for (ThreadCache cache : threadCaches) {
+            Thread owner = cache.owner.get();
+            if (owner == null || !owner.isAlive()) {
+                threadCaches.remove(cache);
+            } else if (getLastTimeUsed(cache.slot.get()) > allowedIdleTime) {
+                continue;
+            }
+            Object object = cache.slot.getAndSet(null);
+            if (object != null) {
+                sharedStack.offerLast(object);
+            }
+        }
+
+        int victimCount = Math.min(resizeQuantity, idleCount.get() - steadyPoolSize);
+        for (int i = 0; i < victimCount; i++) {
+            Object object = sharedStack.pollLast();
+            if (object == null) {
+                return;
+            }
+            if (getLastTimeUsed(object) > allowedIdleTime) {
+                sharedStack.offerLast(object);
+                return;
+            }
+            idleCount.decrementAndGet();
+            destroyObject(object);
+        }
+    }
+
+    protected void doResize() {
+        if (poolClosed) {
+            return;
+        }
+
+        // We need to set the context class loader for this (deamon) thread!!
+        ClassLoader previousClassLoader = setContextClassLoader(containerClassLoader);
+        try {
+            if (idleTimeoutInSeconds > 0 && resizeQuantity > 0) {
+                removeIdleObjects();
+            }
+
+            int curSize = idleCount.get();
+            if (curSize < steadyPoolSize) {
+                int populateCount = steadyPoolSize - curSize;
+                if (resizeQuantity > 0) {
+                    populateCount = Math.min((populateCount + resizeQuantity - 1) / resizeQuantity * resizeQuantity, maxPoolSize - curSize);
+                }
+                _logger.log(FINE, "[Pool-{0}]: Attempting to preload {1} beans.", new Object[] {poolName, populateCount});
+                preload(populateCount);
+            }
+        } catch (Throwable th) {
+            _logger.log(WARNING, "[Pool-" + poolName + "]: Exception during reSize", th);
+        } finally {
+            setContextClassLoader(previousClassLoader);
+        }
+        _logger.log(FINE, () -> "[Pool-" + poolName + "]: Resize completed; after reSize: " + getAllAttrValues());
+    }
+
+    private Object takeIdleObject() {
+        ThreadCache cache = getThreadCache();
+        if (cache != null && cache.slot.get() != null) {
+            Object object = cache.slot.getAndSet(null);
+            if (object != null) {
+                idleCount.decrementAndGet();
+                return object;
+            }
+        }
+        Object object = sharedStack.pollFirst();
+        if (object == null) {
+            object = stealIdleObject();
+        }
+        if (object != null) {
+            idleCount.decrementAndGet();
+        }
+        return object;
+    }
+
+    /**
+     * Takes an object cached by any thread.
+     */
+    private Object stealIdleObject() {
+        for (ThreadCache cache : threadCaches) {
+            if (cache.slot.get() != null) {
+                Object object = cache.slot.getAndSet(null);
+                if (object != null) {
+                    return object;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean addIdleObject(Object object) {
+        if (idleCount.incrementAndGet() > maxPoolSize) {
+            idleCount.decrementAndGet();
+            return false;
+        }
+        ThreadCache cache = getThreadCache();
+        if (cache == null || !cache.slot.compareAndSet(null, object)) {
+            sharedStack.offerFirst(object);
+        }
+        return true;
+    }
+
+    /**
+     * Takes the object back from the idle objects, unless somebody else did it already.
+     *
+     * @return true if the object was taken back and the caller owns it.
+     */
+    private boolean reclaimIdleObject(Object object) {
+        ThreadCache cache = getThreadCache();
+        if ((cache != null && cache.slot.compareAndSet(object, null)) || sharedStack.removeFirstOccurrence(object)) {
+            idleCount.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private ThreadCache getThreadCache() {
+        return Thread.currentThread().isVirtual() ? null : threadCache.get();
+    }
+
+    private ThreadCache registerThreadCache() {
+        ThreadCache cache = new ThreadCache(Thread.currentThread());
+        threadCaches.add(cache);
+        return cache;
+    }
+
+    private void scheduleResize() {
+        if (poolClosed || !resizeScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            EjbContainerUtilImpl.getInstance().addWork(new ReSizeWork());
+        } catch (Exception ex) {
+            resizeScheduled.set(false);
+            _logger.log(WARNING, ex, () -> "[Pool-" + poolName + "]: Cannot perform pool resize task");
+        }
+    }
+
+    private static long getLastTimeUsed(Object object) {
+        return object instanceof EJBContextImpl ? ((EJBContextImpl) object).getLastTimeUsed() : 0L;
+    }
+
+    /**************** For Monitoring ***********************/
+    /*******************************************************/
+
+    @Override
+    public int getCreatedCount() {
+        return created.intValue();
+    }
+
+    @Override
+    public int getDestroyedCount() {
+        return destroyed.intValue();
+    }
+
+    @Override
+    public int getPoolSuccess() {
+        return success.intValue();
+    }
+
+    @Override
+    public int getSize() {
+        return idleCount.get();
+    }
+
+    @Override
+    public int getWaitCount() {
+        return 0;
+    }
+
+    @Override
+    public void appendStats(StringBuffer sbuf) {
+        sbuf.append("[Pool: ")
+            .append("SZ=").append(idleCount.get()).append("; ")
+            .append("CC=").append(created.intValue()).append("; ")
+            .append("DC=").append(destroyed.intValue()).append("; ")
+            .append("WC=0; ")
+            .append("MSG=0");
+
+        if (configData != null) {
+            sbuf.append(configData);
+        }
+
+        sbuf.append("]");
+    }
+
+    @Override
+    public int getNumBeansInPool() {
+        return idleCount.get();
+    }
+
+    @Override
+    public int getNumThreadsWaiting() {
+        return 0;
+    }
+
+    @Override
+    public int getTotalBeansCreated() {
+        return created.intValue();
+    }
+
+    @Override
+    public int getTotalBeansDestroyed() {
+        return destroyed.intValue();
+    }
+
+    @Override
+    public String getAllMonitoredAttrbuteValues() {
+        return "createdCount=" + created.intValue() + ";"
+            + "destroyedCount=" + destroyed.intValue() + ";"
+            + "waitCount=0;"
+            + "size=" + idleCount.get() + ";"
+            + "maxPoolSize=" + maxPoolSize + ";";
+    }
+
+    @Override
+    public String getAllAttrValues() {
+        return "[Pool-" + poolName + "] "
+            + "CC=" + created.intValue() + "; "
+            + "DC=" + destroyed.intValue() + "; "
+            + "PR=" + returned.intValue() + "; "
+            + "CS=" + idleCount.get() + "; "
+            + "SS=" + steadyPoolSize + "; "
+            + "MS=" + maxPoolSize + ";";
+    }
+
+    /**
+     * The object cached by a single thread.
+     */
+    private static final class ThreadCache {
+
+        final WeakReference<Thread> owner;
+        final AtomicReference<Object> slot = new AtomicReference<>();
+
+        ThreadCache(Thread owner) {
+            this.owner = new WeakReference<>(owner);
+        }
+    }
+
+    private class ReSizeWork implements Runnable {
+        @Override
+        public void run() {
+            try {
+                doResize();
+            } finally {
+                resizeScheduled.set(false);
+            }
+        }
+    }
+
+    private class PoolTrimmerTimerTask extends TimerTask {
+        @Override
+        public void run() {
+            scheduleResize();
+        }
+    }
+}
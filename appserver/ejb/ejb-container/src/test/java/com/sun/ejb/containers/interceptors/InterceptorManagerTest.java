@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.interceptors;
+
+import com.sun.enterprise.container.common.spi.util.InterceptorInfo;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class InterceptorManagerTest {
+
+    private InterceptorManager manager;
+    private Method method;
+
+    @BeforeEach
+    public void createManager() throws Exception {
+        method = Bean.class.getMethod("hello", String.class);
+        InterceptorInfo interceptorInfo = new InterceptorInfo();
+        interceptorInfo.setAroundInvokeInterceptorChains(Map.of(method, List.of()));
+        manager = new InterceptorManager(Logger.getLogger(getClass().getName()), getClass().getClassLoader(), Bean.class.getName(),
+            interceptorInfo);
+    }
+
+    @Test
+    public void testBeanClassChainIsCached() throws Exception {
+        AroundInvokeChainImpl chain = manager.getBeanMethodChain(new Bean(), method);
+
+        assertThat(manager.getBeanMethodChain(new Bean(), method), sameInstance(chain));
+        assertThat(chain.getBeanMethod(), equalTo(method));
+        assertThat(chain.getBeanMethodHandle(), notNullValue());
+    }
+
+    @Test
+    public void testSubclassChainIsCached() throws Exception {
+        AroundInvokeChainImpl beanChain = manager.getBeanMethodChain(new Bean(), method);
+        AroundInvokeChainImpl chain = manager.getBeanMethodChain(new BeanSubclass(), method);
+
+        assertThat(chain, not(sameInstance(beanChain)));
+        assertThat(manager.getBeanMethodChain(new BeanSubclass(), method), sameInstance(chain));
+        assertThat(chain.getBeanMethodHandle(), notNullValue());
+    }
+
+    public static class Bean {
+
+        public String hello(String name) {
+            return "Hello " + name;
+        }
+    }
+
+    public static class BeanSubclass extends Bean {
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.interceptors;
+
+import jakarta.interceptor.InvocationContext;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Test;
+
+import static com.sun.ejb.containers.interceptors.InterceptorUtil.BEAN_CALLBACK_METHOD_TYPE;
+import static com.sun.ejb.containers.interceptors.InterceptorUtil.BEAN_METHOD_TYPE;
+import static com.sun.ejb.containers.interceptors.InterceptorUtil.INTERCEPTOR_METHOD_TYPE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class InterceptorUtilTest {
+
+    @Test
+    public void testPrivateInterceptorMethod() throws Throwable {
+        Method method = Interceptor.class.getDeclaredMethod("aroundInvoke", InvocationContext.class);
+        method.setAccessible(true);
+        MethodHandle handle = InterceptorUtil.unreflect(method, INTERCEPTOR_METHOD_TYPE);
+
+        assertThat(handle, notNullValue());
+        assertThat((Object) handle.invokeExact((Object) new Interceptor(), (InvocationContext) null), is("intercepted"));
+    }
+
+    @Test
+    public void testVoidCallbackMethod() throws Throwable {
+        Method method = Bean.class.getDeclaredMethod("postConstruct");
+        method.setAccessible(true);
+        MethodHandle handle = InterceptorUtil.unreflect(method, BEAN_CALLBACK_METHOD_TYPE);
+        Bean bean = new Bean();
+
+        handle.invokeExact((Object) bean);
+        assertThat(bean.initialized, is(true));
+    }
+
+    @Test
+    public void testBeanMethodParametersAreSpread() throws Throwable {
+        MethodHandle add = InterceptorUtil.unreflect(Bean.class.getMethod("add", int.class, long.class), BEAN_METHOD_TYPE);
+        MethodHandle join = InterceptorUtil.unreflect(Bean.class.getMethod("join", String[].class), BEAN_METHOD_TYPE);
+        MethodHandle reset = InterceptorUtil.unreflect(Bean.class.getMethod("reset"), BEAN_METHOD_TYPE);
+
+        assertThat((Object) add.invokeExact((Object) new Bean(), new Object[] {1, 2L}), is(3L));
+        assertThat((Object) join.invokeExact((Object) new Bean(), new Object[] {new String[] {"a", "b"}}), is("ab"));
+        assertThat((Object) reset.invokeExact((Object) new Bean(), new Object[0]), nullValue());
+    }
+
+    @Test
+    public void testExceptionIsThrownAsIs() throws Exception {
+        MethodHandle handle = InterceptorUtil.unreflect(Bean.class.getMethod("fail"), BEAN_METHOD_TYPE);
+
+        assertThrows(IOException.class, () -> {
+            Object result = (Object) handle.invokeExact((Object) new Bean(), new Object[0]);
+        });
+    }
+
+    @Test
+    public void testStaticMethodIsInvokedByReflection() throws Exception {
+        assertThat(InterceptorUtil.unreflect(Bean.class.getMethod("create"), BEAN_METHOD_TYPE), nullValue());
+    }
+
+    public static class Interceptor {
+
+        private Object aroundInvoke(InvocationContext ctx) {
+            return "intercepted";
+        }
+    }
+
+    public static class Bean {
+
+        boolean initialized;
+
+        private void postConstruct() {
+            initialized = true;
+        }
+
+        public long add(int a, long b) {
+            return a + b;
+        }
+
+        public String join(String... values) {
+            return String.join("", values);
+        }
+
+        public void reset() {
+            initialized = false;
+        }
+
+        public void fail() throws IOException {
+            throw new IOException("failed");
+        }
+
+        public static Bean create() {
+            return new Bean();
+        }
+    }
+}
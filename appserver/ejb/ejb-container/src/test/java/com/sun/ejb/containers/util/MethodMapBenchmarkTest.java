@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util;
+
+import com.sun.ejb.InvocationInfo;
+
+import java.lang.System.Logger;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static java.lang.System.Logger.Level.INFO;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Compares the lookup of the {@link MethodMap} with the lookup of the {@link HashMap} it is created from.
+ * The methods of several JDK classes are used, they contain many overloads with the same number of parameters.
+ */
+@State(Scope.Benchmark)
+public class MethodMapBenchmarkTest {
+    private static final Logger LOG = System.getLogger(MethodMapBenchmarkTest.class.getName());
+
+    private static final Class<?>[] CLASSES = {String.class, StringBuilder.class, ConcurrentHashMap.class, Thread.class};
+
+    private Map<Method, InvocationInfo> hashMap;
+    private MethodMap methodMap;
+    private Method[] methods;
+
+
+    @Setup
+    public void createMaps() {
+        List<Method> allMethods = new ArrayList<>();
+        hashMap = new HashMap<>();
+        for (Class<?> clazz : CLASSES) {
+            for (Method method : clazz.getMethods()) {
+                allMethods.add(method);
+                hashMap.put(method, new InvocationInfo(method));
+            }
+        }
+        methodMap = new MethodMap(hashMap);
+        // The invocation handler gets the method of the interface, not the key of the map
+        methods = new Method[allMethods.size()];
+        for (int i = 0; i < methods.length; i++) {
+            Method method = allMethods.get(i);
+            try {
+                methods[i] = method.getDeclaringClass().getMethod(method.getName(), method.getParameterTypes());
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+
+    @Test
+    public void lookup() throws Exception {
+        createMaps();
+        assertThat(methods.length, greaterThan(200));
+        for (Method method : methods) {
+            assertThat(method.toString(), methodMap.get(method, method.getParameterCount()), sameInstance(hashMap.get(method)));
+            assertThat(method.toString(), methodMap.get(method), sameInstance(hashMap.get(method)));
+        }
+        assertThat(methodMap.get(Runnable.class.getMethod("run"), 0), nullValue());
+        assertThat(methodMap.get(Map.class.getMethod("get", Object.class), 1), nullValue());
+        assertThat(methodMap.get("toString"), nullValue());
+        assertThrows(UnsupportedOperationException.class, () -> methodMap.put(methods[0], null));
+        assertThrows(IllegalArgumentException.class, () -> new MethodMap(hashMap, 0));
+
+        methodMap.clear();
+        assertThat(methodMap.get(methods[0]), nullValue());
+    }
+
+
+    @Test
+    public void lookup_benchmark() throws Exception {
+        Options options = new OptionsBuilder().include(getClass().getName() + ".*Lookup")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .forks(1).threads(1).shouldFailOnError(true)
+            .measurementIterations(1).measurementTime(TimeValue.milliseconds(1000L))
+            .timeUnit(TimeUnit.MICROSECONDS).mode(Mode.AverageTime).build();
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+        Map<String, Double> scores = new HashMap<>();
+        for (RunResult result : results) {
+            String benchmark = result.getParams().getBenchmark();
+            scores.put(benchmark.substring(benchmark.lastIndexOf('.') + 1), result.getPrimaryResult().getScore());
+        }
+        LOG.log(INFO, "Scores: {0}", scores);
+        assertThat("MethodMap lookup", scores.get("methodMapLookup"), lessThan(scores.get("hashMapLookup")));
+    }
+
+
+    @Benchmark
+    public void hashMapLookup(Blackhole blackhole) {
+        for (Method method : methods) {
+            blackhole.consume(hashMap.get(method));
+        }
+    }
+
+
+    @Benchmark
+    public void methodMapLookup(Blackhole blackhole) {
+        for (Method method : methods) {
+            blackhole.consume(methodMap.get(method, method.getParameterCount()));
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.pool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class ConcurrentPoolTest {
+
+    @Test
+    public void testReturnedObjectIsReused() {
+        CountingFactory factory = new CountingFactory();
+        ConcurrentPool pool = createPool(factory, 10);
+
+        Object first = pool.getObject(null);
+        Object second = pool.getObject(null);
+        assertThat(second, not(sameInstance(first)));
+        pool.returnObject(first);
+        pool.returnObject(second);
+
+        assertThat(pool.getSize(), is(2));
+        assertThat(pool.getObject(null), sameInstance(first));
+        assertThat(pool.getObject(null), sameInstance(second));
+        assertThat(factory.created.get(), is(2));
+        assertThat(pool.getCreatedCount(), is(2));
+        assertThat(pool.getPoolSuccess(), is(2));
+    }
+
+    @Test
+    public void testObjectsOverMaxPoolSizeAreDestroyed() {
+        CountingFactory factory = new CountingFactory();
+        ConcurrentPool pool = createPool(factory, 2);
+
+        List<Object> objects = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            objects.add(pool.getObject(null));
+        }
+        objects.forEach(pool::returnObject);
+
+        assertThat(pool.getSize(), is(2));
+        assertThat(factory.destroyed.get(), is(3));
+        assertThat(pool.getDestroyedCount(), is(3));
+
+        pool.close();
+        assertThat(pool.getSize(), is(0));
+        assertThat(factory.destroyed.get(), is(5));
+    }
+
+    @Test
+    public void testObjectsCachedByIdleThreadsAreReused() throws Exception {
+        CountingFactory factory = new CountingFactory();
+        ConcurrentPool pool = createPool(factory, 2);
+        List<ExecutorService> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Executors.newSingleThreadExecutor());
+        }
+        try {
+            // More threads than the max pool size, each of them serving invocations one by one
+            for (int round = 0; round < 100; round++) {
+                for (ExecutorService thread : threads) {
+                    thread.submit(() -> pool.returnObject(pool.getObject(null))).get(30, TimeUnit.SECONDS);
+                }
+            }
+        } finally {
+            threads.forEach(ExecutorService::shutdownNow);
+        }
+
+        assertThat(factory.created.get(), is(1));
+        assertThat(factory.destroyed.get(), is(0));
+        assertThat(pool.getSize(), is(1));
+        assertThat(pool.getPoolSuccess(), is(799));
+    }
+
+    @Test
+    public void testConcurrentThreadsNeverShareObject() throws Exception {
+        CountingFactory factory = new CountingFactory();
+        ConcurrentPool pool = createPool(factory, 8);
+        Set<Object> inUse = ConcurrentHashMap.newKeySet();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 10_000; i++) {
+                        Object object = pool.getObject(null);
+                        if (!inUse.add(object)) {
+                            conflicts.incrementAndGet();
+                        }
+                        inUse.remove(object);
+                        pool.returnObject(object);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(conflicts.get(), is(0));
+        assertThat(pool.getSize(), is(factory.created.get() - factory.destroyed.get()));
+    }
+
+    @Test
+    public void testObjectReturnedDuringCloseIsDestroyed() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 100; round++) {
+                CountingFactory factory = new CountingFactory();
+                ConcurrentPool pool = createPool(factory, 10_000);
+                CountDownLatch returning = new CountDownLatch(4);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    futures.add(executor.submit(() -> {
+                        List<Object> objects = new ArrayList<>();
+                        for (int i = 0; i < 1000; i++) {
+                            objects.add(pool.getObject(null));
+                        }
+                        returning.countDown();
+                        objects.forEach(pool::returnObject);
+                        return null;
+                    }));
+                }
+                returning.await();
+                pool.close();
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+
+                assertThat(pool.getSize(), is(0));
+                assertThat(factory.destroyed.get(), is(factory.created.get()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ConcurrentPool createPool(ObjectFactory factory, int maxPoolSize) {
+        ConcurrentPool pool = new ConcurrentPool(1L, "test", factory, 0, 1, maxPoolSize, 0, ConcurrentPoolTest.class.getClassLoader());
+        pool.setInfo("app", "module", "ejb");
+        return pool;
+    }
+
+    private static class CountingFactory implements ObjectFactory {
+
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger destroyed = new AtomicInteger();
+
+        @Override
+        public Object create(Object param) {
+            created.incrementAndGet();
+            return new Object();
+        }
+
+        @Override
+        public void destroy(Object obj) {
+            destroyed.incrementAndGet();
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -25,9 +26,13 @@ import com.sun.enterprise.transaction.spi.RecoveryEventListener;
 
 import jakarta.inject.Inject;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.glassfish.ejb.config.EjbTimerService;
 import org.glassfish.gms.bootstrap.GMSAdapter;
 import org.glassfish.gms.bootstrap.GMSAdapterService;
 import org.glassfish.hk2.api.PostConstruct;
@@ -43,6 +48,10 @@ public class DistributedEJBTimerService
 
     private static Logger logger = EjbContainerUtilImpl.getLogger();
 
+    // Share the timers of an instance shut down by the remaining instances
+    // instead of moving them all to the first one to receive the notification
+    private static final String TIMER_MIGRATION_SHARDING = "timer-migration-sharding";
+
     @Inject
     private EjbContainerUtil ejbContainerUtil;
 
@@ -82,7 +91,11 @@ public class DistributedEJBTimerService
             }
             PlannedShutdownSignal pssig = (PlannedShutdownSignal)signal;
             if (pssig.getEventSubType() == GMSConstants.shutdownType.INSTANCE_SHUTDOWN) {
-                migrateTimers(signal.getMemberToken());
+                if (isMigrationSharded()) {
+                    migrateTimerShard(signal.getMemberToken());
+                } else {
+                    migrateTimers(signal.getMemberToken());
+                }
             }
         } else {
             if (logger.isLoggable(Level.FINE)) {
@@ -136,5 +149,42 @@ public class DistributedEJBTimerService
         return result;
     }
 
+    /**
+     * Every remaining instance receives the planned shutdown notification, so each
+     * takes the shard of the timers given by its position among the sorted members.
+     * On failure the timers are migrated by the transaction recovery to a single
+     * instance, as there is no guarantee the other instances take their shards.
+     */
+    private int migrateTimerShard(String serverId) {
+        GMSAdapter gmsAdapter = gmsAdapterService.getGMSAdapter();
+        List<String> members = new ArrayList<>(gmsAdapter.getModule().getGroupHandle().getCurrentCoreMembers());
+        members.remove(serverId);
+        Collections.sort(members);
+
+        String instanceName = ejbContainerUtil.getServerEnvironment().getInstanceName();
+        int shard = members.indexOf(instanceName);
+        if (shard < 0) {
+            return migrateTimers(serverId);
+        }
+
+        if (logger.isLoggable(Level.INFO)) {
+            logger.log(Level.INFO, "[DistributedEJBTimerService] migrating timer shard " + shard + " of " + members.size()
+                + " from " + serverId);
+        }
+
+        // Force loading TimerService if it hadn't been started
+        EJBTimerService ejbTimerService = EJBTimerService.getEJBTimerService();
+        if (ejbTimerService instanceof PersistentEJBTimerService) {
+            return ((PersistentEJBTimerService) ejbTimerService).migrateTimers(serverId, shard, members.size());
+        }
+
+        return 0;
+    }
+
+    private boolean isMigrationSharded() {
+        EjbTimerService ejbt = ejbContainerUtil.getEjbContainer().getEjbTimerService();
+        return ejbt != null && Boolean.parseBoolean(ejbt.getPropertyValue(TIMER_MIGRATION_SHARDING));
+    }
+
 } //DistributedEJBTimerService.java
 
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ejb.persistent.timer;
+
+import com.sun.logging.LogDomains;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * Coalesces the last expiration updates of the periodic persistent timers and writes them to the timer table
+ * periodically in JDBC batches, instead of loading and updating the timer entity on every delivery.
+ * <p>
+ * Only the latest expiration of each timer is kept until the next flush. The update is conditional on the owner,
+ * so the expiration of a timer migrated to another server instance in the meantime is not overwritten. Updates
+ * not yet flushed when the server instance fails are lost, the missed expiration is then redelivered on restore,
+ * as it would be if the instance failed during the delivery.
+ */
+class LastExpirationWriter extends TimerTask {
+
+    private static final Logger logger = LogDomains.getLogger(LastExpirationWriter.class, LogDomains.EJB_LOGGER);
+
+    private static final String UPDATE_LAST_EXPIRATION = "UPDATE EJB__TIMER__TBL SET LASTEXPIRATIONRAW = ?"
+        + " WHERE TIMERID = ? AND OWNERID = ? AND LASTEXPIRATIONRAW < ?";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final DataSource dataSource;
+    private final String ownerId;
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+
+    LastExpirationWriter(DataSource dataSource, String ownerId) {
+        this.dataSource = dataSource;
+        this.ownerId = ownerId;
+    }
+
+    /**
+     * Remembers the expiration to be written by the next flush.
+     */
+    void add(String timerId, long lastExpiration) {
+        pending.merge(timerId, lastExpiration, Math::max);
+    }
+
+    @Override
+    public void run() {
+        flush();
+    }
+
+    /**
+     * Writes the pending expirations. If the write fails, they are kept for the next flush,
+     * unless newer ones were added meanwhile.
+     */
+    synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> batch = new HashMap<>();
+        for (String timerId : pending.keySet()) {
+            Long lastExpiration = pending.remove(timerId);
+            if (lastExpiration != null) {
+                batch.put(timerId, lastExpiration);
+            }
+        }
+
+        try {
+            write(batch);
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Flushed last expiration of " + batch.size() + " timers");
+            }
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Cannot update the last expiration of " + batch.size()
+                + " timers, will retry with the next flush", e);
+            batch.forEach(this::add);
+        }
+    }
+
+    private void write(Map<String, Long> batch) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_LAST_EXPIRATION)) {
+                int batched = 0;
+                for (Map.Entry<String, Long> entry : batch.entrySet()) {
+                    statement.setLong(1, entry.getValue());
+                    statement.setString(2, entry.getKey());
+                    statement.setString(3, ownerId);
+                    statement.setLong(4, entry.getValue());
+                    statement.addBatch();
+                    if (++batched % BATCH_SIZE == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                if (batched % BATCH_SIZE != 0) {
+                    statement.executeBatch();
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+}
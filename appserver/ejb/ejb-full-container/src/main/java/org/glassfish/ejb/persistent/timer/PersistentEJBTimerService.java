@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to Eclipse Foundation. All rights reserved.
+ * Copyright (c) 2022, 2026 Contributors to Eclipse Foundation. All rights reserved.
  * Copyright (c) 2011, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -51,6 +51,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -112,6 +114,21 @@ public class PersistentEJBTimerService extends EJBTimerService {
     // Possible values "redeliver" and "stop"
     private String operationOnConnectionFailure;
 
+    // Number of timers restored in one transaction
+    private static final String RESTORE_PAGE_SIZE = "timer-restore-page-size";
+    private static final int DEFAULT_RESTORE_PAGE_SIZE = 1000;
+    private int restorePageSize = DEFAULT_RESTORE_PAGE_SIZE;
+
+    // Maximum number of timer ids in one IN list of a migration update,
+    // Oracle does not accept more than 1000 expressions in a list
+    private static final int MAX_MIGRATION_IN_LIST_SIZE = 1000;
+
+    // Interval of the batched last expiration updates, if not set the timer
+    // is updated on each delivery
+    private static final String LAST_EXPIRATION_UPDATE_INTERVAL = "last-expiration-update-interval-in-millis";
+    private long lastExpirationUpdateInterval;
+    private LastExpirationWriter lastExpirationWriter;
+
     private PersistentEJBTimerService(String ejbName, boolean removeOldTimers) throws Exception {
         super();
 
@@ -126,6 +143,12 @@ public class PersistentEJBTimerService extends EJBTimerService {
         // the timeout fails
         lookupTimerResource();
 
+        if (lastExpirationUpdateInterval > 0) {
+            lastExpirationWriter = new LastExpirationWriter(timerDataSource, ownerIdOfThisServer_);
+            ejbContainerUtil.getTimer().schedule(lastExpirationWriter, lastExpirationUpdateInterval,
+                lastExpirationUpdateInterval);
+        }
+
         // The default value for ReadDBBeforeTimeout in case of PE
         // is false.
         setPerformDBReadBeforeTimeout(!isDas);
@@ -148,6 +171,15 @@ public class PersistentEJBTimerService extends EJBTimerService {
                     getDBReadBeforeTimeoutProperty();
 
                 operationOnConnectionFailure = ejbt.getPropertyValue(ON_CONECTION_FAILURE);
+
+                String valString = ejbt.getPropertyValue(RESTORE_PAGE_SIZE);
+                int pageSize = (valString != null) ? Integer.parseInt(valString) : -1;
+                if( pageSize > 0 ) {
+                    restorePageSize = pageSize;
+                }
+
+                valString = ejbt.getPropertyValue(LAST_EXPIRATION_UPDATE_INTERVAL);
+                lastExpirationUpdateInterval = (valString != null) ? Long.parseLong(valString) : -1;
             }
 
         } catch(Exception e) {
@@ -186,6 +218,18 @@ public class PersistentEJBTimerService extends EJBTimerService {
      */
     @Override
     public int migrateTimers(String fromOwnerId) {
+        return migrateTimers(fromOwnerId, 0, 1);
+    }
+
+    /**
+     * Take ownership of a shard of another server's timers. The timers are
+     * split into shards by ranges of the timer id hash, so that the server
+     * instances sharing the failed server's timers take disjoint parts of them.
+     *
+     * @param shard the shard taken by this server, from 0 to shards - 1
+     * @param shards the number of shards, 1 to take all timers
+     */
+    int migrateTimers(String fromOwnerId, int shard, int shards) {
 
         String ownerIdOfThisServer = getOwnerIdOfThisServer();
 
@@ -205,15 +249,33 @@ public class PersistentEJBTimerService extends EJBTimerService {
 
         TransactionManager tm = ejbContainerUtil.getTransactionManager();
 
-        Set toRestore = null;
+        Set<TimerState> toRestore = null;
+        List<String> migratedTimerIds = new ArrayList<>();
         int totalTimersMigrated = 0;
 
         try {
 
             tm.begin();
 
-            toRestore = timerLocal_.findTimersOwnedBy(fromOwnerId);
-            totalTimersMigrated = timerLocal_.migrateTimers(fromOwnerId, ownerIdOfThisServer);
+            if (shards > 1) {
+                // Only the ids are read, page by page, the timers of the
+                // shard are loaded when they are restored.
+                readPages(afterTimerId -> {
+                    List<String> page = timerLocal_.findTimerIdsOwnedBy(fromOwnerId, afterTimerId, restorePageSize);
+                    for (String timerId : page) {
+                        if (getShard(timerId, shards) == shard) {
+                            migratedTimerIds.add(timerId);
+                        }
+                    }
+                    return page;
+                }, timerId -> timerId, restorePageSize);
+                for (List<String> timerIds : partition(migratedTimerIds, MAX_MIGRATION_IN_LIST_SIZE)) {
+                    totalTimersMigrated += timerLocal_.migrateTimers(fromOwnerId, ownerIdOfThisServer, timerIds);
+                }
+            } else {
+                toRestore = timerLocal_.findTimersOwnedBy(fromOwnerId);
+                totalTimersMigrated = timerLocal_.migrateTimers(fromOwnerId, ownerIdOfThisServer);
+            }
 
             tm.commit();
 
@@ -237,20 +299,30 @@ public class PersistentEJBTimerService extends EJBTimerService {
 
 // XXX if( totalTimersMigrated  == toRestore.size() ) { XXX ???
         if( totalTimersMigrated > 0 ) {
-
-            boolean success = false;
             try {
 
                 logger.log(Level.INFO, "Timer migration phase 1 complete. " +
-                           "Changed ownership of " + toRestore.size() +
+                           "Changed ownership of " + totalTimersMigrated +
                            " timers.  Now reactivating timers...");
 
-                _notifyContainers(toRestore);
-
-                tm.begin();
-                _restoreTimers(toRestore);
-                success = true;
+                if (toRestore != null) {
+                    _notifyContainers(toRestore);
+                    for (List<TimerState> page : partition(new ArrayList<>(toRestore), restorePageSize)) {
+                        restoreMigratedTimers(tm, () -> page);
+                    }
+                } else {
+                    int pageSize = Math.min(restorePageSize, MAX_MIGRATION_IN_LIST_SIZE);
+                    for (List<String> timerIds : partition(migratedTimerIds, pageSize)) {
+                        restoreMigratedTimers(tm, () -> {
+                            List<TimerState> page = timerLocal_.findTimersByIds(timerIds);
+                            _notifyContainers(page);
+                            return page;
+                        });
+                    }
+                }
 
+            } catch(EJBException e) {
+                throw e;
             } catch(Exception e) {
 
                 logger.log(Level.FINE, "timer restoration error", e);
@@ -258,22 +330,6 @@ public class PersistentEJBTimerService extends EJBTimerService {
                 //Propogate any exceptions caught as part of the transaction
                 EJBException ejbEx = createEJBException( e );
                 throw ejbEx;
-
-            } finally {
-                // We're not modifying any state in this tx so no harm in
-                // always committing.
-                try {
-                    tm.commit();
-                } catch(Exception re) {
-                    logger.log(Level.FINE, "timer migration error", re);
-
-                    if( success ) {
-                        //Propogate any exceptions caught when trying to commit
-                        //the transaction
-                        EJBException ejbEx = createEJBException( re );
-                        throw ejbEx;
-                    }
-                }
             }
         } else {
             logger.log(Level.INFO, fromOwnerId + " has 0 timers in need of migration");
@@ -283,6 +339,79 @@ public class PersistentEJBTimerService extends EJBTimerService {
 
     } //migrateTimers()
 
+    /**
+     * Restores one page of migrated timers in its own transaction.
+     */
+    private void restoreMigratedTimers(TransactionManager tm, Callable<Collection<TimerState>> timers) throws Exception {
+        boolean success = false;
+        tm.begin();
+        try {
+            _restoreTimers(timers.call());
+            success = true;
+        } finally {
+            // We're not modifying any state in this tx so no harm in
+            // always committing.
+            try {
+                tm.commit();
+            } catch(Exception re) {
+                logger.log(Level.FINE, "timer migration error", re);
+
+                if( success ) {
+                    //Propogate any exceptions caught when trying to commit
+                    //the transaction
+                    EJBException ejbEx = createEJBException( re );
+                    throw ejbEx;
+                }
+            }
+        }
+    }
+
+    /**
+     * The shard of the timer, the unsigned hash range of the timer id split into equal ranges.
+     */
+    static int getShard(String timerId, int shards) {
+        return (int) (((timerId.hashCode() & 0xFFFFFFFFL) * shards) >>> 32);
+    }
+
+    /**
+     * Splits the list into consecutive sublists of at most the given size.
+     */
+    static <T> List<List<T>> partition(List<T> list, int size) {
+        List<List<T>> parts = new ArrayList<>((list.size() + size - 1) / size);
+        for (int from = 0; from < list.size(); from += size) {
+            parts.add(list.subList(from, Math.min(from + size, list.size())));
+        }
+        return parts;
+    }
+
+    /**
+     * Reads a query ordered by the timer id page by page. Each page starts after the last
+     * timer id of the previous one, the reading stops at the first page that is not full.
+     *
+     * @param query reads the page after the given timer id, empty string for the first page
+     * @param timerId the timer id of a page element
+     * @param pageSize the maximum size of a page
+     */
+    static <T> void readPages(PageQuery<T> query, Function<T, String> timerId, int pageSize) throws Exception {
+        String lastTimerId = "";
+        List<T> page;
+        do {
+            page = query.after(lastTimerId);
+            if (!page.isEmpty()) {
+                lastTimerId = timerId.apply(page.get(page.size() - 1));
+            }
+        } while (page.size() == pageSize);
+    }
+
+    /**
+     * A page of a query ordered by the timer id.
+     */
+    @FunctionalInterface
+    interface PageQuery<T> {
+
+        List<T> after(String timerId) throws Exception;
+    }
+
     @Override
     public boolean isPersistent() {
         return true;
@@ -351,7 +480,7 @@ public class PersistentEJBTimerService extends EJBTimerService {
                 restoreTimers();
                 rc = true;
             } else {
-                int s = timerLocal_.findActiveTimersOwnedByThisServer().size();
+                int s = timerLocal_.countActiveTimersOwnedByThisServer();
                 if (s > 0) {
                     logger.log(Level.INFO, "[" + s + "] EJB Timers owned by this server will be restored when timeout beans are loaded");
                 } else {
@@ -378,34 +507,42 @@ public class PersistentEJBTimerService extends EJBTimerService {
         }
 
         TransactionManager tm = ejbContainerUtil.getTransactionManager();
-        try {
-            // create a tx in which to do database access for all timers
-            // needing restoration.  This gives us better performance that
-            // doing individual transactions per timer.
-            tm.begin();
-
-            // This operation can take a while, since in some configurations
-            // this will be the first time the connection to the database
-            // is initialized.  In addition, there's an initialization
-            // cost to generating the SQL for the underlying
-            // jpql queries the first time any TimerBean query is called.
-            _restoreTimers(timerLocal_.findActiveTimersOwnedByThisServer());
 
-        } finally {
-            // try to commit regardless of success or failure.
+        // Read the timers in pages ordered by the timer id, each page in its
+        // own tx.  This gives us better performance than doing individual
+        // transactions per timer, while neither the persistence context nor
+        // the transaction grow with the size of the timer table.
+        readPages(afterTimerId -> {
+            List<TimerState> page;
             try {
-                tm.commit();
-            } catch(Exception e) {
-                logger.log(Level.WARNING, "ejb.timer_service_init_error", e);
+                tm.begin();
+
+                // This operation can take a while, since in some configurations
+                // this will be the first time the connection to the database
+                // is initialized.  In addition, there's an initialization
+                // cost to generating the SQL for the underlying
+                // jpql queries the first time any TimerBean query is called.
+                page = timerLocal_.findActiveTimersOwnedBy(ownerIdOfThisServer_, afterTimerId, restorePageSize);
+                _restoreTimers(page);
+
+            } finally {
+                // try to commit regardless of success or failure.
+                try {
+                    tm.commit();
+                } catch(Exception e) {
+                    logger.log(Level.WARNING, "ejb.timer_service_init_error", e);
+                }
             }
-        }
+            logger.log(Level.FINE, "Restored page of " + page.size() + " timers after " + afterTimerId);
+            return page;
+        }, TimerState::getTimerId, restorePageSize);
     }
 
     /**
      * The portion of timer migration that notifies containers about
      * automatic timers being migrated to this instance
      */
-    private void _notifyContainers(Set<TimerState> timers) {
+    private void _notifyContainers(Collection<TimerState> timers) {
         for(TimerState timer: timers) {
             EJBTimerSchedule ts = timer.getTimerSchedule();
             if (ts != null && ts.isAutomatic()) {
@@ -419,7 +556,7 @@ public class PersistentEJBTimerService extends EJBTimerService {
      * JDK timer tasks and checking for missed expirations.
      * @return the Set of restored timers
      */
-    private Set<TimerState> _restoreTimers(Set<TimerState> timersEligibleForRestoration) {
+    private Set<TimerState> _restoreTimers(Collection<TimerState> timersEligibleForRestoration) {
 
         // Do timer restoration in two passes.  The first pass updates
         // the timer cache with each timer.  The second pass schedules
@@ -1144,6 +1281,13 @@ public class PersistentEJBTimerService extends EJBTimerService {
     protected void resetLastExpiration(TimerPrimaryKey timerId,
                                           RuntimeTimerState timerState) {
         if (timerState.isPersistent()) {
+            if (lastExpirationWriter != null) {
+                // The validity was just checked by isValidTimerForThisServer,
+                // the update is written by the next flush.
+                lastExpirationWriter.add(timerId.getTimerId(), System.currentTimeMillis());
+                return;
+            }
+
             TimerState timer = getValidTimerFromDB( timerId );
             if( null == timer ) {
                 return;
@@ -1259,6 +1403,15 @@ public class PersistentEJBTimerService extends EJBTimerService {
     }
 
 
+    @Override
+    protected void shutdown() {
+        super.shutdown();
+        if (lastExpirationWriter != null) {
+            lastExpirationWriter.cancel();
+            lastExpirationWriter.flush();
+        }
+    }
+
     // Used by TimerBean.testTimer
     TimerLocal getTimerLocal() {
         return timerLocal_;
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -40,6 +41,7 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -513,6 +515,29 @@ public class TimerBean implements TimerLocal {
                                 EJBTimerService.STATE_CANCELLED);
     }
 
+    public List<TimerState> findActiveTimersOwnedBy(String ownerId, String afterTimerId, int maxResults) {
+        Query q = em.createNamedQuery("findTimersByOwnerAndStateAfterTimerId");
+        q.setParameter(1, ownerId);
+        q.setParameter(2, EJBTimerService.STATE_ACTIVE);
+        q.setParameter(3, afterTimerId);
+        q.setMaxResults(maxResults);
+        return q.getResultList();
+    }
+
+    public List<String> findTimerIdsOwnedBy(String ownerId, String afterTimerId, int maxResults) {
+        Query q = em.createNamedQuery("findTimerIdsByOwnerAfterTimerId");
+        q.setParameter(1, ownerId);
+        q.setParameter(2, afterTimerId);
+        q.setMaxResults(maxResults);
+        return q.getResultList();
+    }
+
+    public List<TimerState> findTimersByIds(Collection<String> timerIds) {
+        Query q = em.createNamedQuery("findTimersByTimerIds");
+        q.setParameter("timerIds", timerIds);
+        return q.getResultList();
+    }
+
 
     //
     // Helper query methods for timer counts
@@ -649,6 +674,14 @@ public class TimerBean implements TimerLocal {
         return q.executeUpdate();
     }
 
+    public int migrateTimers(String fromOwnerId, String toOwnerId, Collection<String> timerIds) {
+        Query q = em.createNamedQuery("updateTimersFromOwnerToNewOwnerByTimerIds");
+        q.setParameter("fromOwner", fromOwnerId);
+        q.setParameter("toOwner", toOwnerId);
+        q.setParameter("timerIds", timerIds);
+        return q.executeUpdate();
+    }
+
     public int deleteTimersByContainer(long containerId) {
         Query q = em.createNamedQuery("deleteTimersByContainer");
         q.setParameter("containerId", containerId);
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -25,6 +26,7 @@ import jakarta.ejb.TimerConfig;
 
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -98,6 +100,29 @@ public interface TimerLocal {
     Set findActiveTimersOwnedBy(String owner);
     Set findCancelledTimersOwnedBy(String owner);
 
+    /**
+     * Page of the active timers of the owner, ordered by the timer id.
+     *
+     * @param owner owner of the timers
+     * @param afterTimerId the last timer id of the previous page, empty string for the first page
+     * @param maxResults the page size
+     */
+    List<TimerState> findActiveTimersOwnedBy(String owner, String afterTimerId, int maxResults);
+
+    /**
+     * Page of the ids of all timers of the owner, ordered by the timer id.
+     *
+     * @param owner owner of the timers
+     * @param afterTimerId the last timer id of the previous page, empty string for the first page
+     * @param maxResults the page size
+     */
+    List<String> findTimerIdsOwnedBy(String owner, String afterTimerId, int maxResults);
+
+    /**
+     * The timers with the given ids, at most 1000 of them.
+     */
+    List<TimerState> findTimersByIds(Collection<String> timerIds);
+
 
     //
     // Queries returning counts
@@ -129,6 +154,9 @@ public interface TimerLocal {
     // Migrate timers from one server instance to another via bulk update
     int migrateTimers(String fromOwnerId, String toOwnerId);
 
+    // Migrate the given timers from one server instance to another via bulk update
+    int migrateTimers(String fromOwnerId, String toOwnerId, Collection<String> timerIds);
+
     // Delete all timers owned by this EJB (aka containerId)
     int deleteTimersByContainer(long containerId);
 
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -101,6 +102,20 @@ import java.util.logging.Logger;
         name="findTimersByOwnerAndState",
         query="SELECT t FROM Timer t WHERE t.ownerId = ?1 AND t.state=?2"
     ),
+    @NamedQuery(
+        // Keyset paging used to restore the timers in batches
+        name="findTimersByOwnerAndStateAfterTimerId",
+        query="SELECT t FROM Timer t WHERE t.ownerId = ?1 AND t.state=?2 AND t.timerId > ?3 ORDER BY t.timerId"
+    ),
+    @NamedQuery(
+        // Keyset paging used to migrate the timers by shards
+        name="findTimerIdsByOwnerAfterTimerId",
+        query="SELECT t.timerId FROM Timer t WHERE t.ownerId = ?1 AND t.timerId > ?2 ORDER BY t.timerId"
+    ),
+    @NamedQuery(
+        name="findTimersByTimerIds",
+        query="SELECT t FROM Timer t WHERE t.timerId IN :timerIds"
+    ),
     @NamedQuery(
         name="countTimersByApplication",
         query="SELECT COUNT(t) FROM Timer t WHERE t.applicationId = ?1"
@@ -135,6 +150,11 @@ import java.util.logging.Logger;
         query="UPDATE Timer t SET t.ownerId = :toOwner WHERE t.ownerId = :fromOwner"
     )
     ,
+    @NamedQuery(
+        name="updateTimersFromOwnerToNewOwnerByTimerIds",
+        query="UPDATE Timer t SET t.ownerId = :toOwner WHERE t.ownerId = :fromOwner AND t.timerId IN :timerIds"
+    )
+    ,
     @NamedQuery(
         name="deleteTimersByContainer",
         query="DELETE FROM Timer t WHERE t.containerId = :containerId"
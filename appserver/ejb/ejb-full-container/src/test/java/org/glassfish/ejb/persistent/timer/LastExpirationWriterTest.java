@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ejb.persistent.timer;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LastExpirationWriterTest {
+
+    private RecordingDatabase database;
+    private LastExpirationWriter writer;
+
+    @BeforeEach
+    public void createWriter() {
+        database = new RecordingDatabase();
+        writer = new LastExpirationWriter(database.dataSource(), "instance1");
+    }
+
+    @Test
+    public void testUpdatesAreWrittenInBatches() {
+        for (int i = 0; i < 1200; i++) {
+            writer.add("timer" + i, i);
+        }
+        writer.flush();
+
+        assertEquals(List.of(500, 500, 200), database.executedBatches);
+        assertEquals(1, database.commits);
+        assertTrue(database.autoCommit);
+        assertEquals(1200, database.lastExpirations.size());
+        assertEquals(Long.valueOf(1199L), database.lastExpirations.get("timer1199"));
+        assertEquals(List.of("instance1"), database.owners);
+    }
+
+    @Test
+    public void testOnlyTheLatestExpirationIsWritten() {
+        writer.add("timer", 20L);
+        writer.add("timer", 10L);
+        writer.flush();
+        writer.flush();
+
+        assertEquals(List.of(1), database.executedBatches);
+        assertEquals(Map.of("timer", 20L), database.lastExpirations);
+    }
+
+    @Test
+    public void testFailedUpdatesAreRetriedByTheNextFlush() {
+        writer.add("timer", 10L);
+        database.failing = true;
+        writer.flush();
+
+        assertEquals(1, database.rollbacks);
+        assertTrue(database.autoCommit);
+        assertTrue(database.lastExpirations.isEmpty());
+
+        database.failing = false;
+        writer.flush();
+        assertEquals(Map.of("timer", 10L), database.lastExpirations);
+    }
+
+    /**
+     * Records the JDBC calls of the writer, the batched updates are applied when a batch is executed.
+     */
+    private static final class RecordingDatabase {
+
+        final List<Integer> executedBatches = new ArrayList<>();
+        final Map<String, Long> lastExpirations = new HashMap<>();
+        final List<String> owners = new ArrayList<>();
+        boolean autoCommit = true;
+        boolean failing;
+        int commits;
+        int rollbacks;
+
+        private final List<Object[]> batch = new ArrayList<>();
+        private final Object[] parameters = new Object[4];
+
+        DataSource dataSource() {
+            Connection connection = proxy(Connection.class, (method, args) -> {
+                switch (method) {
+                    case "getAutoCommit":
+                        return autoCommit;
+                    case "setAutoCommit":
+                        autoCommit = (Boolean) args[0];
+                        return null;
+                    case "prepareStatement":
+                        return statement();
+                    case "commit":
+                        commits++;
+                        return null;
+                    case "rollback":
+                        rollbacks++;
+                        batch.clear();
+                        return null;
+                    default:
+                        return null;
+                }
+            });
+            return proxy(DataSource.class, (method, args) -> method.equals("getConnection") ? connection : null);
+        }
+
+        private PreparedStatement statement() {
+            return proxy(PreparedStatement.class, (method, args) -> {
+                switch (method) {
+                    case "setLong":
+                    case "setString":
+                        parameters[(Integer) args[0] - 1] = args[1];
+                        return null;
+                    case "addBatch":
+                        batch.add(parameters.clone());
+                        return null;
+                    case "executeBatch":
+                        if (failing) {
+                            throw new SQLException("Connection reset");
+                        }
+                        for (Object[] update : batch) {
+                            lastExpirations.put((String) update[1], (Long) update[0]);
+                            if (!owners.contains(update[2])) {
+                                owners.add((String) update[2]);
+                            }
+                        }
+                        executedBatches.add(batch.size());
+                        int[] counts = new int[batch.size()];
+                        batch.clear();
+                        return counts;
+                    default:
+                        return null;
+                }
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, JdbcCall call) {
+            return type.cast(Proxy.newProxyInstance(LastExpirationWriterTest.class.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> call.invoke(method.getName(), args)));
+        }
+    }
+
+    @FunctionalInterface
+    private interface JdbcCall {
+
+        Object invoke(String method, Object[] args) throws SQLException;
+    }
+}
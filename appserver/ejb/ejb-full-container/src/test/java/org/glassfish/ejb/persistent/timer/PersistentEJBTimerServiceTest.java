@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ejb.persistent.timer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PersistentEJBTimerServiceTest {
+
+    @Test
+    public void testShardsCoverTheWholeHashRange() {
+        // Hash codes 0, Integer.MIN_VALUE and -1, the lowest, middle and highest unsigned hash
+        String lowest = "";
+        String middle = "polygenelubricants";
+        String highest = new String(new char[] {4650, 19, 29, 24, 3});
+        assertEquals(Integer.MIN_VALUE, middle.hashCode());
+        assertEquals(-1, highest.hashCode());
+
+        for (int shards = 1; shards <= 8; shards++) {
+            assertEquals(0, PersistentEJBTimerService.getShard(lowest, shards));
+            assertEquals(shards / 2, PersistentEJBTimerService.getShard(middle, shards));
+            assertEquals(shards - 1, PersistentEJBTimerService.getShard(highest, shards));
+        }
+    }
+
+    @Test
+    public void testTimersAreBalancedAcrossShards() {
+        int timers = 30_000;
+        for (int shards = 2; shards <= 8; shards++) {
+            int[] counts = new int[shards];
+            for (int i = 1; i <= timers; i++) {
+                // Format of the ids generated by EJBTimerService
+                counts[PersistentEJBTimerService.getShard(i + "@@1760781414000@@instance1@@domain1", shards)]++;
+            }
+            int expected = timers / shards;
+            for (int count : counts) {
+                assertTrue(Math.abs(count - expected) < expected / 20, "Unbalanced shards " + Arrays.toString(counts));
+            }
+        }
+    }
+
+    @Test
+    public void testIdsArePartitionedInChunks() {
+        List<String> timerIds = timerIds(2500);
+
+        List<List<String>> chunks = PersistentEJBTimerService.partition(timerIds, 1000);
+        assertEquals(3, chunks.size());
+        assertEquals(1000, chunks.get(0).size());
+        assertEquals(1000, chunks.get(1).size());
+        assertEquals(500, chunks.get(2).size());
+
+        List<String> joined = new ArrayList<>();
+        chunks.forEach(joined::addAll);
+        assertEquals(timerIds, joined);
+
+        assertEquals(2, PersistentEJBTimerService.partition(timerIds(2000), 1000).size());
+        assertEquals(List.of(), PersistentEJBTimerService.partition(List.of(), 1000));
+    }
+
+    @Test
+    public void testPagesStartAfterTheLastTimerIdOfThePreviousPage() throws Exception {
+        List<String> timerIds = timerIds(25);
+        List<String> cursors = new ArrayList<>();
+        List<String> read = new ArrayList<>();
+
+        PersistentEJBTimerService.readPages(afterTimerId -> {
+            cursors.add(afterTimerId);
+            List<String> page = page(timerIds, afterTimerId, 10);
+            read.addAll(page);
+            return page;
+        }, timerId -> timerId, 10);
+
+        assertEquals(List.of("", timerIds.get(9), timerIds.get(19)), cursors);
+        assertEquals(timerIds, read);
+    }
+
+    @Test
+    public void testFullLastPageIsFollowedByAnEmptyOne() throws Exception {
+        List<String> timerIds = timerIds(20);
+        List<Integer> pageSizes = new ArrayList<>();
+
+        PersistentEJBTimerService.readPages(afterTimerId -> {
+            List<String> page = page(timerIds, afterTimerId, 10);
+            pageSizes.add(page.size());
+            return page;
+        }, timerId -> timerId, 10);
+
+        assertEquals(List.of(10, 10, 0), pageSizes);
+    }
+
+    /**
+     * Sorted timer ids, as the keyset paged queries order them.
+     */
+    private static List<String> timerIds(int count) {
+        List<String> timerIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            timerIds.add(String.format("%05d@@1760781414000@@instance1@@domain1", i));
+        }
+        return timerIds;
+    }
+
+    private static List<String> page(List<String> timerIds, String afterTimerId, int maxResults) {
+        return timerIds.stream().filter(timerId -> timerId.compareTo(afterTimerId) > 0).limit(maxResults).toList();
+    }
+}
@@ -0,0 +1,564 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.glassfish.ha.store.api.BackingStoreFactory;
+
+/**
+ * An implementation of BackingStore which appends the data to memory mapped segment files.
+ * <p>
+ * Unlike the {@link FileBackingStore} it does not create a file per key. Every save, timestamp
+ * update and removal appends a record to the active segment, the in-memory index points to the
+ * record holding the current value of each key. Keys are also indexed by their last access time,
+ * so the expiration touches just the expired keys. The expiration also compacts every segment
+ * which is mostly dead: its live records are copied to the active segment and the file is deleted.
+ * Removals and timestamp updates still needed by records of older segments are copied as well.
+ * <p>
+ * The index is rebuilt from the segments on initialization, so the stored data survive a restart
+ * the same way as the files of the {@link FileBackingStore}.
+ */
+public class LogFileBackingStore<K extends Serializable, V extends Serializable> extends BackingStore<K, V> {
+
+    /** Vendor specific setting of the size of the segment files in bytes. */
+    public static final String SEGMENT_SIZE = "log.segment.size.in.bytes";
+
+    private static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    /** A segment is compacted when less than this ratio of it is live. */
+    private static final double COMPACTION_THRESHOLD = 0.5d;
+
+    private static final Level TRACE_LEVEL = Level.FINE;
+
+    protected Logger logger = Logger.getLogger(LogFileBackingStore.class.getName());
+
+    protected File baseDir;
+
+    private final ConcurrentHashMap<K, IndexEntry> index = new ConcurrentHashMap<>();
+
+    /** Keys by their last access time, guarded by the lock. */
+    private final TreeMap<Long, Set<K>> expiryIndex = new TreeMap<>();
+
+    /** Segments from the oldest to the active one, guarded by the lock. */
+    private final Deque<LogSegment> segments = new ArrayDeque<>();
+
+    /** Guards all appends and the structures not safe for concurrent use. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private LogSegment activeSegment;
+
+    private long nextSequence;
+
+    private int segmentSize = DEFAULT_SEGMENT_SIZE;
+
+    private volatile boolean shutdown;
+
+    private String debugStr;
+
+    private LogFileBackingStoreFactory factory;
+
+    private long defaultMaxIdleTimeoutInSeconds = 10L * 60L;
+
+    /**
+     * No arg constructor
+     */
+    public LogFileBackingStore() {
+    }
+
+    @Override
+    protected void initialize(BackingStoreConfiguration<K, V> conf) throws BackingStoreException {
+        if (conf.getLogger() != null) {
+            logger = conf.getLogger();
+        }
+
+        super.initialize(conf);
+        debugStr = "[LogFileBackingStore - " + conf.getStoreName() + "] ";
+
+        baseDir = conf.getBaseDirectory();
+        if (!baseDir.mkdirs() && !baseDir.isDirectory()) {
+            throw new BackingStoreException(
+                "[LogFileBackingStore::initialize] Create base directory (" + baseDir.getAbsolutePath() + ") failed");
+        }
+
+        Map<String, Object> vendorMap = conf.getVendorSpecificSettings();
+        if (vendorMap != null) {
+            try {
+                defaultMaxIdleTimeoutInSeconds = Long.parseLong((String) vendorMap.get("max.idle.timeout.in.seconds"));
+            } catch (Exception ex) {
+                // Ignore. Use default
+            }
+            try {
+                segmentSize = Integer.parseInt((String) vendorMap.get(SEGMENT_SIZE));
+            } catch (Exception ex) {
+                // Ignore. Use default
+            }
+        }
+
+        lock.lock();
+        try {
+            recover();
+        } finally {
+            lock.unlock();
+        }
+        logger.log(Level.INFO, "[LogFileBackingStore::initialize] Successfully created and initialized store. Working dir: "
+            + baseDir + "; Recovered keys: " + index.size() + "; Configuration: " + conf);
+    }
+
+    /* package */ void setLogFileBackingStoreFactory(LogFileBackingStoreFactory factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public BackingStoreFactory getBackingStoreFactory() {
+        return factory;
+    }
+
+    @Override
+    public V load(K key, String version) throws BackingStoreException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered load(" + key + ", " + version + ")");
+        }
+
+        IndexEntry entry = index.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        try (ObjectInputStream ois = super.createObjectInputStream(new ByteArrayInputStream(entry.segment.readValue(entry.offset)))) {
+            @SuppressWarnings("unchecked")
+            V value = (V) ois.readObject();
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Done load(" + key + ", " + version + ")");
+            }
+            return value;
+        } catch (Exception ex) {
+            logger.log(Level.WARNING, debugStr + "Failed to load(" + key + ", " + version + ")", ex);
+            return null;
+        }
+    }
+
+    @Override
+    public String save(K key, V value, boolean isNew) throws BackingStoreException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered save(" + key + ")");
+        }
+
+        byte[] keyData = serialize(key);
+        byte[] valueData = serialize(value);
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            put(key, keyData, valueData, now);
+        } catch (IOException ex) {
+            throw new BackingStoreException("Could not save session: " + key, ex);
+        } finally {
+            lock.unlock();
+        }
+
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done save(" + key + ")");
+        }
+        return getBackingStoreConfiguration().getInstanceName();
+    }
+
+    @Override
+    public void remove(K key) {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered remove(" + key + ")");
+        }
+        lock.lock();
+        try {
+            boolean status = removeEntry(key);
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Done remove(" + key + "); status => " + status);
+            }
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, debugStr + "Failed to remove(" + key + ")", ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // TODO: deprecate after next shoal integration
+    public void updateTimeStamp(K k, String version, long timeStamp) throws BackingStoreException {
+        updateTimestamp(k, timeStamp);
+    }
+
+    @Override
+    public void updateTimestamp(K key, long time) throws BackingStoreException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered updateTimestamp(" + key + ", " + time + ")");
+        }
+        lock.lock();
+        try {
+            IndexEntry entry = index.get(key);
+            if (entry == null) {
+                logger.log(Level.WARNING, debugStr + ": Cannot update timestamp for: " + key + "; Key does not exist");
+                return;
+            }
+            append(LogSegment.TOUCH, time, entry.key, null);
+            index.put(key, new IndexEntry(entry.segment, entry.offset, time, entry.key));
+            moveInExpiryIndex(key, entry.lastAccess, time);
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, debugStr + ": Exception while updating timestamp", ex);
+            throw new BackingStoreException("Cannot update timestamp for: " + key + "; Got exception: " + ex);
+        } finally {
+            lock.unlock();
+        }
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done updateTimestamp(" + key + ", " + time + ")");
+        }
+    }
+
+    @Override
+    public int removeExpired() {
+        return removeExpired(defaultMaxIdleTimeoutInSeconds * 1000L);
+    }
+
+    // TODO: deprecate after next shoal integration
+    @Override
+    public int removeExpired(long idleForMillis) {
+        long threshold = System.currentTimeMillis() - idleForMillis;
+        int expiredSessions = 0;
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered removeExpired()");
+        }
+        lock.lock();
+        try {
+            List<K> expired = new ArrayList<>();
+            for (Set<K> keys : expiryIndex.headMap(threshold).values()) {
+                expired.addAll(keys);
+            }
+            for (Iterator<K> iterator = expired.iterator(); iterator.hasNext() && !shutdown;) {
+                if (removeEntry(iterator.next())) {
+                    expiredSessions++;
+                }
+            }
+            compact();
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Done removeExpired(); expired " + expiredSessions);
+            }
+        } catch (Exception ex) {
+            logger.log(Level.WARNING, debugStr + " Exception while removing expired keys", ex);
+        } finally {
+            lock.unlock();
+        }
+        return expiredSessions;
+    }
+
+    @Override
+    public int size() throws BackingStoreException {
+        return index.size();
+    }
+
+    @Override
+    public void destroy() {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered destroy()");
+        }
+        lock.lock();
+        try {
+            index.clear();
+            expiryIndex.clear();
+            for (LogSegment segment : segments) {
+                segment.delete();
+            }
+            segments.clear();
+            activeSegment = null;
+            if (!baseDir.delete() && baseDir.exists()) {
+                logger.log(Level.WARNING, debugStr + " destroy() failed to remove dir: " + baseDir.getAbsolutePath());
+            }
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Done destroy()");
+            }
+        } catch (Throwable th) {
+            logger.log(Level.WARNING, debugStr + " destroy() failed ", th);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        lock.lock();
+        try {
+            // DO NOT DELETE THE WORKING DIRECTORY, just write the mapped pages out.
+            for (LogSegment segment : segments) {
+                segment.force();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(K key, byte[] keyData, byte[] valueData, long lastAccess) throws IOException {
+        int offset = append(LogSegment.PUT, lastAccess, keyData, valueData);
+        IndexEntry oldEntry = index.put(key, new IndexEntry(activeSegment, offset, lastAccess, keyData));
+        if (oldEntry == null) {
+            activeSegment.addLive(key, offset);
+            addToExpiryIndex(key, lastAccess);
+            return;
+        }
+        oldEntry.segment.removeLive(key, oldEntry.offset);
+        activeSegment.addLive(key, offset);
+        moveInExpiryIndex(key, oldEntry.lastAccess, lastAccess);
+    }
+
+    private boolean removeEntry(K key) throws IOException {
+        IndexEntry entry = index.get(key);
+        if (entry == null) {
+            return false;
+        }
+        append(LogSegment.REMOVE, System.currentTimeMillis(), entry.key, null);
+        index.remove(key);
+        entry.segment.removeLive(key, entry.offset);
+        removeFromExpiryIndex(key, entry.lastAccess);
+        return true;
+    }
+
+    private int append(byte type, long lastAccess, byte[] key, byte[] value) throws IOException {
+        int valueSize = value == null ? 0 : value.length;
+        if (activeSegment == null || !activeSegment.hasRoom(key.length, valueSize)) {
+            activeSegment = LogSegment.create(baseDir, nextSequence++,
+                Math.max(segmentSize, LogSegment.requiredCapacity(key.length, valueSize)));
+            segments.addLast(activeSegment);
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Created segment " + activeSegment);
+            }
+        }
+        return activeSegment.append(type, lastAccess, key, value);
+    }
+
+    /**
+     * Compacts all mostly dead segments except the active one.
+     */
+    private void compact() throws IOException {
+        for (LogSegment segment : new ArrayList<>(segments)) {
+            if (shutdown) {
+                return;
+            }
+            if (segment != activeSegment && segment.getLiveRatio() < COMPACTION_THRESHOLD) {
+                compact(segment);
+            }
+        }
+    }
+
+    /**
+     * Copies the live records of the segment to the active segment and deletes the segment.
+     * <p>
+     * A REMOVE record is copied too if an older segment still contains a PUT record of the key,
+     * otherwise the recovery would bring the removed key back. For the same reason a TOUCH
+     * record is copied if the live PUT record of the key is in an older segment.
+     */
+    private void compact(LogSegment segment) throws IOException {
+        Map<K, byte[]> removed = new LinkedHashMap<>();
+        Map<K, byte[]> touched = new HashMap<>();
+        segment.forEachRecord((recordSegment, offset, type, lastAccess, keyData) -> {
+            if (type == LogSegment.PUT) {
+                return;
+            }
+            K key = deserializeKey(recordSegment, keyData);
+            if (key != null) {
+                (type == LogSegment.REMOVE ? removed : touched).put(key, keyData);
+            }
+        });
+
+        int moved = 0;
+        for (Object liveKey : new ArrayList<>(segment.getLiveKeys())) {
+            @SuppressWarnings("unchecked")
+            K key = (K) liveKey;
+            IndexEntry entry = index.get(key);
+            // The copy keeps the last access time, the TOUCH records of the key may be gone later.
+            put(key, entry.key, entry.segment.readValue(entry.offset), entry.lastAccess);
+            moved++;
+        }
+        for (K key : touched.keySet()) {
+            IndexEntry entry = index.get(key);
+            if (entry != null && entry.segment.getSequence() < segment.getSequence()) {
+                append(LogSegment.TOUCH, entry.lastAccess, entry.key, null);
+            }
+        }
+        int tombstones = 0;
+        for (Map.Entry<K, byte[]> removal : removed.entrySet()) {
+            if (!index.containsKey(removal.getKey()) && containsOlderPut(removal.getKey(), segment)) {
+                append(LogSegment.REMOVE, System.currentTimeMillis(), removal.getValue(), null);
+                tombstones++;
+            }
+        }
+
+        segments.remove(segment);
+        if (!segment.delete()) {
+            logger.log(Level.WARNING, debugStr + " Couldn't remove segment file: " + segment);
+        }
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Compacted segment " + segment + "; moved " + moved + " keys and "
+                + tombstones + " removals");
+        }
+    }
+
+    private boolean containsOlderPut(K key, LogSegment segment) {
+        for (LogSegment older : segments) {
+            if (older.getSequence() >= segment.getSequence()) {
+                return false;
+            }
+            if (older.containsPut(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void recover() {
+        File[] files = baseDir.listFiles((dir, name) -> name.endsWith(LogSegment.SUFFIX));
+        if (files == null) {
+            return;
+        }
+        List<LogSegment> recovered = new ArrayList<>();
+        for (File file : files) {
+            try {
+                LogSegment segment = LogSegment.open(file);
+                if (segment == null) {
+                    logger.log(Level.INFO, debugStr + "Removing invalid segment file " + file);
+                    if (!file.delete()) {
+                        logger.log(Level.WARNING, debugStr + " Couldn't remove file: " + file);
+                    }
+                } else {
+                    recovered.add(segment);
+                }
+            } catch (IOException ex) {
+                logger.log(Level.WARNING, debugStr + " Couldn't open segment file: " + file, ex);
+            }
+        }
+        recovered.sort(Comparator.comparingLong(LogSegment::getSequence));
+        for (LogSegment segment : recovered) {
+            segment.replay(this::replay);
+            segments.addLast(segment);
+            nextSequence = segment.getSequence() + 1;
+        }
+        for (Map.Entry<K, IndexEntry> entry : index.entrySet()) {
+            addToExpiryIndex(entry.getKey(), entry.getValue().lastAccess);
+        }
+        // The tail of the last segment may be torn, appending starts at a new segment.
+        activeSegment = null;
+    }
+
+    private void replay(LogSegment segment, int offset, byte type, long lastAccess, byte[] keyData) {
+        K key = deserializeKey(segment, keyData);
+        if (key == null) {
+            return;
+        }
+
+        IndexEntry oldEntry = index.get(key);
+        if (type == LogSegment.PUT) {
+            index.put(key, new IndexEntry(segment, offset, lastAccess, keyData));
+            if (oldEntry != null) {
+                oldEntry.segment.removeLive(key, oldEntry.offset);
+            }
+            segment.addLive(key, offset);
+        } else if (oldEntry == null) {
+            return;
+        } else if (type == LogSegment.TOUCH) {
+            index.put(key, new IndexEntry(oldEntry.segment, oldEntry.offset, lastAccess, oldEntry.key));
+        } else if (type == LogSegment.REMOVE) {
+            index.remove(key);
+            oldEntry.segment.removeLive(key, oldEntry.offset);
+        }
+    }
+
+    private K deserializeKey(LogSegment segment, byte[] keyData) {
+        try (ObjectInputStream ois = super.createObjectInputStream(new ByteArrayInputStream(keyData))) {
+            @SuppressWarnings("unchecked")
+            K key = (K) ois.readObject();
+            return key;
+        } catch (Exception ex) {
+            logger.log(Level.WARNING, debugStr + " Skipping record of an unreadable key in " + segment, ex);
+            return null;
+        }
+    }
+
+    private void addToExpiryIndex(K key, long lastAccess) {
+        expiryIndex.computeIfAbsent(lastAccess, time -> new HashSet<>()).add(key);
+    }
+
+    private void removeFromExpiryIndex(K key, long lastAccess) {
+        Set<K> keys = expiryIndex.get(lastAccess);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            expiryIndex.remove(lastAccess);
+        }
+    }
+
+    private void moveInExpiryIndex(K key, long oldLastAccess, long newLastAccess) {
+        if (oldLastAccess != newLastAccess) {
+            removeFromExpiryIndex(key, oldLastAccess);
+            addToExpiryIndex(key, newLastAccess);
+        }
+    }
+
+    private static byte[] serialize(Object value) throws BackingStoreException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(value);
+        } catch (IOException ioEx) {
+            throw new BackingStoreException("Error during serialization", ioEx);
+        }
+        return bos.toByteArray();
+    }
+
+    /**
+     * Location of the current value of a key.
+     */
+    private static final class IndexEntry {
+
+        final LogSegment segment;
+        final int offset;
+        final long lastAccess;
+        final byte[] key;
+
+        IndexEntry(LogSegment segment, int offset, long lastAccess, byte[] key) {
+            this.segment = segment;
+            this.offset = offset;
+            this.lastAccess = lastAccess;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only segment file of the {@link LogFileBackingStore}, mapped to memory.
+ * <p>
+ * The file starts with the magic number and the sequence number of the segment, records follow:
+ * <pre>
+ * int  length of the rest of the record, zero marks the end of the written records
+ * int  CRC32 of the rest of the record
+ * byte type of the record: PUT, TOUCH or REMOVE
+ * long last access time of the key
+ * int  length of the serialized key
+ * serialized key
+ * serialized value, PUT records only
+ * </pre>
+ * The segment is not thread safe, except reading of the values, which can run concurrently
+ * with appending to the segment. Everything else is guarded by the lock of the store.
+ */
+final class LogSegment {
+
+    static final byte PUT = 1;
+    static final byte TOUCH = 2;
+    static final byte REMOVE = 3;
+
+    static final String SUFFIX = ".segment";
+
+    private static final int MAGIC = 0x474c5331;
+    private static final int HEADER_SIZE = 4 + 8;
+    private static final int RECORD_HEADER_SIZE = 4 + 4 + 1 + 8 + 4;
+
+    private final File file;
+    private final long sequence;
+    private final MappedByteBuffer buffer;
+    private final Set<Object> liveKeys = new HashSet<>();
+    private final Set<Object> putKeys = new HashSet<>();
+    private int writePosition;
+    private long liveBytes;
+
+    private LogSegment(File file, long sequence, MappedByteBuffer buffer) {
+        this.file = file;
+        this.sequence = sequence;
+        this.buffer = buffer;
+        this.writePosition = HEADER_SIZE;
+    }
+
+    /**
+     * Creates a new empty segment file.
+     *
+     * @param directory directory of the segment files
+     * @param sequence sequence number of the segment, the order of writes across segments
+     * @param capacity size of the file
+     * @return the segment
+     * @throws IOException if the file could not be created
+     */
+    static LogSegment create(File directory, long sequence, int capacity) throws IOException {
+        File file = new File(directory, String.format("%016x", sequence) + SUFFIX);
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putLong(4, sequence);
+        return new LogSegment(file, sequence, buffer);
+    }
+
+    /**
+     * Opens an existing segment file, {@link #replay(RecordConsumer)} has to follow
+     * before anything is appended to the segment.
+     *
+     * @param file the segment file
+     * @return the segment or null if the file is not a valid segment
+     * @throws IOException if the file could not be opened
+     */
+    static LogSegment open(File file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                return null;
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        if (buffer.getInt(0) != MAGIC) {
+            return null;
+        }
+        return new LogSegment(file, buffer.getLong(4), buffer);
+    }
+
+    /**
+     * @param keySize size of the serialized key
+     * @param valueSize size of the serialized value
+     * @return size of the segment needed to store a record of the given sizes
+     */
+    static int requiredCapacity(int keySize, int valueSize) {
+        return HEADER_SIZE + RECORD_HEADER_SIZE + keySize + valueSize;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    boolean hasRoom(int keySize, int valueSize) {
+        return (long) writePosition + RECORD_HEADER_SIZE + keySize + valueSize <= buffer.capacity();
+    }
+
+    /**
+     * Appends a record, the caller has to check {@link #hasRoom(int, int)} first.
+     *
+     * @param type PUT, TOUCH or REMOVE
+     * @param lastAccess last access time of the key
+     * @param key serialized key
+     * @param value serialized value or null
+     * @return offset of the record
+     */
+    int append(byte type, long lastAccess, byte[] key, byte[] value) {
+        int offset = writePosition;
+        int valueSize = value == null ? 0 : value.length;
+        int length = RECORD_HEADER_SIZE - 4 + key.length + valueSize;
+        buffer.put(offset + 8, type);
+        buffer.putLong(offset + 9, lastAccess);
+        buffer.putInt(offset + 17, key.length);
+        buffer.put(offset + RECORD_HEADER_SIZE, key);
+        if (value != null) {
+            buffer.put(offset + RECORD_HEADER_SIZE + key.length, value);
+        }
+        buffer.putInt(offset + 4, checksum(offset, length));
+        // The length goes last, so a torn record is never taken as a valid one.
+        buffer.putInt(offset, length);
+        writePosition = offset + 4 + length;
+        return offset;
+    }
+
+    /**
+     * @param offset offset of a PUT record
+     * @return the serialized value of the record
+     */
+    byte[] readValue(int offset) {
+        int keySize = buffer.getInt(offset + 17);
+        int valueOffset = offset + RECORD_HEADER_SIZE + keySize;
+        byte[] value = new byte[offset + 4 + buffer.getInt(offset) - valueOffset];
+        buffer.get(valueOffset, value);
+        return value;
+    }
+
+    /**
+     * @param offset offset of a record
+     * @return size of the record in the segment
+     */
+    int recordSize(int offset) {
+        return 4 + buffer.getInt(offset);
+    }
+
+    /**
+     * Reads all valid records of the segment and sets the position for appending after them.
+     *
+     * @param consumer consumer of the records
+     */
+    void replay(RecordConsumer consumer) {
+        writePosition = read(consumer, buffer.capacity());
+    }
+
+    /**
+     * Reads all records appended to the segment.
+     *
+     * @param consumer consumer of the records
+     */
+    void forEachRecord(RecordConsumer consumer) {
+        read(consumer, writePosition);
+    }
+
+    private int read(RecordConsumer consumer, int limit) {
+        int offset = HEADER_SIZE;
+        while (offset + RECORD_HEADER_SIZE <= limit) {
+            int length = buffer.getInt(offset);
+            if (length < RECORD_HEADER_SIZE - 4 || offset + 4L + length > limit
+                || buffer.getInt(offset + 4) != checksum(offset, length)) {
+                break;
+            }
+            byte[] key = new byte[buffer.getInt(offset + 17)];
+            buffer.get(offset + RECORD_HEADER_SIZE, key);
+            consumer.accept(this, offset, buffer.get(offset + 8), buffer.getLong(offset + 9), key);
+            offset += 4 + length;
+        }
+        return offset;
+    }
+
+    void addLive(Object key, int offset) {
+        liveKeys.add(key);
+        putKeys.add(key);
+        liveBytes += recordSize(offset);
+    }
+
+    void removeLive(Object key, int offset) {
+        if (liveKeys.remove(key)) {
+            liveBytes -= recordSize(offset);
+        }
+    }
+
+    Set<Object> getLiveKeys() {
+        return liveKeys;
+    }
+
+    /**
+     * @param key the key
+     * @return true if the segment contains a PUT record of the key, live or dead
+     */
+    boolean containsPut(Object key) {
+        return putKeys.contains(key);
+    }
+
+    /**
+     * @return ratio of the bytes of live records to all written bytes
+     */
+    double getLiveRatio() {
+        return (double) liveBytes / writePosition;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Deletes the segment file. If the file cannot be deleted while it is mapped, its header
+     * is cleared instead, so the file is ignored and deleted by the next initialization.
+     *
+     * @return true if the file was deleted
+     */
+    boolean delete() {
+        if (file.delete()) {
+            return true;
+        }
+        buffer.putInt(0, 0);
+        return false;
+    }
+
+    private int checksum(int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset + 8, length - 4));
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public String toString() {
+        return file.getName();
+    }
+
+    /**
+     * Consumer of the records read by {@link LogSegment#replay(RecordConsumer)}.
+     */
+    @FunctionalInterface
+    interface RecordConsumer {
+
+        void accept(LogSegment segment, int offset, byte type, long lastAccess, byte[] key);
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class LogFileBackingStoreTest {
+
+    private static final String LARGE = "L".repeat(600);
+
+    /** Offset of the first record in a segment file, after the magic and the sequence number. */
+    private static final int FIRST_RECORD = 12;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void testRecovery() throws Exception {
+        LogFileBackingStore<String, String> store = open();
+        store.save("a", "a1", true);
+        store.save("b", "b1", true);
+        store.save("a", "a2", false);
+        store.remove("b");
+        store.shutdown();
+
+        LogFileBackingStore<String, String> recovered = open();
+        assertAll(
+            () -> assertEquals(1, recovered.size()),
+            () -> assertEquals("a2", recovered.load("a", null)),
+            () -> assertNull(recovered.load("b", null))
+        );
+    }
+
+    @Test
+    public void testTornTailIsIgnored() throws Exception {
+        LogFileBackingStore<String, String> store = open();
+        store.save("a", "a1", true);
+        store.save("b", "b1", true);
+        store.shutdown();
+
+        File segment = segmentFiles()[0];
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            int tail = recordOffset(file, 2);
+            // Partially written record: the length is there, the rest of the record is not.
+            file.seek(tail);
+            file.writeInt(100);
+            file.writeInt(12345);
+        }
+
+        LogFileBackingStore<String, String> recovered = open();
+        assertEquals("a1", recovered.load("a", null));
+        assertEquals("b1", recovered.load("b", null));
+        recovered.save("c", "c1", true);
+        recovered.shutdown();
+
+        LogFileBackingStore<String, String> reopened = open();
+        assertAll(
+            () -> assertEquals(3, reopened.size()),
+            () -> assertEquals("c1", reopened.load("c", null))
+        );
+    }
+
+    @Test
+    public void testRecordWithInvalidChecksumIsRejected() throws Exception {
+        LogFileBackingStore<String, String> store = open();
+        store.save("a", "a1", true);
+        store.save("b", "b1", true);
+        store.shutdown();
+
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles()[0], "rw")) {
+            int offset = recordOffset(file, 1);
+            int length = file.readInt();
+            int lastByte = offset + 4 + length - 1;
+            file.seek(lastByte);
+            int value = file.read();
+            file.seek(lastByte);
+            file.write(value ^ 0xFF);
+        }
+
+        LogFileBackingStore<String, String> recovered = open();
+        assertAll(
+            () -> assertEquals(1, recovered.size()),
+            () -> assertEquals("a1", recovered.load("a", null)),
+            () -> assertNull(recovered.load("b", null))
+        );
+    }
+
+    @Test
+    public void testDeadSegmentBehindLiveOldestSegmentIsCompacted() throws Exception {
+        LogFileBackingStore<String, String> store = open();
+        long future = System.currentTimeMillis() + 3_600_000L;
+        // segment 0: the long living key and a small key removed later
+        store.save("keep", LARGE, true);
+        store.save("x", "x1", true);
+        // segment 1: all its records are dead after the removals
+        store.save("z", LARGE, true);
+        store.updateTimestamp("keep", future);
+        store.remove("x");
+        store.remove("z");
+        // segment 2
+        store.save("w", LARGE, true);
+        assertEquals(3, segmentFiles().length);
+
+        assertEquals(0, store.removeExpired(3_600_000L));
+        assertEquals(2, segmentFiles().length);
+        store.shutdown();
+
+        LogFileBackingStore<String, String> recovered = open();
+        assertAll(
+            () -> assertEquals(LARGE, recovered.load("keep", null)),
+            () -> assertEquals(LARGE, recovered.load("w", null)),
+            () -> assertNull(recovered.load("x", null), "the removal of x must survive the compaction"),
+            () -> assertNull(recovered.load("z", null)),
+            () -> assertEquals(2, recovered.size())
+        );
+        // The timestamp update of keep must survive the compaction too.
+        assertEquals(1, recovered.removeExpired(0L));
+        assertEquals(LARGE, recovered.load("keep", null));
+        assertNull(recovered.load("w", null));
+    }
+
+    @Test
+    public void testExpiration() throws Exception {
+        LogFileBackingStore<String, String> store = open();
+        long now = System.currentTimeMillis();
+        store.save("active", "a", true);
+        store.save("idle", "i", true);
+        store.updateTimestamp("idle", now - 120_000L);
+
+        assertEquals(1, store.removeExpired(60_000L));
+        assertEquals(0, store.removeExpired(60_000L));
+        assertEquals("a", store.load("active", null));
+        assertNull(store.load("idle", null));
+        store.shutdown();
+
+        LogFileBackingStore<String, String> recovered = open();
+        assertEquals(1, recovered.size());
+        assertNull(recovered.load("idle", null));
+    }
+
+    private LogFileBackingStore<String, String> open() throws BackingStoreException {
+        BackingStoreConfiguration<String, String> conf = new BackingStoreConfiguration<>();
+        conf.setStoreName("test")
+            .setInstanceName("instance")
+            .setBaseDirectory(directory.toFile())
+            .setKeyClazz(String.class)
+            .setValueClazz(String.class)
+            .setClassLoader(LogFileBackingStoreTest.class.getClassLoader());
+        conf.getVendorSpecificSettings().put(LogFileBackingStore.SEGMENT_SIZE, "1024");
+        return (LogFileBackingStore<String, String>) new LogFileBackingStoreFactory().createBackingStore(conf);
+    }
+
+    private File[] segmentFiles() {
+        File[] files = directory.toFile().listFiles((dir, name) -> name.endsWith(LogSegment.SUFFIX));
+        Arrays.sort(files);
+        return files;
+    }
+
+    /**
+     * Positions the file at the record and returns its offset.
+     *
+     * @param index zero based index of the record
+     */
+    private static int recordOffset(RandomAccessFile file, int index) throws IOException {
+        int offset = FIRST_RECORD;
+        for (int i = 0; i < index; i++) {
+            file.seek(offset);
+            offset += 4 + file.readInt();
+        }
+        file.seek(offset);
+        return offset;
+    }
+}
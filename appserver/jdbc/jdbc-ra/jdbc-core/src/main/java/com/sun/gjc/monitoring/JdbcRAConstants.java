@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -37,11 +38,31 @@ public interface JdbcRAConstants {
      */
     public static final String STATEMENT_CACHE_MISS = "statementCacheMissEvent";
 
+    /**
+     * Represents the statement cache hit monitoring event of a particular sql.
+     */
+    public static final String STATEMENT_CACHE_SQL_HIT = "statementCacheSqlHitEvent";
+
+    /**
+     * Represents the statement cache miss monitoring event of a particular sql.
+     */
+    public static final String STATEMENT_CACHE_SQL_MISS = "statementCacheSqlMissEvent";
+
+    /**
+     * Represents the statement cache eviction monitoring event.
+     */
+    public static final String STATEMENT_CACHE_EVICTION = "statementCacheEvictionEvent";
+
     /**
      * Represents caching of sql query event.
      */
     public static final String TRACE_SQL = "traceSQLEvent";
 
+    /**
+     * Represents execution of a traced sql query event.
+     */
+    public static final String TRACE_SQL_EXECUTION = "traceSQLExecutionEvent";
+
     public static final String POTENTIAL_STATEMENT_LEAK = "potentialStatementLeakEvent";
 
     /**
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,9 +17,15 @@
 
 package com.sun.gjc.monitoring;
 
-import com.sun.gjc.util.SQLTrace;
 import com.sun.gjc.util.SQLTraceCache;
 
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
 import org.glassfish.api.naming.SimpleJndiName;
 import org.glassfish.external.probe.provider.annotations.ProbeListener;
 import org.glassfish.external.probe.provider.annotations.ProbeParam;
@@ -48,6 +54,10 @@ public class JdbcStatsProvider {
             "FreqUsedSqlQueries", "List",
             "Most frequently used sql queries");
 
+    private final StringStatisticImpl sqlQueryExecutionStatistics = new StringStatisticImpl(
+            "SqlQueryExecutionStatistics", "List",
+            "Number of executions and execution times of the most frequently used sql queries");
+
     private final CountStatisticImpl numStatementCacheHit = new CountStatisticImpl(
             "NumStatementCacheHit", StatisticImpl.UNIT_COUNT,
             "The total number of Statement Cache hits.");
@@ -56,6 +66,30 @@ public class JdbcStatsProvider {
             "NumStatementCacheMiss", StatisticImpl.UNIT_COUNT,
             "The total number of Statement Cache misses.");
 
+    private final CountStatisticImpl numStatementCacheEviction = new CountStatisticImpl(
+            "NumStatementCacheEviction", StatisticImpl.UNIT_COUNT,
+            "The total number of statements evicted from the Statement Cache.");
+
+    private final StringStatisticImpl statementCacheSqlStatistics = new StringStatisticImpl(
+            "StatementCacheSqlStatistics", "List",
+            "Statement Cache hits, misses and evictions of the most frequently hit sql queries");
+
+    /**
+     * Maximal number of distinct sql queries tracked by the per-sql statement cache statistics.
+     * When it is reached, the least recently used tenth of the queries is forgotten.
+     */
+    static final int MAX_TRACKED_SQL_QUERIES = 1000;
+
+    private static final int EVICTED_SQL_QUERIES = MAX_TRACKED_SQL_QUERIES / 10;
+
+    /**
+     * Number of sql queries reported by the per-sql statement cache statistics.
+     */
+    private static final int REPORTED_SQL_QUERIES = 10;
+
+    private final Map<String, SqlCacheStatistics> sqlCacheStatistics = new ConcurrentHashMap<>();
+    private final ReentrantLock sqlCacheStatisticsEvictionLock = new ReentrantLock();
+
     private final CountStatisticImpl numPotentialStatementLeak = new CountStatisticImpl(
             "NumPotentialStatementLeak", StatisticImpl.UNIT_COUNT,
             "The total number of potential Statement leaks");
@@ -64,10 +98,11 @@ public class JdbcStatsProvider {
     private SQLTraceCache sqlTraceCache;
 
     public JdbcStatsProvider(SimpleJndiName poolName, String appName, String moduleName, int sqlTraceCacheSize,
-        long timeToKeepQueries) {
+        long timeToKeepQueries, double sqlTraceSamplingRate) {
         poolInfo = new PoolInfo(poolName, appName, moduleName);
         if (sqlTraceCacheSize > 0) {
-            this.sqlTraceCache = new SQLTraceCache(poolName, appName, moduleName, sqlTraceCacheSize, timeToKeepQueries);
+            this.sqlTraceCache = new SQLTraceCache(poolName, appName, moduleName, sqlTraceCacheSize, timeToKeepQueries,
+                sqlTraceSamplingRate);
         }
     }
 
@@ -104,29 +139,91 @@ public class JdbcStatsProvider {
     }
 
     /**
-     * Whenever a sql statement that is traced is to be cache for monitoring
-     * purpose, the SQLTrace object is created for the specified sql and
-     * updated in the SQLTraceCache. This is used to update the
-     * frequently used sql queries.
+     * Whenever statement cache is hit for a sql, increment its hit count.
+     * @param poolName JdbcConnectionPool that has got a statement cache hit event.
+     * @param sql sql of the statement found in the cache
+     */
+    @ProbeListener(JdbcRAConstants.STATEMENT_CACHE_DOTTED_NAME + JdbcRAConstants.STATEMENT_CACHE_SQL_HIT)
+    public void statementCacheSqlHitEvent(@ProbeParam("poolName") String poolName,
+                                          @ProbeParam("appName") String appName,
+                                          @ProbeParam("moduleName") String moduleName,
+                                          @ProbeParam("sql") String sql
+                                          ) {
+
+        PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
+        if (this.poolInfo.equals(poolInfo)) {
+            SqlCacheStatistics statistics = getSqlCacheStatistics(sql);
+            if (statistics != null) {
+                statistics.hits.increment();
+            }
+        }
+    }
+
+    /**
+     * Whenever statement cache miss happens for a sql, increment its miss count.
+     * @param poolName JdbcConnectionPool that has got a statement cache miss event.
+     * @param sql sql of the statement not found in the cache
+     */
+    @ProbeListener(JdbcRAConstants.STATEMENT_CACHE_DOTTED_NAME + JdbcRAConstants.STATEMENT_CACHE_SQL_MISS)
+    public void statementCacheSqlMissEvent(@ProbeParam("poolName") String poolName,
+                                           @ProbeParam("appName") String appName,
+                                           @ProbeParam("moduleName") String moduleName,
+                                           @ProbeParam("sql") String sql
+                                           ) {
+
+        PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
+        if (this.poolInfo.equals(poolInfo)) {
+            SqlCacheStatistics statistics = getSqlCacheStatistics(sql);
+            if (statistics != null) {
+                statistics.misses.increment();
+            }
+        }
+    }
+
+    /**
+     * Whenever a statement is evicted from the statement cache, increment numStatementCacheEviction
+     * and the eviction count of its sql.
+     * @param poolName JdbcConnectionPool that has got a statement cache eviction event.
+     * @param sql sql of the evicted statement
+     */
+    @ProbeListener(JdbcRAConstants.STATEMENT_CACHE_DOTTED_NAME + JdbcRAConstants.STATEMENT_CACHE_EVICTION)
+    public void statementCacheEvictionEvent(@ProbeParam("poolName") String poolName,
+                                            @ProbeParam("appName") String appName,
+                                            @ProbeParam("moduleName") String moduleName,
+                                            @ProbeParam("sql") String sql
+                                            ) {
+
+        PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
+        if (this.poolInfo.equals(poolInfo)) {
+            numStatementCacheEviction.increment();
+            SqlCacheStatistics statistics = getSqlCacheStatistics(sql);
+            if (statistics != null) {
+                statistics.evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Whenever a traced (and sampled) sql statement was executed, its execution
+     * is recorded in the SQLTraceCache. This is used to update the
+     * frequently used sql queries and their execution times.
      *
      * @param poolName
      * @param sql
+     * @param executionTime execution time in nanoseconds
      */
-    @ProbeListener(JdbcRAConstants.SQL_TRACING_DOTTED_NAME + JdbcRAConstants.TRACE_SQL)
-    public void traceSQLEvent(
+    @ProbeListener(JdbcRAConstants.SQL_TRACING_DOTTED_NAME + JdbcRAConstants.TRACE_SQL_EXECUTION)
+    public void traceSQLExecutionEvent(
                                    @ProbeParam("poolName") String poolName,
                                    @ProbeParam("appName") String appName,
                                    @ProbeParam("moduleName") String moduleName,
-                                   @ProbeParam("sql") String sql) {
+                                   @ProbeParam("sql") String sql,
+                                   @ProbeParam("executionTime") long executionTime) {
 
         PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
         if(this.poolInfo.equals(poolInfo)){
             if(sqlTraceCache != null) {
-                if (sql != null) {
-                    SQLTrace cacheObj = new SQLTrace(sql, 1,
-                            System.currentTimeMillis());
-                    sqlTraceCache.checkAndUpdateCache(cacheObj);
-                }
+                sqlTraceCache.record(sql, executionTime);
             }
         }
     }
@@ -158,6 +255,25 @@ public class JdbcStatsProvider {
         return numStatementCacheMiss;
     }
 
+    @ManagedAttribute(id="numstatementcacheeviction")
+    public CountStatistic getNumStatementCacheEviction() {
+        return numStatementCacheEviction;
+    }
+
+    @ManagedAttribute(id="statementcachesqlstatistics")
+    public StringStatistic getStatementCacheSqlStatistics() {
+        String report = sqlCacheStatistics.entrySet().stream()
+            .sorted(Comparator.comparingLong(
+                (Map.Entry<String, SqlCacheStatistics> entry) -> entry.getValue().hits.sum()).reversed())
+            .limit(REPORTED_SQL_QUERIES)
+            .map(entry -> entry.getKey() + " hits=" + entry.getValue().hits.sum()
+                + " misses=" + entry.getValue().misses.sum()
+                + " evictions=" + entry.getValue().evictions.sum())
+            .collect(Collectors.joining("%%%EOL%%%"));
+        statementCacheSqlStatistics.setCurrent(report);
+        return statementCacheSqlStatistics;
+    }
+
     @ManagedAttribute(id="frequsedsqlqueries")
     public StringStatistic getfreqUsedSqlQueries() {
         if(sqlTraceCache != null) {
@@ -168,6 +284,14 @@ public class JdbcStatsProvider {
         return freqUsedSqlQueries;
     }
 
+    @ManagedAttribute(id="sqlqueryexecutionstatistics")
+    public StringStatistic getSqlQueryExecutionStatistics() {
+        if(sqlTraceCache != null) {
+            sqlQueryExecutionStatistics.setCurrent(sqlTraceCache.getTopQueriesStatistics());
+        }
+        return sqlQueryExecutionStatistics;
+    }
+
     @ManagedAttribute(id="numpotentialstatementleak")
     public CountStatistic getNumPotentialStatementLeak() {
         return numPotentialStatementLeak;
@@ -180,4 +304,53 @@ public class JdbcStatsProvider {
     public SQLTraceCache getSqlTraceCache() {
         return sqlTraceCache;
     }
+
+    private SqlCacheStatistics getSqlCacheStatistics(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        SqlCacheStatistics statistics = sqlCacheStatistics.get(sql);
+        if (statistics == null) {
+            if (sqlCacheStatistics.size() >= MAX_TRACKED_SQL_QUERIES) {
+                evictLeastRecentlyUsedSqlCacheStatistics();
+            }
+            statistics = sqlCacheStatistics.computeIfAbsent(sql, key -> new SqlCacheStatistics());
+        }
+        statistics.lastUsed = System.nanoTime();
+        return statistics;
+    }
+
+    /**
+     * Removes a batch of the least recently used sql queries, so the sorting is done once
+     * per {@link #EVICTED_SQL_QUERIES} new queries. Only one thread evicts, the others
+     * do not wait for it.
+     */
+    private void evictLeastRecentlyUsedSqlCacheStatistics() {
+        if (!sqlCacheStatisticsEvictionLock.tryLock()) {
+            return;
+        }
+        try {
+            if (sqlCacheStatistics.size() < MAX_TRACKED_SQL_QUERIES) {
+                return;
+            }
+            sqlCacheStatistics.entrySet().stream()
+                .sorted(Comparator.comparingLong(
+                    (Map.Entry<String, SqlCacheStatistics> entry) -> entry.getValue().lastUsed))
+                .limit(EVICTED_SQL_QUERIES)
+                .toList()
+                .forEach(entry -> sqlCacheStatistics.remove(entry.getKey(), entry.getValue()));
+        } finally {
+            sqlCacheStatisticsEvictionLock.unlock();
+        }
+    }
+
+    /**
+     * Statement cache counters of a single sql query.
+     */
+    private static final class SqlCacheStatistics {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private volatile long lastUsed;
+    }
 }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -43,4 +44,21 @@ public class SQLTraceProbeProvider {
             @ProbeParam("sql") String sql) {
 
     }
+
+    /**
+     * Emits probe event/notification that the given connection pool
+     * <code>poolName</code> has executed a traced sql query
+     *
+     * @param poolName for which sql query was executed
+     * @param sql sql query that was executed
+     * @param executionTime execution time of the query in nanoseconds
+     */
+    @Probe(name=JdbcRAConstants.TRACE_SQL_EXECUTION)
+    public void traceSQLExecutionEvent(@ProbeParam("poolName") String poolName,
+                                   @ProbeParam("appName") String appName,
+                                   @ProbeParam("moduleName") String moduleName,
+            @ProbeParam("sql") String sql,
+            @ProbeParam("executionTime") long executionTime) {
+
+    }
 }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -59,4 +60,51 @@ public class StatementCacheProbeProvider {
 
     }
 
+    /**
+     * Emits probe event/notification that the given connection pool
+     * <code>poolName</code>has got a statement cache hit event for the sql
+     *
+     * @param poolName for which statement cache hit occurred
+     * @param sql of the statement found in the cache
+     */
+    @Probe(name=JdbcRAConstants.STATEMENT_CACHE_SQL_HIT)
+    public void statementCacheSqlHitEvent(@ProbeParam("poolName") String poolName,
+                                          @ProbeParam("appName") String appName,
+                                          @ProbeParam("moduleName") String moduleName,
+                                          @ProbeParam("sql") String sql
+                                          ) {
+
+    }
+
+    /**
+     * Emits probe event/notification that the given connection pool
+     * <code>poolName</code>has got a statement cache miss event for the sql
+     *
+     * @param poolName for which statement cache miss occurred
+     * @param sql of the statement not found in the cache
+     */
+    @Probe(name=JdbcRAConstants.STATEMENT_CACHE_SQL_MISS)
+    public void statementCacheSqlMissEvent(@ProbeParam("poolName") String poolName,
+                                           @ProbeParam("appName") String appName,
+                                           @ProbeParam("moduleName") String moduleName,
+                                           @ProbeParam("sql") String sql
+                                           ) {
+
+    }
+
+    /**
+     * Emits probe event/notification that the given connection pool
+     * <code>poolName</code>has evicted a statement from the statement cache
+     *
+     * @param poolName for which statement cache eviction occurred
+     * @param sql of the evicted statement
+     */
+    @Probe(name=JdbcRAConstants.STATEMENT_CACHE_EVICTION)
+    public void statementCacheEvictionEvent(@ProbeParam("poolName") String poolName,
+                                            @ProbeParam("appName") String appName,
+                                            @ProbeParam("moduleName") String moduleName,
+                                            @ProbeParam("sql") String sql
+                                            ) {
+
+    }
 }
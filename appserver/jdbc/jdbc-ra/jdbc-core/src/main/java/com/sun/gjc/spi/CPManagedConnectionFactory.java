@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -136,6 +137,7 @@ public class CPManagedConnectionFactory extends ManagedConnectionFactoryImpl {
             managedConnectionImpl.initializeConnectionType(ManagedConnectionImpl.ISPOOLEDCONNECTION);
 
             validateAndSetIsolation(managedConnectionImpl);
+            warmUpStatementCache(managedConnectionImpl);
         } finally {
             if (managedConnectionImpl == null) {
                 if (pooledConnection != null) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -155,6 +155,7 @@ public class DMManagedConnectionFactory extends ManagedConnectionFactoryImpl {
         try {
             managedConnectionImpl = constructManagedConnection(null, connection, passwordCredential, this);
             validateAndSetIsolation(managedConnectionImpl);
+            warmUpStatementCache(managedConnectionImpl);
         } finally {
             if (managedConnectionImpl == null) {
                 try {
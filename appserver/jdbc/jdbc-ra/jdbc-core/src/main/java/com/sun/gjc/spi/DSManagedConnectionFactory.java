@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -111,6 +112,7 @@ public class DSManagedConnectionFactory extends ManagedConnectionFactoryImpl {
             managedConnectionImpl = constructManagedConnection(null, connection, passwordCredential, this);
 
             validateAndSetIsolation(managedConnectionImpl);
+            warmUpStatementCache(managedConnectionImpl);
         } finally {
             if (managedConnectionImpl == null) {
                 if (connection != null) {
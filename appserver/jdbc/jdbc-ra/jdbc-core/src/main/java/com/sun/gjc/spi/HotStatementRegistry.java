@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi;
+
+import com.sun.gjc.spi.base.CacheObjectKey;
+import com.sun.gjc.util.EvictionSampler;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool wide registry of the statements which had to be prepared by the driver because they were
+ * not found in the statement cache of a connection.
+ * <p>
+ * The most frequently prepared statements are used to warm up the statement cache of every new
+ * connection of the pool, so the application does not pay for the prepare on each physical
+ * connection again after the pool was resized or flushed.
+ * <p>
+ * The number of tracked statements is bounded, when the registry is full, the least frequently
+ * prepared statement of a small sample is dropped, see {@link EvictionSampler}. Counting a tracked
+ * statement does not take any lock, only adding a new statement is serialized.
+ */
+public class HotStatementRegistry {
+
+    /**
+     * Number of tracked statements compared to find the one to drop.
+     */
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private final ConcurrentHashMap<CacheObjectKey, LongAdder> statements = new ConcurrentHashMap<>();
+    private final EvictionSampler<CacheObjectKey, LongAdder> sampler = new EvictionSampler<>(statements, EVICTION_SAMPLE_SIZE);
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final int maxSize;
+
+    /**
+     * @param maxSize maximal number of tracked statements
+     */
+    public HotStatementRegistry(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    /**
+     * Records that the statement was prepared by the driver.
+     *
+     * @param key statement cache key of the statement
+     */
+    public void record(CacheObjectKey key) {
+        LongAdder counter = statements.get(key);
+        if (counter == null) {
+            evictionLock.lock();
+            try {
+                counter = statements.get(key);
+                if (counter == null) {
+                    if (statements.size() >= maxSize) {
+                        dropColdest();
+                    }
+                    counter = new LongAdder();
+                    statements.put(key, counter);
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+        counter.increment();
+    }
+
+    /**
+     * @param limit maximal number of returned statements
+     * @return keys of the most frequently prepared statements, the most frequent first.
+     */
+    public List<CacheObjectKey> getHotStatements(int limit) {
+        List<Map.Entry<CacheObjectKey, Long>> snapshot = new ArrayList<>(statements.size());
+        for (Map.Entry<CacheObjectKey, LongAdder> entry : statements.entrySet()) {
+            snapshot.add(Map.entry(entry.getKey(), entry.getValue().sum()));
+        }
+        snapshot.sort(Map.Entry.<CacheObjectKey, Long>comparingByValue(Comparator.reverseOrder()));
+
+        List<CacheObjectKey> hotStatements = new ArrayList<>(Math.min(limit, snapshot.size()));
+        for (int i = 0; i < snapshot.size() && i < limit; i++) {
+            hotStatements.add(snapshot.get(i).getKey());
+        }
+        return hotStatements;
+    }
+
+    /**
+     * @return number of tracked statements.
+     */
+    public int getSize() {
+        return statements.size();
+    }
+
+    /**
+     * Forgets all recorded statements.
+     */
+    public void clear() {
+        statements.clear();
+    }
+
+    private void dropColdest() {
+        Map.Entry<CacheObjectKey, LongAdder> coldest = sampler.selectVictim(entry -> entry.getValue().sum());
+        if (coldest != null) {
+            statements.remove(coldest.getKey(), coldest.getValue());
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -109,9 +109,18 @@ public abstract class JdbcObjectsFactory implements Serializable {
                 record.setThreadName(Thread.currentThread().getName());
                 record.setThreadID(Thread.currentThread().getId());
                 record.setTimeStamp(System.currentTimeMillis());
-                sqlTraceDelegator.sqlTrace(record);
-
-                return method.invoke(actualObject, args);
+                boolean sampled = sqlTraceDelegator.isSampled();
+                sqlTraceDelegator.sqlTrace(record, sampled);
+                if (!sampled) {
+                    return method.invoke(actualObject, args);
+                }
+
+                long start = System.nanoTime();
+                try {
+                    return method.invoke(actualObject, args);
+                } finally {
+                    sqlTraceDelegator.sqlTraceCompleted(record, System.nanoTime() - start);
+                }
             }
         };
 
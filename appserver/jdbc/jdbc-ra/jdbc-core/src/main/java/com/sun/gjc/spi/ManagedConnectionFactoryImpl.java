@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2024 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -22,6 +22,7 @@ import com.sun.enterprise.util.i18n.StringManager;
 import com.sun.gjc.common.DataSourceObjectBuilder;
 import com.sun.gjc.common.DataSourceSpec;
 import com.sun.gjc.monitoring.JdbcStatsProvider;
+import com.sun.gjc.spi.base.CacheObjectKey;
 import com.sun.gjc.util.SQLTraceDelegator;
 import com.sun.logging.LogDomains;
 
@@ -38,6 +39,8 @@ import jakarta.resource.spi.ResourceAdapterAssociation;
 import jakarta.resource.spi.ResourceAllocationException;
 import jakarta.resource.spi.ValidatingManagedConnectionFactory;
 import jakarta.resource.spi.security.PasswordCredential;
+import jakarta.resource.spi.work.WorkException;
+import jakarta.resource.spi.work.WorkManager;
 
 import java.io.Externalizable;
 import java.io.IOException;
@@ -53,6 +56,7 @@ import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.NoSuchElementException;
 import java.util.Set;
@@ -117,6 +121,8 @@ public abstract class ManagedConnectionFactoryImpl
     private final JdbcObjectsFactory jdbcObjectsFactory = JdbcObjectsFactory.getInstance();
     private int statementCacheSize;
     private String statementCacheType;
+    private int statementCacheWarmUpSize;
+    private HotStatementRegistry hotStatementRegistry;
     private long statementLeakTimeout;
     private boolean statementLeakReclaim;
 
@@ -329,6 +335,8 @@ public abstract class ManagedConnectionFactoryImpl
 
         String validationMethod = spec.getDetail(VALIDATIONMETHOD).toLowerCase(Locale.getDefault());
 
+        // The validation must not share the physical connection with the statement cache warm up.
+        managedConnectionImpl.stopStatementCacheWarmUp();
         managedConnectionImpl.checkIfValid();
 
         /**
@@ -344,6 +352,8 @@ public abstract class ManagedConnectionFactoryImpl
             isValidByMetaData(connection);
         } else if (validationMethod.equals("table")) {
             isValidByTableQuery(connection, spec.getDetail(DataSourceSpec.VALIDATIONTABLENAME));
+        } else if (validationMethod.equals("is-valid")) {
+            isValidByIsValid(connection, getStatementTimeoutValue());
         } else {
             throw new ResourceException("The validation method is not proper");
         }
@@ -479,6 +489,34 @@ public abstract class ManagedConnectionFactoryImpl
         }
     }
 
+    /**
+     * Checks if a <code>java.sql.Connection</code> is valid or not by the JDBC 4
+     * {@link Connection#isValid(int)} method, which lets the driver use the
+     * cheapest check supported by the database.
+     *
+     * @param connection <code>java.sql.Connection</code> to be validated
+     * @param timeout timeout in seconds, 0 for no timeout
+     * @throws ResourceException if the connection is not valid
+     */
+    protected void isValidByIsValid(Connection connection, int timeout) throws ResourceException {
+        if (connection == null) {
+            throw new ResourceException("The connection is not valid as the connection is null");
+        }
+
+        boolean isValid;
+        try {
+            isValid = connection.isValid(timeout);
+        } catch (Exception sqle) {
+            _logger.log(INFO, "jdbc.exc_is_valid_validation");
+            throw new ResourceException(sqle);
+        }
+
+        if (!isValid) {
+            _logger.log(INFO, "jdbc.exc_is_valid_validation");
+            throw new ResourceException("Connection.isValid detected invalid connection");
+        }
+    }
+
     /**
      * Sets the isolation level specified in the <code>ConnectionRequestInfo</code>
      * for the <code>ManagedConnection</code> passed.
@@ -558,6 +596,7 @@ public abstract class ManagedConnectionFactoryImpl
 
         if (sqlTraceListeners != null && !sqlTraceListeners.equals("null")) {
             sqlTraceDelegator = new SQLTraceDelegator(getPoolName(), invocationManager);
+            sqlTraceDelegator.setSamplingRate(getSqlTraceSamplingRateValue());
             StringTokenizer st = new StringTokenizer(sqlTraceListeners, delimiter);
 
             while (st.hasMoreTokens()) {
@@ -654,6 +693,62 @@ public abstract class ManagedConnectionFactoryImpl
         }
     }
 
+    private void detectStatementCacheWarmUpSupport() {
+        String warmUpSize = getStatementCacheWarmUpSize();
+        statementCacheWarmUpSize = 0;
+        if (warmUpSize != null) {
+            try {
+                statementCacheWarmUpSize = Integer.parseInt(warmUpSize);
+                if (_logger.isLoggable(FINE)) {
+                    _logger.log(FINE, "StatementCache WarmUp Size : " + statementCacheWarmUpSize);
+                }
+            } catch (NumberFormatException nfe) {
+                if (_logger.isLoggable(FINE)) {
+                    _logger.fine("Exception while setting StatementCacheWarmUpSize : " + nfe.getMessage());
+                }
+                // ignore
+            }
+        }
+
+        // Track more statements than warmed up, so the ranking of the hot ones is stable.
+        hotStatementRegistry = statementCacheWarmUpSize > 0 ? new HotStatementRegistry(statementCacheWarmUpSize * 4) : null;
+    }
+
+    /**
+     * Warms up the statement cache of the new <code>ManagedConnectionImpl</code> with the statements
+     * most frequently prepared by the other connections of the pool.
+     * <p>
+     * The statements are prepared by a work of the work manager, so the creation of the connection
+     * is not delayed. The work stops as soon as the connection is handed out to the application.
+     *
+     * @param managedConnectionImpl newly created connection
+     */
+    protected void warmUpStatementCache(ManagedConnectionImpl managedConnectionImpl) {
+        if (hotStatementRegistry == null || statementCacheSize <= 0 || !statementWrapping) {
+            return;
+        }
+
+        List<CacheObjectKey> hotStatements = hotStatementRegistry.getHotStatements(Math.min(statementCacheWarmUpSize, statementCacheSize));
+        if (hotStatements.isEmpty() || !(resourceAdapter instanceof ResourceAdapterImpl)) {
+            return;
+        }
+
+        WorkManager workManager = ((ResourceAdapterImpl) resourceAdapter).getWorkManager();
+        if (workManager == null) {
+            return;
+        }
+
+        try {
+            workManager.scheduleWork(managedConnectionImpl.createStatementCacheWarmUp(hotStatements));
+        } catch (WorkException e) {
+            _logger.log(FINE, "Could not schedule the statement cache warm up for pool " + getPoolInfo(), e);
+        }
+    }
+
+    HotStatementRegistry getHotStatementRegistry() {
+        return hotStatementRegistry;
+    }
+
     /**
      * Set the log writer for this <code>ManagedConnectionFactoryImpl</code>
      * instance.
@@ -1071,6 +1166,22 @@ public abstract class ManagedConnectionFactoryImpl
         }
     }
 
+    public String getStatementCacheWarmUpSize() {
+        return spec.getDetail(DataSourceSpec.STATEMENTCACHEWARMUPSIZE);
+    }
+
+    /**
+     * Sets the number of the most frequently prepared statements of the pool which are prepared
+     * in advance in the statement cache of every new connection. Zero disables the warm up.
+     *
+     * @param value <code>String</code>
+     * @see <code>getStatementCacheWarmUpSize</code>
+     */
+    public void setStatementCacheWarmUpSize(String value) {
+        spec.setDetail(DataSourceSpec.STATEMENTCACHEWARMUPSIZE, value);
+        detectStatementCacheWarmUpSupport();
+    }
+
     public String getNumberOfTopQueriesToReport() {
         return spec.getDetail(DataSourceSpec.NUMBEROFTOPQUERIESTOREPORT);
     }
@@ -1087,6 +1198,40 @@ public abstract class ManagedConnectionFactoryImpl
         spec.setDetail(DataSourceSpec.TIMETOKEEPQUERIESINMINUTES, timeToKeepQueries);
     }
 
+    public String getSqlTraceSamplingRate() {
+        return spec.getDetail(DataSourceSpec.SQLTRACESAMPLINGRATE);
+    }
+
+    /**
+     * Sets the fraction of the traced sql query executions which are recorded in the
+     * monitoring statistics, for example 0.01 to record every hundredth execution.
+     *
+     * @param samplingRate <code>String</code>
+     * @see <code>getSqlTraceSamplingRate</code>
+     */
+    public void setSqlTraceSamplingRate(String samplingRate) {
+        spec.setDetail(DataSourceSpec.SQLTRACESAMPLINGRATE, samplingRate);
+        if (sqlTraceDelegator != null) {
+            sqlTraceDelegator.setSamplingRate(getSqlTraceSamplingRateValue());
+        }
+    }
+
+    private double getSqlTraceSamplingRateValue() {
+        String samplingRate = getSqlTraceSamplingRate();
+        if (samplingRate == null || samplingRate.equals("null")) {
+            return 1d;
+        }
+        try {
+            double value = Double.parseDouble(samplingRate);
+            return value > 0d && value < 1d ? value : 1d;
+        } catch (NumberFormatException nfe) {
+            if (_logger.isLoggable(FINE)) {
+                _logger.fine("Exception while setting SqlTraceSamplingRate : " + nfe.getMessage());
+            }
+            return 1d;
+        }
+    }
+
     public String getInitSql() {
         return spec.getDetail(DataSourceSpec.INITSQL);
     }
@@ -1118,6 +1263,21 @@ public abstract class ManagedConnectionFactoryImpl
         return spec.getDetail(DataSourceSpec.STATEMENTTIMEOUT);
     }
 
+    /**
+     * @return statement timeout in seconds or 0 if not set.
+     */
+    private int getStatementTimeoutValue() {
+        String timeout = getStatementTimeout();
+        if (timeout == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(timeout));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
     public String getSqlTraceListeners() {
         return spec.getDetail(DataSourceSpec.SQLTRACELISTENERS);
     }
@@ -1390,7 +1550,7 @@ public abstract class ManagedConnectionFactoryImpl
         if (statementCacheSize > 0 || (sqlTraceListeners != null && !sqlTraceListeners.equals("null"))
                 || statementLeakTimeout > 0) {
             jdbcStatsProvider = new JdbcStatsProvider(getPoolName(), getApplicationName(), getModuleName(),
-                    sqlTraceCacheSize, timeToKeepQueries);
+                    sqlTraceCacheSize, timeToKeepQueries, getSqlTraceSamplingRateValue());
 
             // Get the poolname and use it to initialize the stats provider n register
             StatsProviderManager.register("jdbc-connection-pool", PluginPoint.SERVER, poolMonitoringSubTreeRoot,
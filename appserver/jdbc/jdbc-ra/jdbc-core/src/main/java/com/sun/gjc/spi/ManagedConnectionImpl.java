@@ -43,6 +43,7 @@ import jakarta.resource.spi.ManagedConnection;
 import jakarta.resource.spi.ManagedConnectionFactory;
 import jakarta.resource.spi.ManagedConnectionMetaData;
 import jakarta.resource.spi.security.PasswordCredential;
+import jakarta.resource.spi.work.Work;
 
 import java.io.PrintWriter;
 import java.sql.CallableStatement;
@@ -52,8 +53,10 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.Hashtable;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Logger;
 
 import javax.security.auth.Subject;
@@ -118,6 +121,9 @@ public class ManagedConnectionImpl
     private int cacheSize;
     private String cacheType;
     private boolean statementCaching;
+    private HotStatementRegistry hotStatementRegistry;
+    private final ReentrantLock statementCacheWarmUpLock = new ReentrantLock();
+    volatile boolean statementCacheWarmUpPending;
     private long stmtLeakTimeout;
     private boolean stmtLeakReclaim;
     private boolean statementLeakTracing;
@@ -151,8 +157,8 @@ public class ManagedConnectionImpl
      * Configured via create-jdbc-connection-pool --statementcachesize
      * @param statementCacheType In case statementCacheSize is not 0 this defines the statement cache type to be used. Valid
      * values are defined in com.sun.gjc.spi.base.datastructure.CacheFactory. Value null or "" uses an LRU Cache
-     * implementation. Value FIXED uses FIXED size cache implementation. Any other values are expected to be a className for
-     * a cache implementation.
+     * implementation. Value FIXED uses FIXED size cache implementation. Value TINYLFU uses a concurrent cache with
+     * a frequency based admission policy. Any other values are expected to be a className for a cache implementation.
      * @param delegator optional SqlTraceDelegator, value is allowed to be null.
      * @param statementLeakTimeout statement leak timeout in seconds.<br>
      * Configured via create-jdbc-connection-pool --statementleaktimeout
@@ -231,6 +237,9 @@ public class ManagedConnectionImpl
             try {
                 statementCache = CacheFactory.getDataStructure(poolInfo, cacheType, cacheSize);
                 statementCaching = true;
+                if (managedConnectionFactory instanceof ManagedConnectionFactoryImpl) {
+                    hotStatementRegistry = ((ManagedConnectionFactoryImpl) managedConnectionFactory).getHotStatementRegistry();
+                }
             } catch (ResourceException ex) {
                 LOG.severe(ex.getMessage());
             }
@@ -372,6 +381,7 @@ public class ManagedConnectionImpl
         if (isDestroyed) {
             return;
         }
+        stopStatementCacheWarmUp();
         clearStatementCache();
 
         // Connection could be closed even before statement is closed. Connection
@@ -420,6 +430,7 @@ public class ManagedConnectionImpl
     public Object getConnection(Subject sub, ConnectionRequestInfo cxReqInfo) throws ResourceException {
         logFine("In getConnection");
         checkIfValid();
+        stopStatementCacheWarmUp();
 
         getActualConnection();
         ManagedConnectionFactoryImpl managedConnectionFactoryImpl = (ManagedConnectionFactoryImpl) managedConnectionFactory;
@@ -927,6 +938,85 @@ public class ManagedConnectionImpl
         LOG.log(FINE, logMessage);
     }
 
+    /**
+     * Creates the work preparing the given statements in advance into the statement cache.
+     * The work does nothing if the connection was already handed out to the application.
+     *
+     * @param hotStatements keys of statements to prepare, created by
+     *            {@link #prepareCachedStatement(ConnectionWrapper, String, int, int)}
+     * @return work to be scheduled by the work manager
+     */
+    Work createStatementCacheWarmUp(final List<CacheObjectKey> hotStatements) {
+        statementCacheWarmUpPending = true;
+        return new Work() {
+
+            @Override
+            public void run() {
+                warmUpStatementCache(hotStatements);
+            }
+
+            @Override
+            public void release() {
+                statementCacheWarmUpPending = false;
+            }
+        };
+    }
+
+    private void warmUpStatementCache(List<CacheObjectKey> hotStatements) {
+        if (!statementCacheWarmUpLock.tryLock()) {
+            return;
+        }
+        try {
+            if (!statementCacheWarmUpPending || !statementCaching || isDestroyed) {
+                return;
+            }
+
+            ManagedConnectionFactoryImpl managedConnectionFactoryImpl = (ManagedConnectionFactoryImpl) managedConnectionFactory;
+            ConnectionHolder connectionHolder =
+                managedConnectionFactoryImpl.getJdbcObjectsFactory()
+                                            .getConnection(getActualConnection(), this, null, true, sqlTraceDelegator);
+            if (!(connectionHolder instanceof ConnectionWrapper)) {
+                return;
+            }
+            connectionHolder.setActive();
+            ConnectionWrapper connectionWrapper = (ConnectionWrapper) connectionHolder;
+
+            int prepared = 0;
+            for (CacheObjectKey key : hotStatements) {
+                // The application got the connection, it must not share it with us.
+                if (!statementCacheWarmUpPending) {
+                    break;
+                }
+                PreparedStatementWrapper preparedStatement = connectionWrapper.prepareCachedStatement(key.getSql(),
+                    key.getResultSetType(), key.getResultSetConcurrency(), true);
+                statementCache.addToCache(key, preparedStatement, false);
+                prepared++;
+            }
+
+            if (LOG.isLoggable(FINE)) {
+                LOG.log(FINE, "Prepared " + prepared + " statements in advance in the statement cache of " + this);
+            }
+        } catch (ResourceException | SQLException e) {
+            LOG.log(FINE, "Statement cache warm up failed", e);
+        } finally {
+            statementCacheWarmUpPending = false;
+            statementCacheWarmUpLock.unlock();
+        }
+    }
+
+    /**
+     * Stops the statement cache warm up and waits until the statement being prepared is finished.
+     * Must be called before anything else uses the physical connection.
+     */
+    void stopStatementCacheWarmUp() {
+        if (!statementCacheWarmUpPending) {
+            return;
+        }
+        statementCacheWarmUpPending = false;
+        statementCacheWarmUpLock.lock();
+        statementCacheWarmUpLock.unlock();
+    }
+
     public PreparedStatement prepareCachedStatement(ConnectionWrapper connection, String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
         if (statementCaching) {
             CacheObjectKey key =
@@ -955,6 +1045,9 @@ public class ManagedConnectionImpl
                     return connection.prepareCachedStatement(sql, resultSetType, resultSetConcurrency, false);
                 }
             } else {
+                if (hotStatementRegistry != null) {
+                    hotStatementRegistry.record(key);
+                }
                 preparedStatement = connection.prepareCachedStatement(sql, resultSetType, resultSetConcurrency, true);
 
                 preparedStatement.setBusy(true);
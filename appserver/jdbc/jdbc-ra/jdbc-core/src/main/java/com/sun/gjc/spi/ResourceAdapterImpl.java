@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -26,6 +27,7 @@ import jakarta.resource.spi.Connector;
 import jakarta.resource.spi.ResourceAdapter;
 import jakarta.resource.spi.UnavailableException;
 import jakarta.resource.spi.endpoint.MessageEndpointFactory;
+import jakarta.resource.spi.work.WorkManager;
 
 import java.util.Timer;
 import java.util.logging.Logger;
@@ -145,4 +147,16 @@ public class ResourceAdapterImpl implements ResourceAdapter {
 
         return timer;
     }
+
+    /**
+     * @return the work manager of the application server or null if the resource adapter
+     *         was not started yet.
+     */
+    public WorkManager getWorkManager() {
+        if (bootstrapContext == null) {
+            return null;
+        }
+
+        return bootstrapContext.getWorkManager();
+    }
 }
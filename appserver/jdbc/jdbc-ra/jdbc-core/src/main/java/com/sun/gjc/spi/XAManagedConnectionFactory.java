@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -115,6 +116,7 @@ public class XAManagedConnectionFactory extends ManagedConnectionFactoryImpl {
             managedConnection.initializeConnectionType(ISXACONNECTION);
             // GJCINT
             validateAndSetIsolation(managedConnection);
+            warmUpStatementCache(managedConnection);
         } finally {
             if (managedConnection == null) {
                 if (xaConnection != null) {
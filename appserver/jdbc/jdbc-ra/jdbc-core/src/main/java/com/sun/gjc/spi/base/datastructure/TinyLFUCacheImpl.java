@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.base.datastructure;
+
+import com.sun.gjc.monitoring.StatementCacheProbeProvider;
+import com.sun.gjc.spi.base.CacheObjectKey;
+import com.sun.gjc.spi.base.PreparedStatementWrapper;
+import com.sun.gjc.util.EvictionSampler;
+import com.sun.logging.LogDomains;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+
+/**
+ * Concurrent statement cache with a frequency based (TinyLFU) admission policy.
+ * <p>
+ * Every lookup records the key in a small count-min sketch which approximates how often each
+ * statement was requested recently. When the cache is full, a new statement is admitted only if
+ * it was requested at least as often as the least frequently used one of a sample of cached
+ * statements. A one-off ad-hoc statement therefore cannot flush the hot prepared statements.
+ * The samples go round the whole cache, see {@link EvictionSampler}.
+ * <p>
+ * Lookups do not take any lock, only the insertion into a full cache is serialized.
+ * The cache is synchronized by itself, so it is not wrapped by the {@link SynchronizedCache}.
+ */
+public class TinyLFUCacheImpl implements Cache {
+
+    private static final Logger LOG = LogDomains.getLogger(TinyLFUCacheImpl.class, LogDomains.RSR_LOGGER);
+
+    /**
+     * Number of cached entries compared to find the eviction victim.
+     */
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private final ConcurrentHashMap<CacheObjectKey, CacheEntry> cache;
+    private final FrequencySketch sketch;
+    private final EvictionSampler<CacheObjectKey, CacheEntry> sampler;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final int maxSize;
+    private final PoolInfo poolInfo;
+    private StatementCacheProbeProvider probeProvider;
+
+    public TinyLFUCacheImpl(PoolInfo poolInfo, int maxSize) {
+        this.maxSize = maxSize;
+        this.poolInfo = poolInfo;
+        this.cache = new ConcurrentHashMap<>(maxSize);
+        this.sketch = new FrequencySketch(maxSize);
+        this.sampler = new EvictionSampler<>(cache, EVICTION_SAMPLE_SIZE);
+
+        try {
+            probeProvider = new StatementCacheProbeProvider();
+        } catch (Exception ex) {
+            LOG.log(Level.FINE, "Could not create the statement cache probe provider", ex);
+        }
+    }
+
+    @Override
+    public Object checkAndUpdateCache(CacheObjectKey key) {
+        sketch.increment(key.hashCode());
+
+        CacheEntry entry = cache.get(key);
+        if (entry == null) {
+            LOG.finest("Cache Miss");
+            if (probeProvider != null) {
+                probeProvider.statementCacheMissEvent(getPoolName(), poolInfo.getApplicationName(), poolInfo.getModuleName());
+                probeProvider.statementCacheSqlMissEvent(getPoolName(), poolInfo.getApplicationName(), poolInfo.getModuleName(),
+                    key.getSql());
+            }
+            return null;
+        }
+
+        LOG.finest("Cache Hit");
+        if (probeProvider != null) {
+            probeProvider.statementCacheHitEvent(getPoolName(), poolInfo.getApplicationName(), poolInfo.getModuleName());
+            probeProvider.statementCacheSqlHitEvent(getPoolName(), poolInfo.getApplicationName(), poolInfo.getModuleName(),
+                key.getSql());
+        }
+        return entry.entryObj;
+    }
+
+    @Override
+    public void addToCache(CacheObjectKey key, Object o, boolean force) {
+        if (!force && cache.containsKey(key)) {
+            return;
+        }
+
+        evictionLock.lock();
+        try {
+            if (cache.containsKey(key)) {
+                if (force) {
+                    cache.put(key, new CacheEntry(o));
+                }
+                return;
+            }
+
+            if (cache.size() >= maxSize) {
+                Map.Entry<CacheObjectKey, CacheEntry> victim = selectVictim();
+                if (victim != null) {
+                    if (sketch.frequency(key.hashCode()) < sketch.frequency(victim.getKey().hashCode())) {
+                        // The candidate is not worth to replace anything in the cache.
+                        LOG.finest("Statement rejected by the cache admission policy");
+                        uncache(o);
+                        return;
+                    }
+                    evict(victim.getKey(), victim.getValue());
+                }
+            }
+            cache.put(key, new CacheEntry(o));
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void clearCache() {
+        LOG.fine("clearing objects in cache");
+        cache.clear();
+    }
+
+    @Override
+    public void flushCache() {
+        evictionLock.lock();
+        try {
+            Iterator<Map.Entry<CacheObjectKey, CacheEntry>> iterator = cache.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<CacheObjectKey, CacheEntry> entry = iterator.next();
+                iterator.remove();
+                close(entry.getValue().entryObj);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void purge() {
+        evictionLock.lock();
+        try {
+            Map.Entry<CacheObjectKey, CacheEntry> victim = selectVictim();
+            if (victim != null) {
+                evict(victim.getKey(), victim.getValue());
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    // Used only for purging the bad statements.
+    @Override
+    public void purge(Object obj) {
+        for (Map.Entry<CacheObjectKey, CacheEntry> entry : cache.entrySet()) {
+            if (entry.getValue().entryObj.equals(obj)) {
+                if (cache.remove(entry.getKey(), entry.getValue())) {
+                    LOG.log(Level.FINEST, "Purging an entry from cache");
+                    close(obj);
+                }
+                return;
+            }
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return cache.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public boolean isSynchronized() {
+        return true;
+    }
+
+    /**
+     * @return the least frequently used entry of the next {@link #EVICTION_SAMPLE_SIZE} entries
+     *         or null if the cache is empty.
+     */
+    private Map.Entry<CacheObjectKey, CacheEntry> selectVictim() {
+        return sampler.selectVictim(entry -> sketch.frequency(entry.getKey().hashCode()));
+    }
+
+    private void evict(CacheObjectKey key, CacheEntry entry) {
+        if (!cache.remove(key, entry)) {
+            return;
+        }
+        close(entry.entryObj);
+        if (probeProvider != null) {
+            probeProvider.statementCacheEvictionEvent(getPoolName(), poolInfo.getApplicationName(), poolInfo.getModuleName(),
+                key.getSql());
+        }
+    }
+
+    private static void uncache(Object o) {
+        if (o instanceof PreparedStatementWrapper) {
+            ((PreparedStatementWrapper) o).setCached(false);
+        }
+    }
+
+    private static void close(Object o) {
+        if (!(o instanceof PreparedStatementWrapper)) {
+            return;
+        }
+        try {
+            // TODO Move to a more generic Contract and invoke close()
+            // PreparedStatementWrapper could implement the contract instead
+            PreparedStatementWrapper ps = (PreparedStatementWrapper) o;
+            ps.setCached(false);
+            ps.close();
+        } catch (SQLException e) {
+            // ignore
+        }
+    }
+
+    private String getPoolName() {
+        return poolInfo.getName().toString();
+    }
+
+    /**
+     * Cache object that has an entry. This is used to put inside the statement
+     * cache.
+     */
+    private static final class CacheEntry {
+        private final Object entryObj;
+
+        CacheEntry(Object o) {
+            this.entryObj = o;
+        }
+    }
+
+    /**
+     * Count-min sketch of small saturating counters. All counters are halved periodically,
+     * so the statements which are not used anymore lose their frequency over time.
+     */
+    static final class FrequencySketch {
+
+        private static final int DEPTH = 4;
+        private static final int MAX_COUNT = 15;
+        private static final int[] SEEDS = {0x97cb3127, 0xb3a26c2d, 0x8f1e5d33, 0x6c8e9cf5};
+
+        private final AtomicIntegerArray table;
+        private final int widthMask;
+        private final int sampleSize;
+        private final AtomicInteger additions = new AtomicInteger();
+
+        FrequencySketch(int maxSize) {
+            int width = Integer.highestOneBit(Math.max(16, maxSize * 4) - 1) << 1;
+            this.table = new AtomicIntegerArray(DEPTH * width);
+            this.widthMask = width - 1;
+            this.sampleSize = 10 * width;
+        }
+
+        void increment(int hash) {
+            boolean added = false;
+            for (int i = 0; i < DEPTH; i++) {
+                int index = indexOf(hash, i);
+                int count;
+                while ((count = table.get(index)) < MAX_COUNT) {
+                    if (table.compareAndSet(index, count, count + 1)) {
+                        added = true;
+                        break;
+                    }
+                }
+            }
+            if (added && additions.incrementAndGet() >= sampleSize) {
+                reset();
+            }
+        }
+
+        int frequency(int hash) {
+            int frequency = MAX_COUNT;
+            for (int i = 0; i < DEPTH; i++) {
+                frequency = Math.min(frequency, table.get(indexOf(hash, i)));
+            }
+            return frequency;
+        }
+
+        private void reset() {
+            // Concurrent increments may get lost, which is fine for an approximation.
+            additions.set(0);
+            for (int i = 0; i < table.length(); i++) {
+                table.set(i, table.get(i) >>> 1);
+            }
+        }
+
+        private int indexOf(int hash, int row) {
+            int h = hash * SEEDS[row];
+            h ^= h >>> 16;
+            return row * (widthMask + 1) + (h & widthMask);
+        }
+    }
+}
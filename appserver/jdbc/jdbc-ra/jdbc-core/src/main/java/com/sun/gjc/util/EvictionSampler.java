@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Selects the entry to be evicted from a bounded concurrent map by comparing a small sample
+ * of its entries.
+ * <p>
+ * The samples are taken by a clock hand going round the map, every sample continues where
+ * the previous one ended. A new iteration would always start at the same hash buckets,
+ * so the entries in the later buckets would never be compared and never evicted.
+ * <p>
+ * The sampler is not thread safe, the callers serialize the evictions. The map itself can
+ * be updated concurrently.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ */
+public class EvictionSampler<K, V> {
+
+    private final ConcurrentMap<K, V> map;
+    private final int sampleSize;
+    private Iterator<Map.Entry<K, V>> hand;
+
+    /**
+     * @param map sampled map
+     * @param sampleSize number of entries compared to select the victim
+     */
+    public EvictionSampler(ConcurrentMap<K, V> map, int sampleSize) {
+        this.map = map;
+        this.sampleSize = Math.max(1, sampleSize);
+    }
+
+    /**
+     * Moves the clock hand over the next sample of entries.
+     *
+     * @param weight weight of an entry, the entry with the lowest weight is the victim
+     * @return the entry with the lowest weight of the sample or null if the map is empty.
+     */
+    public Map.Entry<K, V> selectVictim(ToLongFunction<Map.Entry<K, V>> weight) {
+        Map.Entry<K, V> victim = null;
+        long victimWeight = Long.MAX_VALUE;
+        boolean restarted = false;
+        for (int sampled = 0; sampled < sampleSize; sampled++) {
+            if (hand == null || !hand.hasNext()) {
+                if (restarted) {
+                    // The map is smaller than the sample.
+                    break;
+                }
+                hand = map.entrySet().iterator();
+                restarted = true;
+                if (!hand.hasNext()) {
+                    break;
+                }
+            }
+            Map.Entry<K, V> entry = hand.next();
+            long entryWeight = weight.applyAsLong(entry);
+            if (victim == null || entryWeight < victimWeight) {
+                victim = entry;
+                victimWeight = entryWeight;
+            }
+        }
+        return victim;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -20,10 +20,14 @@ package com.sun.gjc.util;
 import com.sun.logging.LogDomains;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Iterator;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Timer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -33,16 +37,40 @@ import org.glassfish.api.naming.SimpleJndiName;
  * Maintains the Sql Tracing Cache used to store SQL statements used by the
  * applications. This is used by the JDBCRA monitoring to display the most
  * frequently used queries by applications.
+ * <p>
+ * The queries are counted in a bounded heavy hitters summary (space-saving algorithm):
+ * a fixed number of queries is tracked, and a new query replaces the least frequently used
+ * tracked query, inheriting its count. The frequently used queries are therefore always
+ * tracked while the memory stays bounded no matter how many distinct queries are executed.
+ * Counting a tracked query does not take any lock, so tracing can stay enabled under load,
+ * only a new query is added under a lock.
+ * Execution times of the tracked queries are recorded in {@link LatencyHistogram}s.
  *
  * @author Shalini M
  */
 public class SQLTraceCache {
 
-    // List of sql trace objects
-    private final List<SQLTrace> list;
+    /**
+     * Number of tracked queries per reported query. Tracking more queries than reported
+     * keeps the counts of the reported ones (almost) exact.
+     */
+    private static final int TRACKED_QUERIES_FACTOR = 8;
+    private static final int MIN_TRACKED_QUERIES = 64;
+
+    private static final Comparator<SQLTraceSnapshot> MOST_FREQUENTLY_USED_FIRST = Comparator
+        .comparingLong((SQLTraceSnapshot snapshot) -> snapshot.count)
+        .thenComparingLong(snapshot -> snapshot.lastUsageTime)
+        .reversed();
+
+    private final ConcurrentHashMap<String, SQLTraceCounter> counters = new ConcurrentHashMap<>();
+    private final int maxTrackedQueries;
+    // Samples all tracked queries, the replaced one has the minimal count.
+    private final EvictionSampler<String, SQLTraceCounter> sampler;
+    private final ReentrantLock evictionLock = new ReentrantLock();
     // Maximum size of the cache.
     private int numTopQueriesToReport = 10;
     private long timeToKeepQueries = 60 * 1000;
+    private final double samplingRate;
     private SQLTraceTimerTask sqlTraceTimerTask;
     private final SimpleJndiName poolName;
     private final String appName;
@@ -50,16 +78,35 @@ public class SQLTraceCache {
     private final static Logger _logger = LogDomains.getLogger(SQLTraceCache.class, LogDomains.RSR_LOGGER);
     private static final String LINE_BREAK = "%%%EOL%%%";
 
-    public SQLTraceCache(SimpleJndiName poolName, String appName, String moduleName, int maxSize, long timeToKeepQueries) {
+    /**
+     * @param poolName name of the pool
+     * @param appName application name
+     * @param moduleName module name
+     * @param maxSize number of the reported most frequently used queries
+     * @param timeToKeepQueries minutes after which a query not used anymore is forgotten
+     * @param samplingRate fraction of the executions which are traced, used to estimate
+     *            the number of executions
+     */
+    public SQLTraceCache(SimpleJndiName poolName, String appName, String moduleName, int maxSize, long timeToKeepQueries,
+        double samplingRate) {
         this.poolName = poolName;
         this.appName = appName;
         this.moduleName = moduleName;
         this.numTopQueriesToReport = maxSize;
-        list = new ArrayList<>();
+        this.maxTrackedQueries = Math.max(MIN_TRACKED_QUERIES, maxSize * TRACKED_QUERIES_FACTOR);
+        this.sampler = new EvictionSampler<>(counters, maxTrackedQueries);
         this.timeToKeepQueries = timeToKeepQueries * 60 * 1000;
+        this.samplingRate = samplingRate > 0d && samplingRate < 1d ? samplingRate : 1d;
     }
 
+    /**
+     * @return snapshot of the traced sql queries, the most frequently used first.
+     */
     public List<SQLTrace> getSqlTraceList() {
+        List<SQLTrace> list = new ArrayList<>();
+        for (SQLTraceSnapshot snapshot : getMostFrequentlyUsed(Integer.MAX_VALUE)) {
+            list.add(new SQLTrace(snapshot.sql, (int) Math.min(Integer.MAX_VALUE, estimate(snapshot.count)), snapshot.lastUsageTime));
+        }
         return list;
     }
 
@@ -116,57 +163,42 @@ public class SQLTraceCache {
     }
 
     /**
-     * Request for adding a sql query in the form of SQLTrace to this cache. If the
-     * query is already found in the list, the number of times it is executed is
-     * incremented by one along with the timestamp. If the query is a new one, it is
-     * added to the list.
+     * Request for adding a sql query in the form of SQLTrace to this cache. The
+     * number of times the query is executed is incremented by one along with the
+     * timestamp.
      *
      * @param cacheObj
-     * @return
      */
     public void checkAndUpdateCache(SQLTrace cacheObj) {
-        synchronized (list) {
-            if (cacheObj != null) {
-                int index = list.indexOf(cacheObj);
-                if (index != -1) {
-                    // If already found in the cache
-                    // equals is invoked here and hence comparison based on query name is done
-                    // Get the object at the index to update the numExecutions
-                    SQLTrace cache = list.get(index);
-                    cache.setNumExecutions(cache.getNumExecutions() + 1);
-                    cache.setLastUsageTime(System.currentTimeMillis());
-                } else {
-                    // First occurrence of the query. query to be added.
-                    cacheObj.setNumExecutions(1);
-                    cacheObj.setLastUsageTime(System.currentTimeMillis());
-                    list.add(cacheObj);
-                }
-            }
+        if (cacheObj != null && cacheObj.getQueryName() != null) {
+            getCounter(cacheObj.getQueryName()).increment();
         }
     }
 
     /**
-     * Entries are removed from the list after sorting them in the least frequently
-     * used order. Only numTopQueriesToReport number of entries are maintained in
-     * the list after the purgeEntries.
+     * Records an execution of the sql query.
+     *
+     * @param sql sql query
+     * @param executionTime execution time in nanoseconds
+     */
+    public void record(String sql, long executionTime) {
+        if (sql != null) {
+            getCounter(sql).record(executionTime);
+        }
+    }
+
+    /**
+     * Forgets the queries which were not used during the last timeToKeepQueries.
      */
     public void purgeEntries() {
-        synchronized (list) {
-            Collections.sort(list, Collections.reverseOrder());
-            Iterator<SQLTrace> i = list.iterator();
-            while (i.hasNext()) {
-                SQLTrace cacheObj = i.next();
-                if (list.size() > numTopQueriesToReport) {
-                    if (_logger.isLoggable(Level.FINEST)) {
-                        _logger.finest("removing sql=" + cacheObj.getQueryName());
-                    }
-                    i.remove();
-                } else {
-                    break;
+        long oldestUsageTime = System.currentTimeMillis() - timeToKeepQueries;
+        for (Map.Entry<String, SQLTraceCounter> entry : counters.entrySet()) {
+            if (entry.getValue().lastUsageTime < oldestUsageTime) {
+                if (_logger.isLoggable(Level.FINEST)) {
+                    _logger.finest("removing sql=" + entry.getKey());
                 }
+                counters.remove(entry.getKey(), entry.getValue());
             }
-            // sort by most frequently used queries first
-            Collections.sort(list);
         }
     }
 
@@ -179,12 +211,125 @@ public class SQLTraceCache {
      * @return string representation of the list of sql queries sorted
      */
     public String getTopQueries() {
-        purgeEntries();
-        StringBuffer sb = new StringBuffer();
-        for (SQLTrace cache : list) {
+        StringBuilder sb = new StringBuilder();
+        for (SQLTraceSnapshot snapshot : getMostFrequentlyUsed(numTopQueriesToReport)) {
             sb.append(LINE_BREAK);
-            sb.append(cache.getQueryName());
+            sb.append(snapshot.sql);
         }
         return sb.toString();
     }
+
+    /**
+     * Returns the String representation of the top 'n' traced sql queries with their
+     * estimated number of executions and execution times in milliseconds.
+     *
+     * @return string representation of the execution statistics of the sql queries
+     */
+    public String getTopQueriesStatistics() {
+        StringBuilder sb = new StringBuilder();
+        for (SQLTraceSnapshot snapshot : getMostFrequentlyUsed(numTopQueriesToReport)) {
+            LatencyHistogram histogram = snapshot.histogram;
+            sb.append(LINE_BREAK);
+            sb.append(snapshot.sql);
+            sb.append(" executions=").append(estimate(snapshot.count));
+            if (histogram.getCount() > 0) {
+                sb.append(" mean=").append(toMillis(histogram.getMean()));
+                sb.append(" p50=").append(toMillis(histogram.getPercentile(50)));
+                sb.append(" p99=").append(toMillis(histogram.getPercentile(99)));
+                sb.append(" max=").append(toMillis(histogram.getPercentile(100)));
+            }
+        }
+        return sb.toString();
+    }
+
+    private SQLTraceCounter getCounter(String sql) {
+        SQLTraceCounter counter = counters.get(sql);
+        if (counter != null) {
+            return counter;
+        }
+
+        evictionLock.lock();
+        try {
+            counter = counters.get(sql);
+            if (counter != null) {
+                return counter;
+            }
+            long inheritedCount = 0;
+            if (counters.size() >= maxTrackedQueries) {
+                Map.Entry<String, SQLTraceCounter> victim = sampler.selectVictim(entry -> entry.getValue().getCount());
+                if (victim != null && counters.remove(victim.getKey(), victim.getValue())) {
+                    inheritedCount = victim.getValue().getCount();
+                }
+            }
+            counter = new SQLTraceCounter(inheritedCount);
+            counters.put(sql, counter);
+            return counter;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private List<SQLTraceSnapshot> getMostFrequentlyUsed(int limit) {
+        // The counters change concurrently, so they are sorted by a consistent snapshot.
+        List<SQLTraceSnapshot> snapshots = new ArrayList<>(counters.size());
+        for (Map.Entry<String, SQLTraceCounter> entry : counters.entrySet()) {
+            snapshots.add(new SQLTraceSnapshot(entry.getKey(), entry.getValue()));
+        }
+        snapshots.sort(MOST_FREQUENTLY_USED_FIRST);
+        return snapshots.size() > limit ? snapshots.subList(0, limit) : snapshots;
+    }
+
+    private long estimate(long count) {
+        return Math.round(count / samplingRate);
+    }
+
+    private static String toMillis(long micros) {
+        return String.format(Locale.ROOT, "%.3fms", micros / 1000d);
+    }
+
+    /**
+     * Usage statistics of a single traced query.
+     */
+    private static final class SQLTraceCounter {
+
+        private final LongAdder count = new LongAdder();
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private volatile long lastUsageTime = System.currentTimeMillis();
+
+        SQLTraceCounter(long inheritedCount) {
+            count.add(inheritedCount);
+        }
+
+        long getCount() {
+            return count.sum();
+        }
+
+        void increment() {
+            count.increment();
+            lastUsageTime = System.currentTimeMillis();
+        }
+
+        void record(long executionTime) {
+            increment();
+            histogram.record(executionTime);
+        }
+    }
+
+    /**
+     * Point in time view of the usage statistics of a traced query.
+     */
+    private static final class SQLTraceSnapshot {
+
+        private final String sql;
+        private final long count;
+        private final long lastUsageTime;
+        private final LatencyHistogram histogram;
+
+        SQLTraceSnapshot(String sql, SQLTraceCounter counter) {
+            this.sql = sql;
+            this.count = counter.getCount();
+            this.lastUsageTime = counter.lastUsageTime;
+            this.histogram = counter.histogram;
+        }
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022,2024 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -25,6 +25,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.logging.Logger;
 
 import org.glassfish.api.invocation.ComponentInvocation;
@@ -51,6 +52,7 @@ public class SQLTraceDelegator implements SQLTraceListener {
     private final SimpleJndiName poolName;
     private InvocationManager invocationManager;
     private SQLTraceProbeProvider probeProvider = null;
+    private volatile double samplingRate = 1d;
 
     public SQLTraceProbeProvider getProbeProvider() {
         return probeProvider;
@@ -62,6 +64,21 @@ public class SQLTraceDelegator implements SQLTraceListener {
         probeProvider = new SQLTraceProbeProvider();
     }
 
+    /**
+     * Sets the fraction of the traced sql query executions which are recorded in the monitoring
+     * statistics. The registered listeners always receive all the records, but the calling
+     * application method is resolved only for the sampled ones.
+     *
+     * @param samplingRate value between 0 (exclusive) and 1 (inclusive)
+     */
+    public void setSamplingRate(double samplingRate) {
+        this.samplingRate = samplingRate > 0d && samplingRate < 1d ? samplingRate : 1d;
+    }
+
+    public double getSamplingRate() {
+        return samplingRate;
+    }
+
     /**
      * Add a listener to the list of sql trace listeners maintained by this registry.
      *
@@ -76,6 +93,17 @@ public class SQLTraceDelegator implements SQLTraceListener {
 
     @Override
     public void sqlTrace(SQLTraceRecord record) {
+        sqlTrace(record, isSampled());
+    }
+
+    /**
+     * Passes the record to the registered listeners. The calling application method is found
+     * by walking the stack, so it is set on the record only if the execution is sampled.
+     *
+     * @param record record of the traced method call
+     * @param sampled result of {@link #isSampled()} for this execution
+     */
+    public void sqlTrace(SQLTraceRecord record, boolean sampled) {
         if (record != null) {
             record.setPoolName(poolName.toString());
 
@@ -90,7 +118,9 @@ public class SQLTraceDelegator implements SQLTraceListener {
             }
 
             if (sqlTraceListenersList != null && !sqlTraceListenersList.isEmpty()) {
-                getCallingApplicationStackFrame().ifPresent(record::setCallingApplicationMethod);
+                if (sampled) {
+                    getCallingApplicationStackFrame().ifPresent(record::setCallingApplicationMethod);
+                }
                 for (SQLTraceListener listener : sqlTraceListenersList) {
                     try {
                         listener.sqlTrace(record);
@@ -109,6 +139,36 @@ public class SQLTraceDelegator implements SQLTraceListener {
         }
     }
 
+    /**
+     * Notifies that the sampled traced method call has finished. Emits the execution time of the sql
+     * query for the monitoring statistics, if the record contains a sql query.
+     *
+     * @param record record passed to {@link #sqlTrace(SQLTraceRecord, boolean)} before the method call
+     * @param executionTime execution time of the method call in nanoseconds
+     */
+    public void sqlTraceCompleted(SQLTraceRecord record, long executionTime) {
+        if (record == null) {
+            return;
+        }
+        Optional<String> sqlQuery = record.getSqlQuery();
+        if (sqlQuery.isEmpty()) {
+            return;
+        }
+        probeProvider.traceSQLExecutionEvent(poolName.toString(), record.getApplicationName(), record.getModuleName(),
+                sqlQuery.get(), executionTime);
+    }
+
+    /**
+     * Decides whether the current execution is recorded in the monitoring statistics.
+     * Must be called once per execution, before {@link #sqlTrace(SQLTraceRecord, boolean)}.
+     *
+     * @return true if the execution is sampled
+     */
+    public boolean isSampled() {
+        double rate = samplingRate;
+        return rate >= 1d || ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
     private Optional<StackWalker.StackFrame> getCallingApplicationStackFrame() {
         Set<Class<?>> checkedClasses = new HashSet<>();
         checkedClasses.add(this.getClass());
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.gjc.monitoring;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JdbcStatsProviderTest {
+
+    @Test
+    public void testLeastRecentlyUsedSqlStatisticsAreEvicted() {
+        JdbcStatsProvider provider = new JdbcStatsProvider(SimpleJndiName.of("pool"), null, null, 0, 0, 0d);
+        hit(provider, "select old", 5);
+        for (int i = 1; i < JdbcStatsProvider.MAX_TRACKED_SQL_QUERIES; i++) {
+            hit(provider, "select " + i, 1);
+        }
+
+        // The statistics are full, new sql must still be tracked.
+        hit(provider, "select new", 3);
+        hit(provider, "select old", 2);
+
+        String[] report = provider.getStatementCacheSqlStatistics().getCurrent().split("%%%EOL%%%");
+        assertEquals("select new hits=3 misses=0 evictions=0", report[0]);
+        // The oldest sql was forgotten, its counters start again.
+        assertEquals("select old hits=2 misses=0 evictions=0", report[1]);
+    }
+
+    private static void hit(JdbcStatsProvider provider, String sql, int count) {
+        for (int i = 0; i < count; i++) {
+            provider.statementCacheSqlHitEvent("pool", null, null, sql);
+        }
+    }
+}
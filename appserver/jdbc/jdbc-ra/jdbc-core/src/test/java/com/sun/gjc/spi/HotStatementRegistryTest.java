@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.gjc.spi;
+
+import com.sun.gjc.spi.base.CacheObjectKey;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static java.sql.ResultSet.CONCUR_READ_ONLY;
+import static java.sql.ResultSet.TYPE_FORWARD_ONLY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HotStatementRegistryTest {
+
+    @Test
+    public void testHotStatementsOrderedByFrequency() {
+        HotStatementRegistry registry = new HotStatementRegistry(10);
+        record(registry, "select 1", 1);
+        record(registry, "select 2", 5);
+        record(registry, "select 3", 3);
+
+        assertEquals(List.of(key("select 2"), key("select 3")), registry.getHotStatements(2));
+        assertEquals(List.of(key("select 2"), key("select 3"), key("select 1")), registry.getHotStatements(10));
+    }
+
+    @Test
+    public void testRegistryIsBounded() {
+        HotStatementRegistry registry = new HotStatementRegistry(4);
+        record(registry, "hot", 100);
+        for (int i = 0; i < 50; i++) {
+            record(registry, "ad-hoc " + i, 1);
+        }
+
+        assertTrue(registry.getSize() <= 4, "size " + registry.getSize());
+        assertEquals(List.of(key("hot")), registry.getHotStatements(1));
+
+        registry.clear();
+        assertEquals(0, registry.getSize());
+    }
+
+    @Test
+    public void testColdStatementsInLaterBucketsAreDropped() {
+        HotStatementRegistry registry = new HotStatementRegistry(32);
+        // Same iteration order as the registry
+        ConcurrentHashMap<CacheObjectKey, Object> buckets = new ConcurrentHashMap<>();
+        for (int i = 0; i < 32; i++) {
+            record(registry, "cold " + i, 1);
+            buckets.put(key("cold " + i), Boolean.TRUE);
+        }
+        List<CacheObjectKey> hot = new ArrayList<>(buckets.keySet()).subList(0, 8);
+        for (CacheObjectKey key : hot) {
+            for (int i = 0; i < 10; i++) {
+                registry.record(key);
+            }
+        }
+
+        for (int i = 0; i < 8; i++) {
+            record(registry, "new " + i, 5);
+        }
+
+        assertEquals(32, registry.getSize());
+        List<CacheObjectKey> hotStatements = registry.getHotStatements(16);
+        // The first sample consists of the hot statements only, the next ones are taken further.
+        assertTrue(hot.stream().filter(hotStatements::contains).count() >= 7);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(hotStatements.contains(key("new " + i)), "new " + i);
+        }
+    }
+
+    @Test
+    public void testBoundIsKeptByConcurrentThreads() throws Exception {
+        HotStatementRegistry registry = new HotStatementRegistry(16);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        registry.record(key("select " + thread + " " + i));
+                        assertTrue(registry.getSize() <= 16, "size " + registry.getSize());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(16, registry.getSize());
+    }
+
+    private static void record(HotStatementRegistry registry, String sql, int count) {
+        for (int i = 0; i < count; i++) {
+            registry.record(key(sql));
+        }
+    }
+
+    private static CacheObjectKey key(String sql) {
+        return new CacheObjectKey(sql, CacheObjectKey.PREPARED_STATEMENT, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY);
+    }
+}
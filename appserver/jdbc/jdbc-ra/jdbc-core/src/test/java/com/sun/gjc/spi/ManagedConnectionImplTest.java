@@ -27,6 +27,7 @@ import jakarta.resource.spi.ManagedConnectionFactory;
 import jakarta.resource.spi.security.PasswordCredential;
 
 import java.sql.Connection;
+import java.util.List;
 
 import javax.sql.PooledConnection;
 
@@ -36,9 +37,11 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ManagedConnectionImplTest {
 
@@ -171,6 +174,20 @@ public class ManagedConnectionImplTest {
         assertDoesNotThrow(managedConnection::cleanup);
     }
 
+    @Test
+    public void testValidationStopsStatementCacheWarmUp() throws Exception {
+        ManagedConnectionImpl managedConnection = createManagedConnection(null, new MyConnection());
+        managedConnection.createStatementCacheWarmUp(List.of());
+        assertTrue(managedConnection.statementCacheWarmUpPending);
+
+        DSManagedConnectionFactory mcf = new DSManagedConnectionFactory();
+        mcf.setConnectionValidationRequired("true");
+        mcf.setValidationMethod("auto-commit");
+        mcf.isValid(managedConnection);
+
+        assertFalse(managedConnection.statementCacheWarmUpPending);
+    }
+
     /**
      * Creates a ManagedConnectionImpl with a DSManagedConnectionFactory
      */
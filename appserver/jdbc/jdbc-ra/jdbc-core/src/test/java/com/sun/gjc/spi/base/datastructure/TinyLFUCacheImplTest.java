@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.gjc.spi.base.datastructure;
+
+import com.sun.gjc.spi.base.CacheObjectKey;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+import org.junit.jupiter.api.Test;
+
+import static java.sql.ResultSet.CONCUR_READ_ONLY;
+import static java.sql.ResultSet.TYPE_FORWARD_ONLY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TinyLFUCacheImplTest {
+
+    @Test
+    public void testRarelyUsedStatementIsNotAdmitted() {
+        TinyLFUCacheImpl cache = new TinyLFUCacheImpl(new PoolInfo(SimpleJndiName.of("pool")), 2);
+        lookupAndAdd(cache, "hot 1", 5);
+        lookupAndAdd(cache, "hot 2", 5);
+
+        lookupAndAdd(cache, "ad-hoc", 1);
+
+        assertEquals(2, cache.getSize());
+        assertNull(cache.checkAndUpdateCache(key("ad-hoc")));
+        assertNotNull(cache.checkAndUpdateCache(key("hot 1")));
+        assertNotNull(cache.checkAndUpdateCache(key("hot 2")));
+    }
+
+    @Test
+    public void testFrequentStatementEvictsTheColdestOne() {
+        TinyLFUCacheImpl cache = new TinyLFUCacheImpl(new PoolInfo(SimpleJndiName.of("pool")), 2);
+        lookupAndAdd(cache, "hot", 10);
+        lookupAndAdd(cache, "cold", 1);
+
+        lookupAndAdd(cache, "warm", 5);
+
+        assertEquals(2, cache.getSize());
+        assertNull(cache.checkAndUpdateCache(key("cold")));
+        assertNotNull(cache.checkAndUpdateCache(key("hot")));
+        assertNotNull(cache.checkAndUpdateCache(key("warm")));
+    }
+
+    @Test
+    public void testColdStatementsInLaterBucketsAreEvicted() {
+        int maxSize = 32;
+        TinyLFUCacheImpl cache = new TinyLFUCacheImpl(new PoolInfo(SimpleJndiName.of("pool")), maxSize);
+        // Same capacity as the cache, so the same iteration order
+        ConcurrentHashMap<CacheObjectKey, Object> buckets = new ConcurrentHashMap<>(maxSize);
+        for (int i = 0; i < maxSize; i++) {
+            lookupAndAdd(cache, "cold " + i, 1);
+            buckets.put(key("cold " + i), Boolean.TRUE);
+        }
+        assertEquals(maxSize, cache.getSize());
+
+        // The statements in the first buckets are hot, the others cold.
+        List<CacheObjectKey> hot = new ArrayList<>(buckets.keySet()).subList(0, 8);
+        for (CacheObjectKey key : hot) {
+            for (int i = 0; i < 10; i++) {
+                cache.checkAndUpdateCache(key);
+            }
+        }
+
+        // A statement not admitted is prepared again by the next request and offered to the cache again.
+        for (int attempt = 0; attempt < 3; attempt++) {
+            for (int i = 0; i < 4; i++) {
+                if (cache.checkAndUpdateCache(key("new " + i)) == null) {
+                    lookupAndAdd(cache, "new " + i, 4);
+                }
+            }
+        }
+
+        assertEquals(maxSize, cache.getSize());
+        for (int i = 0; i < 4; i++) {
+            assertNotNull(cache.checkAndUpdateCache(key("new " + i)), "new " + i);
+        }
+        for (CacheObjectKey key : hot) {
+            assertNotNull(cache.checkAndUpdateCache(key), key.getSql());
+        }
+    }
+
+    @Test
+    public void testFrequencyDecays() {
+        TinyLFUCacheImpl.FrequencySketch sketch = new TinyLFUCacheImpl.FrequencySketch(1);
+        int hot = "formerly hot".hashCode();
+        for (int i = 0; i < 100; i++) {
+            sketch.increment(hot);
+        }
+        assertEquals(15, sketch.frequency(hot));
+
+        // Without the periodic halving the saturated counters would keep the statement cached forever.
+        int additions = 0;
+        while (sketch.frequency(hot) == 15) {
+            sketch.increment(("select " + additions).hashCode());
+            assertTrue(++additions < 1000, "The sketch was not reset");
+        }
+        assertEquals(7, sketch.frequency(hot));
+    }
+
+    private static void lookupAndAdd(TinyLFUCacheImpl cache, String sql, int lookups) {
+        for (int i = 0; i < lookups; i++) {
+            cache.checkAndUpdateCache(key(sql));
+        }
+        cache.addToCache(key(sql), new Object(), false);
+    }
+
+    private static CacheObjectKey key(String sql) {
+        return new CacheObjectKey(sql, CacheObjectKey.PREPARED_STATEMENT, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY);
+    }
+}
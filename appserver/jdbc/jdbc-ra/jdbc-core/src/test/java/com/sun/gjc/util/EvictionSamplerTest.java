@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.util;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class EvictionSamplerTest {
+
+    @Test
+    public void testEveryEntryIsSampledInTurn() {
+        ConcurrentHashMap<Integer, Long> map = new ConcurrentHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, 0L);
+        }
+        EvictionSampler<Integer, Long> sampler = new EvictionSampler<>(map, 8);
+
+        Set<Integer> sampled = new HashSet<>();
+        for (int i = 0; i < 13; i++) {
+            sampler.selectVictim(entry -> {
+                sampled.add(entry.getKey());
+                return entry.getValue();
+            });
+        }
+        assertEquals(100, sampled.size());
+    }
+
+    @Test
+    public void testLightestEntryOfTheSampleIsSelected() {
+        ConcurrentHashMap<String, Long> map = new ConcurrentHashMap<>(Map.of("a", 3L, "b", 1L, "c", 2L));
+        EvictionSampler<String, Long> sampler = new EvictionSampler<>(map, 8);
+
+        assertEquals("b", sampler.selectVictim(Map.Entry::getValue).getKey());
+        map.remove("b");
+        assertEquals("c", sampler.selectVictim(Map.Entry::getValue).getKey());
+        map.clear();
+        assertNull(sampler.selectVictim(Map.Entry::getValue));
+    }
+}
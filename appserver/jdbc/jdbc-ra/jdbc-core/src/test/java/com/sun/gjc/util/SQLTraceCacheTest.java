@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.gjc.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SQLTraceCacheTest {
+
+    @Test
+    public void testTopQueries() {
+        SQLTraceCache cache = new SQLTraceCache(SimpleJndiName.of("pool"), null, null, 2, 5, 1d);
+        record(cache, "select a", 3);
+        record(cache, "select b", 10);
+        record(cache, "select c", 5);
+
+        assertEquals("%%%EOL%%%select b%%%EOL%%%select c", cache.getTopQueries());
+        List<SQLTrace> traces = cache.getSqlTraceList();
+        assertEquals(3, traces.size());
+        assertEquals("select b", traces.get(0).getQueryName());
+        assertEquals(10, traces.get(0).getNumExecutions());
+    }
+
+    @Test
+    public void testHeavyHittersSurviveManyDistinctQueries() {
+        SQLTraceCache cache = new SQLTraceCache(SimpleJndiName.of("pool"), null, null, 1, 5, 1d);
+        record(cache, "select hot", 1000);
+        for (int i = 0; i < 10_000; i++) {
+            cache.record("select " + i, 0);
+        }
+
+        assertTrue(cache.getSqlTraceList().size() <= 64, "tracked " + cache.getSqlTraceList().size());
+        assertEquals("%%%EOL%%%select hot", cache.getTopQueries());
+    }
+
+    @Test
+    public void testLeastFrequentlyUsedQueryIsReplaced() {
+        // 64 tracked queries
+        SQLTraceCache cache = new SQLTraceCache(SimpleJndiName.of("pool"), null, null, 1, 5, 1d);
+        // Same iteration order as the tracked queries
+        ConcurrentHashMap<String, Boolean> buckets = new ConcurrentHashMap<>();
+        for (int i = 0; i < 64; i++) {
+            cache.record("select " + i, 0);
+            buckets.put("select " + i, Boolean.TRUE);
+        }
+        // The queries in the first buckets are hot, the others cold.
+        List<String> hot = new ArrayList<>(buckets.keySet()).subList(0, 16);
+        for (String sql : hot) {
+            record(cache, sql, 10);
+        }
+
+        for (int i = 0; i < 48; i++) {
+            record(cache, "select new " + i, 5);
+        }
+
+        List<String> tracked = new ArrayList<>();
+        for (SQLTrace trace : cache.getSqlTraceList()) {
+            tracked.add(trace.getQueryName());
+        }
+        assertEquals(64, tracked.size());
+        assertTrue(tracked.containsAll(hot), tracked.toString());
+        for (int i = 0; i < 48; i++) {
+            assertTrue(tracked.contains("select new " + i), "select new " + i);
+        }
+        for (String sql : buckets.keySet()) {
+            if (!hot.contains(sql)) {
+                assertFalse(tracked.contains(sql), sql);
+            }
+        }
+    }
+
+    @Test
+    public void testBoundIsKeptByConcurrentThreads() throws Exception {
+        SQLTraceCache cache = new SQLTraceCache(SimpleJndiName.of("pool"), null, null, 1, 5, 1d);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        cache.record("select " + thread + " " + i, 0);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(64, cache.getSqlTraceList().size());
+    }
+
+    @Test
+    public void testExecutionStatisticsAreEstimatedFromSamples() {
+        SQLTraceCache cache = new SQLTraceCache(SimpleJndiName.of("pool"), null, null, 1, 5, 0.1d);
+        for (int i = 0; i < 10; i++) {
+            cache.record("select x", TimeUnit.MILLISECONDS.toNanos(2));
+        }
+
+        String statistics = cache.getTopQueriesStatistics();
+        assertTrue(statistics.startsWith("%%%EOL%%%select x executions=100 "), statistics);
+        assertTrue(statistics.contains(" mean=2.000ms "), statistics);
+    }
+
+    @Test
+    public void testLatencyHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500, histogram.getMean());
+        assertEquals(500, histogram.getPercentile(50), 500 * 0.13);
+        assertEquals(990, histogram.getPercentile(99), 990 * 0.13);
+        assertEquals(1000, histogram.getPercentile(100), 1000 * 0.13);
+    }
+
+    private static void record(SQLTraceCache cache, String sql, int count) {
+        for (int i = 0; i < count; i++) {
+            cache.record(sql, 0);
+        }
+    }
+}
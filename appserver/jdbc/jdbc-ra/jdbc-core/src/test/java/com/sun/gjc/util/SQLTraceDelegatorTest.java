@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.util;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.glassfish.api.invocation.InvocationManager;
+import org.glassfish.api.jdbc.SQLTraceRecord;
+import org.glassfish.api.naming.SimpleJndiName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SQLTraceDelegatorTest {
+
+    @Test
+    public void callingApplicationMethodIsResolvedOnlyForSampledExecutions() {
+        SQLTraceDelegator delegator = new SQLTraceDelegator(new SimpleJndiName("pool"), invocationManager());
+        List<SQLTraceRecord> records = new ArrayList<>();
+        delegator.registerSQLTraceListener(records::add);
+
+        SQLTraceRecord skipped = record();
+        delegator.sqlTrace(skipped, false);
+        SQLTraceRecord sampled = record();
+        delegator.sqlTrace(sampled, true);
+
+        assertEquals(List.of(skipped, sampled), records);
+        assertFalse(skipped.getCallingApplicationMethod().isPresent());
+        assertTrue(sampled.getCallingApplicationMethod().isPresent());
+        assertEquals(getClass().getName(), sampled.getCallingApplicationMethod().get().getClassName());
+    }
+
+    @Test
+    public void samplingRate() {
+        SQLTraceDelegator delegator = new SQLTraceDelegator(new SimpleJndiName("pool"), invocationManager());
+        assertTrue(delegator.isSampled());
+
+        delegator.setSamplingRate(Double.MIN_VALUE);
+        int sampled = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (delegator.isSampled()) {
+                sampled++;
+            }
+        }
+        assertEquals(0, sampled);
+
+        delegator.setSamplingRate(0);
+        assertEquals(1d, delegator.getSamplingRate());
+    }
+
+    private static SQLTraceRecord record() {
+        SQLTraceRecord record = new SQLTraceRecord();
+        record.setMethodName("executeQuery");
+        record.setParams(new Object[] {"select 1"});
+        return record;
+    }
+
+    private static InvocationManager invocationManager() {
+        return (InvocationManager) Proxy.newProxyInstance(InvocationManager.class.getClassLoader(),
+            new Class<?>[] {InvocationManager.class}, (proxy, method, args) -> null);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -490,16 +490,42 @@ public class JdbcConnectionPoolDeployer implements ResourceDeployer<JdbcConnecti
                     connectorConnectionPool.setPreferValidateOverRecreate(toBoolean(value, false));
                     LOG.log(Level.FINEST, "PREFER-VALIDATE-OVER-RECREATE: {0}", value);
 
+                } else if ("BACKGROUND-VALIDATION-INTERVAL-IN-SECONDS".equals(name.toUpperCase(LOCALE))) {
+                    String value = adminPoolProperty.getValue();
+                    try {
+                        connectorConnectionPool.setBackgroundValidationInterval(Long.parseLong(value) * 1000L);
+                        LOG.log(Level.FINEST, "BACKGROUND-VALIDATION-INTERVAL-IN-SECONDS: {0}", value);
+                    } catch (NumberFormatException nfe) {
+                        LOG.log(WARNING, "Invalid value for 'BACKGROUND-VALIDATION-INTERVAL-IN-SECONDS' : " + value);
+                    }
+
+                } else if ("BACKGROUND-VALIDATION-IDLE-THRESHOLD-IN-SECONDS".equals(name.toUpperCase(LOCALE))) {
+                    String value = adminPoolProperty.getValue();
+                    try {
+                        connectorConnectionPool.setBackgroundValidationIdleThreshold(Long.parseLong(value) * 1000L);
+                        LOG.log(Level.FINEST, "BACKGROUND-VALIDATION-IDLE-THRESHOLD-IN-SECONDS: {0}", value);
+                    } catch (NumberFormatException nfe) {
+                        LOG.log(WARNING, "Invalid value for 'BACKGROUND-VALIDATION-IDLE-THRESHOLD-IN-SECONDS' : " + value);
+                    }
+
                 } else if ("STATEMENT-CACHE-TYPE".equals(name.toUpperCase(Locale.getDefault()))) {
                     if (adminPool.getStatementCacheType() != null) {
                         configProperties.add(
                                 new ConnectorConfigProperty("StatementCacheType", adminPoolProperty.getValue(), "StatementCacheType", String.class.getName()));
                     }
 
+                } else if ("STATEMENT-CACHE-WARM-UP-SIZE".equals(name.toUpperCase(Locale.getDefault()))) {
+                    configProperties.add(new ConnectorConfigProperty("StatementCacheWarmUpSize", adminPoolProperty.getValue(), "StatementCacheWarmUpSize",
+                            String.class.getName()));
+
                 } else if ("NUMBER-OF-TOP-QUERIES-TO-REPORT".equals(name.toUpperCase(Locale.getDefault()))) {
                     configProperties.add(new ConnectorConfigProperty("NumberOfTopQueriesToReport", adminPoolProperty.getValue(), "NumberOfTopQueriesToReport",
                             String.class.getName()));
 
+                } else if ("SQL-TRACE-SAMPLING-RATE".equals(name.toUpperCase(Locale.getDefault()))) {
+                    configProperties.add(new ConnectorConfigProperty("SqlTraceSamplingRate", adminPoolProperty.getValue(), "SqlTraceSamplingRate",
+                            String.class.getName()));
+
                 } else if ("TIME-TO-KEEP-QUERIES-IN-MINUTES".equals(name.toUpperCase(Locale.getDefault()))) {
                     configProperties.add(new ConnectorConfigProperty("TimeToKeepQueriesInMinutes", adminPoolProperty.getValue(), "TimeToKeepQueriesInMinutes",
                             String.class.getName()));
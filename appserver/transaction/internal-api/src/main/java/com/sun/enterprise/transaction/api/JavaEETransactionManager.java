@@ -380,7 +380,8 @@ public interface JavaEETransactionManager extends TransactionManager {
     void registerRecoveryResourceHandler(XAResource xaResource);
 
     /**
-     * Returns the value to be used to purge transaction tasks after the specified number of cancelled tasks
+     * Returns the value to be used to purge transaction tasks after the specified number of cancelled tasks.
+     * Cancelled timeouts are removed without purging, the value is kept for compatibility only.
      */
     int getPurgeCancelledTtransactionsAfter();
 
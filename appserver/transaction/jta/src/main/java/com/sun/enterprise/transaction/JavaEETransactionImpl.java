@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2025 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -38,8 +38,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.Vector;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
@@ -48,6 +46,8 @@ import java.util.logging.Logger;
 import javax.transaction.xa.XAResource;
 import javax.transaction.xa.Xid;
 
+import org.glassfish.common.util.timer.TimingWheel;
+
 /**
  * This class implements the JTA Transaction API for the JEE RI. It is a wrapper over the JTS Transaction object that
  * provides optimized local transaction support when a transaction uses zero/one non-XA resource, and delegates to JTS
@@ -55,11 +55,11 @@ import javax.transaction.xa.Xid;
  * delegated to jtsTx.
  *
  *
- * Time out capability is added to the local transactions. This class extends the TimerTask. When the transaction needs
- * to be timedout, this schedules with the timer. At the commit and rollback time, task will be cancelled. If the
- * transaction is timedout, run() method will be called and transaction will be marked for rollback.
+ * Time out capability is added to the local transactions. When the transaction needs to be timedout, its timeout is
+ * scheduled on the shared {@link JavaEETransactionManagerSimplified#getTimeoutWheel() timeout wheel}. At the commit and
+ * rollback time, the timeout will be cancelled. If the transaction is timedout, it will be marked for rollback.
  */
-public final class JavaEETransactionImpl extends TimerTask implements JavaEETransaction {
+public final class JavaEETransactionImpl implements JavaEETransaction {
 
     private static final Logger LOG = LogDomains.getLogger(JavaEETransactionImpl.class, LogDomains.JTA_LOGGER);
     private static StringManager I18N = StringManager.getManager(JavaEETransactionImpl.class);
@@ -102,6 +102,7 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
     private boolean timedOut = false;
     private boolean isTimerTask = false;
     private int timeout = 0;
+    private TimingWheel.Timeout timeoutHandle;
     // END: local transaction timeout
     private boolean imported = false;
 
@@ -126,18 +127,6 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
     // tx-specific ejb container info associated with this tx
     private Object containerData = null;
 
-    static private boolean isTimerInitialized = false;
-    static private Timer timer = null;
-    static private long timerTasksScheduled = 0; // Global counter
-
-    static synchronized private void initializeTimer() {
-        if (isTimerInitialized) {
-            return;
-        }
-        timer = new Timer(true); // daemon
-        isTimerInitialized = true;
-    }
-
     JavaEETransactionImpl(JavaEETransactionManager javaEETM) {
         this.javaEETM = javaEETM;
         this.txId = txIdCounter.incrementAndGet();
@@ -153,11 +142,7 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
     // START: local transaction timeout
     JavaEETransactionImpl(int timeout, JavaEETransactionManager javaEETM) {
         this(javaEETM);
-        if (!isTimerInitialized) {
-            initializeTimer();
-        }
-        timer.schedule(this, timeout * 1000L);
-        timerTasksScheduled++;
+        timeoutHandle = JavaEETransactionManagerSimplified.getTimeoutWheel().schedule(this::timeout, timeout * 1000L);
         isTimerTask = true;
         this.timeout = timeout;
     }
@@ -170,9 +155,8 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
     }
 
     // START: local transaction timeout
-    // TimerTask run() method implementation
-    @Override
-    public void run() {
+    // Run by the timeout wheel on expiration
+    private void timeout() {
         timedOut = true;
         final long time = System.currentTimeMillis() - startTime;
         LOG.warning(() -> String.format("Transaction with id=%s timed out after %s ms.", txId, time));
@@ -197,16 +181,9 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
         return isTimerTask;
     }
 
-    // Cancels the timertask and returns the timeout
+    // Cancels the timeout and returns it
     public int cancelTimerTask() {
-        cancel();
-        int mod = javaEETM.getPurgeCancelledTtransactionsAfter();
-        if (mod > 0 && timerTasksScheduled % mod == 0) {
-            int purged = timer.purge();
-            if (LOG.isLoggable(Level.FINE)) {
-                LOG.log(Level.FINE, "Purged " + purged + " timer tasks from canceled queue");
-            }
-        }
+        timeoutHandle.cancel();
         return timeout;
     }
 
@@ -49,13 +49,14 @@ import jakarta.transaction.TransactionManager;
 import java.rmi.RemoteException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -69,6 +70,7 @@ import org.glassfish.api.invocation.InvocationException;
 import org.glassfish.api.invocation.InvocationManager;
 import org.glassfish.api.invocation.ResourceHandler;
 import org.glassfish.common.util.Constants;
+import org.glassfish.common.util.timer.TimingWheel;
 import org.glassfish.external.probe.provider.PluginPoint;
 import org.glassfish.external.probe.provider.StatsProviderManager;
 import org.glassfish.hk2.api.PostConstruct;
@@ -123,7 +125,7 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
 
     // admin and monitoring related parameters
     private static final Hashtable<Integer, String> statusMap = new Hashtable<>();
-    private final List<Transaction> activeTransactions = Collections.synchronizedList(new ArrayList<>());
+    private final Set<Transaction> activeTransactions = ConcurrentHashMap.newKeySet();
     private boolean monitoringEnabled = false;
 
     private TransactionServiceProbeProvider monitor;
@@ -1032,7 +1034,12 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
 
     @Override
     public void setCurrentTransaction(JavaEETransaction t) {
-        transactions.set(t);
+        if (t == null) {
+            // Don't keep an entry in every thread which ever had a transaction
+            transactions.remove();
+        } else {
+            transactions.set(t);
+        }
     }
 
     @Override
@@ -1082,7 +1089,7 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
 
     @Override
     public void cleanTxnTimeout() {
-        txnTmout.set(null);
+        txnTmout.remove();
     }
 
     public int getEffectiveTimeout() {
@@ -1252,6 +1259,15 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
         return statusMap.get(status);
     }
 
+    /**
+     * The expired tasks are run by the worker thread of the wheel, so they must be short.
+     *
+     * @return the timing wheel scheduling the timeouts of the local and the global transactions, started on the first use
+     */
+    public static TimingWheel getTimeoutWheel() {
+        return TimeoutWheelHolder.INSTANCE;
+    }
+
     private void delistComponentResources(ComponentInvocation inv, boolean suspend) throws InvocationException {
 
         try {
@@ -1564,6 +1580,10 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
         return tx;
     }
 
+    private static final class TimeoutWheelHolder {
+        private static final TimingWheel INSTANCE = new TimingWheel("transaction-timeout", 100L, null);
+    }
+
     /****************************************************************************/
     /** Implementation of jakarta.transaction.Synchronization *********************/
     /****************************************************************************/
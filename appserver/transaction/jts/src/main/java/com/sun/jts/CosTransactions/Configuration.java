@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1995-1997 IBM Corp. All rights reserved.
  *
@@ -76,6 +77,10 @@ public class Configuration extends Object {
 
     private static int retries = -1;
     public static final String COMMIT_ONE_PHASE_DURING_RECOVERY = "commit-one-phase-during-recovery";
+    /**
+     * The transaction-service property enabling the group commit of the forced log writes.
+     */
+    public static final String LOG_GROUP_COMMIT = "log-group-commit";
     public static final int LAO_PREPARE_OK = TransactionConstants.LAO_PREPARE_OK;
     public final static long COMMIT_RETRY_WAIT = 60000;
     private static boolean isAppClient = true;
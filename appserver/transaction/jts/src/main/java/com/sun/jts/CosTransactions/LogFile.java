@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1995-1997 IBM Corp. All rights reserved.
  *
@@ -111,10 +112,36 @@ class LogFile {
      *
      *
      */
-    synchronized boolean write( int    writeType,
-                                byte[] record,
-                                int    recordType,
-                                LogLSN recordLSN ) {
+    boolean write( int    writeType,
+                   byte[] record,
+                   int    recordType,
+                   LogLSN recordLSN ) {
+
+        // In the group commit mode the forced writes wait for the force of the
+        // log without holding the lock, so that they are forced together.
+        // The LogHandle serializes the writes itself.
+
+        if( writeType == LogFile.FORCED && handle.groupCommit != null ) {
+            return writeRecord(writeType,record,recordType,recordLSN);
+        }
+
+        synchronized( this ) {
+            return writeRecord(writeType,record,recordType,recordLSN);
+        }
+    }
+
+    /**Writes a log record to the physical log.
+     *
+     * @param writeType   Forced/non-forced write indicator.
+     * @param record      Log record data.
+     * @param recordType  Log record type.
+     * @param recordLSN   LSN of the written record.
+     *
+     */
+    private boolean writeRecord( int    writeType,
+                                 byte[] record,
+                                 int    recordType,
+                                 LogLSN recordLSN ) {
 
         boolean result = true;
 
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1995-1997 IBM Corp. All rights reserved.
  *
@@ -36,6 +37,7 @@ import com.sun.enterprise.util.i18n.StringManager;
 import java.io.File;
 import java.io.FileDescriptor;
 import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 
 /**This class encapsulates file I/O operations and the file handle.
  *
@@ -107,12 +109,19 @@ class LogFileHandle {
      */
     private RandomAccessFile fhandle = null;
     private FileDescriptor   fd      = null;
+    private FileChannel      channel = null;
     private byte[] bufferData = null;
     boolean buffered = false;
     int bufferUpdateStart = -1;
     int bufferUpdateEnd   = -1;
     int buffPos = 0;
 
+    /**Number of buffer writes to the file, and the number of them forced to
+     * the storage device.
+     */
+    private volatile long flushCount = 0;
+    private volatile long forceCount = 0;
+
     static {
         dsyncProp = System.getProperty(DSYNC_PROPERTY);
         if (dsyncProp != null) {
@@ -323,6 +332,7 @@ class LogFileHandle {
         try {
             fhandle = new RandomAccessFile(file,fileMode);
             fd = fhandle.getFD();
+            channel = fhandle.getChannel();
 
             // If buffering, and the opened file has contents, then allocate the buffer
             // and read the file contents in.  Otherwise make the buffer an empty array.
@@ -348,7 +358,7 @@ class LogFileHandle {
      * @exception LogException The close failed
      *
      */
-    void fileClose()
+    synchronized void fileClose()
         throws LogException {
 
         try {
@@ -356,7 +366,7 @@ class LogFileHandle {
             // If buffered, then ensure that the buffer is stored and synced with the
             // file system.
 
-            if( bufferUpdateStart != -1 )
+            if( bufferUpdateStart != -1 || isUnforced() )
                 fileSync();
 
             // Close the file.
@@ -371,6 +381,7 @@ class LogFileHandle {
 
         fhandle = null;
         fd = null;                                                            //@MA
+        channel = null;
 
     }
 
@@ -428,12 +439,28 @@ class LogFileHandle {
         // Synchronization is only done for buffered files which have been updated.
         // Non-buffered files have every write synchronized with the file system.
 
+        fileFlush();
+        fileForce();
+
+    }
+
+    /**Writes the updated part of the buffer to the file, without forcing it
+     * to the storage device.  The file must be forced by fileForce before the
+     * data can be considered durable.
+     *
+     *
+     *
+     * @exception LogException The write failed
+     *
+     */
+    void fileFlush() throws LogException {
+
         if( bufferUpdateStart != -1 )
             try {
                 fhandle.seek(bufferUpdateStart);
                 fhandle.write(bufferData,bufferUpdateStart,bufferUpdateEnd-bufferUpdateStart);
                 if (dsyncProp == null)
-                    fd.sync();
+                    flushCount++;
 
                 bufferUpdateStart = -1;
                 bufferUpdateEnd   = -1;
@@ -444,6 +471,63 @@ class LogFileHandle {
 
     }
 
+    /**Forces the data written by fileFlush to the storage device.
+     * <p>
+     * Unlike the other operations, this one may be called without holding the
+     * lock of the log, concurrently with writes to the buffer.  If the file is
+     * closed meanwhile, the close has already forced the data.
+     *
+     *
+     *
+     * @exception LogException The force failed
+     *
+     */
+    synchronized void fileForce() throws LogException {
+
+        // The file stays unforced until the force completes, so that anybody
+        // who needs the data durable meanwhile waits for this force.
+
+        long flushed = flushCount;
+        if( flushed == forceCount || channel == null )
+            return;
+
+        try {
+            channel.force(true);
+            forceCount = flushed;
+        } catch (Throwable e) {
+            throw new LogException(LogException.LOG_ERROR_FORCING_LOG,1,
+                    sm.getString("jts.log_file_sync_failed"), e);
+        }
+
+    }
+
+    /**Returns true if data written to the file was not forced yet.
+     *
+     * @return  true if the file must be forced.
+     *
+     */
+    boolean isUnforced() {
+        return flushCount != forceCount;
+    }
+
+    /**Returns the number of buffer writes to the file.
+     *
+     * @return  The number of writes.
+     *
+     */
+    long getFlushCount() {
+        return flushCount;
+    }
+
+    /**Returns the number of buffer writes forced to the storage device.
+     *
+     * @return  The number of forced writes.
+     *
+     */
+    long getForceCount() {
+        return forceCount;
+    }
+
     /**Reads a vector of records from the file.
      *
      * @param vector  The vector to contain the records to be read.
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import java.util.List;
+
+/**Group commit of the forced log writes.
+ * <p>
+ * The writers copy their records to the buffer of the current extent while
+ * holding the lock of the log, as with buffered writes, and then wait for the
+ * flusher thread outside of the lock.  The flusher writes the buffers of all
+ * updated extents to the files under the lock, forces the files outside of it,
+ * and releases all writers whose records were written before the force at once.
+ * Writers arriving meanwhile keep appending and are forced by the next round,
+ * so a single force is shared by all transactions committing concurrently.
+ * <p>
+ * A writer is released only after a force covering its record completed, so
+ * the durability is the same as when each write forces the log.
+ */
+class LogGroupCommit implements Runnable {
+
+    /**The log whose writes are forced.
+     */
+    private final LogHandle log;
+
+    /**Highest write sequence a writer waits for.
+     */
+    private long requested = 0;
+
+    /**Highest write sequence forced to the storage device.
+     */
+    private long forced = 0;
+
+    /**Range of write sequences of the last failed force, and its failure.
+     */
+    private long failedFrom = 0;
+    private long failedTo = 0;
+    private LogException failure = null;
+
+    private boolean stopped = false;
+    private Thread flusher = null;
+
+    LogGroupCommit( LogHandle log ) {
+        this.log = log;
+    }
+
+    /**Waits until the log is forced up to the given write sequence.
+     *
+     * @param sequence  The write sequence of the record.
+     *
+     * @exception LogException  The force failed.
+     *
+     */
+    synchronized void awaitForced( long sequence )
+        throws LogException {
+
+        if( flusher == null && !stopped ) {
+            flusher = new Thread(this, "JTS log group commit");
+            flusher.setDaemon(true);
+            flusher.start();
+        }
+
+        if( sequence > requested ) {
+            requested = sequence;
+            notifyAll();
+        }
+
+        boolean interrupted = false;
+        try {
+            while( true ) {
+                if( failure != null && sequence > failedFrom && sequence <= failedTo ) {
+                    throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 14, null, failure);
+                }
+                if( forced >= sequence ) {
+                    return;
+                }
+                if( stopped ) {
+                    throw new LogException(null, LogException.LOG_NOT_INITIALISED, 15);
+                }
+                try {
+                    wait();
+                } catch( InterruptedException e ) {
+                    // The record is in the log already, the caller must not
+                    // continue before it is durable.
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if( interrupted ) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**Stops the flusher thread.  The caller has already forced all the writes
+     * up to the given sequence, so their writers are released.
+     *
+     * @param sequence  The last write sequence of the log.
+     *
+     */
+    synchronized void stop( long sequence ) {
+        if( sequence > forced ) {
+            forced = sequence;
+        }
+        stopped = true;
+        notifyAll();
+    }
+
+    @Override
+    public void run() {
+        while( true ) {
+            synchronized( this ) {
+                // Writers of a failed round were released with the failure,
+                // only writes after it are retried.
+
+                while( requested <= Math.max(forced, failedTo) && !stopped ) {
+                    try {
+                        wait();
+                    } catch( InterruptedException e ) {
+                        // Only stop ends the flusher.
+                    }
+                }
+                if( stopped ) {
+                    return;
+                }
+            }
+
+            // Write the buffers of the updated extents to the files under the
+            // lock of the log, remembering the last write they contain.
+
+            long target;
+            LogException error = null;
+            List<LogFileHandle> handles = null;
+            synchronized( log ) {
+                target = log.writeSequence;
+                try {
+                    handles = log.flushExtents();
+                } catch( LogException le ) {
+                    error = le;
+                }
+            }
+
+            // Force the files outside of the lock, so that writers continue
+            // adding records for the next round meanwhile.
+
+            if( handles != null ) {
+                for( LogFileHandle handle : handles ) {
+                    try {
+                        handle.fileForce();
+                    } catch( LogException le ) {
+                        error = le;
+                    }
+                }
+            }
+
+            synchronized( this ) {
+                if( error == null ) {
+                    if( target > forced ) {
+                        forced = target;
+                    }
+                } else {
+                    failedFrom = forced;
+                    failedTo = target;
+                    failure = error;
+                }
+                notifyAll();
+            }
+        }
+    }
+}
@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.Enumeration;
 import java.util.Hashtable;
+import java.util.List;
 
 /**A class containing attributes of an open log file.
  *
@@ -187,6 +188,15 @@ class LogHandle {
     LogControlDescriptor logControlDescriptor = null;
     LogControl           logControl = null;
 
+    /**Group commit of the forced writes, null if every forced write forces
+     * the log by itself.
+     */
+    LogGroupCommit       groupCommit = null;
+
+    /**Number of records written in the group commit mode.
+     */
+    long                 writeSequence = 0;
+
 
     /**Creates a LogHandle object for the given log instance.
      *
@@ -216,6 +226,13 @@ class LogHandle {
         cursors = new ArrayList();
         extentTable = new Hashtable(EXTENT_TABLE_SIZE);
 
+        // Group commit is useless if the files are opened in synchronous mode.
+
+        if( LogFileHandle.dsyncProp == null &&
+            Boolean.parseBoolean(Configuration.getPropertyValue(Configuration.LOG_GROUP_COMMIT)) ) {
+            groupCommit = new LogGroupCommit(this);
+        }
+
     }
 
     /**Writes a record to the log.
@@ -229,9 +246,44 @@ class LogHandle {
      * @exception LogException The write failed.
      *
      */
-    synchronized LogLSN writeRecord( byte[] record,
-                                     int    recordType,
-                                     int    writeMode )
+    LogLSN writeRecord( byte[] record,
+                        int    recordType,
+                        int    writeMode )
+        throws LogException {
+
+        if( groupCommit == null || writeMode != FORCE ) {
+            return writeRecordLocked(record,recordType,writeMode);
+        }
+
+        // In the group commit mode the record is buffered, and the writer
+        // waits for the flusher thread to force it together with the records
+        // of the other writers.
+
+        LogLSN result;
+        long sequence;
+        synchronized( this ) {
+            result = writeRecordLocked(record,recordType,BUFFER);
+            sequence = ++writeSequence;
+        }
+        groupCommit.awaitForced(sequence);
+
+        return result;
+    }
+
+    /**Writes a record to the log while holding the lock of the log.
+     *
+     * @param record      The log record.
+     * @param recordType  The log record type.
+     * @param writeMode   The write mode.
+     *
+     * @return  The LSN of the written record
+     *
+     * @exception LogException The write failed.
+     *
+     */
+    private synchronized LogLSN writeRecordLocked( byte[] record,
+                                                   int    recordType,
+                                                   int    writeMode )
         throws LogException {
 
         // Check BlockValid field in Log_FileDescriptor block pointed to
@@ -524,7 +576,7 @@ class LogHandle {
             Enumeration extents = extentTable.elements();
             while( extents.hasMoreElements() ) {
                 LogExtent nextEDP = (LogExtent)extents.nextElement();
-                if( nextEDP.writtenSinceLastForce ) {
+                if( nextEDP.writtenSinceLastForce || nextEDP.fileHandle.isUnforced() ) {
                     try {
                         nextEDP.fileHandle.fileSync();
                         nextEDP.writtenSinceLastForce = false;
@@ -930,7 +982,7 @@ class LogHandle {
             //   IF not successful
             //     Return LOG_WRITE_FAILURE
 
-            if( logEDP.writtenSinceLastForce ) {
+            if( logEDP.writtenSinceLastForce || logEDP.fileHandle.isUnforced() ) {
                 logEDP.fileHandle.fileSync();
                 logEDP.writtenSinceLastForce = false;
                 forced = true;
@@ -970,6 +1022,13 @@ class LogHandle {
             writeControlFile();
         }
 
+        // All the extents were forced, release the writers waiting for the
+        // group commit.
+
+        if( groupCommit != null ) {
+            groupCommit.stop(writeSequence);
+        }
+
         // Issue CLOSE for the control file
         // IF not successful allow the error to pass to the caller.
 
@@ -1366,7 +1425,7 @@ class LogHandle {
 
             LogExtent logEDP = (LogExtent)extentTable.get(extent);
             if( logEDP != null &&
-                logEDP.writtenSinceLastForce ) {
+                (logEDP.writtenSinceLastForce || logEDP.fileHandle.isUnforced()) ) {
                 logEDP.fileHandle.fileSync();
                 logEDP.writtenSinceLastForce = false;
             }
@@ -1675,7 +1734,7 @@ class LogHandle {
         Enumeration extents = extentTable.elements();
         while (extents.hasMoreElements()) {
             LogExtent nextEDP = (LogExtent) extents.nextElement();
-            if (nextEDP.writtenSinceLastForce) {
+            if (nextEDP.writtenSinceLastForce || nextEDP.fileHandle.isUnforced()) {
                 try {
                     nextEDP.fileHandle.fileSync();
                     nextEDP.writtenSinceLastForce = false;
@@ -1697,6 +1756,28 @@ class LogHandle {
 
     }
 
+    /**Writes the buffers of all updated extents to the files for the group
+     * commit, which forces them outside of the lock.
+     *
+     * @return  The handles of the files to be forced.
+     *
+     * @exception LogException The write failed.
+     *
+     */
+    synchronized List<LogFileHandle> flushExtents() throws LogException {
+        List<LogFileHandle> handles = new ArrayList<>();
+        Enumeration extents = extentTable.elements();
+        while( extents.hasMoreElements() ) {
+            LogExtent nextEDP = (LogExtent)extents.nextElement();
+            if( nextEDP.writtenSinceLastForce || nextEDP.fileHandle.isUnforced() ) {
+                nextEDP.fileHandle.fileFlush();
+                nextEDP.writtenSinceLastForce = false;
+                handles.add(nextEDP.fileHandle);
+            }
+        }
+        return handles;
+    }
+
     /**Opens the given extent.
      * <p>
      * This internal method does not need to be synchronized.
@@ -1,7 +1,8 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1995-1997 IBM Corp. All rights reserved.
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -31,21 +32,29 @@
 
 package com.sun.jts.CosTransactions;
 
+import com.sun.enterprise.transaction.JavaEETransactionManagerSimplified;
 import com.sun.jts.jtsxa.XID;
 import com.sun.logging.LogDomains;
 
-import java.util.Date;
-import java.util.Enumeration;
-import java.util.Hashtable;
+import java.util.Map;
 import java.util.Vector;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.glassfish.common.util.timer.TimingWheel;
 import org.omg.CosTransactions.Status;
 
 /**
  * This class records state for timing out transactions, and runs a thread
- * which performs occasional checks to time out transactions.
+ * which times out the transactions.
+ * <p>
+ * The timeouts are scheduled on the timing wheel shared with the local
+ * transactions, so that setting and cancelling a timeout does not lock nor scan
+ * all the pending timeouts.  The wheel queues the expired timeouts, which are
+ * then processed by the timeout thread.
  *
  * @version 0.01
  *
@@ -74,8 +83,9 @@ class TimeoutManager {
      */
     private static boolean initialised = false;
 
-    private static Hashtable     pendingTimeouts = new Hashtable();
-    private static Hashtable     indoubtTimeouts = new Hashtable();
+    private static final Map<Long, TimeoutInfo> pendingTimeouts = new ConcurrentHashMap<>();
+    private static final Map<Long, TimeoutInfo> indoubtTimeouts = new ConcurrentHashMap<>();
+    static final BlockingQueue<TimeoutInfo> expiredTimeouts = new LinkedBlockingQueue<>();
     private static TimeoutThread timeoutThread = null;
     private static boolean       timeoutActive = false;
     private static boolean       quiescing = false;
@@ -153,22 +163,18 @@ class TimeoutManager {
                     if (!isSetTimeout) {
                         initSetTimeout();
                     }
-                    timeoutInfo = new TimeoutInfo();
-                    timeoutInfo.expireTime = new Date().getTime() + seconds * 1000L;
-                    timeoutInfo.localTID = localTID;
-                    timeoutInfo.timeoutType = timeoutType;
-                    pendingTimeouts.put(localTID, timeoutInfo);
+                    timeoutInfo = new TimeoutInfo(localTID, timeoutType, System.currentTimeMillis() + seconds * 1000L);
+                    cancel(pendingTimeouts.put(localTID, timeoutInfo));
+                    schedule(timeoutInfo, seconds * 1000L);
                     break;
                 case TimeoutManager.IN_DOUBT_TIMEOUT:
                     if (!isSetTimeout) {
                         initSetTimeout();
                         // isSetTimeout = true;
                     }
-                    timeoutInfo = new TimeoutInfo();
-                    timeoutInfo.expireTime = new Date().getTime() + seconds * 1000L;
-                    timeoutInfo.localTID = localTID;
-                    timeoutInfo.timeoutType = timeoutType;
-                    indoubtTimeouts.put(localTID, timeoutInfo);
+                    timeoutInfo = new TimeoutInfo(localTID, timeoutType, System.currentTimeMillis() + seconds * 1000L);
+                    cancel(indoubtTimeouts.put(localTID, timeoutInfo));
+                    schedule(timeoutInfo, seconds * 1000L);
                     break;
 
                 // For any other type, remove the timeout if there is one.
@@ -177,17 +183,18 @@ class TimeoutManager {
                     if (!isSetTimeout) {
                         break;
                     }
-                    result = (pendingTimeouts.remove(localTID) != null);
-                    if (!result) {
-                        result = (indoubtTimeouts.remove(localTID) != null);
+                    timeoutInfo = pendingTimeouts.remove(localTID);
+                    if (timeoutInfo == null) {
+                        timeoutInfo = indoubtTimeouts.remove(localTID);
                     }
+                    result = cancel(timeoutInfo);
 
                     // If the transaction service is quiescing and
                     // there are no more pending timeouts,
                     // deactivate timeout and stop the timeout thread.
 
                     if (quiescing && pendingTimeouts.isEmpty() && indoubtTimeouts.isEmpty()) {
-                        timeoutThread.stop();
+                        timeoutThread.interrupt();
                         timeoutActive = false;
                         // pendingTimeouts = null;
                     }
@@ -316,98 +323,72 @@ class TimeoutManager {
     }
 
     /**
-     * Periodically checks the existing timeouts.
+     * Schedules the timeout on the timeout wheel.  On expiration, the wheel
+     * just queues the timeout for the timeout thread.
      * <p>
-     * This is done to discover if any transactions have overrun their allotted
-     * time.  Those which have are returned as an Enumeration.
-     * <p>
-     * Note that this method should not do anything that will cause a
-     * synchronized method in the RecoveryManager to be called, as this could
-     * cause a deadlock when RecoveryManager methods on other threads call
-     * setTimeout.
+     * The timeout is processed on the timeout thread, not by the wheel,
+     * because we would get deadlocked with addCoordinator or
+     * removeCoordinator that also update the timeouts, and because
+     * processing it may take long.
+     *
+     * @param timeoutInfo  The timeout.
+     * @param millis       The delay of the timeout.
+     *
+     */
+    private static void schedule(TimeoutInfo timeoutInfo, long millis) {
+        timeoutInfo.timeout = JavaEETransactionManagerSimplified.getTimeoutWheel().schedule(() -> expiredTimeouts.add(timeoutInfo), millis);
+    }
+
+    /**
+     * Cancels the timeout on the timeout wheel.
      *
+     * @param timeoutInfo  The timeout removed from the timeouts, or null.
      *
-     * @return  The information for transactions which have timed out.
+     * @return  Indicates whether there was a timeout.
      *
      */
-     static Enumeration checkTimeouts() {
-        if (!isSetTimeout) {
-            return null;
+    private static boolean cancel(TimeoutInfo timeoutInfo) {
+        if (timeoutInfo == null) {
+            return false;
         }
 
-        Enumeration result = null;
-
-        // When woken up, go through all current timeouts and identify those
-        // which have expired.
-
-        if (timeoutActive && (pendingTimeouts.size() != 0 || indoubtTimeouts.size() != 0)) {
-            Vector timedOut = null;
-
-            Enumeration timeouts = null;
-
-            synchronized (pendingTimeouts) {
-                timeouts = pendingTimeouts.elements();
-
-                while (timeouts.hasMoreElements()) {
-
-                    TimeoutInfo timeoutInfo = (TimeoutInfo)timeouts.nextElement();
-
-                    // For each timeout in the list, check whether it has expired.
-                    // If so, look up the Coordinator and roll it back.
-
-                    if (new Date().getTime() > timeoutInfo.expireTime) {
-
-                       // Add the TimeoutInfo to the queue of
-                       //those that have timed out.
-
-                       if (timedOut == null) {
-                           timedOut = new Vector();
-                       }
-
-                       timedOut.addElement(timeoutInfo);
-                    }
-               }
-            }
-
-            synchronized (indoubtTimeouts) {
-
-                timeouts = indoubtTimeouts.elements();
-
-                while (timeouts.hasMoreElements()) {
-
-                    TimeoutInfo timeoutInfo = (TimeoutInfo)timeouts.nextElement();
-
-                    // For each timeout in the list, check whether it has expired.
-                    // If so, look up the Coordinator and roll it back.
-
-                    if (new Date().getTime() > timeoutInfo.expireTime) {
-
-                        // Add the TimeoutInfo to the queue of
-                        //those that have timed out.
+        // The timeout may be not scheduled yet, it is then ignored
+        // on expiration as it is not set anymore.
 
-                        if (timedOut == null) {
-                            timedOut = new Vector();
-                        }
+        TimingWheel.Timeout timeout = timeoutInfo.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        return true;
+    }
 
-                        timedOut.addElement(timeoutInfo);
-                    }
-                }
+    /**
+     * Processes an expired timeout on the timeout thread.
+     * <p>
+     * Timeouts which were cancelled or replaced in the meantime are ignored.
+     * An in-doubt timeout which is still set after the processing, because the
+     * outcome of the transaction is not known yet, is retried after the given
+     * interval.
+     *
+     * @param timeoutInfo    The expired timeout.
+     * @param retryInterval  The interval of the in-doubt retries in milliseconds.
+     *
+     */
+    static void expired(TimeoutInfo timeoutInfo, long retryInterval) {
+        Map<Long, TimeoutInfo> timeouts =
+            timeoutInfo.timeoutType == IN_DOUBT_TIMEOUT ? indoubtTimeouts : pendingTimeouts;
+        if (timeouts.get(timeoutInfo.localTID) != timeoutInfo) {
+            return;
+        }
 
-            }
-            // Enumerate the transactions which have timed out.
+        timeoutCoordinator(timeoutInfo.localTID, timeoutInfo.timeoutType);
 
-            if (timedOut != null) {
-                result = timedOut.elements();
+        if (timeoutInfo.timeoutType == IN_DOUBT_TIMEOUT) {
+            TimeoutInfo retry = new TimeoutInfo(timeoutInfo.localTID, timeoutInfo.timeoutType, timeoutInfo.expireTime);
+            if (timeouts.replace(timeoutInfo.localTID, timeoutInfo, retry)) {
+                schedule(retry, retryInterval);
             }
         }
-
-        // The remainder of the timeout processing is not carried out here
-        // because we would get deadlocked with addCoordinator or
-        // removeCoordinator that also update the timeout list.  Hence the
-        // returned enumeration, which may be processed with
-        // no concurrency control.
-
-        return result;
     }
 
     /**
@@ -415,31 +396,25 @@ class TimeoutManager {
      */
      static XID[] getInDoubtXids() {
 
-         synchronized (indoubtTimeouts) {
-             Vector inDoubtList = new Vector();
-
-             Enumeration timeouts = indoubtTimeouts.elements();
-
-             while (timeouts.hasMoreElements()) {
+         Vector<XID> inDoubtList = new Vector<>();
 
-                 TimeoutInfo timeoutInfo = (TimeoutInfo) timeouts.nextElement();
+         for (TimeoutInfo timeoutInfo : indoubtTimeouts.values()) {
 
-                 // Look up the Coordinator for the transaction.
-                 // If there is none, then the transaction has already gone.
-                 // Otherwise do something with the transaction.
+             // Look up the Coordinator for the transaction.
+             // If there is none, then the transaction has already gone.
+             // Otherwise do something with the transaction.
 
-                 CoordinatorImpl coord =
-                     RecoveryManager.getLocalCoordinator(timeoutInfo.localTID);
+             CoordinatorImpl coord =
+                 RecoveryManager.getLocalCoordinator(timeoutInfo.localTID);
 
-                 if (coord != null) {
-                     XID xid = new XID();
-                     xid.copy(coord.getGlobalTID());
-                     inDoubtList.addElement(xid);
-                 }
+             if (coord != null) {
+                 XID xid = new XID();
+                 xid.copy(coord.getGlobalTID());
+                 inDoubtList.addElement(xid);
              }
-
-             return (XID[]) inDoubtList.toArray(new XID[] {});
          }
+
+         return inDoubtList.toArray(new XID[] {});
      }
 
     /**
@@ -454,13 +429,13 @@ class TimeoutManager {
      */
     static long timeLeft(Long localTID) {
 
-        TimeoutInfo timeoutInfo = (TimeoutInfo) pendingTimeouts.get(localTID);
+        TimeoutInfo timeoutInfo = pendingTimeouts.get(localTID);
         if (timeoutInfo == null) {
-            timeoutInfo = (TimeoutInfo) indoubtTimeouts.get(localTID);
+            timeoutInfo = indoubtTimeouts.get(localTID);
         }
         long result = -1;
         if (timeoutInfo != null) {
-            result = timeoutInfo.expireTime - new Date().getTime();
+            result = timeoutInfo.expireTime - System.currentTimeMillis();
             if (result < 0) {
                 result = 0;
             }
@@ -488,17 +463,15 @@ class TimeoutManager {
         // timeouts, there is nothing to quiesce so
         // shutdown immediately regardless.
 
-        if (immediate ||
-            pendingTimeouts == null || pendingTimeouts.isEmpty()) {
+        if (immediate || pendingTimeouts.isEmpty()) {
             if (timeoutThread != null) {
-                timeoutThread.stop();
+                timeoutThread.interrupt();
             }
 
-            if (pendingTimeouts != null) {
-                pendingTimeouts.clear();
-            }
+            pendingTimeouts.values().forEach(TimeoutManager::cancel);
+            pendingTimeouts.clear();
+            expiredTimeouts.clear();
 
-            pendingTimeouts = null;
             timeoutThread = null;
             timeoutActive = false;
         } else {
@@ -565,9 +538,16 @@ class TimeoutManager {
 //----------------------------------------------------------------------------
 
 class TimeoutInfo extends Object {
-    Long localTID = null;
-    long expireTime = 0;
-    int  timeoutType = TimeoutManager.NO_TIMEOUT;
+    final Long localTID;
+    final long expireTime;
+    final int  timeoutType;
+    volatile TimingWheel.Timeout timeout = null;
+
+    TimeoutInfo(Long localTID, int timeoutType, long expireTime) {
+        this.localTID = localTID;
+        this.timeoutType = timeoutType;
+        this.expireTime = expireTime;
+    }
 }
 
 /**
@@ -619,7 +599,8 @@ class TimeoutThread extends Thread {
     }
 
     /**
-     * Performs timeout checking on a regular basis (every ten seconds or so).
+     * Processes the timeouts as they expire.  The in-doubt timeouts
+     * are retried every ten seconds or so.
      *
      *
      *
@@ -628,30 +609,20 @@ class TimeoutThread extends Thread {
         try {
             while (true) {
 
-                // Sleep for a while between checks.
-
-                Thread.sleep(TIMEOUT_INTERVAL);
-
-                // Perform timeout checks, getting a list of timed-out
-                // transactions.
+                // Wait for the next timed-out transaction.
 
-                Enumeration timedOut = TimeoutManager.checkTimeouts();
+                TimeoutInfo timeoutInfo = TimeoutManager.expiredTimeouts.take();
 
-                // Now we must go through the list, telling each
-                // timed-out Coordinator to do something appropriate.
+                // Look up the Coordinator and tell it to roll back
+                // if it still exists. Note that we rely on the
+                // Coordinator calling removeCoordinator when it
+                // has finished, which will remove the timeout from
+                // the list, and remove other associations as well.
 
-                if (timedOut != null) {
-                    while (timedOut.hasMoreElements()) {
-                        TimeoutInfo timeoutInfo = (TimeoutInfo) timedOut.nextElement();
-
-                        // Look up the Coordinator and tell it to roll back
-                        // if it still exists. Note that we rely on the
-                        // Coordinator calling removeCoordinator when it
-                        // has finished, which will remove the timeout from
-                        // the list, and remove other associations as well.
-
-                        TimeoutManager.timeoutCoordinator(timeoutInfo.localTID, timeoutInfo.timeoutType);
-                    }
+                try {
+                    TimeoutManager.expired(timeoutInfo, TIMEOUT_INTERVAL);
+                } catch (RuntimeException exc) {
+                    _logger.log(Level.WARNING, "Timeout of transaction " + timeoutInfo.localTID + " failed", exc);
                 }
             }
         } catch (InterruptedException exc) {
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogGroupCommitTest {
+
+    private static final int WRITERS = 8;
+
+    @TempDir
+    private Path directory;
+
+    private LogHandle log;
+    private LogExtent extent;
+    private ControlledFileHandle handle;
+    private LogGroupCommit groupCommit;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void createLog() throws Exception {
+        File file = directory.resolve("extent.0").toFile();
+        handle = new ControlledFileHandle(file);
+        extent = new LogExtent(0, handle, file);
+        log = new LogHandle(null, "test", null, null);
+        log.extentTable.put(0, extent);
+        groupCommit = new LogGroupCommit(log);
+        executor = Executors.newFixedThreadPool(WRITERS + 1);
+    }
+
+    @AfterEach
+    public void stopLog() throws Exception {
+        executor.shutdownNow();
+        synchronized (log) {
+            groupCommit.stop(log.writeSequence);
+        }
+        handle.destroy();
+    }
+
+    @Test
+    public void testSequentialWritesAreForcedOneByOne() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            write((byte) i);
+        }
+
+        assertEquals(3, handle.forces.get());
+        assertEquals(3L, handle.getFlushCount());
+        assertEquals(3L, handle.getForceCount());
+        assertFalse(handle.isUnforced());
+        assertArrayEquals(new byte[] {0, 1, 2}, Files.readAllBytes(directory.resolve("extent.0")));
+    }
+
+    @Test
+    public void testConcurrentWritersShareOneForce() throws Exception {
+        handle.blockNextForce();
+        Future<?> first = executor.submit(() -> write((byte) 0));
+        assertTrue(handle.forcing.await(10, TimeUnit.SECONDS));
+
+        // The first round is being forced, the other writers append meanwhile.
+        List<Future<?>> others = new ArrayList<>();
+        for (int i = 1; i <= WRITERS; i++) {
+            byte value = (byte) i;
+            others.add(executor.submit(() -> write(value)));
+        }
+        awaitWriteSequence(WRITERS + 1);
+        handle.release.countDown();
+
+        first.get(10, TimeUnit.SECONDS);
+        for (Future<?> future : others) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(2, handle.forces.get());
+        assertEquals(2L, handle.getFlushCount());
+        assertEquals(2L, handle.getForceCount());
+        assertFalse(handle.isUnforced());
+        assertEquals(WRITERS + 1, Files.size(directory.resolve("extent.0")));
+    }
+
+    @Test
+    public void testFailedForceFailsEveryWaiter() throws Exception {
+        handle.blockNextForce();
+        Future<?> first = executor.submit(() -> write((byte) 0));
+        assertTrue(handle.forcing.await(10, TimeUnit.SECONDS));
+
+        // The writers of the second round are all waiting for a force which fails.
+        handle.failNextForce = true;
+        List<Future<?>> others = new ArrayList<>();
+        for (int i = 1; i <= WRITERS; i++) {
+            byte value = (byte) i;
+            others.add(executor.submit(() -> write(value)));
+        }
+        awaitWriteSequence(WRITERS + 1);
+        handle.release.countDown();
+
+        first.get(10, TimeUnit.SECONDS);
+        for (Future<?> future : others) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+            assertThat(e.getCause(), instanceOf(LogException.class));
+            assertEquals(LogException.LOG_ERROR_FORCING_LOG, ((LogException) e.getCause()).errorCode);
+        }
+        assertEquals(2L, handle.getFlushCount());
+        assertEquals(1L, handle.getForceCount());
+
+        // Later writes are forced again, together with the data of the failed round.
+        write((byte) 0);
+        assertEquals(3, handle.forces.get());
+        assertEquals(3L, handle.getFlushCount());
+        assertEquals(3L, handle.getForceCount());
+    }
+
+    private Void write(byte value) throws LogException {
+        long sequence;
+        synchronized (log) {
+            handle.fileWrite(new byte[] {value});
+            extent.writtenSinceLastForce = true;
+            sequence = ++log.writeSequence;
+        }
+        groupCommit.awaitForced(sequence);
+        return null;
+    }
+
+    private void awaitWriteSequence(long sequence) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (true) {
+            synchronized (log) {
+                if (log.writeSequence >= sequence) {
+                    return;
+                }
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Writers did not append their records");
+            }
+            Thread.sleep(1L);
+        }
+    }
+
+    /**
+     * Counts the forces and lets the test hold or fail them.
+     */
+    private static final class ControlledFileHandle extends LogFileHandle {
+
+        final AtomicInteger forces = new AtomicInteger();
+        final CountDownLatch forcing = new CountDownLatch(1);
+        volatile CountDownLatch release = new CountDownLatch(0);
+        volatile boolean failNextForce;
+
+        ControlledFileHandle(File file) throws LogException {
+            super(file, OPEN_RDWR | OPEN_CREAT);
+        }
+
+        void blockNextForce() {
+            release = new CountDownLatch(1);
+        }
+
+        @Override
+        synchronized void fileForce() throws LogException {
+            boolean fail = failNextForce;
+            failNextForce = false;
+            forces.incrementAndGet();
+            forcing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            release = new CountDownLatch(0);
+            if (fail) {
+                throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 1, null, new IOException("Disk failure"));
+            }
+            super.fileForce();
+        }
+    }
+}
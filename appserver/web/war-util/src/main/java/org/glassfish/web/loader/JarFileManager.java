@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023, 2025 Eclipse Foundation and/or its affiliates.
+ * Copyright (c) 2023, 2026 Eclipse Foundation and/or its affiliates.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,6 +16,7 @@
 
 package org.glassfish.web.loader;
 
+import com.sun.enterprise.loader.PackageIndex;
 import com.sun.enterprise.util.io.FileUtils;
 
 import java.io.Closeable;
@@ -77,11 +78,18 @@ class JarFileManager implements Closeable {
 
     private volatile boolean resourcesExtracted;
 
+    /**
+     * Index of {@link #files} by package, built when the jars are opened. The content of the jars
+     * does not change, so it is kept when they are closed. Guarded by the {@link #lock}.
+     */
+    private PackageIndex<JarResource> packageIndex;
+
 
     void addJarFile(File file) {
         writeLock.lock();
         try {
             files.add(new JarResource(file));
+            packageIndex = null;
         } finally {
             writeLock.unlock();
         }
@@ -129,7 +137,9 @@ class JarFileManager implements Closeable {
         readLock.lock();
         try {
             lastJarFileAccess = System.currentTimeMillis();
-            for (JarResource jarResource : files) {
+            // The index is missing only if a jar was added after the jars were opened
+            final List<JarResource> candidates = packageIndex == null ? files : packageIndex.getCandidates(path);
+            for (JarResource jarResource : candidates) {
                 final JarFile jarFile = jarResource.jarFile;
                 final JarEntry jarEntry = jarFile.getJarEntry(path);
                 if (jarEntry == null) {
@@ -224,6 +234,13 @@ class JarFileManager implements Closeable {
                     return false;
                 }
             }
+            if (packageIndex == null) {
+                final PackageIndex<JarResource> index = new PackageIndex<>();
+                for (JarResource jarResource : files) {
+                    index.addJar(jarResource, jarResource.jarFile);
+                }
+                packageIndex = index;
+            }
             LOG.log(DEBUG, "JAR files are open. If unused, will be closed after {0} s", SECONDS_TO_CLOSE_UNUSED_JARS);
             this.unusedJarsCheck = scheduler.scheduleAtFixedRate(this::closeJarFilesIfNotUsed, SECONDS_TO_CHECK_UNUSED_JARS,
                 SECONDS_TO_CHECK_UNUSED_JARS, TimeUnit.SECONDS);
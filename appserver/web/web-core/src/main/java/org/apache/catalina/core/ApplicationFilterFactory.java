@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -21,14 +22,9 @@ import jakarta.servlet.DispatcherType;
 import jakarta.servlet.Servlet;
 import jakarta.servlet.ServletRequest;
 
-import java.util.Iterator;
-import java.util.List;
-import java.util.Locale;
-
 import org.apache.catalina.Globals;
 import org.apache.catalina.Request;
 import org.apache.catalina.Wrapper;
-import org.apache.catalina.deploy.FilterMap;
 
 /**
  * Factory for the creation and caching of Filters and creation of Filter Chains.
@@ -73,169 +69,58 @@ public final class ApplicationFilterFactory {
         if (servlet == null)
             return null;
 
-        // Create and initialize a filter chain object
-        ApplicationFilterChain filterChain = null;
-
         // Acquire the filter mappings for this Context
         StandardContext context = (StandardContext) wrapper.getParent();
-        List<FilterMap> filterMaps = context.findFilterMaps();
 
         // If there are no filter mappings, we are done
-        if (filterMaps.isEmpty()) {
-            return (filterChain);
+        if (context.findFilterMaps().isEmpty()) {
+            return null;
         }
 
         // get the dispatcher type
         DispatcherType dispatcher = request.getDispatcherType();
+        if (dispatcher == null) {
+            return null;
+        }
         String requestPath = null;
         Object attribute = request.getAttribute(Globals.DISPATCHER_REQUEST_PATH_ATTR);
         if (attribute != null) {
             requestPath = attribute.toString();
         }
 
-        // Acquire the information we will need to match filter mappings
-        String servletName = wrapper.getName();
+        // The path-mapped filters first, then the filters that match on servlet name
+        ApplicationFilterConfig[] filters = getFilterChainTemplate(context, (StandardWrapper) wrapper, dispatcher).getFilters(requestPath);
 
-        int n = 0;
-
-        // Add the relevant path-mapped filters to this filter chain
-        Iterator<FilterMap> i = filterMaps.iterator();
-        while (i.hasNext()) {
-            FilterMap filterMap = i.next();
-            if (!filterMap.getDispatcherTypes().contains(dispatcher)) {
-                continue;
-            }
-            /*
-             * SJSWS 6324431 if (!matchFiltersURL(filterMaps[i], requestPath)) continue;
-             */
-            // START SJSWS 6324431
-            if (!matchFiltersURL(filterMap, requestPath, context.isCaseSensitiveMapping()))
-                continue;
-            // END SJSWS 6324431
-            ApplicationFilterConfig filterConfig = (ApplicationFilterConfig) context.findFilterConfig(filterMap.getFilterName());
-            if (filterConfig == null) {
-                // FIXME - log configuration problem
-                continue;
-            }
-            // START IASRI 4665318
-            // Create a filter chain only when there are filters to add
-            if (filterChain == null)
-                filterChain = internalCreateFilterChain(request, wrapper, servlet);
-            // END IASRI 4665318
-            filterChain.addFilter(filterConfig);
-            n++;
+        // START IASRI 4665318
+        // Create a filter chain only when there are filters to add
+        if (filters.length == 0) {
+            return null;
         }
-
-        // Add filters that match on servlet name second
-        i = filterMaps.iterator();
-        while (i.hasNext()) {
-            FilterMap filterMap = i.next();
-            if (!filterMap.getDispatcherTypes().contains(dispatcher)) {
-                continue;
-            }
-            if (!matchFiltersServlet(filterMap, servletName))
-                continue;
-            ApplicationFilterConfig filterConfig = (ApplicationFilterConfig) context.findFilterConfig(filterMap.getFilterName());
-            if (filterConfig == null) {
-                // FIXME - log configuration problem
-                continue;
-            }
-            // START IASRI 4665318
-            // Create a filter chain only when there are filters to add
-            if (filterChain == null)
-                filterChain = internalCreateFilterChain(request, wrapper, servlet);
-            // END IASRI 4665318
+        // END IASRI 4665318
+        ApplicationFilterChain filterChain = internalCreateFilterChain(request, wrapper, servlet);
+        for (ApplicationFilterConfig filterConfig : filters) {
             filterChain.addFilter(filterConfig);
-            n++;
         }
 
         // Return the completed filter chain
-        return (filterChain);
-
+        return filterChain;
     }
 
     // -------------------------------------------------------- Private Methods
 
     /**
-     * Return <code>true</code> if the context-relative request path matches the requirements of the specified filter
-     * mapping; otherwise, return <code>null</code>.
-     *
-     * @param filterMap Filter mapping being checked
-     * @param requestPath Context-relative request path of this request
-     */
-    /*
-     * SJSWS 6324431 private boolean matchFiltersURL(FilterMap filterMap, String requestPath) {
+     * Returns the filters of the servlet for the dispatcher type, matched against the filter mappings
+     * of the context only if the mappings changed since the last call.
      */
-    // START SJSWS 6324431
-    private boolean matchFiltersURL(FilterMap filterMap, String requestPath, boolean caseSensitiveMapping) {
-        // END SJSWS 6324431
-
-        if (requestPath == null)
-            return (false);
-
-        // Match on context relative request path
-        String testPath = filterMap.getURLPattern();
-        if (testPath == null)
-            return (false);
-
-        // START SJSWS 6324431
-        if (!caseSensitiveMapping) {
-            requestPath = requestPath.toLowerCase(Locale.ENGLISH);
-            testPath = testPath.toLowerCase(Locale.ENGLISH);
-        }
-        // END SJSWS 6324431
-
-        // Case 1 - Exact Match
-        if (testPath.equals(requestPath))
-            return (true);
-
-        // Case 2 - Path Match ("/.../*")
-        if (testPath.equals("/*"))
-            return (true);
-        if (testPath.endsWith("/*")) {
-            if (testPath.regionMatches(0, requestPath, 0, testPath.length() - 2)) {
-                if (requestPath.length() == (testPath.length() - 2)) {
-                    return (true);
-                } else if ('/' == requestPath.charAt(testPath.length() - 2)) {
-                    return (true);
-                }
-            }
-            return (false);
-        }
-
-        // Case 3 - Extension Match
-        if (testPath.startsWith("*.")) {
-            int slash = requestPath.lastIndexOf('/');
-            int period = requestPath.lastIndexOf('.');
-            if ((slash >= 0) && (period > slash) && (period != requestPath.length() - 1)
-                    && ((requestPath.length() - period) == (testPath.length() - 1))) {
-                return (testPath.regionMatches(2, requestPath, period + 1, testPath.length() - 2));
-            }
-        }
-
-        // Case 4 - "Default" Match
-        return (false); // NOTE - Not relevant for selecting filters
-
-    }
-
-    /**
-     * Return <code>true</code> if the specified servlet name matches the requirements of the specified filter mapping;
-     * otherwise return <code>false</code>.
-     *
-     * @param filterMap Filter mapping being checked
-     * @param servletName Servlet name being checked
-     */
-    private boolean matchFiltersServlet(FilterMap filterMap, String servletName) {
-
-        if (servletName == null) {
-            return (false);
-        }
-
-        if (servletName.equals(filterMap.getServletName()) || "*".equals(filterMap.getServletName())) {
-            return true;
-        } else {
-            return false;
+    private FilterChainTemplate getFilterChainTemplate(StandardContext context, StandardWrapper wrapper, DispatcherType dispatcher) {
+        // Read the version before the mappings, a concurrent change makes the new template stale at once
+        int version = context.getFilterMappingsVersion();
+        FilterChainTemplate template = wrapper.getFilterChainTemplate(dispatcher);
+        if (template == null || template.getVersion() != version) {
+            template = FilterChainTemplate.create(version, context, wrapper.getName(), dispatcher);
+            wrapper.setFilterChainTemplate(dispatcher, template);
         }
+        return template;
     }
 
     private ApplicationFilterChain internalCreateFilterChain(ServletRequest request, Wrapper wrapper, Servlet servlet) {
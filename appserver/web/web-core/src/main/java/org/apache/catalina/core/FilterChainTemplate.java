@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.core;
+
+import jakarta.servlet.DispatcherType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.catalina.deploy.FilterMap;
+
+/**
+ * Filters of a servlet for one dispatcher type, precomputed from the filter mappings of the context.
+ * <p>
+ * The filters mapped by the servlet name and the dispatcher type don't depend on the request, so
+ * only the URL patterns of the filters mapped for the dispatcher type are matched per request.
+ * The filters of the last request path are remembered, which covers servlets mapped to a single
+ * path. The template is immutable except for that, and it is replaced when the filter mappings
+ * of the context change, see {@link StandardContext#getFilterMappingsVersion()}.
+ */
+final class FilterChainTemplate {
+
+    private static final ApplicationFilterConfig[] NO_FILTERS = new ApplicationFilterConfig[0];
+
+    private final int version;
+    private final boolean caseSensitiveMapping;
+
+    /** URL patterns of the filters in {@link #urlFilters}, lower case if the mapping is case insensitive */
+    private final String[] urlPatterns;
+    private final ApplicationFilterConfig[] urlFilters;
+    private final ApplicationFilterConfig[] servletFilters;
+
+    /** All filters if every URL pattern matches any path, otherwise null */
+    private final ApplicationFilterConfig[] anyPathFilters;
+
+    private volatile PathFilters lastPathFilters;
+
+    private FilterChainTemplate(int version, boolean caseSensitiveMapping, List<String> urlPatterns,
+        List<ApplicationFilterConfig> urlFilters, List<ApplicationFilterConfig> servletFilters) {
+        this.version = version;
+        this.caseSensitiveMapping = caseSensitiveMapping;
+        this.urlPatterns = urlPatterns.toArray(String[]::new);
+        this.urlFilters = urlFilters.toArray(NO_FILTERS);
+        this.servletFilters = servletFilters.toArray(NO_FILTERS);
+
+        boolean anyPath = true;
+        for (String urlPattern : this.urlPatterns) {
+            anyPath &= "/*".equals(urlPattern);
+        }
+        this.anyPathFilters = anyPath ? concat(this.urlFilters, this.urlFilters.length, this.servletFilters) : null;
+    }
+
+    /**
+     * Creates the template of the servlet for the dispatcher type.
+     *
+     * @param version version of the filter mappings of the context, read before the mappings
+     * @param context the context of the servlet
+     * @param servletName name of the servlet
+     * @param dispatcher the dispatcher type
+     * @return the template
+     */
+    static FilterChainTemplate create(int version, StandardContext context, String servletName, DispatcherType dispatcher) {
+        boolean caseSensitiveMapping = context.isCaseSensitiveMapping();
+        List<String> urlPatterns = new ArrayList<>();
+        List<ApplicationFilterConfig> urlFilters = new ArrayList<>();
+        List<ApplicationFilterConfig> servletFilters = new ArrayList<>();
+        for (FilterMap filterMap : context.findFilterMaps()) {
+            if (!filterMap.getDispatcherTypes().contains(dispatcher)) {
+                continue;
+            }
+            ApplicationFilterConfig filterConfig = (ApplicationFilterConfig) context.findFilterConfig(filterMap.getFilterName());
+            if (filterConfig == null) {
+                // FIXME - log configuration problem
+                continue;
+            }
+            String urlPattern = filterMap.getURLPattern();
+            if (urlPattern != null) {
+                urlPatterns.add(caseSensitiveMapping ? urlPattern : urlPattern.toLowerCase(Locale.ENGLISH));
+                urlFilters.add(filterConfig);
+            }
+            if (matchFiltersServlet(filterMap, servletName)) {
+                servletFilters.add(filterConfig);
+            }
+        }
+        return new FilterChainTemplate(version, caseSensitiveMapping, urlPatterns, urlFilters, servletFilters);
+    }
+
+    /**
+     * @return version of the filter mappings this template was created from
+     */
+    int getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the filters to apply, the path-mapped filters first, then the filters mapped by
+     * the servlet name. The returned array must not be modified.
+     *
+     * @param requestPath context-relative request path, may be null
+     * @return the filters, may be empty
+     */
+    ApplicationFilterConfig[] getFilters(String requestPath) {
+        if (requestPath == null || urlPatterns.length == 0) {
+            return servletFilters;
+        }
+        if (anyPathFilters != null) {
+            return anyPathFilters;
+        }
+
+        PathFilters last = lastPathFilters;
+        if (last != null && last.path.equals(requestPath)) {
+            return last.filters;
+        }
+
+        String path = caseSensitiveMapping ? requestPath : requestPath.toLowerCase(Locale.ENGLISH);
+        ApplicationFilterConfig[] matched = new ApplicationFilterConfig[urlFilters.length];
+        int n = 0;
+        for (int i = 0; i < urlPatterns.length; i++) {
+            if (matchFiltersURL(urlPatterns[i], path)) {
+                matched[n++] = urlFilters[i];
+            }
+        }
+        ApplicationFilterConfig[] filters = concat(matched, n, servletFilters);
+        lastPathFilters = new PathFilters(requestPath, filters);
+        return filters;
+    }
+
+    private static ApplicationFilterConfig[] concat(ApplicationFilterConfig[] first, int firstLength, ApplicationFilterConfig[] second) {
+        if (firstLength == 0) {
+            return second;
+        }
+        ApplicationFilterConfig[] result = new ApplicationFilterConfig[firstLength + second.length];
+        System.arraycopy(first, 0, result, 0, firstLength);
+        System.arraycopy(second, 0, result, firstLength, second.length);
+        return result;
+    }
+
+    /**
+     * Return <code>true</code> if the context-relative request path matches the URL pattern of a filter mapping;
+     * otherwise, return <code>false</code>. Both are already in lower case if the mapping is not case sensitive.
+     *
+     * @param testPath URL pattern of the filter mapping
+     * @param requestPath Context-relative request path of this request
+     */
+    private static boolean matchFiltersURL(String testPath, String requestPath) {
+        // Case 1 - Exact Match
+        if (testPath.equals(requestPath)) {
+            return true;
+        }
+
+        // Case 2 - Path Match ("/.../*")
+        if (testPath.equals("/*")) {
+            return true;
+        }
+        if (testPath.endsWith("/*")) {
+            if (testPath.regionMatches(0, requestPath, 0, testPath.length() - 2)) {
+                if (requestPath.length() == (testPath.length() - 2)) {
+                    return true;
+                } else if ('/' == requestPath.charAt(testPath.length() - 2)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Case 3 - Extension Match
+        if (testPath.startsWith("*.")) {
+            int slash = requestPath.lastIndexOf('/');
+            int period = requestPath.lastIndexOf('.');
+            if ((slash >= 0) && (period > slash) && (period != requestPath.length() - 1)
+                    && ((requestPath.length() - period) == (testPath.length() - 1))) {
+                return testPath.regionMatches(2, requestPath, period + 1, testPath.length() - 2);
+            }
+        }
+
+        // Case 4 - "Default" Match
+        return false; // NOTE - Not relevant for selecting filters
+    }
+
+    /**
+     * Return <code>true</code> if the specified servlet name matches the requirements of the specified filter mapping;
+     * otherwise return <code>false</code>.
+     *
+     * @param filterMap Filter mapping being checked
+     * @param servletName Servlet name being checked
+     */
+    private static boolean matchFiltersServlet(FilterMap filterMap, String servletName) {
+        if (servletName == null) {
+            return false;
+        }
+        return servletName.equals(filterMap.getServletName()) || "*".equals(filterMap.getServletName());
+    }
+
+    private static final class PathFilters {
+
+        private final String path;
+        private final ApplicationFilterConfig[] filters;
+
+        PathFilters(String path, ApplicationFilterConfig[] filters) {
+            this.path = path;
+            this.filters = filters;
+        }
+    }
+}
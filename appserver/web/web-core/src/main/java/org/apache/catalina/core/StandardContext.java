@@ -427,6 +427,12 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
      */
     private final List<FilterMap> filterMaps = new ArrayList<>();
 
+    /**
+     * Version of the filter definitions, mappings and configurations, incremented on every change.
+     * The filter chain templates of the wrappers are created again when it changes.
+     */
+    private final AtomicInteger filterMappingsVersion = new AtomicInteger();
+
     /**
      * The list of classnames of InstanceListeners that will be added to each newly created Wrapper by
      * <code>createWrapper()</code>.
@@ -847,6 +853,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
      */
     public void setCaseSensitiveMapping(boolean caseSensitiveMap) {
         caseSensitiveMapping = caseSensitiveMap;
+        filterMappingsVersion.incrementAndGet();
     }
 
     /**
@@ -1998,6 +2005,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         synchronized (filterDefs) {
             filterDefs.put(filterDef.getFilterName(), filterDef);
         }
+        filterMappingsVersion.incrementAndGet();
 
         if (notifyContainerListeners) {
             fireContainerEvent("addFilterDef", filterDef);
@@ -2084,6 +2092,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         } else {
             filterMaps.add(0, filterMap);
         }
+        filterMappingsVersion.incrementAndGet();
 
         if (notifyContainerListeners) {
             fireContainerEvent("addFilterMap", filterMap);
@@ -3214,6 +3223,14 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         return filterMaps;
     }
 
+    /**
+     * @return version of the filter definitions, mappings and configurations, which changes
+     *         whenever any of them changes
+     */
+    int getFilterMappingsVersion() {
+        return filterMappingsVersion.get();
+    }
+
     @Override
     public List<String> findInstanceListeners() {
         return instanceListeners;
@@ -3572,6 +3589,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         synchronized (filterDefs) {
             filterDefs.remove(filterDef.getFilterName());
         }
+        filterMappingsVersion.incrementAndGet();
 
         if (notifyContainerListeners) {
             fireContainerEvent("removeFilterDef", filterDef);
@@ -3588,6 +3606,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         }
 
         filterMaps.clear();
+        filterMappingsVersion.incrementAndGet();
     }
 
     @Override
@@ -3864,6 +3883,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
                 }
             }
         }
+        filterMappingsVersion.incrementAndGet();
 
         return ok;
     }
@@ -3886,6 +3906,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
             }
             filterConfigs.clear();
         }
+        filterMappingsVersion.incrementAndGet();
 
         return true;
     }
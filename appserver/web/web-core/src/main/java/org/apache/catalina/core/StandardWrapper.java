@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -18,6 +18,7 @@
 
 package org.apache.catalina.core;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.Servlet;
 import jakarta.servlet.ServletConfig;
 import jakarta.servlet.ServletContext;
@@ -41,6 +42,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.logging.Level;
 
 import javax.management.Notification;
@@ -205,7 +207,13 @@ public class StandardWrapper extends ContainerBase implements ServletConfig, Wra
     /**
      * Are we unloading our servlet instance at the moment?
      */
-    private boolean unloading;
+    private volatile boolean unloading;
+
+    /**
+     * Precomputed filters of this servlet, indexed by the ordinal of the dispatcher type.
+     */
+    private final AtomicReferenceArray<FilterChainTemplate> filterChainTemplates = new AtomicReferenceArray<>(
+        DispatcherType.values().length);
 
     /**
      * Maximum number of STM instances.
@@ -936,7 +944,23 @@ public class StandardWrapper extends ContainerBase implements ServletConfig, Wra
      * @exception ServletException if a loading error occurs
      */
     @Override
-    public synchronized Servlet allocate() throws ServletException {
+    public Servlet allocate() throws ServletException {
+        // Fast path for the initialized instance of a non-STM servlet, without locking the wrapper
+        if (!singleThreadModel && instanceInitialized) {
+            Servlet servlet = instance;
+            if (servlet != null) {
+                // Count the allocation before checking for unloading, so that unload() waits for it
+                countAllocated.incrementAndGet();
+                if (!unloading && !singleThreadModel) {
+                    return servlet;
+                }
+                countAllocated.decrementAndGet();
+            }
+        }
+        return allocateLocked();
+    }
+
+    private synchronized Servlet allocateLocked() throws ServletException {
         // If we are currently unloading this servlet, throw an exception
         if (unloading) {
             throw new ServletException(format(rb.getString(CANNOT_ALLOCATE_SERVLET_EXCEPTION), getName()));
@@ -1001,6 +1025,17 @@ public class StandardWrapper extends ContainerBase implements ServletConfig, Wra
         }
     }
 
+    /**
+     * @return the filters of this servlet for the dispatcher type, null if not created yet
+     */
+    FilterChainTemplate getFilterChainTemplate(DispatcherType dispatcher) {
+        return filterChainTemplates.get(dispatcher.ordinal());
+    }
+
+    void setFilterChainTemplate(DispatcherType dispatcher, FilterChainTemplate template) {
+        filterChainTemplates.set(dispatcher.ordinal(), template);
+    }
+
     /**
      * Return this previously allocated servlet to the pool of available instances. If this servlet class does not implement
      * SingleThreadModel, no action is actually required.
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.session;
+
+import com.sun.enterprise.util.uuid.UuidGenerator;
+
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Session identifier generator which can be used by many threads at once.
+ * <p>
+ * The identifiers are built from random bytes of a pool of {@link SecureRandom} instances.
+ * Every thread picks one of them randomly, so concurrently created sessions rarely contend
+ * on the same generator, and no generator is bound to a thread, which would not scale with
+ * virtual threads.
+ */
+public class ConcurrentSessionIdGenerator implements UuidGenerator {
+
+    private static final HexFormat HEX = HexFormat.of().withUpperCase();
+
+    private final SecureRandom[] randoms;
+    private final int sessionIdLength;
+
+    /**
+     * @param sessionIdLength number of random bytes of a session identifier
+     */
+    public ConcurrentSessionIdGenerator(int sessionIdLength) {
+        this.sessionIdLength = sessionIdLength;
+        this.randoms = new SecureRandom[Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1];
+        for (int i = 0; i < randoms.length; i++) {
+            randoms[i] = new SecureRandom();
+        }
+    }
+
+    @Override
+    public String generateUuid() {
+        byte[] bytes = new byte[sessionIdLength];
+        SecureRandom random = randoms[ThreadLocalRandom.current().nextInt() & (randoms.length - 1)];
+        random.nextBytes(bytes);
+        return HEX.formatHex(bytes);
+    }
+
+    /**
+     * The object is not used, the identifier is completely random.
+     */
+    @Override
+    public String generateUuid(Object obj) {
+        return generateUuid();
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -141,6 +142,12 @@ public abstract class ManagerBase implements Manager {
      */
     protected String randomClass = "java.security.SecureRandom";
 
+    /**
+     * If true, session identifiers are generated by many threads at once and sessions may be indexed by their expiration
+     * time, see {@link #setScalableSessions(boolean)}.
+     */
+    protected boolean scalableSessions;
+
     /**
      * The longest time (in seconds) that an expired session had been alive.
      */
@@ -228,6 +235,30 @@ public abstract class ManagerBase implements Manager {
         uuidGenerator = aUuidGenerator;
     }
 
+    /**
+     * Return true if this Manager is optimized for a large number of sessions.
+     */
+    public boolean isScalableSessions() {
+        return scalableSessions;
+    }
+
+    /**
+     * Optimize this Manager for a large number of sessions. Unless a custom UuidGenerator is set, session identifiers are
+     * generated by the {@link ConcurrentSessionIdGenerator} without serializing the threads creating sessions.
+     *
+     * @param scalableSessions true to enable
+     */
+    public void setScalableSessions(boolean scalableSessions) {
+        boolean oldScalableSessions = this.scalableSessions;
+        this.scalableSessions = scalableSessions;
+        if (scalableSessions && uuidGenerator instanceof UuidGeneratorImpl) {
+            uuidGenerator = new ConcurrentSessionIdGenerator(sessionIdLength);
+        } else if (!scalableSessions && uuidGenerator instanceof ConcurrentSessionIdGenerator) {
+            uuidGenerator = new UuidGeneratorImpl();
+        }
+        support.firePropertyChange("scalableSessions", oldScalableSessions, this.scalableSessions);
+    }
+
     /**
      * Return the Container with which this Manager is associated.
      */
@@ -381,6 +412,9 @@ public abstract class ManagerBase implements Manager {
 
         int oldSessionIdLength = this.sessionIdLength;
         this.sessionIdLength = idLength;
+        if (uuidGenerator instanceof ConcurrentSessionIdGenerator) {
+            uuidGenerator = new ConcurrentSessionIdGenerator(idLength);
+        }
         support.firePropertyChange("sessionIdLength", Integer.valueOf(oldSessionIdLength), Integer.valueOf(this.sessionIdLength));
 
     }
@@ -841,14 +875,21 @@ public abstract class ManagerBase implements Manager {
     /**
      * Generate and return a new session identifier. Hercules:added
      */
-    protected synchronized String generateSessionId(Object obj) {
-        return uuidGenerator.generateUuid(obj);
+    protected String generateSessionId(Object obj) {
+        UuidGenerator generator = uuidGenerator;
+        if (generator instanceof ConcurrentSessionIdGenerator) {
+            return generator.generateUuid(obj);
+        }
+        // other generators are not required to be thread safe
+        synchronized (this) {
+            return generator.generateUuid(obj);
+        }
     }
 
     /**
      * Generate and return a new session identifier. Hercules:modified
      */
-    protected synchronized String generateSessionId() {
+    protected String generateSessionId() {
         return generateSessionId(new Object());
     }
 
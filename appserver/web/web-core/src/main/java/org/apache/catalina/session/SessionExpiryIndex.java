@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Index of sessions ordered by the time they may expire at, so the background expiration
+ * does not have to check every session of the manager.
+ * <p>
+ * The sessions are kept in buckets of one {@value #TICK_MILLIS} ms tick. A session is not moved
+ * when it is accessed, instead it is checked when its original bucket is due and scheduled again
+ * if it is still valid. Each session is thus checked at most once per its max inactive interval.
+ * <p>
+ * All methods can be called concurrently.
+ */
+class SessionExpiryIndex {
+
+    static final long TICK_MILLIS = 1000L;
+
+    private final ConcurrentSkipListMap<Long, Set<StandardSession>> buckets = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<StandardSession, Long> scheduledTicks = new ConcurrentHashMap<>();
+
+    /**
+     * Schedules the check of the session to the time it expires if not accessed anymore.
+     * Sessions which never expire are not indexed.
+     *
+     * @param session session to schedule
+     * @param now current time in millis
+     */
+    void schedule(StandardSession session, long now) {
+        int maxInactiveInterval = session.getMaxInactiveInterval();
+        if (maxInactiveInterval < 0) {
+            remove(session);
+            return;
+        }
+
+        long expiryTime = session.thisAccessedTime + maxInactiveInterval * 1000L;
+        // Always schedule to a future tick, the current one may be swept right now.
+        long tick = Math.max(expiryTime, now) / TICK_MILLIS + 1;
+        Long oldTick = scheduledTicks.put(session, tick);
+        if (oldTick != null && oldTick != tick) {
+            removeFromBucket(oldTick, session);
+        }
+        addToBucket(tick, session);
+    }
+
+    /**
+     * Removes the session from the index.
+     *
+     * @param session session to remove
+     */
+    void remove(StandardSession session) {
+        Long tick = scheduledTicks.remove(session);
+        if (tick != null) {
+            removeFromBucket(tick, session);
+        }
+    }
+
+    /**
+     * Removes the sessions which are due to be checked from the index.
+     * The caller has to schedule the sessions which are still valid again.
+     *
+     * @param now current time in millis
+     * @return sessions which might have expired
+     */
+    List<StandardSession> pollDue(long now) {
+        long nowTick = now / TICK_MILLIS;
+        List<StandardSession> due = new ArrayList<>();
+        Map.Entry<Long, Set<StandardSession>> bucket;
+        while ((bucket = buckets.firstEntry()) != null && bucket.getKey() <= nowTick) {
+            if (!buckets.remove(bucket.getKey(), bucket.getValue())) {
+                continue;
+            }
+            for (StandardSession session : bucket.getValue()) {
+                if (scheduledTicks.remove(session, bucket.getKey())) {
+                    due.add(session);
+                }
+            }
+        }
+        return due;
+    }
+
+    /**
+     * @return number of indexed sessions.
+     */
+    int size() {
+        return scheduledTicks.size();
+    }
+
+    /**
+     * Removes all sessions from the index.
+     */
+    void clear() {
+        scheduledTicks.clear();
+        buckets.clear();
+    }
+
+    private void addToBucket(long tick, StandardSession session) {
+        while (true) {
+            Set<StandardSession> bucket = buckets.computeIfAbsent(tick, t -> ConcurrentHashMap.newKeySet());
+            bucket.add(session);
+            // The bucket could have been polled meanwhile, then the session has to go to a new one.
+            if (buckets.get(tick) == bucket) {
+                return;
+            }
+        }
+    }
+
+    private void removeFromBucket(long tick, StandardSession session) {
+        Set<StandardSession> bucket = buckets.get(tick);
+        if (bucket == null) {
+            return;
+        }
+        bucket.remove(session);
+        if (bucket.isEmpty()) {
+            buckets.remove(tick, bucket);
+        }
+    }
+}
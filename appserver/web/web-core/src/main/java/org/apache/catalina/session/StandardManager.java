@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -139,6 +140,12 @@ public class StandardManager extends ManagerBase implements Lifecycle, PropertyC
 
     long processingTime = 0;
 
+    /**
+     * Sessions ordered by their expiration time, used instead of checking all sessions if the scalable sessions are
+     * enabled.
+     */
+    private volatile SessionExpiryIndex expiryIndex;
+
     // ------------------------------------------------------------- Properties
 
     /**
@@ -182,6 +189,69 @@ public class StandardManager extends ManagerBase implements Lifecycle, PropertyC
         return maxActiveSessions;
     }
 
+    /**
+     * In addition to the {@link ManagerBase#setScalableSessions(boolean) superclass} behavior, sessions are indexed by
+     * their expiration time, so the background expiration checks only sessions which may have expired.
+     *
+     * @param scalableSessions true to enable
+     */
+    @Override
+    public void setScalableSessions(boolean scalableSessions) {
+        super.setScalableSessions(scalableSessions);
+        if (!scalableSessions) {
+            expiryIndex = null;
+            return;
+        }
+        if (expiryIndex == null) {
+            SessionExpiryIndex index = new SessionExpiryIndex();
+            long now = System.currentTimeMillis();
+            for (Session session : findSessions()) {
+                index.schedule((StandardSession) session, now);
+            }
+            expiryIndex = index;
+        }
+    }
+
+    @Override
+    public void add(Session session) {
+        super.add(session);
+        SessionExpiryIndex index = expiryIndex;
+        if (index != null) {
+            index.schedule((StandardSession) session, System.currentTimeMillis());
+        }
+    }
+
+    @Override
+    public void remove(Session session) {
+        super.remove(session);
+        SessionExpiryIndex index = expiryIndex;
+        if (index != null) {
+            index.remove((StandardSession) session);
+        }
+    }
+
+    @Override
+    public void clearSessions() {
+        super.clearSessions();
+        SessionExpiryIndex index = expiryIndex;
+        if (index != null) {
+            index.clear();
+        }
+    }
+
+    /**
+     * Called when the max inactive interval of the session changed, so it may expire earlier than expected.
+     *
+     * @param session session with the new max inactive interval
+     */
+    void maxInactiveIntervalChanged(StandardSession session) {
+        SessionExpiryIndex index = expiryIndex;
+        String id = session.getIdInternal();
+        if (index != null && id != null && sessions.get(id) == session) {
+            index.schedule(session, System.currentTimeMillis());
+        }
+    }
+
     public long getProcessingTime() {
         return processingTime;
     }
@@ -366,7 +436,7 @@ public class StandardManager extends ManagerBase implements Lifecycle, PropertyC
     public void readSessions(InputStream is) throws ClassNotFoundException, IOException {
 
         // Initialize our internal data structures
-        sessions.clear();
+        clearSessions();
 
         ObjectInputStream ois = null;
         try {
@@ -402,6 +472,9 @@ public class StandardManager extends ManagerBase implements Lifecycle, PropertyC
                     StandardSession session = StandardSession.deserialize(ois, this);
                     session.setManager(this);
                     sessions.put(session.getIdInternal(), session);
+                    if (expiryIndex != null) {
+                        expiryIndex.schedule(session, System.currentTimeMillis());
+                    }
                     session.activate();
                 }
             } catch (ClassNotFoundException e) {
@@ -796,6 +869,13 @@ public class StandardManager extends ManagerBase implements Lifecycle, PropertyC
     public void processExpires() {
         long timeNow = System.currentTimeMillis();
 
+        SessionExpiryIndex index = expiryIndex;
+        if (index != null) {
+            processExpires(index, timeNow);
+            processingTime += (System.currentTimeMillis() - timeNow);
+            return;
+        }
+
         Session[] sessions = findSessions();
         if (sessions != null) {
             for (Session session : sessions) {
@@ -814,4 +894,23 @@ public class StandardManager extends ManagerBase implements Lifecycle, PropertyC
         processingTime += (timeEnd - timeNow);
     }
 
+    /**
+     * Invalidate the expired sessions of the index and schedule the sessions which are still valid again.
+     */
+    private void processExpires(SessionExpiryIndex index, long timeNow) {
+        for (StandardSession session : index.pollDue(timeNow)) {
+            if (session.lockBackground()) {
+                try {
+                    session.isValid();
+                } finally {
+                    session.unlockBackground();
+                }
+            }
+            // Accessed meanwhile or used by a request right now
+            if (session.getIsValid() && sessions.get(session.getIdInternal()) == session) {
+                index.schedule(session, timeNow);
+            }
+        }
+    }
+
 }
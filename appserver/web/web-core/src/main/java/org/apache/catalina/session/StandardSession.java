@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -547,6 +548,8 @@ public class StandardSession implements HttpSession, Session, Serializable {
         this.maxInactiveInterval = interval;
         if (isValid && interval == 0) {
             expire();
+        } else if (manager instanceof StandardManager) {
+            ((StandardManager) manager).maxInactiveIntervalChanged(this);
         }
 
     }
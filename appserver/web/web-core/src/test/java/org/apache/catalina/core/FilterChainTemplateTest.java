@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.core;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.GenericServlet;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.catalina.Globals;
+import org.apache.catalina.deploy.FilterDef;
+import org.apache.catalina.deploy.FilterMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class FilterChainTemplateTest {
+
+    private static final String SERVLET = "servlet";
+
+    private TestContext context;
+
+    @BeforeEach
+    public void createContext() {
+        context = new TestContext();
+        context.setName("test");
+    }
+
+    @Test
+    public void testFiltersAreOrderedByMapping() {
+        ApplicationFilterConfig extension = mapUrl("extension", "*.jsp");
+        ApplicationFilterConfig named = mapServlet("named", SERVLET);
+        ApplicationFilterConfig exact = mapUrl("exact", "/app/page.jsp");
+        ApplicationFilterConfig path = mapUrl("path", "/app/*");
+        ApplicationFilterConfig any = mapUrl("any", "/*");
+        mapUrl("other", "/other/*");
+        mapServlet("otherServlet", "other");
+
+        FilterChainTemplate template = create(DispatcherType.REQUEST);
+        // The path-mapped filters first, then the filters mapped by the servlet name
+        assertArrayEquals(new ApplicationFilterConfig[] {extension, exact, path, any, named}, template.getFilters("/app/page.jsp"));
+        assertArrayEquals(new ApplicationFilterConfig[] {path, any, named}, template.getFilters("/app"));
+        assertArrayEquals(new ApplicationFilterConfig[] {path, any, named}, template.getFilters("/app/page.jspx"));
+        assertArrayEquals(new ApplicationFilterConfig[] {any, named}, template.getFilters("/application/page.html"));
+        assertArrayEquals(new ApplicationFilterConfig[] {extension, any, named}, template.getFilters("/page.jsp"));
+        assertArrayEquals(new ApplicationFilterConfig[] {any, named}, template.getFilters("/page.jsp/"));
+        assertArrayEquals(new ApplicationFilterConfig[] {named}, template.getFilters(null));
+    }
+
+    @Test
+    public void testFiltersOfAnyPathArePrecomputed() {
+        ApplicationFilterConfig first = mapUrl("first", "/*");
+        ApplicationFilterConfig named = mapServlet("named", "*");
+        ApplicationFilterConfig second = mapUrl("second", "/*");
+
+        FilterChainTemplate template = create(DispatcherType.REQUEST);
+        ApplicationFilterConfig[] filters = template.getFilters("/a");
+        assertArrayEquals(new ApplicationFilterConfig[] {first, second, named}, filters);
+        assertSame(filters, template.getFilters("/b/c.html"));
+    }
+
+    @Test
+    public void testFiltersOfLastPathAreReused() {
+        ApplicationFilterConfig path = mapUrl("path", "/app/*");
+        ApplicationFilterConfig extension = mapUrl("extension", "*.html");
+
+        FilterChainTemplate template = create(DispatcherType.REQUEST);
+        ApplicationFilterConfig[] filters = template.getFilters("/app/index.html");
+        assertArrayEquals(new ApplicationFilterConfig[] {path, extension}, filters);
+        assertSame(filters, template.getFilters("/app/index.html"));
+
+        assertArrayEquals(new ApplicationFilterConfig[] {extension}, template.getFilters("/index.html"));
+        assertArrayEquals(new ApplicationFilterConfig[] {path}, template.getFilters("/app/index.jsp"));
+        assertArrayEquals(new ApplicationFilterConfig[] {path, extension}, template.getFilters("/app/index.html"));
+    }
+
+    @Test
+    public void testCaseInsensitiveMapping() {
+        ApplicationFilterConfig path = mapUrl("path", "/App/*");
+        ApplicationFilterConfig extension = mapUrl("extension", "*.JSP");
+        ApplicationFilterConfig exact = mapUrl("exact", "/Index.Html");
+
+        FilterChainTemplate sensitive = create(DispatcherType.REQUEST);
+        assertArrayEquals(new ApplicationFilterConfig[0], sensitive.getFilters("/app/page.jsp"));
+        assertArrayEquals(new ApplicationFilterConfig[] {path, extension}, sensitive.getFilters("/App/page.JSP"));
+
+        context.setCaseSensitiveMapping(false);
+        FilterChainTemplate insensitive = create(DispatcherType.REQUEST);
+        assertArrayEquals(new ApplicationFilterConfig[] {path, extension}, insensitive.getFilters("/app/page.jsp"));
+        assertArrayEquals(new ApplicationFilterConfig[] {path, extension}, insensitive.getFilters("/APP/Page.Jsp"));
+        assertArrayEquals(new ApplicationFilterConfig[] {exact}, insensitive.getFilters("/INDEX.HTML"));
+        assertArrayEquals(new ApplicationFilterConfig[] {exact}, insensitive.getFilters("/index.html"));
+    }
+
+    @Test
+    public void testDispatcherTypes() {
+        ApplicationFilterConfig request = mapUrl("request", "/*");
+        ApplicationFilterConfig forward = mapUrl("forward", "/*", DispatcherType.FORWARD);
+        ApplicationFilterConfig both = mapUrl("both", "/*", DispatcherType.REQUEST, DispatcherType.FORWARD);
+        ApplicationFilterConfig error = mapServlet("error", SERVLET, DispatcherType.ERROR);
+
+        assertArrayEquals(new ApplicationFilterConfig[] {request, both}, create(DispatcherType.REQUEST).getFilters("/a"));
+        assertArrayEquals(new ApplicationFilterConfig[] {forward, both}, create(DispatcherType.FORWARD).getFilters("/a"));
+        assertArrayEquals(new ApplicationFilterConfig[] {error}, create(DispatcherType.ERROR).getFilters("/a"));
+        assertArrayEquals(new ApplicationFilterConfig[0], create(DispatcherType.INCLUDE).getFilters("/a"));
+    }
+
+    @Test
+    public void testAddedFilterMapInvalidatesTemplate() {
+        StandardWrapper wrapper = new StandardWrapper();
+        wrapper.setName(SERVLET);
+        wrapper.setParent(context);
+        ApplicationFilterConfig any = mapUrl("any", "/*");
+
+        createFilterChain(wrapper, "/page.html");
+        FilterChainTemplate template = wrapper.getFilterChainTemplate(DispatcherType.REQUEST);
+        assertArrayEquals(new ApplicationFilterConfig[] {any}, template.getFilters("/page.html"));
+        createFilterChain(wrapper, "/page.html");
+        assertSame(template, wrapper.getFilterChainTemplate(DispatcherType.REQUEST));
+
+        // Like ServletContext.addFilter(...).addMappingForUrlPatterns(...) of a running application
+        ApplicationFilterConfig after = mapUrl("after", "*.html");
+        ApplicationFilterConfig before = registerFilter("before");
+        FilterMap beforeMap = new FilterMap();
+        beforeMap.setFilterName("before");
+        beforeMap.setServletName(SERVLET);
+        context.addFilterMap(beforeMap, false);
+
+        createFilterChain(wrapper, "/page.html");
+        FilterChainTemplate updated = wrapper.getFilterChainTemplate(DispatcherType.REQUEST);
+        assertNotSame(template, updated);
+        assertArrayEquals(new ApplicationFilterConfig[] {any, after, before}, updated.getFilters("/page.html"));
+
+        context.removeFilterMaps();
+        ApplicationFilterConfig named = mapServlet("named", SERVLET);
+        createFilterChain(wrapper, "/page.html");
+        assertArrayEquals(new ApplicationFilterConfig[] {named}, wrapper.getFilterChainTemplate(DispatcherType.REQUEST).getFilters("/page.html"));
+    }
+
+    private FilterChainTemplate create(DispatcherType dispatcher) {
+        return FilterChainTemplate.create(context.getFilterMappingsVersion(), context, SERVLET, dispatcher);
+    }
+
+    private void createFilterChain(StandardWrapper wrapper, String requestPath) {
+        ServletRequest request = createNiceMock(ServletRequest.class);
+        expect(request.getDispatcherType()).andReturn(DispatcherType.REQUEST).anyTimes();
+        expect(request.getAttribute(Globals.DISPATCHER_REQUEST_PATH_ATTR)).andReturn(requestPath).anyTimes();
+        replay(request);
+        ApplicationFilterFactory.getInstance().createFilterChain(request, wrapper, new TestServlet());
+    }
+
+    private ApplicationFilterConfig mapUrl(String filterName, String urlPattern, DispatcherType... dispatchers) {
+        ApplicationFilterConfig filterConfig = registerFilter(filterName);
+        FilterMap filterMap = new FilterMap();
+        filterMap.setFilterName(filterName);
+        filterMap.setURLPattern(urlPattern);
+        setDispatcherTypes(filterMap, dispatchers);
+        context.addFilterMap(filterMap);
+        return filterConfig;
+    }
+
+    private ApplicationFilterConfig mapServlet(String filterName, String servletName, DispatcherType... dispatchers) {
+        ApplicationFilterConfig filterConfig = registerFilter(filterName);
+        FilterMap filterMap = new FilterMap();
+        filterMap.setFilterName(filterName);
+        filterMap.setServletName(servletName);
+        setDispatcherTypes(filterMap, dispatchers);
+        context.addFilterMap(filterMap);
+        return filterConfig;
+    }
+
+    private static void setDispatcherTypes(FilterMap filterMap, DispatcherType... dispatchers) {
+        if (dispatchers.length > 0) {
+            filterMap.setDispatcherTypes(EnumSet.of(dispatchers[0], dispatchers));
+        }
+    }
+
+    private ApplicationFilterConfig registerFilter(String filterName) {
+        FilterDef filterDef = new FilterDef();
+        filterDef.setFilterName(filterName);
+        filterDef.setFilterClassName(TestFilter.class.getName());
+        context.addFilterDef(filterDef);
+        ApplicationFilterConfig filterConfig = createNiceMock(ApplicationFilterConfig.class);
+        replay(filterConfig);
+        context.testFilterConfigs.put(filterName, filterConfig);
+        return filterConfig;
+    }
+
+    /**
+     * Provides the filter configurations without starting the filters.
+     */
+    private static final class TestContext extends StandardContext {
+
+        final Map<String, ApplicationFilterConfig> testFilterConfigs = new HashMap<>();
+
+        @Override
+        public FilterConfig findFilterConfig(String name) {
+            return testFilterConfigs.get(name);
+        }
+    }
+
+    public static class TestFilter implements Filter {
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) {
+        }
+    }
+
+    private static final class TestServlet extends GenericServlet {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void service(ServletRequest request, ServletResponse response) {
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.apache.catalina.session;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SessionExpiryIndexTest {
+
+    private static final long NOW = 1_000_000_000L;
+
+    @Test
+    public void testOnlyDueSessionsArePolled() {
+        SessionExpiryIndex index = new SessionExpiryIndex();
+        StandardSession shortSession = createSession(10);
+        StandardSession longSession = createSession(100);
+        StandardSession eternalSession = createSession(-1);
+        index.schedule(shortSession, NOW);
+        index.schedule(longSession, NOW);
+        index.schedule(eternalSession, NOW);
+
+        assertEquals(2, index.size());
+        assertEquals(List.of(), index.pollDue(NOW + 5_000L));
+        assertEquals(List.of(shortSession), index.pollDue(NOW + 12_000L));
+        assertEquals(1, index.size());
+        assertEquals(List.of(longSession), index.pollDue(NOW + 200_000L));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testRescheduledAndRemovedSessions() {
+        SessionExpiryIndex index = new SessionExpiryIndex();
+        StandardSession rescheduled = createSession(10);
+        StandardSession removed = createSession(10);
+        index.schedule(rescheduled, NOW);
+        index.schedule(removed, NOW);
+
+        rescheduled.setCreationTime(NOW + 50_000L);
+        index.schedule(rescheduled, NOW + 50_000L);
+        index.remove(removed);
+
+        assertAll(
+            () -> assertEquals(1, index.size()),
+            () -> assertEquals(List.of(), index.pollDue(NOW + 12_000L)),
+            () -> assertEquals(List.of(rescheduled), index.pollDue(NOW + 62_000L))
+        );
+    }
+
+    @Test
+    public void testConcurrentSessionIdGenerator() {
+        ConcurrentSessionIdGenerator generator = new ConcurrentSessionIdGenerator(16);
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            String id = generator.generateUuid();
+            assertEquals(32, id.length(), id);
+            assertTrue(ids.add(id), id);
+        }
+    }
+
+    private static StandardSession createSession(int maxInactiveInterval) {
+        StandardSession session = new StandardSession(new StandardManager());
+        session.setCreationTime(NOW);
+        session.setMaxInactiveInterval(maxInactiveInterval);
+        return session;
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -48,6 +49,8 @@ public class CacheManager {
     public static final String DEFAULT_CACHE_CLASSNAME =
         "com.sun.appserv.util.cache.LruCache";
 
+    public static final int DEFAULT_COMPRESSION_MIN_SIZE = 1024;
+
     private static final Logger _logger = LogFacade.getLogger();
 
     /**
@@ -60,6 +63,16 @@ public class CacheManager {
     int defaultTimeout = DEFAULT_CACHE_TIMEOUT;
     String cacheClassName = DEFAULT_CACHE_CLASSNAME;
 
+    // seconds an expired entry may be served while another request refreshes it
+    int staleWhileRevalidate = 0;
+
+    // cached responses are stored also gzip compressed
+    boolean compression = true;
+    int compressionMinSize = DEFAULT_COMPRESSION_MIN_SIZE;
+
+    // cached response bodies are stored in direct buffers
+    boolean offHeapStore = false;
+
     boolean enabled = false;
 
     // application servlet context
@@ -133,6 +146,14 @@ public class CacheManager {
     public void addProperty(String name, String value) {
         if (name.equalsIgnoreCase("cacheClassName")) {
            cacheClassName = value;
+        } else if (name.equalsIgnoreCase("staleWhileRevalidate")) {
+            staleWhileRevalidate = Integer.parseInt(value.trim());
+        } else if (name.equalsIgnoreCase("compression")) {
+            compression = Boolean.parseBoolean(value.trim());
+        } else if (name.equalsIgnoreCase("compressionMinSize")) {
+            compressionMinSize = Integer.parseInt(value.trim());
+        } else if (name.equalsIgnoreCase("offHeapStore")) {
+            offHeapStore = Boolean.parseBoolean(value.trim());
         } else {
             if (cacheProps == null) {
                 cacheProps = new Properties();
@@ -287,6 +308,35 @@ public class CacheManager {
         return defaultTimeout;
     }
 
+    /**
+     * get how long an expired entry may be served while it is refreshed
+     * @return seconds after the expiration, 0 to wait for the refresh
+     */
+    public int getStaleWhileRevalidate() {
+        return staleWhileRevalidate;
+    }
+
+    /**
+     * @return whether compressible responses are cached also gzip compressed
+     */
+    public boolean isCompressionEnabled() {
+        return compression;
+    }
+
+    /**
+     * @return minimal size of a response body in bytes to be compressed
+     */
+    public int getCompressionMinSize() {
+        return compressionMinSize;
+    }
+
+    /**
+     * @return whether cached response bodies are stored in direct buffers
+     */
+    public boolean isOffHeapStore() {
+        return offHeapStore;
+    }
+
     /**
      * get the default application-wide cache
      * @return cache object
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2024 Contributors to Eclipse Foundation.
+ * Copyright (c) 2024, 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -35,9 +35,13 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -60,6 +64,9 @@ public class CachingFilter implements Filter, CacheManagerListener {
 
     boolean isEnabled = false;
 
+    // refreshes of cache entries in progress, one per key
+    private final ConcurrentHashMap<String, CountDownLatch> refreshes = new ConcurrentHashMap<>();
+
     private static final Logger _logger = LogFacade.getLogger();
 
     /**
@@ -147,11 +154,12 @@ public class CachingFilter implements Filter, CacheManagerListener {
             }
 
             HttpCacheEntry entry = null;
-            boolean entryReady = false, waitForRefresh = true;
+            boolean entryReady = false;
+            CountDownLatch refresh = null;
 
             // if refresh is not needed then check the cache first
             if (!helper.isRefreshNeeded(request)) {
-                do {
+                while (true) {
                     // lookup cache
                     entry = (HttpCacheEntry) cache.get(key);
 
@@ -160,23 +168,38 @@ public class CachingFilter implements Filter, CacheManagerListener {
                         entryReady = true;
                         break;
                     }
-                    else {
-                        /**
-                         *  a cache entry needs to be generated or refreshed.
-                         *  if there are more than one thread tries to fill/refresh
-                         *  same cache entry, then all but the first thread will block.
-                         */
-                        waitForRefresh = waitForRefresh(request, key, index);
 
+                    /**
+                     *  a cache entry needs to be generated or refreshed.
+                     *  if there are more than one thread tries to fill/refresh
+                     *  same cache entry, then all but the first thread will
+                     *  either use the expired entry or block.
+                     */
+                    if (!markProcessing(request, key)) {
+                        // the request already generates this entry, see IT 17377
+                        break;
+                    }
+                    CountDownLatch newRefresh = new CountDownLatch(1);
+                    CountDownLatch runningRefresh = refreshes.putIfAbsent(key, newRefresh);
+                    if (runningRefresh == null) {
+                        refresh = newRefresh;
                         // Recheck because other threads may already put entry to cache
-                        if (!waitForRefresh) {
-                            entry = (HttpCacheEntry) cache.get(key);
-                            if (entry != null && entry.isValid()) {
-                                entryReady = true;
-                            }
-                        }
+                        entry = (HttpCacheEntry) cache.get(key);
+                        entryReady = entry != null && entry.isValid();
+                        break;
+                    }
+                    if (entry != null && entry.isUsableWhileRefreshed(manager.getStaleWhileRevalidate())) {
+                        entryReady = true;
+                        break;
+                    }
+                    try {
+                        runningRefresh.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
                     }
-                } while (waitForRefresh);
+                    unmarkProcessing(request, key);
+                }
             } else {
                 if (isFine) {
                     _logger.log(Level.FINE, LogFacade.CACHING_FILTER_NEEDS_REFRESH, new Object[]{request.getServletPath(), key});
@@ -188,12 +211,12 @@ public class CachingFilter implements Filter, CacheManagerListener {
                 if (isFine) {
                     _logger.log(Level.FINE, LogFacade.CACHING_FILTER_SERVING_RESPONSE, new Object[]{request.getServletPath(), key});
                 }
-                sendCachedResponse(entry, response);
+                finishRefresh(key, refresh);
+                sendCachedResponse(entry, request, response);
             } else {
                 // call the target servlet
 
                 CachingResponseWrapper wrapper = null;
-                boolean needNotify = true;
 
                 try {
                     // setup the response wrapper (and the output stream)
@@ -229,13 +252,18 @@ public class CachingFilter implements Filter, CacheManagerListener {
                             entry.computeExpireTime(timeout);
                         }
 
+                        entry.prepareBody(manager.isCompressionEnabled(), manager.getCompressionMinSize(),
+                            manager.isOffHeapStore());
                         cache.put(key, entry, entry.getSize());
 
-                        cache.notifyRefresh(index);
-                        needNotify = false;
+                        finishRefresh(key, refresh);
+                        refresh = null;
 
                         // transmit the response body content
-                        writeBody(entry, response);
+                        if (!response.isCommitted()) {
+                            setValidationHeaders(entry, entry.getEtag(false), response);
+                        }
+                        writeBody(entry.body, response);
                     } else {
                         /** either there was an error or response from this
                          *  resource is not cacheable anymore; so, remove the
@@ -245,9 +273,7 @@ public class CachingFilter implements Filter, CacheManagerListener {
                     }
                 } finally {
                     // IT 12891
-                    if (needNotify) {
-                        cache.notifyRefresh(index);
-                    }
+                    finishRefresh(key, refresh);
 
                     // clear the wrapper (XXX: cache these??)
                     if (wrapper != null) {
@@ -281,15 +307,23 @@ public class CachingFilter implements Filter, CacheManagerListener {
     /**
      * called by doFilter to send out the cached response
      * @param entry cached response entry
+     * @param request request object to find the accepted encoding and validators
      * @param response response object to write out the response
      * @throws IOException and ServletException.
      */
     private void sendCachedResponse(HttpCacheEntry entry,
+                                    HttpServletRequest request,
                                     HttpServletResponse response)
             throws IOException {
 
+        boolean gzip = entry.gzipBody != null && acceptsGzip(request.getHeader("Accept-Encoding"));
+        String etag = entry.getEtag(gzip);
+        boolean notModified = etag != null && matchesEtag(request.getHeader("If-None-Match"), etag);
+
         // status code/message
-        if (entry.statusCode != HttpCacheEntry.VALUE_NOT_SET) {
+        if (notModified) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        } else if (entry.statusCode != HttpCacheEntry.VALUE_NOT_SET) {
             response.setStatus(entry.statusCode);
         }
 
@@ -297,6 +331,9 @@ public class CachingFilter implements Filter, CacheManagerListener {
         for (Iterator iter = entry.responseHeaders.keySet().iterator();
                                                          iter.hasNext(); ) {
             String name = (String)iter.next();
+            if (name.equalsIgnoreCase("ETag") || (gzip || notModified) && name.equalsIgnoreCase("Content-Length")) {
+                continue;
+            }
             ArrayList values = (ArrayList)entry.responseHeaders.get(name);
 
             for (int i = 0; i < values.size(); i++) {
@@ -314,6 +351,10 @@ public class CachingFilter implements Filter, CacheManagerListener {
                 response.addDateHeader(name, (values.get(i)).longValue());
             }
         }
+        setValidationHeaders(entry, etag, response);
+        if (notModified) {
+            return;
+        }
 
         // cookies
         for (int i = 0; i < entry.cookies.size(); i++) {
@@ -321,7 +362,10 @@ public class CachingFilter implements Filter, CacheManagerListener {
         }
 
         // content type, length and locale
-        if (entry.contentLength != HttpCacheEntry.VALUE_NOT_SET) {
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip");
+            response.setContentLength(entry.gzipBody.remaining());
+        } else if (entry.contentLength != HttpCacheEntry.VALUE_NOT_SET) {
             response.setContentLength(entry.contentLength);
         }
         if (entry.contentType != null) {
@@ -332,27 +376,115 @@ public class CachingFilter implements Filter, CacheManagerListener {
         }
 
         // the response body
-        writeBody(entry, response);
+        writeBody(gzip ? entry.gzipBody : entry.body, response);
     }
 
     /**
-     * called by doFilter/sendCachedResponse to write the body content
+     * set the ETag and Vary headers of the cached response
      * @param entry cached response entry
+     * @param etag ETag of the sent variant, can be null
+     * @param response response object to write out the response
+     */
+    private void setValidationHeaders(HttpCacheEntry entry, String etag, HttpServletResponse response) {
+        if (etag != null) {
+            response.setHeader("ETag", etag);
+        }
+        if (entry.compressible) {
+            response.addHeader("Vary", "Accept-Encoding");
+        }
+    }
+
+    /**
+     * called by doFilter/sendCachedResponse to write the body content
+     * @param body cached response body
      * @param response response object to write out the response
      * @throws IOException and ServletException.
      */
-    private void writeBody(HttpCacheEntry entry,
+    private void writeBody(ByteBuffer body,
                            HttpServletResponse response)
                            throws IOException {
         ServletOutputStream out = response.getOutputStream();
-        out.write(entry.bytes);
+        if (body.hasArray()) {
+            out.write(body.array(), body.arrayOffset() + body.position(), body.remaining());
+            return;
+        }
+        // off-heap body is copied through a small buffer
+        ByteBuffer source = body.duplicate();
+        byte[] chunk = new byte[Math.min(source.remaining(), 8192)];
+        while (source.hasRemaining()) {
+            int length = Math.min(chunk.length, source.remaining());
+            source.get(chunk, 0, length);
+            out.write(chunk, 0, length);
+        }
+    }
+
+    /**
+     * does the Accept-Encoding request header accept gzip?
+     * @param acceptEncoding value of the header, can be null
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            int parameters = coding.indexOf(';');
+            String name = (parameters < 0 ? coding : coding.substring(0, parameters)).trim().toLowerCase(Locale.ENGLISH);
+            boolean accepted = parameters < 0 || !isZeroQuality(coding.substring(parameters + 1));
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                return accepted;
+            }
+            if (name.equals("*")) {
+                any = accepted;
+            }
+        }
+        return any != null && any;
+    }
+
+    private static boolean isZeroQuality(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            String value = parameter.trim();
+            if (value.startsWith("q=") || value.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(value.substring(2).trim()) <= 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * does the If-None-Match request header match the ETag?
+     * Uses the weak comparison as required for If-None-Match.
+     * @param ifNoneMatch value of the header, can be null
+     * @param etag ETag of the cached response
+     */
+    static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaqueTag = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || stripWeak(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
     }
 
     /**
-     * Call cache.waitRefresh only when the cache processing is not started.
-     * See IT 17377.
+     * Remember that the request generates or waits for the entry, so it
+     * does not wait for itself when it gets here again. See IT 17377.
+     * @return false if the request already processes the entry
      */
-    private boolean waitForRefresh(HttpServletRequest req, String key, int index) {
+    private boolean markProcessing(HttpServletRequest req, String key) {
         Object obj = req.getAttribute(PROCESSING_SET);
         HashSet<String> processingSet = null;
         if (obj == null) {
@@ -366,10 +498,25 @@ public class CachingFilter implements Filter, CacheManagerListener {
             throw new IllegalStateException();
         }
 
-        if (processingSet.add(key)) {
-            return cache.waitRefresh(index);
-        } else {
-            return false;
+        return processingSet.add(key);
+    }
+
+    private void unmarkProcessing(HttpServletRequest req, String key) {
+        Object obj = req.getAttribute(PROCESSING_SET);
+        if (obj instanceof HashSet) {
+            ((HashSet<?>) obj).remove(key);
+        }
+    }
+
+    /**
+     * release requests waiting for the refresh of the entry
+     * @param key cache key of the entry
+     * @param refresh refresh started by this request, can be null
+     */
+    private void finishRefresh(String key, CountDownLatch refresh) {
+        if (refresh != null) {
+            refreshes.remove(key, refresh);
+            refresh.countDown();
         }
     }
 
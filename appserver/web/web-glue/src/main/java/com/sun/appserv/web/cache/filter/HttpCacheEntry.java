@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,10 +18,20 @@
 package com.sun.appserv.web.cache.filter;
 
 import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 /** HttpCacheEntry
  *  Each entry holds cached (HTTP) response:
@@ -28,6 +39,10 @@ import java.util.Locale;
  *  d) parameterEncoding used e) entryKey this entry represents,
  *  to match the entry within the hash bucket.
  *
+ *  Successful responses also hold their ETag validator and compressible
+ *  responses a gzip compressed variant of the body, both computed once
+ *  when the response is cached. Bodies can be stored off the heap.
+ *
  *  XXX: should implement methods to enable serialization of cached response?
  */
 public class HttpCacheEntry {
@@ -45,7 +60,16 @@ public class HttpCacheEntry {
     int contentLength;
 
     // XXX: other cacheable response info
-    byte[] bytes;
+    ByteBuffer body;
+
+    /** gzip compressed body, null if the response is not compressed */
+    ByteBuffer gzipBody;
+
+    /** validator of the body, null if the response cannot be validated */
+    String etag;
+
+    /** true if the response can be sent compressed or not, depending on the request */
+    boolean compressible;
 
     volatile long expireTime = 0;
 
@@ -76,11 +100,118 @@ public class HttpCacheEntry {
         return (expireTime > System.currentTimeMillis() || expireTime == -1);
     }
 
+    /**
+     * can this expired response still be sent while it is being refreshed?
+     * @param staleWhileRevalidate seconds after the expiration
+     */
+    public boolean isUsableWhileRefreshed(int staleWhileRevalidate) {
+        return staleWhileRevalidate > 0 && expireTime != -1
+            && expireTime + (staleWhileRevalidate * 1000L) > System.currentTimeMillis();
+    }
+
+    /**
+     * compute the ETag validator and the compressed variant of the body
+     * and move the body out of the heap if requested.
+     * @param compress compress the body if the content type is compressible
+     * @param compressionMinSize minimal size of the body to compress
+     * @param offHeap store the body in direct buffers
+     */
+    public void prepareBody(boolean compress, int compressionMinSize, boolean offHeap) throws IOException {
+        if (statusCode != VALUE_NOT_SET && statusCode != HttpServletResponse.SC_OK) {
+            body = offHeap ? toDirectBuffer(body) : body;
+            return;
+        }
+
+        String servletEtag = getHeader("ETag");
+        etag = servletEtag == null ? computeEtag(body) : servletEtag;
+
+        compressible = compress && body.remaining() >= compressionMinSize
+            && getHeader("Content-Encoding") == null && isCompressible(contentType);
+        if (compressible) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.remaining() / 2);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(body.array(), body.arrayOffset() + body.position(), body.remaining());
+            }
+            if (compressed.size() < body.remaining()) {
+                gzipBody = ByteBuffer.wrap(compressed.toByteArray());
+            } else {
+                compressible = false;
+            }
+        }
+
+        if (offHeap) {
+            body = toDirectBuffer(body);
+            gzipBody = gzipBody == null ? null : toDirectBuffer(gzipBody);
+        }
+    }
+
+    /**
+     * get the ETag of the body variant
+     * @param gzip true for the compressed variant
+     * @return the ETag or null if the response cannot be validated
+     */
+    public String getEtag(boolean gzip) {
+        if (etag == null || !gzip) {
+            return etag;
+        }
+        return etag.endsWith("\"") ? etag.substring(0, etag.length() - 1) + "-gzip\"" : etag + "-gzip";
+    }
+
+    /**
+     * get the first value of the response header
+     * @param name header name, case insensitive
+     * @return value or null if the header was not set
+     */
+    String getHeader(String name) {
+        for (Map.Entry<String, ArrayList<String>> header : responseHeaders.entrySet()) {
+            List<String> values = header.getValue();
+            if (header.getKey().equalsIgnoreCase(name) && !values.isEmpty()) {
+                return values.get(0);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * is the content of this type worth compressing?
+     * @param contentType content type of the response, can have parameters
+     */
+    static boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        int parameters = contentType.indexOf(';');
+        String type = (parameters < 0 ? contentType : contentType.substring(0, parameters)).trim().toLowerCase(Locale.ENGLISH);
+        return type.startsWith("text/") || type.endsWith("+json") || type.endsWith("+xml")
+            || type.equals("application/json") || type.equals("application/xml")
+            || type.equals("application/javascript") || type.equals("application/x-javascript");
+    }
+
+    private static String computeEtag(ByteBuffer body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(body.duplicate());
+            // 128 bits are enough to tell versions of the response apart
+            byte[] hash = new byte[16];
+            System.arraycopy(digest.digest(), 0, hash, 0, hash.length);
+            return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    private static ByteBuffer toDirectBuffer(ByteBuffer buffer) {
+        ByteBuffer direct = ByteBuffer.allocateDirect(buffer.remaining());
+        direct.put(buffer.duplicate());
+        return direct.flip();
+    }
+
     /**
      * clear the contents
      */
     public void clear() {
-        bytes = null;
+        body = null;
+        gzipBody = null;
         responseHeaders = null;
         cookies = null;
     }
@@ -92,8 +223,11 @@ public class HttpCacheEntry {
      */
     public int getSize() {
         int size = 0;
-        if (bytes != null) {
-            size = bytes.length;
+        if (body != null) {
+            size = body.remaining();
+        }
+        if (gzipBody != null) {
+            size += gzipBody.remaining();
         }
 
         // size of response bytes plus headers (each approx 20 chars or 40 bytes)
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -61,6 +62,9 @@ public abstract class BasePersistenceStrategyBuilder
     protected int sessionMaxInactiveInterval = DEFAULT_SESSION_TIMEOUT;
     protected String persistentCookieName = "GLASSFISHCOOKIE";
     protected boolean relaxCacheVersionSemantics;
+    protected boolean scalableSessions;
+    protected String attributeSerializerClassname;
+    protected long replicationFlushInterval;
 
     // Special constant for Java Server Faces
     protected static final String JSF_HA_ENABLED = "com.sun.appserver.enableHighAvailability";
@@ -278,6 +282,8 @@ public abstract class BasePersistenceStrategyBuilder
                         }
                     } */else if (name.equalsIgnoreCase("relaxCacheVersionSemantics")) {
                         relaxCacheVersionSemantics = Boolean.parseBoolean(value);
+                    } else if (name.equalsIgnoreCase("scalableSessions")) {
+                        scalableSessions = Boolean.parseBoolean(value);
                     } else if (name.equalsIgnoreCase("sessionFilename")) {
                         sessionFilename = value;
                     } else if (name.equalsIgnoreCase("persistenceFrequency")) {
@@ -308,6 +314,14 @@ public abstract class BasePersistenceStrategyBuilder
                         _persistenceScope = value;
                     } else if (name.equalsIgnoreCase("cookieName")) {
                         persistentCookieName = value;
+                    } else if (name.equalsIgnoreCase("attributeSerializerClassname")) {
+                        attributeSerializerClassname = value;
+                    } else if (name.equalsIgnoreCase("replicationFlushIntervalMillis")) {
+                        try {
+                            replicationFlushInterval = Long.parseLong(value);
+                        } catch (NumberFormatException e) {
+                            // XXX need error message
+                        }
                     } else {
                         if (_logger.isLoggable(Level.INFO)) {
                             Object[] params = { name };
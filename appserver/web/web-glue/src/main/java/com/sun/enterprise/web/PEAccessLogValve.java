@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -24,6 +24,7 @@ import com.sun.enterprise.config.serverbeans.HttpService;
 import com.sun.enterprise.config.serverbeans.VirtualServer;
 import com.sun.enterprise.util.io.FileUtils;
 import com.sun.enterprise.web.accesslog.AccessLogFormatter;
+import com.sun.enterprise.web.accesslog.AccessLogRingBuffer;
 import com.sun.enterprise.web.accesslog.CombinedAccessLogFormatterImpl;
 import com.sun.enterprise.web.accesslog.CommonAccessLogFormatterImpl;
 import com.sun.enterprise.web.accesslog.DefaultAccessLogFormatterImpl;
@@ -68,6 +69,11 @@ import static java.time.Instant.ofEpochMilli;
  * </p>This class uses a direct <code>ByteBuffer</code> to store and write
  * logs.
  *
+ * </p>If the ring buffer size is set, each request thread formats its entry
+ * in its own buffer and passes it to a {@link AccessLogRingBuffer} without
+ * locking, the entries are written by the writer thread, or by the request
+ * thread itself if the log is flushed in real time or the ring buffer is full.
+ *
  * @author Jean-Francois Arcand
  * @author Charlie J. Hunt
  */
@@ -279,6 +285,25 @@ public final class PEAccessLogValve
     private final Object lock = new Object();
 
 
+    /**
+     * The number of entries of the ring buffer, 0 to use the shared
+     * <code>CharBuffer</code>.
+     */
+    private int ringBufferSize;
+
+
+    /**
+     * The queue of the formatted entries, null if not used.
+     */
+    private AccessLogRingBuffer ringBuffer;
+
+
+    /**
+     * The buffers used by the request threads to format their entries.
+     */
+    private final ThreadLocal<CharBuffer> formatBuffers = new ThreadLocal<>();
+
+
     /**
      * Return writerThread interval (seconds)
      */
@@ -335,6 +360,23 @@ public final class PEAccessLogValve
         return bufferSize;
     }
 
+
+    /**
+     * Set the number of entries of the ring buffer, 0 to format all entries
+     * into the shared buffer.
+     */
+    public void setRingBufferSize(int size) {
+        ringBufferSize = Math.max(size, 0);
+    }
+
+
+    /**
+     * Return the number of entries of the ring buffer
+     */
+    public int getRingBufferSize() {
+        return ringBufferSize;
+    }
+
     // ------------------------------------------------------------- Properties
 
 
@@ -548,6 +590,11 @@ public final class PEAccessLogValve
             return;
         }
 
+        if (ringBuffer != null) {
+            offerLogEntry(request, response);
+            return;
+        }
+
         synchronized (lock){
             // Reset properly the buffer in case of an unexpected
             // exception.
@@ -582,6 +629,65 @@ public final class PEAccessLogValve
     }
 
 
+    /**
+     * Formats the entry into the buffer of the current thread and passes it
+     * to the ring buffer.
+     */
+    private void offerLogEntry(Request request, Response response) throws IOException {
+        AccessLogFormatter entryFormatter = formatter;
+        if (entryFormatter == null) {
+            return;
+        }
+
+        CharBuffer entry = getFormatBuffer();
+        try {
+            entryFormatter.appendLogEntry(request, response, entry);
+            entry.put('\n');
+        } catch (BufferOverflowException ex) {
+            _logger.log(Level.SEVERE, LogFacade.ACCESS_LOG_UNABLE_TO_WRITE, new Object[] {ex});
+            return;
+        }
+        entry.flip();
+
+        if (ringBuffer.offer(entry)) {
+            if (flushRealTime) {
+                log();
+            }
+            return;
+        }
+
+        // The writer is behind, write the waiting entries and try again
+        log();
+        if (!ringBuffer.offer(entry)) {
+            synchronized (lock) {
+                try {
+                    ringBuffer.write(entry, fileChannel);
+                } catch (IOException ex) {
+
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Return the cleared buffer to format an entry of the current thread.
+     * Virtual threads are not reused, so they don't keep their buffer.
+     */
+    private CharBuffer getFormatBuffer() {
+        if (Thread.currentThread().isVirtual()) {
+            return CharBuffer.allocate(bufferSize);
+        }
+        CharBuffer buffer = formatBuffers.get();
+        if (buffer == null || buffer.capacity() != bufferSize) {
+            buffer = CharBuffer.allocate(bufferSize);
+            formatBuffers.set(buffer);
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+
     /**
      * Log the specified message to the log file, switching files if the date
      * has changed since the previous log call.
@@ -611,6 +717,14 @@ public final class PEAccessLogValve
         }
 
         synchronized (lock) {
+            if (ringBuffer != null) {
+                try {
+                    ringBuffer.drainTo(fileChannel);
+                } catch (IOException ex) {
+
+                }
+                return;
+            }
             try {
                 charBuffer.flip();
                 ByteBuffer byteBuffer = ByteBuffer.wrap(charBuffer.toString().getBytes(Charset.defaultCharset()));
@@ -745,6 +859,23 @@ public final class PEAccessLogValve
             }
         }
 
+        /*
+         * If there is any accessLogRingBufferSize property defined under
+         * <virtual-server>, the entries are passed to the writer through
+         * a ring buffer of that many entries
+         */
+        String acRingBufferSize = vsBean.getPropertyValue(
+            Constants.ACCESS_LOG_RING_BUFFER_SIZE_PROPERTY);
+        if (acRingBufferSize != null) {
+            try {
+                setRingBufferSize(Integer.parseInt(acRingBufferSize));
+            } catch (NumberFormatException ex){
+                _logger.log(Level.WARNING,
+                    LogFacade.INVALID_ACCESS_LOG_RING_BUFFER_SIZE,
+                    acRingBufferSize);
+            }
+        }
+
         return true;
     }
 
@@ -994,6 +1125,9 @@ public final class PEAccessLogValve
         }
 
         charBuffer = CharBuffer.allocate(bufferSize);
+        ringBuffer = ringBufferSize > 0
+            ? new AccessLogRingBuffer(ringBufferSize, bufferSize, Charset.defaultCharset())
+            : null;
 
         if (fileDateFormat == null) {
             fileDateFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd");
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,7 +17,9 @@
 
 package com.sun.enterprise.web.accesslog;
 
+import java.nio.BufferOverflowException;
 import java.nio.CharBuffer;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 
 import org.apache.catalina.Request;
@@ -31,6 +33,9 @@ public abstract class AccessLogFormatter {
 
     private final AccessLogPattern pattern;
 
+    /** The last formatted timestamp, the access log formats have no fractions of seconds */
+    private volatile FormattedTimestamp lastTimestamp;
+
     public AccessLogFormatter(AccessLogPattern pattern) {
         this.pattern = pattern;
     }
@@ -55,7 +60,68 @@ public abstract class AccessLogFormatter {
     }
 
 
+    /**
+     * Appends the current timestamp formatted by the date time formatter of the pattern.
+     * The formatted value is reused within the same second.
+     *
+     * @param cb The CharBuffer to which to append the timestamp
+     */
+    protected void appendTimestamp(CharBuffer cb) {
+        long second = System.currentTimeMillis() / 1000L;
+        FormattedTimestamp timestamp = lastTimestamp;
+        if (timestamp == null || timestamp.second != second) {
+            timestamp = new FormattedTimestamp(second, pattern.getDateTimeFormatter().format(Instant.ofEpochSecond(second)));
+            lastTimestamp = timestamp;
+        }
+        cb.put(timestamp.value);
+    }
+
+
+    /**
+     * Appends the decimal representation of the number without creating a String.
+     *
+     * @param cb The CharBuffer to which to append the number
+     * @param value The number
+     * @throws BufferOverflowException if there is not enough space in the buffer
+     */
+    protected static void appendNumber(CharBuffer cb, long value) {
+        if (value == Long.MIN_VALUE) {
+            cb.put(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            cb.put('-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        if (cb.remaining() < digits) {
+            throw new BufferOverflowException();
+        }
+        int end = cb.position() + digits;
+        for (int i = end - 1; i >= cb.position(); i--) {
+            cb.put(i, (char) ('0' + value % 10));
+            value /= 10;
+        }
+        cb.position(end);
+    }
+
+
     public AccessLogPattern getPattern() {
         return pattern;
     }
+
+
+    private static final class FormattedTimestamp {
+
+        private final long second;
+        private final String value;
+
+        FormattedTimestamp(long second, String value) {
+            this.second = second;
+            this.value = value;
+        }
+    }
 }
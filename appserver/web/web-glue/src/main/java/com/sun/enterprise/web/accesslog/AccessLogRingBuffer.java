@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.web.accesslog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded queue of formatted access log entries with many producers and a single consumer.
+ * <p>
+ * Request threads copy their formatted entry into a preallocated slot, claimed by a compare
+ * and set of the tail sequence, so they never wait for each other or for the file. The consumer
+ * encodes the published entries in order directly into a reusable direct {@link ByteBuffer}
+ * and writes it to the channel. A slot grows when an entry does not fit and is reused
+ * afterwards, so no garbage is created once the slots have grown to the usual entry size.
+ * <p>
+ * {@link #offer(CharBuffer)} may be called by any thread. {@link #drainTo(WritableByteChannel)}
+ * and {@link #write(CharBuffer, WritableByteChannel)} must not be called concurrently.
+ */
+public final class AccessLogRingBuffer {
+
+    private static final int INITIAL_SLOT_SIZE = 256;
+
+    private final int mask;
+    private final CharBuffer[] slots;
+
+    /** Sequence + 1 of the entry published in the slot, 0 if none was published yet */
+    private final AtomicLongArray published;
+
+    /** Next sequence to claim by producers */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** Next sequence to consume, written only by the consumer */
+    private volatile long head;
+
+    private final CharsetEncoder encoder;
+    private final ByteBuffer byteBuffer;
+
+    /**
+     * @param capacity maximal number of entries waiting for the consumer, rounded up to a power of two
+     * @param byteBufferSize size of the direct buffer used to write to the channel
+     * @param charset the charset of the access log file
+     */
+    public AccessLogRingBuffer(int capacity, int byteBufferSize, Charset charset) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.slots = new CharBuffer[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = CharBuffer.allocate(INITIAL_SLOT_SIZE);
+        }
+        this.published = new AtomicLongArray(size);
+        this.encoder = charset.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.byteBuffer = ByteBuffer.allocateDirect(Math.max(byteBufferSize, (int) Math.ceil(encoder.maxBytesPerChar()) * 16));
+    }
+
+
+    /**
+     * @return the number of entries the buffer can hold
+     */
+    public int getCapacity() {
+        return slots.length;
+    }
+
+
+    /**
+     * Copies the remaining content of the entry to the buffer.
+     *
+     * @param entry the formatted entry, its position is moved to its limit
+     * @return false if the buffer is full and the entry was not added
+     */
+    public boolean offer(CharBuffer entry) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head >= slots.length) {
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+
+        int index = (int) sequence & mask;
+        CharBuffer slot = slots[index];
+        if (slot.capacity() < entry.remaining()) {
+            slot = CharBuffer.allocate(Math.max(entry.remaining(), slot.capacity() * 2));
+            slots[index] = slot;
+        }
+        slot.clear();
+        slot.put(entry);
+        slot.flip();
+        // Publishes the slot content to the consumer
+        published.set(index, sequence + 1);
+        return true;
+    }
+
+
+    /**
+     * Writes the published entries to the channel in the order they were claimed.
+     * Stops at the first entry which is claimed but not published yet.
+     *
+     * @param channel the target channel
+     * @return the number of written entries
+     * @throws IOException if the channel cannot be written
+     */
+    public int drainTo(WritableByteChannel channel) throws IOException {
+        long sequence = head;
+        int count = 0;
+        try {
+            while (published.get((int) sequence & mask) == sequence + 1) {
+                encode(slots[(int) sequence & mask], channel);
+                sequence++;
+                // Releases the slot to the producers
+                head = sequence;
+                count++;
+            }
+            flush(channel);
+        } finally {
+            // Entries which failed to be written are dropped, like the content of the buffer
+            byteBuffer.clear();
+        }
+        return count;
+    }
+
+
+    /**
+     * Writes the entry directly to the channel, bypassing the queue.
+     * Used when the queue is full.
+     *
+     * @param entry the formatted entry, its position is moved to its limit
+     * @param channel the target channel
+     * @throws IOException if the channel cannot be written
+     */
+    public void write(CharBuffer entry, WritableByteChannel channel) throws IOException {
+        try {
+            encode(entry, channel);
+            flush(channel);
+        } finally {
+            byteBuffer.clear();
+        }
+    }
+
+
+    private void encode(CharBuffer chars, WritableByteChannel channel) throws IOException {
+        encoder.reset();
+        while (encoder.encode(chars, byteBuffer, true) == CoderResult.OVERFLOW) {
+            flush(channel);
+        }
+        while (encoder.flush(byteBuffer) == CoderResult.OVERFLOW) {
+            flush(channel);
+        }
+    }
+
+
+    private void flush(WritableByteChannel channel) throws IOException {
+        byteBuffer.flip();
+        while (byteBuffer.hasRemaining()) {
+            channel.write(byteBuffer);
+        }
+        byteBuffer.clear();
+    }
+}
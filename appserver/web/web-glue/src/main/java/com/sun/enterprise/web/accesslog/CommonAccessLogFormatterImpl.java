@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -126,9 +126,9 @@ public class CommonAccessLogFormatterImpl extends AccessLogFormatter {
      * Appends the current date to the given char buffer.
      */
     private void appendCurrentDate(CharBuffer cb) {
-        cb.put("[");
-        cb.put(getPattern().getDateTimeFormatter().format(getTimestamp()));
-        cb.put("]");
+        cb.put('[');
+        appendTimestamp(cb);
+        cb.put(']');
     }
 
 
@@ -158,7 +158,7 @@ public class CommonAccessLogFormatterImpl extends AccessLogFormatter {
      * Appends the response status to the given char buffer.
      */
     private void appendResponseStatus(CharBuffer cb, Response response) {
-        cb.put(String.valueOf(((HttpResponse) response).getStatus()));
+        appendNumber(cb, ((HttpResponse) response).getStatus());
     }
 
 
@@ -167,6 +167,6 @@ public class CommonAccessLogFormatterImpl extends AccessLogFormatter {
      * buffer.
      */
     private void appendResponseLength(CharBuffer cb, Response response) {
-        cb.put(Integer.toString(response.getContentCount()));
+        appendNumber(cb, response.getContentCount());
     }
 }
@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.web.cache.filter;
+
+import com.sun.appserv.web.cache.CacheHelper;
+import com.sun.appserv.web.cache.CacheManager;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachingFilterTest {
+
+    private static final String KEY = "/page";
+
+    private CachingFilter filter;
+    private CacheManager manager;
+    private GeneratingChain chain;
+
+    @BeforeEach
+    public void createFilter() throws Exception {
+        manager = new CacheManager();
+        filter = new CachingFilter();
+        filter.manager = manager;
+        filter.helper = new TestCacheHelper();
+        filter.cache = manager.createCache();
+        filter.isEnabled = true;
+        chain = new GeneratingChain();
+    }
+
+    @Test
+    public void gzipAcceptance() {
+        assertAll(
+            () -> assertTrue(CachingFilter.acceptsGzip("gzip")),
+            () -> assertTrue(CachingFilter.acceptsGzip("GZIP")),
+            () -> assertTrue(CachingFilter.acceptsGzip("x-gzip")),
+            () -> assertTrue(CachingFilter.acceptsGzip("deflate, gzip;q=0.5")),
+            () -> assertTrue(CachingFilter.acceptsGzip("br, *")),
+            () -> assertTrue(CachingFilter.acceptsGzip("*;q=0, gzip")),
+            () -> assertFalse(CachingFilter.acceptsGzip(null)),
+            () -> assertFalse(CachingFilter.acceptsGzip("identity")),
+            () -> assertFalse(CachingFilter.acceptsGzip("gzip;q=0")),
+            () -> assertFalse(CachingFilter.acceptsGzip("gzip; Q=0.000")),
+            () -> assertFalse(CachingFilter.acceptsGzip("*;q=0")),
+            () -> assertFalse(CachingFilter.acceptsGzip("gzip;q=0, *")),
+            () -> assertFalse(CachingFilter.acceptsGzip("*, gzip;q=0"))
+        );
+    }
+
+    @Test
+    public void etagMatching() {
+        assertAll(
+            () -> assertTrue(CachingFilter.matchesEtag("\"v1\"", "\"v1\"")),
+            () -> assertTrue(CachingFilter.matchesEtag("W/\"v1\"", "\"v1\"")),
+            () -> assertTrue(CachingFilter.matchesEtag("\"v1\"", "W/\"v1\"")),
+            () -> assertTrue(CachingFilter.matchesEtag("\"v0\", W/\"v1\"", "\"v1\"")),
+            () -> assertTrue(CachingFilter.matchesEtag("*", "\"v1\"")),
+            () -> assertFalse(CachingFilter.matchesEtag(null, "\"v1\"")),
+            () -> assertFalse(CachingFilter.matchesEtag("\"v2\"", "\"v1\"")),
+            () -> assertFalse(CachingFilter.matchesEtag("\"v1\"", "\"v1-gzip\""))
+        );
+    }
+
+    @Test
+    public void concurrentRequestsWaitForOneRegeneration() throws Exception {
+        chain.blockNext();
+        RequestThread generator = start();
+        assertTrue(chain.generating.await(10, TimeUnit.SECONDS));
+
+        List<RequestThread> waiting = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            RequestThread request = start();
+            awaitWaiting(request);
+            waiting.add(request);
+        }
+        chain.release.countDown();
+
+        assertThat(generator.body(), equalTo("generated 1"));
+        for (RequestThread request : waiting) {
+            assertThat(request.body(), equalTo("generated 1"));
+        }
+        assertThat(chain.invocations.get(), equalTo(1));
+    }
+
+    @Test
+    public void staleEntryIsServedWhileRefreshed() throws Exception {
+        manager.addProperty("staleWhileRevalidate", "60");
+        assertThat(doFilter(), equalTo("generated 1"));
+        ((HttpCacheEntry) filter.cache.get(KEY)).setExpireTime(System.currentTimeMillis() - 1000L);
+
+        chain.blockNext();
+        RequestThread refresher = start();
+        assertTrue(chain.generating.await(10, TimeUnit.SECONDS));
+
+        // Does not wait for the refresh in progress
+        RequestThread stale = start();
+        stale.join(10_000L);
+        chain.release.countDown();
+        assertThat(stale.body(), equalTo("generated 1"));
+
+        assertThat(refresher.body(), equalTo("generated 2"));
+        assertThat(doFilter(), equalTo("generated 2"));
+        assertThat(chain.invocations.get(), equalTo(2));
+    }
+
+    @Test
+    public void expiredEntryIsNotServedAfterStaleWhileRevalidate() throws Exception {
+        assertThat(doFilter(), equalTo("generated 1"));
+        ((HttpCacheEntry) filter.cache.get(KEY)).setExpireTime(System.currentTimeMillis() - 1000L);
+
+        chain.blockNext();
+        RequestThread refresher = start();
+        assertTrue(chain.generating.await(10, TimeUnit.SECONDS));
+        RequestThread waiting = start();
+        awaitWaiting(waiting);
+        chain.release.countDown();
+
+        assertThat(refresher.body(), equalTo("generated 2"));
+        assertThat(waiting.body(), equalTo("generated 2"));
+        assertThat(chain.invocations.get(), equalTo(2));
+    }
+
+    private String doFilter() throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        filter.doFilter(request(), response(body), chain);
+        return body.toString(UTF_8);
+    }
+
+    private RequestThread start() {
+        RequestThread thread = new RequestThread();
+        thread.start();
+        return thread;
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (thread.getState() != Thread.State.WAITING) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Request does not wait for the refresh: " + thread.getState());
+            }
+            Thread.sleep(1L);
+        }
+    }
+
+    private static HttpServletRequest request() {
+        Map<String, Object> attributes = new HashMap<>();
+        return (HttpServletRequest) Proxy.newProxyInstance(CachingFilterTest.class.getClassLoader(),
+            new Class<?>[] {HttpServletRequest.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getAttribute":
+                        return attributes.get(args[0]);
+                    case "setAttribute":
+                        attributes.put((String) args[0], args[1]);
+                        return null;
+                    case "removeAttribute":
+                        attributes.remove(args[0]);
+                        return null;
+                    case "getServletPath":
+                        return KEY;
+                    default:
+                        return defaultValue(method.getReturnType());
+                }
+            });
+    }
+
+    private static HttpServletResponse response(ByteArrayOutputStream body) {
+        ServletOutputStream out = new ServletOutputStream() {
+
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+        };
+        return (HttpServletResponse) Proxy.newProxyInstance(CachingFilterTest.class.getClassLoader(),
+            new Class<?>[] {HttpServletResponse.class},
+            (proxy, method, args) -> method.getName().equals("getOutputStream") ? out : defaultValue(method.getReturnType()));
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    /**
+     * Sends one request through the filter.
+     */
+    private final class RequestThread extends Thread {
+
+        private volatile String body;
+        private volatile Throwable failure;
+
+        @Override
+        public void run() {
+            try {
+                body = doFilter();
+            } catch (Throwable e) {
+                failure = e;
+            }
+        }
+
+        String body() throws InterruptedException {
+            join(10_000L);
+            if (isAlive()) {
+                throw new AssertionError("Request did not finish");
+            }
+            if (failure != null) {
+                throw new AssertionError(failure);
+            }
+            return body;
+        }
+    }
+
+    /**
+     * Generates a numbered response and lets the test hold the generation.
+     */
+    private static final class GeneratingChain implements FilterChain {
+
+        final AtomicInteger invocations = new AtomicInteger();
+        volatile CountDownLatch generating = new CountDownLatch(0);
+        volatile CountDownLatch release = new CountDownLatch(0);
+
+        void blockNext() {
+            generating = new CountDownLatch(1);
+            release = new CountDownLatch(1);
+        }
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response) throws IOException {
+            int invocation = invocations.incrementAndGet();
+            generating.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            response.setContentType("text/plain");
+            response.getOutputStream().write(("generated " + invocation).getBytes(UTF_8));
+        }
+    }
+
+    private static final class TestCacheHelper implements CacheHelper {
+
+        @Override
+        public void init(ServletContext context, Map<String, String> props) {
+        }
+
+        @Override
+        public String getCacheKey(HttpServletRequest request) {
+            return request.getServletPath();
+        }
+
+        @Override
+        public boolean isCacheable(HttpServletRequest request) {
+            return true;
+        }
+
+        @Override
+        public boolean isRefreshNeeded(HttpServletRequest request) {
+            return false;
+        }
+
+        @Override
+        public int getTimeout(HttpServletRequest request) {
+            return 60;
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.web.cache.filter;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpCacheEntryTest {
+
+    @Test
+    public void compressedOffHeapBody() throws Exception {
+        final String text = "<p>cached response</p>\n".repeat(100);
+        final HttpCacheEntry entry = entry("text/html; charset=UTF-8", text);
+        entry.prepareBody(true, 1024, true);
+        final byte[] gzip = new byte[entry.gzipBody.remaining()];
+        entry.gzipBody.duplicate().get(gzip);
+        assertAll(
+            () -> assertTrue(entry.compressible),
+            () -> assertTrue(entry.body.isDirect()),
+            () -> assertThat(entry.body.remaining(), equalTo(text.length())),
+            () -> assertThat(new String(new GZIPInputStream(new ByteArrayInputStream(gzip)).readAllBytes(), UTF_8),
+                equalTo(text)),
+            () -> assertThat(entry.getSize(), equalTo(text.length() + gzip.length)),
+            () -> assertTrue(entry.getEtag(true).endsWith("-gzip\"")),
+            () -> assertFalse(entry.getEtag(false).equals(entry.getEtag(true)))
+        );
+    }
+
+
+    @Test
+    public void smallAndBinaryBodiesAreNotCompressed() throws Exception {
+        final HttpCacheEntry small = entry("text/plain", "short");
+        small.prepareBody(true, 1024, false);
+        final HttpCacheEntry binary = entry("image/png", "x".repeat(2048));
+        binary.prepareBody(true, 1024, false);
+        assertAll(
+            () -> assertFalse(small.compressible),
+            () -> assertThat(small.gzipBody, nullValue()),
+            () -> assertFalse(small.body.isDirect()),
+            () -> assertFalse(binary.compressible),
+            () -> assertThat(binary.gzipBody, nullValue()),
+            () -> assertTrue(HttpCacheEntry.isCompressible("application/problem+json")),
+            () -> assertFalse(HttpCacheEntry.isCompressible(null))
+        );
+    }
+
+
+    @Test
+    public void servletEtagIsKept() throws Exception {
+        final HttpCacheEntry entry = entry("text/plain", "content");
+        entry.responseHeaders.put("etag", new ArrayList<>(List.of("\"v1\"")));
+        entry.prepareBody(true, 1024, false);
+        final HttpCacheEntry computed = entry("text/plain", "content");
+        computed.prepareBody(true, 1024, false);
+        final HttpCacheEntry same = entry("text/plain", "content");
+        same.prepareBody(true, 1024, false);
+        final HttpCacheEntry changed = entry("text/plain", "changed");
+        changed.prepareBody(true, 1024, false);
+        assertAll(
+            () -> assertThat(entry.getEtag(false), equalTo("\"v1\"")),
+            () -> assertThat(entry.getEtag(true), equalTo("\"v1-gzip\"")),
+            () -> assertThat(computed.getEtag(false), equalTo(same.getEtag(false))),
+            () -> assertFalse(computed.getEtag(false).equals(changed.getEtag(false)))
+        );
+    }
+
+
+    private static HttpCacheEntry entry(final String contentType, final String body) {
+        final HttpCacheEntry entry = new HttpCacheEntry();
+        entry.statusCode = HttpCacheEntry.VALUE_NOT_SET;
+        entry.contentType = contentType;
+        entry.body = ByteBuffer.wrap(body.getBytes(UTF_8));
+        return entry;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.web.accesslog;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AccessLogRingBufferTest {
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final WritableByteChannel channel = Channels.newChannel(output);
+
+    @Test
+    public void entriesAreWrittenInOrder() throws Exception {
+        AccessLogRingBuffer buffer = new AccessLogRingBuffer(3, 16, UTF_8);
+        assertThat(buffer.getCapacity(), equalTo(4));
+
+        assertTrue(buffer.offer(CharBuffer.wrap("first\n")));
+        assertTrue(buffer.offer(CharBuffer.wrap("second entry longer than the byte buffer\n")));
+        assertThat(buffer.drainTo(channel), equalTo(2));
+        assertTrue(buffer.offer(CharBuffer.wrap("žluťoučký kůň\n")));
+        assertThat(buffer.drainTo(channel), equalTo(1));
+        assertThat(output.toString(UTF_8), equalTo("first\nsecond entry longer than the byte buffer\nžluťoučký kůň\n"));
+    }
+
+    @Test
+    public void fullBufferRejectsEntries() throws Exception {
+        AccessLogRingBuffer buffer = new AccessLogRingBuffer(2, 1024, UTF_8);
+        assertTrue(buffer.offer(CharBuffer.wrap("1\n")));
+        assertTrue(buffer.offer(CharBuffer.wrap("2\n")));
+        CharBuffer rejected = CharBuffer.wrap("3\n");
+        assertFalse(buffer.offer(rejected));
+
+        buffer.write(rejected, channel);
+        assertThat(buffer.drainTo(channel), equalTo(2));
+        assertTrue(buffer.offer(CharBuffer.wrap("4\n")));
+        assertThat(buffer.drainTo(channel), equalTo(1));
+        assertThat(output.toString(UTF_8), equalTo("3\n1\n2\n4\n"));
+    }
+
+    @Test
+    public void concurrentProducers() throws Exception {
+        int producers = 4;
+        int entries = 10_000;
+        AccessLogRingBuffer buffer = new AccessLogRingBuffer(64, 512, UTF_8);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                String prefix = "producer-" + p + '-';
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < entries; i++) {
+                        CharBuffer entry = CharBuffer.wrap(prefix + i + '\n');
+                        while (!buffer.offer(entry)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                }));
+            }
+            int written = 0;
+            while (written < producers * entries) {
+                written += buffer.drainTo(channel);
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<String> expected = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            for (int i = 0; i < entries; i++) {
+                expected.add("producer-" + p + '-' + i);
+            }
+        }
+        assertThat(Arrays.asList(output.toString(UTF_8).split("\n")), containsInAnyOrder(expected.toArray()));
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -91,4 +92,9 @@ public class LogFacade {
             level = "WARNING")
     public static final String COULD_NOT_CREATE_BACKING_STORE = prefix + "00008";
 
+    @LogMessageInfo(
+            message = "Unable to load session attribute serializer {0}",
+            level = "WARNING")
+    public static final String UNABLE_TO_LOAD_ATTRIBUTE_SERIALIZER = prefix + "00009";
+
 }
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.web.ha.session.management;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Java serialization without the class descriptors.
+ * <p>
+ * The standard Java serialization writes a full description of every class of the value, including
+ * names and types of all its fields, and every replicated attribute pays for it again. This serializer
+ * writes just the class names and takes the description of the class from the local class, classes
+ * commonly used in sessions are written just as an index into a table shared by all instances.
+ * <p>
+ * The instances of the cluster must therefore use the same versions of the application classes,
+ * which is always true for sessions replicated between instances of the same application.
+ */
+public class CompactSessionAttributeSerializer implements SessionAttributeSerializer {
+
+    /** The first byte of the serialized form, it must differ from the Java serialization magic. */
+    static final int STREAM_FORMAT = 'G';
+
+    private static final int NAMED_DESCRIPTOR = 0;
+    private static final int INTERNED_DESCRIPTOR = 1;
+
+    /**
+     * Classes which are written just as an index into this list.
+     * The list is a part of the serialized form, new classes may be only appended.
+     */
+    private static final List<String> INTERNED_CLASSES = List.of(
+        "java.lang.Number",
+        "java.lang.Integer",
+        "java.lang.Long",
+        "java.lang.Short",
+        "java.lang.Byte",
+        "java.lang.Double",
+        "java.lang.Float",
+        "java.lang.Boolean",
+        "java.lang.Character",
+        "java.lang.Enum",
+        "java.math.BigDecimal",
+        "java.math.BigInteger",
+        "java.util.Date",
+        "java.util.Locale",
+        "java.util.UUID",
+        "java.util.ArrayList",
+        "java.util.LinkedList",
+        "java.util.Vector",
+        "java.util.HashMap",
+        "java.util.LinkedHashMap",
+        "java.util.TreeMap",
+        "java.util.Hashtable",
+        "java.util.HashSet",
+        "java.util.LinkedHashSet",
+        "java.util.TreeSet",
+        "java.util.concurrent.ConcurrentHashMap",
+        "java.util.concurrent.ConcurrentHashMap$Segment",
+        "java.util.concurrent.locks.ReentrantLock",
+        "java.util.concurrent.locks.ReentrantLock$Sync",
+        "java.util.concurrent.locks.ReentrantLock$NonfairSync",
+        "java.util.concurrent.locks.AbstractQueuedSynchronizer",
+        "java.util.concurrent.locks.AbstractOwnableSynchronizer",
+        "java.time.Ser",
+        "[Ljava.lang.Object;",
+        "[Ljava.lang.String;",
+        "[B",
+        "[I",
+        "[J",
+        "[C"
+    );
+
+    private static final Map<String, Integer> INTERNED_INDEXES = new HashMap<>();
+
+    static {
+        for (int i = 0; i < INTERNED_CLASSES.size(); i++) {
+            INTERNED_INDEXES.put(INTERNED_CLASSES.get(i), i);
+        }
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new CompactObjectOutputStream(bos)) {
+            oos.writeObject(value);
+        }
+        return bos.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] data, ClassLoader classLoader) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new CompactObjectInputStream(new ByteArrayInputStream(data), classLoader)) {
+            return ois.readObject();
+        }
+    }
+
+    private static final class CompactObjectOutputStream extends ObjectOutputStream {
+
+        CompactObjectOutputStream(OutputStream out) throws IOException {
+            super(out);
+        }
+
+        @Override
+        protected void writeStreamHeader() throws IOException {
+            writeByte(STREAM_FORMAT);
+        }
+
+        @Override
+        protected void writeClassDescriptor(ObjectStreamClass desc) throws IOException {
+            Integer index = INTERNED_INDEXES.get(desc.getName());
+            if (index == null) {
+                writeByte(NAMED_DESCRIPTOR);
+                writeUTF(desc.getName());
+            } else {
+                writeByte(INTERNED_DESCRIPTOR);
+                writeByte(index);
+            }
+        }
+    }
+
+    private static final class CompactObjectInputStream extends ObjectInputStream {
+
+        private final ClassLoader classLoader;
+
+        CompactObjectInputStream(InputStream in, ClassLoader classLoader) throws IOException {
+            super(in);
+            this.classLoader = classLoader == null ? CompactSessionAttributeSerializer.class.getClassLoader() : classLoader;
+        }
+
+        @Override
+        protected void readStreamHeader() throws IOException {
+            int format = readUnsignedByte();
+            if (format != STREAM_FORMAT) {
+                throw new StreamCorruptedException("Unsupported stream format: " + format);
+            }
+        }
+
+        @Override
+        protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+            int type = readUnsignedByte();
+            final String className;
+            if (type == NAMED_DESCRIPTOR) {
+                className = readUTF();
+            } else if (type == INTERNED_DESCRIPTOR) {
+                int index = readUnsignedByte();
+                if (index >= INTERNED_CLASSES.size()) {
+                    throw new StreamCorruptedException("Unknown interned class: " + index);
+                }
+                className = INTERNED_CLASSES.get(index);
+            } else {
+                throw new StreamCorruptedException("Unknown class descriptor type: " + type);
+            }
+            return ObjectStreamClass.lookupAny(Class.forName(className, false, classLoader));
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            try {
+                return Class.forName(desc.getName(), false, classLoader);
+            } catch (ClassNotFoundException e) {
+                return super.resolveClass(desc);
+            }
+        }
+    }
+}
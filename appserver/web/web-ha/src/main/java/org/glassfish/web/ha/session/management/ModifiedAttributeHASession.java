@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -22,6 +23,9 @@
 
 package org.glassfish.web.ha.session.management;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -284,6 +288,59 @@ public class ModifiedAttributeHASession extends BaseHASession {
         _dirtyFlag = isDirty;
     }
 
+    /**
+     * Writes the scalar state of this session, the attributes are replicated separately.
+     * Unlike the serialized session, the principal is not written, it is recreated
+     * from the user name on failover.
+     *
+     * @param out output to write to
+     * @throws IOException if writing to the output failed
+     */
+    void writeHeader(DataOutput out) throws IOException {
+        out.writeLong(creationTime);
+        out.writeLong(lastAccessedTime);
+        out.writeLong(thisAccessedTime);
+        out.writeInt(maxInactiveInterval);
+        out.writeBoolean(isNew);
+        out.writeBoolean(isValid);
+        writeString(out, id);
+        writeString(out, authType);
+        writeString(out, userName);
+        writeString(out, getSipApplicationSessionId());
+        writeString(out, getBeKey());
+    }
+
+    /**
+     * Reads the scalar state written by {@link #writeHeader(DataOutput)}.
+     *
+     * @param in input to read from
+     * @throws IOException if reading from the input failed
+     */
+    void readHeader(DataInput in) throws IOException {
+        creationTime = in.readLong();
+        lastAccessedTime = in.readLong();
+        thisAccessedTime = in.readLong();
+        maxInactiveInterval = in.readInt();
+        isNew = in.readBoolean();
+        isValid = in.readBoolean();
+        id = readString(in);
+        authType = readString(in);
+        userName = readString(in);
+        setSipApplicationSessionId(readString(in));
+        setBeKey(readString(in));
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
     /* Private Helper method to be used in HAAttributeStore only */
     Enumeration<String> privateGetAttributeList() {
 
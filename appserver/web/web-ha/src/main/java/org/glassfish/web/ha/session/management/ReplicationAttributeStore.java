@@ -1,6 +1,6 @@
 /*
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -23,7 +23,10 @@ import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.NotSerializableException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.ArrayList;
@@ -31,9 +34,16 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 import org.apache.catalina.Container;
+import org.apache.catalina.LifecycleException;
 import org.apache.catalina.Loader;
 import org.apache.catalina.Session;
 import org.apache.catalina.session.StandardSession;
@@ -47,6 +57,14 @@ import org.glassfish.ha.store.api.BackingStoreException;
  */
 public class ReplicationAttributeStore extends ReplicationStore {
 
+    /** The first byte of the compact trunk state, it must differ from the Java serialization magic. */
+    private static final byte COMPACT_TRUNK_FORMAT = 1;
+
+    private final Map<String, ModifiedAttributeHASession> pendingSaves = new ConcurrentHashMap<>();
+
+    private SessionAttributeSerializer attributeSerializer;
+    private long flushInterval;
+    private ScheduledFuture<?> flushTask;
 
     /** Creates a new instance of ReplicationAttributeStore */
     public ReplicationAttributeStore(JavaEEIOUtils ioUtils) {
@@ -54,6 +72,48 @@ public class ReplicationAttributeStore extends ReplicationStore {
         setLogLevel();
     }
 
+    /**
+     * return the serializer of the attribute values
+     */
+    public SessionAttributeSerializer getAttributeSerializer() {
+        return attributeSerializer;
+    }
+
+    /**
+     * Sets the serializer of the attribute values. If set, sessions are replicated
+     * in the compact format: the first save of a session carries just its scalar
+     * state instead of the whole serialized session, and the attribute values are
+     * serialized by the given serializer.
+     * If null, the Java serialization is used for both.
+     *
+     * @param attributeSerializer the serializer, can be null
+     */
+    public void setAttributeSerializer(SessionAttributeSerializer attributeSerializer) {
+        this.attributeSerializer = attributeSerializer;
+    }
+
+    /**
+     * return the interval in milliseconds in which the saves of a session are coalesced
+     */
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * Sets the interval in which the saves of a session are coalesced.
+     * <p>
+     * If positive, the session is not replicated after every request, but at most once
+     * per the interval with all its attributes changed meanwhile. The first save of a new
+     * session is never deferred. The deferred saves are replicated by a background task,
+     * so the replica can be older than the session by up to the interval.
+     * Must be set before the store is started.
+     *
+     * @param flushInterval the interval in milliseconds, zero to replicate after every request
+     */
+    public void setFlushInterval(long flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
     // HAStorePoolElement methods begin
 
     /**
@@ -138,6 +198,14 @@ public class ReplicationAttributeStore extends ReplicationStore {
             userName = session.getPrincipal().getName();
             ((BaseHASession)session).setUserName(userName);
         }
+        if (flushInterval > 0 && !modAttrSession.isNew()) {
+            pendingSaves.put(session.getIdInternal(), modAttrSession);
+            return;
+        }
+        replicate(modAttrSession);
+    }
+
+    private void replicate(ModifiedAttributeHASession modAttrSession) {
         BackingStore<String, CompositeMetadata> replicator = getCompositeMetadataBackingStore();
         if(_logger.isLoggable(Level.FINE)) {
             _logger.fine("ReplicationAttributeStore>>save: replicator: " + replicator);
@@ -147,10 +215,10 @@ public class ReplicationAttributeStore extends ReplicationStore {
 
         try {
             if (_logger.isLoggable(Level.FINE)) {
-                _logger.fine("CompositeMetadata is " + compositeMetadata + " id is " + session.getIdInternal());
+                _logger.fine("CompositeMetadata is " + compositeMetadata + " id is " + modAttrSession.getIdInternal());
             }
-            replicator.save(session.getIdInternal(), //id
-                    compositeMetadata, !((HASession) session).isPersistent());
+            replicator.save(modAttrSession.getIdInternal(), //id
+                    compositeMetadata, !modAttrSession.isPersistent());
             modAttrSession.resetAttributeState();
             postSaveUpdate(modAttrSession);
         } catch (BackingStoreException ex) {
@@ -158,6 +226,82 @@ public class ReplicationAttributeStore extends ReplicationStore {
         }
     }
 
+    /**
+     * Replicates the sessions whose saves were deferred by the flush interval.
+     */
+    public void flushPendingSaves() {
+        for (String id : pendingSaves.keySet()) {
+            ModifiedAttributeHASession session = pendingSaves.remove(id);
+            if (session == null) {
+                continue;
+            }
+            // A session locked by a request is left for the next flush.
+            if (!session.lockBackground()) {
+                pendingSaves.putIfAbsent(id, session);
+                continue;
+            }
+            try {
+                if (session.getIsValid()) {
+                    replicate(session);
+                }
+            } catch (RuntimeException e) {
+                _logger.log(Level.FINE, "exception occurred in flushPendingSaves id=" + id, e);
+            } finally {
+                session.unlockBackground();
+            }
+        }
+    }
+
+    @Override
+    public void remove(String id) throws IOException {
+        if (id != null) {
+            pendingSaves.remove(id);
+        }
+        super.remove(id);
+    }
+
+    @Override
+    public void processExpires() {
+        flushPendingSaves();
+        super.processExpires();
+    }
+
+    @Override
+    public void start() throws LifecycleException {
+        super.start();
+        if (flushInterval > 0) {
+            flushTask = FlushExecutor.INSTANCE.scheduleWithFixedDelay(this::flushPendingSaves, flushInterval,
+                flushInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        flushPendingSaves();
+        super.stop();
+    }
+
+    /**
+     * return the number of sessions whose saves wait for the next flush
+     */
+    int getPendingSaveCount() {
+        return pendingSaves.size();
+    }
+
+    /** One daemon thread replicating the deferred saves of all the stores. */
+    private static final class FlushExecutor {
+
+        static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ReplicationAttributeStore-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
 
     /**
      * Save the specified Session into this Store.  Any previously saved
@@ -253,75 +397,19 @@ public class ReplicationAttributeStore extends ReplicationStore {
             return null;
         }
         byte[] state = metadata.getState();
-        Session _session = null;
-        BufferedInputStream bis = null;
-        ByteArrayInputStream bais = null;
-        Loader loader = null;
-        ClassLoader classLoader = null;
-        ObjectInputStream ois = null;
         Container container = manager.getContainer();
         java.security.Principal pal=null; //MERGE chg added
-        String ssoId = null;
-        long version = 0L;
-
-        try
-        {
-            bais = new ByteArrayInputStream(state);
-            bis = new BufferedInputStream(bais);
-
-            //Get the username, ssoId from metadata
-            //ssoId = metadata.getSsoId();
-            ssoId = metadata.getStringExtraParam();
-            version = metadata.getVersion();
-            //debug("ReplicationStore.getSession()  id="+id+"  username ="+username+";");
-
-            if(_logger.isLoggable(Level.FINEST)) {
-                _logger.finest("loaded session from replicationstore, length = "+state.length);
-            }
-            if (container != null) {
-                loader = container.getLoader();
-            }
 
-            if (loader != null) {
-                classLoader = loader.getClassLoader();
-            }
-
-            if (classLoader != null) {
-
-                try {
-                    ois = ioUtils.createObjectInputStream(bis, true, classLoader);
-                } catch (Exception ex) {}
-
-            }
-            if (ois == null) {
-                ois = new ObjectInputStream(bis);
-            }
-
-            if(ois != null) {
-                try {
-                    _session = readSession(manager, ois);
-                }
-                finally {
-
-                    try {
-                        ois.close();
-                        bis = null;
-                    }
-                    catch (IOException e) {
-                    }
-                }
-            }
-        }
-        catch(ClassNotFoundException e)
-        {
-            IOException ex1 = (IOException) new IOException(
-                    "Error during deserialization: " + e.getMessage()).initCause(e);
-            throw ex1;
-        }
-        catch(IOException e)
-        {
-            throw e;
+        //Get the username, ssoId from metadata
+        //ssoId = metadata.getSsoId();
+        String ssoId = metadata.getStringExtraParam();
+        long version = metadata.getVersion();
+        if(_logger.isLoggable(Level.FINEST)) {
+            _logger.finest("loaded session from replicationstore, length = "+state.length);
         }
+        Session _session = isCompactTrunkState(state)
+            ? readCompactTrunkState(state)
+            : deserializeSession(state);
         String username = ((HASession)_session).getUserName();
         if((username !=null) && (!username.equals("")) && _session.getPrincipal() == null) {
             if (_debug > 0) {
@@ -354,16 +442,83 @@ public class ReplicationAttributeStore extends ReplicationStore {
 
         //now load entries from deserialized entries collection
         ((ModifiedAttributeHASession)_session).clearAttributeStates();
-        byte[] entriesState = metadata.getState();
-        Collection entries = null;
-        if(entriesState != null) {
-            entries = this.deserializeStatesCollection(entriesState);
-            loadAttributes((ModifiedAttributeHASession)_session, entries);
-        }
         loadAttributes((ModifiedAttributeHASession)_session, metadata.getEntries());
         return _session;
     }
 
+    private Session deserializeSession(byte[] state) throws IOException {
+        ClassLoader classLoader = getApplicationClassLoader();
+        BufferedInputStream bis = new BufferedInputStream(new ByteArrayInputStream(state));
+        ObjectInputStream ois = null;
+        if (classLoader != null) {
+            try {
+                ois = ioUtils.createObjectInputStream(bis, true, classLoader);
+            } catch (Exception ex) {}
+        }
+        if (ois == null) {
+            ois = new ObjectInputStream(bis);
+        }
+        try {
+            return readSession(manager, ois);
+        } catch(ClassNotFoundException e) {
+            throw new IOException("Error during deserialization: " + e.getMessage(), e);
+        } finally {
+            try {
+                ois.close();
+            } catch (IOException e) {
+            }
+        }
+    }
+
+    private static boolean isCompactTrunkState(byte[] state) {
+        return state.length > 0 && state[0] == COMPACT_TRUNK_FORMAT;
+    }
+
+    private byte[] getCompactTrunkState(ModifiedAttributeHASession modAttrSession) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(128);
+        try (DataOutputStream dos = new DataOutputStream(bos)) {
+            dos.writeByte(COMPACT_TRUNK_FORMAT);
+            modAttrSession.writeHeader(dos);
+        }
+        return bos.toByteArray();
+    }
+
+    private Session readCompactTrunkState(byte[] state) throws IOException {
+        ModifiedAttributeHASession session = (ModifiedAttributeHASession) manager.createEmptySession();
+        try (DataInputStream dis = new DataInputStream(new ByteArrayInputStream(state, 1, state.length - 1))) {
+            session.readHeader(dis);
+        }
+        return session;
+    }
+
+    private ClassLoader getApplicationClassLoader() {
+        Container container = manager.getContainer();
+        Loader loader = container == null ? null : container.getLoader();
+        return loader == null ? null : loader.getClassLoader();
+    }
+
+    private byte[] serializeAttribute(Object attributeValue) throws IOException {
+        if (attributeSerializer != null && attributeValue != null) {
+            try {
+                return attributeSerializer.serialize(attributeValue);
+            } catch (NotSerializableException e) {
+                if (_logger.isLoggable(Level.FINE)) {
+                    _logger.log(Level.FINE, "Attribute serializer failed, falling back to Java serialization", e);
+                }
+            }
+        }
+        return getByteArray(attributeValue);
+    }
+
+    private Object deserializeAttribute(byte[] state) throws IOException, ClassNotFoundException {
+        // Java serialization stream magic, written also if the serializer could not serialize the value.
+        boolean javaSerialized = state.length > 1 && state[0] == (byte) 0xAC && state[1] == (byte) 0xED;
+        if (attributeSerializer == null || javaSerialized) {
+            return getAttributeValue(state);
+        }
+        return attributeSerializer.deserialize(state, getApplicationClassLoader());
+    }
+
 
     //metadata related
 
@@ -396,7 +551,9 @@ public class ReplicationAttributeStore extends ReplicationStore {
         byte[] trunkState = null;
         if (modAttrSession.isNew()) {
             try {
-                trunkState = this.getByteArray(modAttrSession);
+                trunkState = attributeSerializer == null
+                    ? this.getByteArray(modAttrSession)
+                    : getCompactTrunkState(modAttrSession);
             } catch(IOException ex) {
                 //no op
             }
@@ -450,7 +607,7 @@ public class ReplicationAttributeStore extends ReplicationStore {
             nextAttrValue = ((StandardSession) modAttrSession).getAttribute(nextAttrName);
             nextValue = null;
             try {
-                nextValue = getByteArray(nextAttrValue);
+                nextValue = serializeAttribute(nextAttrValue);
             } catch (IOException ex) {}
             SessionAttributeMetadata nextAttrMetadata
                 = new SessionAttributeMetadata(nextAttrName, op, nextValue);
@@ -741,7 +898,7 @@ public class ReplicationAttributeStore extends ReplicationStore {
             byte[] nextAttrState = nextAttrMetadata.getState();
             thisAttrVal = null;
             try {
-                thisAttrVal = getAttributeValue(nextAttrState);
+                thisAttrVal = deserializeAttribute(nextAttrState);
             } catch (ClassNotFoundException ex1) {
                 //FIXME log?
             } catch (IOException ex2) {}
@@ -781,16 +938,6 @@ public class ReplicationAttributeStore extends ReplicationStore {
 */
 
 
-    private Collection deserializeStatesCollection(byte[] entriesState) {
-        Collection result = new ArrayList();
-        try {
-            result = (Collection)getAttributeValueCollection(entriesState);
-        } catch (ClassNotFoundException ex1) {
-            // FIXME log?
-        } catch (IOException ex2) {}
-        return result;
-    }
-
 /*
     private Collection deserializeStatesCollectionPrevious(byte[] entriesState) {
         Collection result = new ArrayList();
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.web.ha.session.management;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+
+/**
+ * Serializer of the session attribute values replicated by the {@link ReplicationAttributeStore}.
+ * <p>
+ * Implementations must have a public no-arg constructor and must be usable by many threads at once.
+ * The serialized form must not start with the Java serialization stream magic, because such data
+ * is always read by the Java serialization of the store. The store also falls back to the Java
+ * serialization when the serializer throws {@link NotSerializableException}, which allows to
+ * replicate container objects, like EJB references, which only the Java EE streams can replace.
+ */
+public interface SessionAttributeSerializer {
+
+    /**
+     * @param value attribute value, never null
+     * @return serialized value
+     * @throws NotSerializableException if the value cannot be serialized by this serializer
+     * @throws IOException if the serialization failed
+     */
+    byte[] serialize(Object value) throws IOException;
+
+    /**
+     * @param data data created by {@link #serialize(Object)}
+     * @param classLoader class loader of the application, can be null
+     * @return attribute value
+     * @throws IOException if the data are corrupted
+     * @throws ClassNotFoundException if a class of the value could not be found
+     */
+    Object deserialize(byte[] data, ClassLoader classLoader) throws IOException, ClassNotFoundException;
+}
@@ -23,8 +23,11 @@ import com.sun.enterprise.web.WebModule;
 
 import jakarta.inject.Inject;
 
+import java.text.MessageFormat;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import org.apache.catalina.Context;
 import org.apache.catalina.core.StandardContext;
@@ -32,6 +35,7 @@ import org.glassfish.ha.store.api.Storeable;
 import org.glassfish.ha.store.util.SimpleMetadata;
 import org.glassfish.hk2.api.PerLookup;
 import org.glassfish.web.deployment.runtime.SessionManager;
+import org.glassfish.web.ha.LogFacade;
 import org.glassfish.web.ha.session.management.CompositeMetadata;
 import org.glassfish.web.ha.session.management.FullSessionFactory;
 import org.glassfish.web.ha.session.management.HASessionStoreValve;
@@ -40,6 +44,7 @@ import org.glassfish.web.ha.session.management.ModifiedSessionFactory;
 import org.glassfish.web.ha.session.management.ReplicationAttributeStore;
 import org.glassfish.web.ha.session.management.ReplicationStore;
 import org.glassfish.web.ha.session.management.ReplicationWebEventPersistentManager;
+import org.glassfish.web.ha.session.management.SessionAttributeSerializer;
 import org.glassfish.web.ha.session.management.SessionFactory;
 import org.glassfish.web.valve.GlassFishValve;
 import org.jvnet.hk2.annotations.Service;
@@ -80,9 +85,12 @@ public class ReplicatedWebMethodSessionStrategyBuilder extends BasePersistenceSt
                     new ReplicationStore(ioUtils),
                     ctx, serverConfigLookup);
         } else if (this.getPersistenceScope().equals("modified-attribute")) {
+            ReplicationAttributeStore store = new ReplicationAttributeStore(ioUtils);
+            store.setAttributeSerializer(createAttributeSerializer());
+            store.setFlushInterval(replicationFlushInterval);
             setupReplicationWebEventPersistentManager(CompositeMetadata.class,
                     new ModifiedAttributeSessionFactory(),
-                    new ReplicationAttributeStore(ioUtils),
+                    store,
                     ctx, serverConfigLookup);
         } else {
             throw new IllegalArgumentException(this.getPersistenceScope());
@@ -110,7 +118,9 @@ public class ReplicatedWebMethodSessionStrategyBuilder extends BasePersistenceSt
         boolean disableJreplica = serverConfigLookup.getDisableJreplicaFromConfig();
         rwepMgr.setMaxActiveSessions(maxSessions);
         rwepMgr.setMaxIdleBackup(0);
-        rwepMgr.setRelaxCacheVersionSemantics(relaxCacheVersionSemantics);
+        // Coalesced saves may leave the replica behind the version known to the client.
+        rwepMgr.setRelaxCacheVersionSemantics(relaxCacheVersionSemantics
+                || (replicationFlushInterval > 0 && store instanceof ReplicationAttributeStore));
         rwepMgr.setStore(store);
         rwepMgr.setDisableJreplica(disableJreplica);
 
@@ -120,6 +130,26 @@ public class ReplicatedWebMethodSessionStrategyBuilder extends BasePersistenceSt
         }
     }
 
+    private SessionAttributeSerializer createAttributeSerializer() {
+        if (attributeSerializerClassname == null || attributeSerializerClassname.isEmpty()) {
+            return null;
+        }
+        try {
+            Class<?> serializerClass;
+            try {
+                serializerClass = getClass().getClassLoader().loadClass(attributeSerializerClassname);
+            } catch (ClassNotFoundException e) {
+                serializerClass = Thread.currentThread().getContextClassLoader().loadClass(attributeSerializerClassname);
+            }
+            return (SessionAttributeSerializer) serializerClass.getDeclaredConstructor().newInstance();
+        } catch (Exception ex) {
+            Logger logger = LogFacade.getLogger();
+            String msg = logger.getResourceBundle().getString(LogFacade.UNABLE_TO_LOAD_ATTRIBUTE_SERIALIZER);
+            logger.log(Level.WARNING, MessageFormat.format(msg, attributeSerializerClassname), ex);
+            return null;
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private <T extends Storeable>  ReplicationWebEventPersistentManager<T> getReplicationWebEventPersistentManager() {
 
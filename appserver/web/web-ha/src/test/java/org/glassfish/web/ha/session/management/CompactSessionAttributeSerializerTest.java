@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.web.ha.session.management;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompactSessionAttributeSerializerTest {
+
+    private final CompactSessionAttributeSerializer serializer = new CompactSessionAttributeSerializer();
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        Map<String, Object> cart = new HashMap<>();
+        cart.put("items", new ArrayList<>(List.of(1, 2L, "three")));
+        cart.put("total", new BigDecimal("10.50"));
+        cart.put("created", new Date(1_000L));
+        cart.put("owner", new Customer("alice", 42));
+
+        byte[] data = serializer.serialize(cart);
+
+        assertAll(
+            () -> assertEquals(CompactSessionAttributeSerializer.STREAM_FORMAT, data[0]),
+            () -> assertEquals(cart, serializer.deserialize(data, null)),
+            () -> assertEquals(new Customer("bob", 7),
+                serializer.deserialize(serializer.serialize(new Customer("bob", 7)), getClass().getClassLoader())),
+            () -> assertEquals("text", serializer.deserialize(serializer.serialize("text"), null))
+        );
+    }
+
+    @Test
+    public void testSmallerThanJavaSerialization() throws Exception {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            customers.add(new Customer("customer" + i, i));
+        }
+        int compactSize = serializer.serialize(customers).length;
+        int javaSize = javaSerialize(customers).length;
+        assertTrue(compactSize < javaSize, "compact: " + compactSize + ", java: " + javaSize);
+    }
+
+    @Test
+    public void testNotSerializableValue() {
+        assertThrows(NotSerializableException.class, () -> serializer.serialize(new Object()));
+    }
+
+    @Test
+    public void testCorruptedData() throws Exception {
+        byte[] javaSerialized = javaSerialize("text");
+        byte[] unknownInterned = serializer.serialize(Integer.valueOf(1));
+        // stream format, object tag, class descriptor tag, descriptor type, interned class index
+        assertEquals(1, unknownInterned[3]);
+        unknownInterned[4] = (byte) 0xFF;
+        assertAll(
+            () -> assertThrows(StreamCorruptedException.class, () -> serializer.deserialize(javaSerialized, null)),
+            () -> assertThrows(StreamCorruptedException.class, () -> serializer.deserialize(unknownInterned, null))
+        );
+    }
+
+    private static byte[] javaSerialize(Object value) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(value);
+        }
+        return bos.toByteArray();
+    }
+
+    private static final class Customer implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+        private final int orders;
+
+        Customer(String name, int orders) {
+            this.name = name;
+            this.orders = orders;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            return object instanceof Customer && ((Customer) object).name.equals(name)
+                && ((Customer) object).orders == orders;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, orders);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.web.ha.session.management;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import org.apache.catalina.Session;
+import org.apache.catalina.core.StandardContext;
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class ReplicationAttributeStoreTest {
+
+    private static final long CREATION_TIME = 1_000_000L;
+
+    private RecordingBackingStore backingStore;
+    private TestReplicationManager manager;
+    private ReplicationAttributeStore store;
+
+    @BeforeEach
+    public void createStore() {
+        backingStore = new RecordingBackingStore();
+        manager = new TestReplicationManager();
+        manager.setContainer(new StandardContext());
+        manager.setSessionFactory(new ModifiedAttributeSessionFactory());
+        manager.setBackingStore(backingStore);
+        store = new ReplicationAttributeStore(null);
+        store.setManager(manager);
+        store.setAttributeSerializer(new CompactSessionAttributeSerializer());
+    }
+
+    @Test
+    public void testNewSessionIsReplicatedWithCompactTrunkState() throws Exception {
+        ModifiedAttributeHASession session = createSession("s1", true);
+        session.setAuthType("FORM");
+        session.setAttribute("user", "alice");
+        session.setAttribute("count", 3);
+
+        store.valveSave(session);
+
+        assertEquals(1, backingStore.saves.size());
+        CompositeMetadata metadata = backingStore.saves.get(0);
+        ModifiedAttributeHASession restored = (ModifiedAttributeHASession) store.getSession(metadata);
+        assertAll(
+            () -> assertEquals(1, metadata.getState()[0]),
+            () -> assertEquals(Set.of("user", "count"), attributeNames(metadata)),
+            () -> assertEquals("s1", restored.getIdInternal()),
+            () -> assertEquals(CREATION_TIME, restored.getCreationTime()),
+            () -> assertEquals(1800, restored.getMaxInactiveInterval()),
+            () -> assertEquals("FORM", restored.getAuthType()),
+            () -> assertFalse(restored.isNew()),
+            () -> assertEquals("alice", restored.getAttribute("user")),
+            () -> assertEquals(3, restored.getAttribute("count"))
+        );
+    }
+
+    @Test
+    public void testSavesOfSessionAreCoalesced() throws Exception {
+        store.setFlushInterval(60_000L);
+        ModifiedAttributeHASession newSession = createSession("new", true);
+        newSession.setAttribute("a", 1);
+        store.valveSave(newSession);
+        assertEquals(1, backingStore.saves.size(), "first save of a new session is not deferred");
+
+        ModifiedAttributeHASession session = createSession("s2", false);
+        session.setPersistent(true);
+        session.setAttribute("a", 1);
+        store.valveSave(session);
+        session.setAttribute("b", 2);
+        store.valveSave(session);
+
+        assertEquals(1, backingStore.saves.size());
+        assertEquals(1, store.getPendingSaveCount());
+
+        store.flushPendingSaves();
+        assertEquals(2, backingStore.saves.size());
+        assertEquals(Set.of("a", "b"), attributeNames(backingStore.saves.get(1)));
+        assertEquals(0, store.getPendingSaveCount());
+
+        store.flushPendingSaves();
+        assertEquals(2, backingStore.saves.size());
+    }
+
+    @Test
+    public void testPendingSavesAreFlushedInBackground() throws Exception {
+        store.setFlushInterval(10L);
+        store.start();
+        try {
+            ModifiedAttributeHASession session = createSession("s3", false);
+            session.setPersistent(true);
+            session.setAttribute("a", 1);
+            store.valveSave(session);
+
+            long deadline = System.currentTimeMillis() + 10_000L;
+            while (backingStore.saves.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5L);
+            }
+            assertEquals(1, backingStore.saves.size());
+            assertEquals(0, store.getPendingSaveCount());
+        } finally {
+            store.stop();
+        }
+    }
+
+    @Test
+    public void testRemovedSessionIsNotFlushed() throws Exception {
+        store.setFlushInterval(60_000L);
+        ModifiedAttributeHASession session = createSession("s4", false);
+        session.setPersistent(true);
+        session.setAttribute("a", 1);
+        store.valveSave(session);
+
+        store.remove("s4");
+        store.flushPendingSaves();
+
+        assertEquals(0, backingStore.saves.size());
+        assertEquals(List.of("s4"), backingStore.removes);
+    }
+
+    private ModifiedAttributeHASession createSession(String id, boolean isNew) {
+        ModifiedAttributeHASession session = new ModifiedAttributeHASession(manager);
+        session.setValid(true);
+        session.setId(id);
+        session.setCreationTime(CREATION_TIME);
+        session.setMaxInactiveInterval(1800);
+        session.setNew(isNew);
+        return session;
+    }
+
+    private static Set<String> attributeNames(CompositeMetadata metadata) {
+        return metadata.getEntries().stream().map(SessionAttributeMetadata::getAttributeName)
+            .collect(Collectors.toSet());
+    }
+
+    private static final class TestReplicationManager extends ReplicationManagerBase<CompositeMetadata> {
+
+        @Override
+        public void createBackingStore(String persistenceType, String storeName, Class<CompositeMetadata> metadataClass,
+            Map<String, Object> vendorMap) {
+        }
+
+        @Override
+        public void doValveSave(Session session) {
+        }
+
+        @Override
+        public String getReplicaFromPredictor(String sessionId, String oldJreplicaValue) {
+            return null;
+        }
+    }
+
+    private static final class RecordingBackingStore extends BackingStore<String, CompositeMetadata> {
+
+        final List<CompositeMetadata> saves = new CopyOnWriteArrayList<>();
+        final List<String> removes = new CopyOnWriteArrayList<>();
+
+        @Override
+        public BackingStoreFactory getBackingStoreFactory() {
+            return null;
+        }
+
+        @Override
+        public CompositeMetadata load(String key, String version) {
+            return null;
+        }
+
+        @Override
+        public String save(String key, CompositeMetadata value, boolean isNew) {
+            saves.add(value);
+            return null;
+        }
+
+        @Override
+        public void remove(String key) {
+            removes.add(key);
+        }
+
+        @Override
+        public int removeExpired() {
+            return 0;
+        }
+
+        @Override
+        public int removeExpired(long idleForMillis) {
+            return 0;
+        }
+
+        @Override
+        public int size() {
+            return saves.size();
+        }
+
+        @Override
+        public void updateTimestamp(String key, long time) {
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+}
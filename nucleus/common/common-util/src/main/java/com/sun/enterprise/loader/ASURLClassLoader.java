@@ -93,6 +93,12 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader implements JasperA
      */
     private final Set<URLEntry> urlSet = Collections.synchronizedSet(new LinkedHashSet<>());
 
+    /**
+     * Index of {@link #urlSet} by package, built on the first lookup after the urls changed.
+     * Access only when holding the lock of this class loader.
+     */
+    private PackageIndex<URLEntry> packageIndex;
+
     /** cache of not found resources */
     private final Map<String, String> notFoundResources = new ConcurrentHashMap<>();
 
@@ -206,6 +212,7 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader implements JasperA
             // clears out the tables
             // Clear all values. Because fields are 'final' (for thread safety), cannot null them
             this.urlSet.clear();
+            this.packageIndex = null;
             this.notFoundResources.clear();
             this.notFoundClasses.clear();
         }
@@ -280,6 +287,7 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader implements JasperA
 
             // clears the "not found" cache since we are adding a new url
             clearNotFoundCaches();
+            packageIndex = null;
         } catch (IOException ioe) {
             _logger.log(Level.SEVERE, CULoggerInfo.getString(CULoggerInfo.badUrlEntry, url), ioe);
         }
@@ -450,7 +458,7 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader implements JasperA
         }
 
         synchronized(this) {
-            for (final URLEntry u : this.urlSet) {
+            for (final URLEntry u : getCandidates(name)) {
 
                 if (!u.hasItem(name)) {
                     continue;
@@ -493,7 +501,7 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader implements JasperA
             return Collections.emptyEnumeration();
         }
 
-        for (URLEntry urlEntry : this.urlSet) {
+        for (URLEntry urlEntry : getCandidates(name)) {
             final URL url = findResource0(urlEntry, name);
             if (url != null) {
                 resourcesList.add(url);
@@ -508,6 +516,29 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader implements JasperA
     }
 
 
+    /**
+     * Returns the url entries which may contain the given class or resource,
+     * so the jars not containing its package are not searched.
+     *
+     * @param name entry name of the class or resource
+     * @return url entries in the search order
+     */
+    private synchronized List<URLEntry> getCandidates(String name) {
+        if (packageIndex == null) {
+            PackageIndex<URLEntry> index = new PackageIndex<>();
+            for (URLEntry urlEntry : urlSet) {
+                if (urlEntry.isJar) {
+                    index.addJar(urlEntry, urlEntry.zip);
+                } else {
+                    index.addDirectory(urlEntry);
+                }
+            }
+            packageIndex = index;
+        }
+        return packageIndex.getCandidates(name);
+    }
+
+
     /**
      * Checks the manifest of the given jar file.
      *
@@ -707,7 +738,7 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader implements JasperA
         // search through the JARs for a file of the form java/lang/Object.class
         String entryName = name.replace('.', '/') + ".class";
 
-        for (URLEntry u : this.urlSet) {
+        for (URLEntry u : getCandidates(entryName)) {
             if (!u.hasItem(entryName)) {
                 continue;
             }
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.loader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+
+/**
+ * Index of class path elements by the directories of their entries, which are the packages
+ * for classes.
+ * <p>
+ * Class loaders search their class path elements one after another. With hundreds of jars,
+ * the lookup of a class or resource is dominated by the jars which do not contain it. The index
+ * returns only the elements which may contain the entry, in the class path order:
+ * <ul>
+ * <li>jars containing an entry in the same directory,
+ * <li>all directories, as their content can change.
+ * </ul>
+ * The candidates are still asked for the entry itself, the index just skips the other jars.
+ * <p>
+ * The index is built from the central directories which the opened {@link JarFile}s already
+ * hold in memory. It is not thread safe while being built, it must be safely published
+ * and not modified afterwards.
+ *
+ * @param <T> type of the class path element
+ */
+public final class PackageIndex<T> {
+
+    private static final String VERSIONS_PREFIX = "META-INF/versions/";
+
+    private final Map<String, List<T>> packages = new HashMap<>();
+    private final List<T> directories = new ArrayList<>();
+
+    /**
+     * Adds a jar as the next element of the class path.
+     *
+     * @param element the element
+     * @param jar opened jar file of the element
+     */
+    public void addJar(T element, JarFile jar) {
+        Enumeration<? extends ZipEntry> entries = jar.entries();
+        while (entries.hasMoreElements()) {
+            String name = entries.nextElement().getName();
+            add(element, getPackage(name));
+            if (name.startsWith(VERSIONS_PREFIX)) {
+                // Multi-release jar: META-INF/versions/{n}/{entry} is found under {entry}
+                int versionEnd = name.indexOf('/', VERSIONS_PREFIX.length());
+                if (versionEnd > 0) {
+                    add(element, getPackage(name.substring(versionEnd + 1)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a directory as the next element of the class path.
+     *
+     * @param element the element
+     */
+    public void addDirectory(T element) {
+        directories.add(element);
+        for (List<T> elements : packages.values()) {
+            elements.add(element);
+        }
+    }
+
+    /**
+     * @param path path of the class or resource, like {@code org/glassfish/Foo.class}
+     * @return elements which may contain the path, in the order they were added
+     */
+    public List<T> getCandidates(String path) {
+        List<T> elements = packages.get(getPackage(path));
+        if (elements == null) {
+            return Collections.unmodifiableList(directories);
+        }
+        return Collections.unmodifiableList(elements);
+    }
+
+    private void add(T element, String packageName) {
+        List<T> elements = packages.get(packageName);
+        if (elements == null) {
+            // The directories added before this jar precede it
+            elements = new ArrayList<>(directories);
+            packages.put(packageName, elements);
+        }
+        // Elements are added one after another, so the jar is the last one if it was already added
+        if (elements.isEmpty() || elements.get(elements.size() - 1) != element) {
+            elements.add(element);
+        }
+    }
+
+    /**
+     * @param path entry path
+     * @return the path of the parent directory of the entry, empty for root entries
+     */
+    static String getPackage(String path) {
+        int end = path.length();
+        if (end > 0 && path.charAt(end - 1) == '/') {
+            // Directory entry, like org/glassfish/
+            end--;
+        }
+        int separator = path.lastIndexOf('/', end - 1);
+        return separator < 0 ? "" : path.substring(0, separator);
+    }
+}
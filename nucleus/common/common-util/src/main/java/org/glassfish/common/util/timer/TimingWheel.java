@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.common.util.timer;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hierarchical timing wheel scheduling one-shot tasks.
+ * <p>
+ * The time is divided into ticks. The wheel has {@value #LEVELS} levels of {@value #WHEEL_SIZE} buckets, a bucket
+ * of the first level holds the tasks expiring in a single tick, a bucket of every next level spans all buckets of the
+ * previous level. A task is put to the lowest level which can hold its expiration. When the first level turns around,
+ * the next bucket of the second level is cascaded to the first one, and so on, so tasks move down as their expiration
+ * approaches. Tasks scheduled further than all levels span are held in the last level and placed again when reached.
+ * <p>
+ * Scheduling and cancelling a task is O(1) and does not lock: the task is just queued, and the single worker thread
+ * moves it into or out of the wheel on the next tick. Expired tasks are run by the executor, or directly by the worker
+ * thread if there is none. The tasks are run at most one tick after their expiration, unless the worker is late.
+ */
+public final class TimingWheel {
+
+    private static final Logger LOG = Logger.getLogger(TimingWheel.class.getName());
+
+    private static final int WHEEL_BITS = 9;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_TICKS = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    private static final int WAITING = 0;
+    private static final int EXPIRED = 1;
+    private static final int CANCELLED = 2;
+
+    private final long tickNanos;
+    private final Executor executor;
+    private final Bucket[][] buckets = new Bucket[LEVELS][WHEEL_SIZE];
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final long startNanos;
+    private final Thread worker;
+
+    private volatile boolean stopped;
+
+    /** The last processed tick, accessed only by the worker thread. */
+    private long currentTick;
+
+    /**
+     * Creates the wheel and starts its worker thread.
+     *
+     * @param name name of the worker thread
+     * @param tickMillis length of a tick, the precision of the wheel
+     * @param executor executor running the expired tasks, null to run them by the worker thread
+     */
+    public TimingWheel(String name, long tickMillis, Executor executor) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive: " + tickMillis);
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.executor = executor;
+        for (Bucket[] level : buckets) {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                level[i] = new Bucket();
+            }
+        }
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        // The worker outlives applications, it must not hold their class loader.
+        this.worker.setContextClassLoader(TimingWheel.class.getClassLoader());
+        this.worker.start();
+    }
+
+    /**
+     * Schedules the task.
+     *
+     * @param task task to run
+     * @param delayMillis delay from now, the task is run on the next tick if not positive
+     * @return handle of the scheduled task
+     */
+    public Timeout schedule(Runnable task, long delayMillis) {
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(delayMillis, 0L));
+        // Round up, the task must not run before its deadline.
+        long deadlineTick = (deadlineNanos - startNanos + tickNanos - 1) / tickNanos;
+        Timeout timeout = new Timeout(this, task, deadlineTick);
+        size.incrementAndGet();
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * @return number of scheduled tasks, which neither expired nor were cancelled
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Stops the worker thread, tasks which did not expire yet are never run.
+     */
+    public void stop() {
+        stopped = true;
+        LockSupport.unpark(worker);
+    }
+
+    private void run() {
+        while (!stopped) {
+            long waitNanos = startNanos + (currentTick + 1) * tickNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(this, waitNanos);
+                continue;
+            }
+            currentTick++;
+            try {
+                removeCancelled();
+                addScheduled();
+                cascade();
+                expire(buckets[0][(int) (currentTick & WHEEL_MASK)]);
+            } catch (Throwable t) {
+                LOG.log(Level.SEVERE, "Timing wheel tick " + currentTick + " failed", t);
+            }
+        }
+    }
+
+    private void removeCancelled() {
+        for (Timeout timeout = cancelled.poll(); timeout != null; timeout = cancelled.poll()) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void addScheduled() {
+        for (Timeout timeout = scheduled.poll(); timeout != null; timeout = scheduled.poll()) {
+            if (timeout.state.get() == WAITING) {
+                place(timeout);
+            }
+        }
+    }
+
+    private void cascade() {
+        int levels = 0;
+        while (levels + 1 < LEVELS && (currentTick & ((1L << (WHEEL_BITS * (levels + 1))) - 1)) == 0) {
+            levels++;
+        }
+        for (int level = levels; level > 0; level--) {
+            Bucket bucket = buckets[level][(int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK)];
+            for (Timeout timeout = bucket.poll(); timeout != null; timeout = bucket.poll()) {
+                place(timeout);
+            }
+        }
+    }
+
+    private void expire(Bucket bucket) {
+        for (Timeout timeout = bucket.poll(); timeout != null; timeout = bucket.poll()) {
+            if (timeout.deadlineTick > currentTick) {
+                // Scheduled beyond the span of the wheel.
+                place(timeout);
+            } else if (timeout.state.compareAndSet(WAITING, EXPIRED)) {
+                size.decrementAndGet();
+                dispatch(timeout.task);
+            }
+        }
+    }
+
+    private void place(Timeout timeout) {
+        long ticks = timeout.deadlineTick - currentTick;
+        if (ticks <= 0) {
+            if (timeout.state.compareAndSet(WAITING, EXPIRED)) {
+                size.decrementAndGet();
+                dispatch(timeout.task);
+            }
+            return;
+        }
+        long tick = currentTick + Math.min(ticks, MAX_TICKS);
+        int level = 0;
+        while (ticks >= 1L << (WHEEL_BITS * (level + 1)) && level + 1 < LEVELS) {
+            level++;
+        }
+        buckets[level][(int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK)].add(timeout);
+    }
+
+    private void dispatch(Runnable task) {
+        if (executor != null) {
+            try {
+                executor.execute(task);
+                return;
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Executor rejected the expired task, running it on the timing wheel thread.", e);
+            }
+        }
+        try {
+            task.run();
+        } catch (Throwable t) {
+            LOG.log(Level.WARNING, "Expired task failed", t);
+        }
+    }
+
+    /**
+     * Handle of a scheduled task.
+     */
+    public static final class Timeout {
+
+        private final TimingWheel wheel;
+        private final Runnable task;
+        private final long deadlineTick;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        // Accessed only by the worker thread.
+        private Bucket bucket;
+        private Timeout previous;
+        private Timeout next;
+
+        private Timeout(TimingWheel wheel, Runnable task, long deadlineTick) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * Cancels the task.
+         *
+         * @return true if the task was cancelled, false if it already expired or was cancelled before
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(WAITING, CANCELLED)) {
+                return false;
+            }
+            wheel.size.decrementAndGet();
+            wheel.cancelled.add(this);
+            return true;
+        }
+
+        /**
+         * @return true if the task was cancelled
+         */
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+    }
+
+    /**
+     * Doubly linked list of timeouts, accessed only by the worker thread.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.previous = null;
+            timeout.next = head;
+            if (head != null) {
+                head.previous = timeout;
+            }
+            head = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.previous == null) {
+                head = timeout.next;
+            } else {
+                timeout.previous.next = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.bucket = null;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+
+        Timeout poll() {
+            Timeout timeout = head;
+            if (timeout != null) {
+                remove(timeout);
+            }
+            return timeout;
+        }
+    }
+}
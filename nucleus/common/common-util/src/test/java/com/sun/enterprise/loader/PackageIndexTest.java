@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.loader;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+public class PackageIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void candidatesAreJarsWithThePackageAndDirectories() throws Exception {
+        PackageIndex<String> index = new PackageIndex<>();
+        try (JarFile api = createJar("api.jar", "org/acme/api/", "org/acme/api/Service.class", "META-INF/MANIFEST.MF");
+            JarFile impl = createJar("impl.jar", "org/acme/impl/ServiceImpl.class", "org/acme/api/Service.properties",
+                "META-INF/versions/17/org/acme/mr/Feature.class", "root.txt")) {
+            index.addJar("api", api);
+            index.addDirectory("classes");
+            index.addJar("impl", impl);
+        }
+
+        assertThat(index.getCandidates("org/acme/api/Service.class"), contains("api", "classes", "impl"));
+        assertThat(index.getCandidates("org/acme/api/Other.class"), contains("api", "classes", "impl"));
+        assertThat(index.getCandidates("org/acme/impl/ServiceImpl.class"), contains("classes", "impl"));
+        assertThat(index.getCandidates("org/acme/mr/Feature.class"), contains("classes", "impl"));
+        assertThat(index.getCandidates("META-INF/MANIFEST.MF"), contains("api", "classes"));
+        assertThat(index.getCandidates("root.txt"), contains("classes", "impl"));
+        assertThat(index.getCandidates("org/acme/api/"), contains("api", "classes"));
+        assertThat(index.getCandidates("org/unknown/Foo.class"), contains("classes"));
+    }
+
+    @Test
+    public void withoutDirectoriesUnknownPackageHasNoCandidates() throws Exception {
+        PackageIndex<String> index = new PackageIndex<>();
+        try (JarFile jar = createJar("a.jar", "a/A.class")) {
+            index.addJar("a", jar);
+        }
+        assertThat(index.getCandidates("b/B.class"), empty());
+    }
+
+    @Test
+    public void packageOfPath() {
+        assertThat(PackageIndex.getPackage("a/b/C.class"), equalTo("a/b"));
+        assertThat(PackageIndex.getPackage("a/b/"), equalTo("a"));
+        assertThat(PackageIndex.getPackage("a/b"), equalTo("a"));
+        assertThat(PackageIndex.getPackage("C.class"), equalTo(""));
+        assertThat(PackageIndex.getPackage(""), equalTo(""));
+    }
+
+    private JarFile createJar(String name, String... entries) throws Exception {
+        Path path = tempDir.resolve(name);
+        try (OutputStream os = Files.newOutputStream(path); JarOutputStream jos = new JarOutputStream(os)) {
+            for (String entry : entries) {
+                jos.putNextEntry(new JarEntry(entry));
+                jos.closeEntry();
+            }
+        }
+        return new JarFile(path.toFile());
+    }
+}
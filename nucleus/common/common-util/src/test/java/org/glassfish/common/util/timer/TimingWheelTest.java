@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.common.util.timer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+public class TimingWheelTest {
+
+    private TimingWheel wheel;
+
+    @BeforeEach
+    public void createWheel() {
+        wheel = new TimingWheel("test-wheel", 1, null);
+    }
+
+    @AfterEach
+    public void stopWheel() {
+        wheel.stop();
+    }
+
+    @Test
+    public void testTasksRunNotBeforeTheirDelay() throws Exception {
+        int count = 2_000;
+        CountDownLatch latch = new CountDownLatch(count);
+        AtomicInteger early = new AtomicInteger();
+        for (int i = 0; i < count; i++) {
+            // Up to 1.5 seconds, so the tasks are cascaded from the second level.
+            long delay = i * 3 % 1_500;
+            long due = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+            wheel.schedule(() -> {
+                if (System.nanoTime() < due) {
+                    early.incrementAndGet();
+                }
+                latch.countDown();
+            }, delay);
+        }
+
+        assertThat(latch.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(early.get(), is(0));
+        assertThat(wheel.size(), is(0));
+    }
+
+    @Test
+    public void testCancelledTasksDoNotRun() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        for (int i = 0; i < 100; i++) {
+            TimingWheel.Timeout timeout = wheel.schedule(runs::incrementAndGet, 50);
+            assertThat(timeout.cancel(), is(true));
+            assertThat(timeout.cancel(), is(false));
+            assertThat(timeout.isCancelled(), is(true));
+        }
+        long start = System.nanoTime();
+        wheel.schedule(latch::countDown, 100);
+
+        assertThat(latch.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(System.nanoTime() - start, greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100)));
+        assertThat(runs.get(), is(0));
+        assertThat(wheel.size(), is(0));
+    }
+
+    @Test
+    public void testExpiredTaskCannotBeCancelled() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        TimingWheel.Timeout timeout = wheel.schedule(latch::countDown, 0);
+
+        assertThat(latch.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(timeout.cancel(), is(false));
+    }
+}
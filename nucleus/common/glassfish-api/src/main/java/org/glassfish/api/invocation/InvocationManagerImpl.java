@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2008, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -22,11 +22,11 @@ import jakarta.inject.Singleton;
 
 import java.lang.System.Logger;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Stack;
 
 import org.glassfish.api.invocation.ComponentInvocation.ComponentInvocationType;
 import org.glassfish.hk2.api.IterableProvider;
@@ -44,14 +44,13 @@ public class InvocationManagerImpl implements InvocationManager {
     // The ArrayList contains ComponentInvocation objects which represent
     // the stack of invocations on this thread. Accesses to the ArrayList
     // don't need to be synchronized because each thread has its own ArrayList.
-    private InheritableThreadLocal<InvocationArray<ComponentInvocation>> frames;
+    // The value is null until the first invocation, so threads which never
+    // run a component invocation, like most virtual threads, hold nothing.
+    private final InheritableThreadLocal<InvocationArray<ComponentInvocation>> frames;
 
-    private final ThreadLocal<Stack<ApplicationEnvironment>> applicationEnvironments = new ThreadLocal<>() {
-        @Override
-        protected Stack<ApplicationEnvironment> initialValue() {
-            return new Stack<>();
-        }
-    };
+    // Immutable linked frames, so pushing shares the rest of the stack
+    // and the value is removed when the stack is empty.
+    private final ThreadLocal<AppEnvironmentFrame> applicationEnvironments = new ThreadLocal<>();
 
     private final Map<ComponentInvocationType, List<RegisteredComponentInvocationHandler>> regCompInvHandlerMap = new HashMap<>();
 
@@ -79,10 +78,6 @@ public class InvocationManagerImpl implements InvocationManager {
         }
 
         frames = new InheritableThreadLocal<>() {
-            @Override
-            protected InvocationArray<ComponentInvocation> initialValue() {
-                return new InvocationArray<>();
-            }
 
             // if this is a thread created by user in servlet's service method
             // create a new ComponentInvocation with transaction
@@ -91,37 +86,36 @@ public class InvocationManagerImpl implements InvocationManager {
             @Override
             protected InvocationArray<ComponentInvocation> childValue(
                 final InvocationArray<ComponentInvocation> parentValue) {
-                // always creates a new ArrayList
-                InvocationArray<ComponentInvocation> result = new InvocationArray<>();
-                if (!parentValue.isEmpty() && parentValue.outsideStartup()) {
-                    // get current invocation
-                    ComponentInvocation parentInv = parentValue.get(parentValue.size() - 1);
-                    /*
-                     * TODO: The following is ugly. The logic of what needs to be in the new ComponentInvocation should be with the
-                     * respective container
-                     */
-                    if (parentInv.getInvocationType() == ComponentInvocationType.SERVLET_INVOCATION) {
-
-                        ComponentInvocation inv = new ComponentInvocation();
-                        inv.componentId = parentInv.getComponentId();
-                        inv.setComponentInvocationType(parentInv.getInvocationType());
-                        inv.instance = null;
-                        inv.container = parentInv.getContainerContext();
-                        inv.transaction = null;
-                        result.add(inv);
-                    } else if (parentInv.getInvocationType() != ComponentInvocationType.EJB_INVOCATION) {
-                        // Push a copy of invocation onto the new result
-                        // ArrayList
-                        ComponentInvocation cpy = new ComponentInvocation();
-                        cpy.componentId = parentInv.getComponentId();
-                        cpy.setComponentInvocationType(parentInv.getInvocationType());
-                        cpy.instance = parentInv.getInstance();
-                        cpy.container = parentInv.getContainerContext();
-                        cpy.transaction = parentInv.getTransaction();
-                        result.add(cpy);
-                    }
+                if (parentValue == null || parentValue.isEmpty() || !parentValue.outsideStartup()) {
+                    // Nothing to inherit, the child thread creates its own array when needed
+                    return null;
+                }
+                // get current invocation
+                ComponentInvocation parentInv = parentValue.get(parentValue.size() - 1);
+                /*
+                 * TODO: The following is ugly. The logic of what needs to be in the new ComponentInvocation should be with the
+                 * respective container
+                 */
+                if (parentInv.getInvocationType() == ComponentInvocationType.SERVLET_INVOCATION) {
+                    ComponentInvocation inv = new ComponentInvocation();
+                    inv.componentId = parentInv.getComponentId();
+                    inv.setComponentInvocationType(parentInv.getInvocationType());
+                    inv.instance = null;
+                    inv.container = parentInv.getContainerContext();
+                    inv.transaction = null;
+                    return new InvocationArray<>(inv);
+                } else if (parentInv.getInvocationType() != ComponentInvocationType.EJB_INVOCATION) {
+                    // Push a copy of invocation onto the new result
+                    // ArrayList
+                    ComponentInvocation cpy = new ComponentInvocation();
+                    cpy.componentId = parentInv.getComponentId();
+                    cpy.setComponentInvocationType(parentInv.getInvocationType());
+                    cpy.instance = parentInv.getInstance();
+                    cpy.container = parentInv.getContainerContext();
+                    cpy.transaction = parentInv.getTransaction();
+                    return new InvocationArray<>(cpy);
                 }
-                return result;
+                return null;
             }
         };
     }
@@ -130,6 +124,10 @@ public class InvocationManagerImpl implements InvocationManager {
     public <T extends ComponentInvocation> void preInvoke(T invocation) throws InvocationException {
         LOG.log(DEBUG, "preInvoke(invocation={0})", invocation);
         InvocationArray<ComponentInvocation> invocations = frames.get();
+        if (invocations == null) {
+            invocations = new InvocationArray<>();
+            frames.set(invocations);
+        }
         if (invocation.getInvocationType() == ComponentInvocationType.SERVICE_STARTUP) {
             invocations.setInvocationAttribute(ComponentInvocationType.SERVICE_STARTUP);
             return;
@@ -177,11 +175,14 @@ public class InvocationManagerImpl implements InvocationManager {
         // Get this thread's ArrayList
         InvocationArray<ComponentInvocation> invocations = frames.get();
         if (invocation.getInvocationType() == ComponentInvocationType.SERVICE_STARTUP) {
-            invocations.setInvocationAttribute(ComponentInvocationType.UN_INITIALIZED);
+            if (invocations != null) {
+                invocations.setInvocationAttribute(ComponentInvocationType.UN_INITIALIZED);
+                releaseIfEmpty(invocations);
+            }
             return;
         }
 
-        int beforeSize = invocations.size();
+        int beforeSize = invocations == null ? 0 : invocations.size();
         if (beforeSize == 0) {
             throw new InvocationException("BeforeSize is null.");
         }
@@ -204,6 +205,7 @@ public class InvocationManagerImpl implements InvocationManager {
         } finally {
             // pop the stack
             invocations.remove(beforeSize - 1);
+            releaseIfEmpty(invocations);
 
             if (invHandlers != null) {
                 for (ComponentInvocationHandler handler : invHandlers) {
@@ -236,6 +238,9 @@ public class InvocationManagerImpl implements InvocationManager {
     @Override
     public <T extends ComponentInvocation> T getCurrentInvocation() {
         InvocationArray<ComponentInvocation> v = frames.get();
+        if (v == null) {
+            return null;
+        }
         int size = v.size();
         if (size == 0) {
             return null;
@@ -249,6 +254,9 @@ public class InvocationManagerImpl implements InvocationManager {
     @Override
     public <T extends ComponentInvocation> T getPreviousInvocation() throws InvocationException {
         InvocationArray<ComponentInvocation> v = frames.get();
+        if (v == null) {
+            return null;
+        }
         int i = v.size();
         if (i < 2) {
             return null;
@@ -258,13 +266,35 @@ public class InvocationManagerImpl implements InvocationManager {
 
     @Override
     public List<ComponentInvocation> getAllInvocations() {
-        return frames.get();
+        InvocationArray<ComponentInvocation> v = frames.get();
+        return v == null ? Collections.emptyList() : v;
+    }
+
+    /**
+     * Removes the array of this thread once it holds nothing, so idle and finished threads
+     * don't keep it. The next invocation on the thread creates a new one.
+     */
+    private void releaseIfEmpty(InvocationArray<ComponentInvocation> invocations) {
+        if (invocations.isEmpty() && invocations.outsideStartup()) {
+            frames.remove();
+        }
     }
 
     static class InvocationArray<T extends ComponentInvocation> extends java.util.ArrayList<T> {
         private static final long serialVersionUID = 1L;
         private ComponentInvocationType invocationAttribute;
 
+        InvocationArray() {
+        }
+
+        /**
+         * Creates the array of a child thread, holding just the inherited invocation.
+         */
+        InvocationArray(T inherited) {
+            super(4);
+            add(inherited);
+        }
+
         public void setInvocationAttribute(ComponentInvocationType attribute) {
             this.invocationAttribute = attribute;
         }
@@ -292,24 +322,36 @@ public class InvocationManagerImpl implements InvocationManager {
 
     @Override
     public void pushAppEnvironment(ApplicationEnvironment env) {
-        Stack<ApplicationEnvironment> stack = applicationEnvironments.get();
-        stack.push(env);
+        applicationEnvironments.set(new AppEnvironmentFrame(env, applicationEnvironments.get()));
     }
 
     @Override
     public ApplicationEnvironment peekAppEnvironment() {
-        Stack<ApplicationEnvironment> stack = applicationEnvironments.get();
-        if (stack.isEmpty()) {
-            return null;
-        }
-        return stack.peek();
+        AppEnvironmentFrame frame = applicationEnvironments.get();
+        return frame == null ? null : frame.environment;
     }
 
     @Override
     public void popAppEnvironment() {
-        Stack<ApplicationEnvironment> stack = applicationEnvironments.get();
-        if (!stack.isEmpty()) {
-            stack.pop();
+        AppEnvironmentFrame frame = applicationEnvironments.get();
+        if (frame == null) {
+            return;
+        }
+        if (frame.previous == null) {
+            applicationEnvironments.remove();
+        } else {
+            applicationEnvironments.set(frame.previous);
+        }
+    }
+
+    private static final class AppEnvironmentFrame {
+
+        private final ApplicationEnvironment environment;
+        private final AppEnvironmentFrame previous;
+
+        AppEnvironmentFrame(ApplicationEnvironment environment, AppEnvironmentFrame previous) {
+            this.environment = environment;
+            this.previous = previous;
         }
     }
 }
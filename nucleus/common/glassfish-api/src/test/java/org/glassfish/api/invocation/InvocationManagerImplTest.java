@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.api.invocation;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.glassfish.api.invocation.ComponentInvocation.ComponentInvocationType;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InvocationManagerImplTest {
+
+    private final InvocationManagerImpl manager = new InvocationManagerImpl();
+
+    @Test
+    public void invocationStack() throws Exception {
+        assertTrue(manager.isInvocationStackEmpty());
+        assertThat(manager.getCurrentInvocation(), nullValue());
+        assertThat(manager.getAllInvocations(), empty());
+
+        ComponentInvocation first = invocation("first", ComponentInvocationType.SERVLET_INVOCATION);
+        ComponentInvocation second = invocation("second", ComponentInvocationType.EJB_INVOCATION);
+        manager.preInvoke(first);
+        manager.preInvoke(second);
+        assertAll(
+            () -> assertThat(manager.getCurrentInvocation(), sameInstance(second)),
+            () -> assertThat(manager.getPreviousInvocation(), sameInstance(first)),
+            () -> assertThat(manager.getAllInvocations(), contains(first, second))
+        );
+
+        manager.postInvoke(second);
+        manager.postInvoke(first);
+        assertTrue(manager.isInvocationStackEmpty());
+        assertThat(manager.getPreviousInvocation(), nullValue());
+        assertThrows(InvocationException.class, () -> manager.postInvoke(first));
+    }
+
+    @Test
+    public void childThreadInheritsServletInvocationWithoutTransaction() throws Exception {
+        ComponentInvocation servlet = new ComponentInvocation("servlet", ComponentInvocationType.SERVLET_INVOCATION, "instance",
+            "container", "transaction");
+        manager.preInvoke(servlet);
+        try {
+            List<? extends ComponentInvocation> inherited = runInNewThread(manager::getAllInvocations);
+            assertThat(inherited.size(), equalTo(1));
+            ComponentInvocation copy = inherited.get(0);
+            assertAll(
+                () -> assertThat(copy, not(sameInstance(servlet))),
+                () -> assertThat(copy.getComponentId(), equalTo("servlet")),
+                () -> assertThat(copy.getContainerContext(), equalTo("container")),
+                () -> assertThat(copy.getInstance(), nullValue()),
+                () -> assertThat(copy.getTransaction(), nullValue())
+            );
+        } finally {
+            manager.postInvoke(servlet);
+        }
+    }
+
+    @Test
+    public void childThreadDoesNotInheritEjbInvocation() throws Exception {
+        ComponentInvocation ejb = invocation("ejb", ComponentInvocationType.EJB_INVOCATION);
+        manager.preInvoke(ejb);
+        try {
+            assertThat(runInNewThread(manager::getAllInvocations), empty());
+        } finally {
+            manager.postInvoke(ejb);
+        }
+        assertThat(runInNewThread(manager::getAllInvocations), empty());
+    }
+
+    @Test
+    public void appEnvironmentStack() {
+        ApplicationEnvironment first = () -> "first";
+        ApplicationEnvironment second = () -> "second";
+        assertThat(manager.peekAppEnvironment(), nullValue());
+        manager.pushAppEnvironment(first);
+        manager.pushAppEnvironment(second);
+        assertThat(manager.peekAppEnvironment(), sameInstance(second));
+        assertThat(runInNewThread(manager::peekAppEnvironment), nullValue());
+        manager.popAppEnvironment();
+        assertThat(manager.peekAppEnvironment(), sameInstance(first));
+        manager.popAppEnvironment();
+        assertThat(manager.peekAppEnvironment(), nullValue());
+        manager.popAppEnvironment();
+        assertThat(manager.peekAppEnvironment(), nullValue());
+    }
+
+    private static ComponentInvocation invocation(String componentId, ComponentInvocationType type) {
+        return new ComponentInvocation(componentId, type, null, "container", null);
+    }
+
+    private static <T> T runInNewThread(Supplier<T> supplier) {
+        AtomicReference<T> result = new AtomicReference<>();
+        Thread thread = Thread.ofVirtual().start(() -> result.set(supplier.get()));
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return result.get();
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2022 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2008, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -21,10 +21,10 @@ import jakarta.inject.Inject;
 import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.glassfish.api.deployment.DeploymentContext;
 import org.glassfish.api.invocation.ComponentInvocation;
@@ -49,9 +49,10 @@ public class ApplicationRegistry {
     @Inject
     Provider<InvocationManager> invocationManagerProvider;
 
-    private Map<String, ApplicationInfo> deployedApplications = new HashMap<>();
+    // Applications may be deployed concurrently, see ApplicationLoaderService
+    private final Map<String, ApplicationInfo> deployedApplications = new ConcurrentHashMap<>();
 
-    public synchronized void add(String name, ApplicationInfo info) {
+    public void add(String name, ApplicationInfo info) {
         deployedApplications.put(name, info);
     }
 
@@ -59,7 +60,7 @@ public class ApplicationRegistry {
         return deployedApplications.get(name);
     }
 
-    public synchronized void remove(String name) {
+    public void remove(String name) {
         deployedApplications.remove(name);
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2022 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2006, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -21,9 +21,9 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.glassfish.api.container.Sniffer;
 import org.glassfish.hk2.api.ServiceLocator;
@@ -41,7 +41,7 @@ public class ContainerRegistry {
     @Inject
     ServiceLocator serviceLocator;
 
-    Map<String, EngineInfo<?, ?>> containers = new HashMap<>();
+    Map<String, EngineInfo<?, ?>> containers = new ConcurrentHashMap<>();
 
     public synchronized void addContainer(String name, EngineInfo<?, ?> info) {
         containers.put(name, info);
@@ -58,7 +58,7 @@ public class ContainerRegistry {
         return sniffers;
     }
 
-    public synchronized EngineInfo<?, ?> getContainer(String name) {
+    public EngineInfo<?, ?> getContainer(String name) {
         return containers.get(name);
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2022 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2006, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -39,7 +39,7 @@ public class EngineInfo<T extends Container, U extends ApplicationContainer<?>>
     final ServiceHandle<T> container;
     final Sniffer sniffer;
     ContainerRegistry registry;
-    Deployer<T, U> deployer;
+    volatile Deployer<T, U> deployer;
 
     /**
      * Creates a new ContractProvider info with references to the container, the sniffer and the connector module
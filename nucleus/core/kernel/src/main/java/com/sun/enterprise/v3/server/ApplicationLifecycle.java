@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2025 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2008, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -783,12 +783,12 @@ public class ApplicationLifecycle implements Deployment, PostConstruct {
             // Start all the containers associated with sniffers.
             if (areSomeContainersNotStarted(containerNames)) {
                 // Need to synchronize on the registry to not end up starting the same container from
-                // different threads.
-                Collection<EngineInfo<?, ?>> containersInfo = null;
+                // different threads. The containers are started under the lock too, as applications
+                // may be deployed concurrently and must not see a container without its deployer.
                 synchronized (containerRegistry) {
                     if (areSomeContainersNotStarted(containerNames)) {
                         traceContainers(tracing, containerNames, DeploymentTracing.ContainerMark.BEFORE_CONTAINER_SETUP);
-                        containersInfo = setupContainer(sniffer, LOG, context);
+                        Collection<EngineInfo<?, ?>> containersInfo = setupContainer(sniffer, LOG, context);
 
                         traceContainers(tracing, containerNames, DeploymentTracing.ContainerMark.AFTER_CONTAINER_SETUP);
 
@@ -797,14 +797,14 @@ public class ApplicationLifecycle implements Deployment, PostConstruct {
                             report.failure(LOG, msg, null);
                             throw new Exception(msg);
                         }
-                    }
-                }
 
-                // Now start all containers, by now, they should be all setup...
-                if (containersInfo != null && !startContainers(containersInfo, LOG, context)) {
-                    final String msg = "Aborting, Failed to start containers for sniffer " + sniffer.getModuleType();
-                    report.failure(LOG, msg, null);
-                    throw new Exception(msg);
+                        // Now start all containers, by now, they should be all setup...
+                        if (!startContainers(containersInfo, LOG, context)) {
+                            final String msg = "Aborting, Failed to start containers for sniffer " + sniffer.getModuleType();
+                            report.failure(LOG, msg, null);
+                            throw new Exception(msg);
+                        }
+                    }
                 }
             }
 
@@ -820,10 +820,12 @@ public class ApplicationLifecycle implements Deployment, PostConstruct {
 
                 Deployer<?, ?> deployer = getDeployer(engineInfo);
                 if (deployer == null) {
-                    if (!startContainers(Collections.singleton(engineInfo), LOG, context)) {
-                        final String msg = "Aborting, Failed to start container " + containerName + " for sniffer " + sniffer.getModuleType();
-                        report.failure(LOG, msg, null);
-                        throw new Exception(msg);
+                    synchronized (containerRegistry) {
+                        if (getDeployer(engineInfo) == null && !startContainers(Collections.singleton(engineInfo), LOG, context)) {
+                            final String msg = "Aborting, Failed to start container " + containerName + " for sniffer " + sniffer.getModuleType();
+                            report.failure(LOG, msg, null);
+                            throw new Exception(msg);
+                        }
                     }
                     deployer = getDeployer(engineInfo);
 
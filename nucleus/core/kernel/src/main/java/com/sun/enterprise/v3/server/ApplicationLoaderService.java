@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2006, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -142,6 +142,18 @@ public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestro
     @Inject
     ServiceLocator habitat;
 
+    /**
+     * Number of threads loading the applications at startup. If not set, the applications are loaded
+     * one after another.
+     */
+    static final String LOAD_THREADS_PROPERTY = "org.glassfish.deployment.loadThreads";
+
+    /**
+     * Deploy property with comma separated names of the applications which must be loaded before
+     * the application, when the applications are loaded concurrently.
+     */
+    static final String LOAD_AFTER_PROPERTY = "load-after";
+
     private String deploymentTracingEnabled = null;
 
     private final Map<String,Integer> appOrderInfoMap = new HashMap<>();
@@ -237,10 +249,15 @@ public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestro
         }
 
         Iterator iter = DeploymentOrder.getApplicationDeployments();
-        while (iter.hasNext()) {
-          Application app = (Application)iter.next();
-          ApplicationRef appRef = server.getApplicationRef(app.getName());
-          processApplication(app, appRef);
+        int loadThreads = Integer.getInteger(LOAD_THREADS_PROPERTY, 0);
+        if (loadThreads > 0) {
+            loadApplications(iter, loadThreads, standaloneAdapters);
+        } else {
+            while (iter.hasNext()) {
+              Application app = (Application)iter.next();
+              ApplicationRef appRef = server.getApplicationRef(app.getName());
+              processApplication(app, appRef);
+            }
         }
 
         // does the user want us to run a particular application
@@ -325,6 +342,49 @@ public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestro
 
     }
 
+    /**
+     * Loads the system applications and the standalone resource adapters one after another, as the other
+     * applications may need them, and then the other applications concurrently.
+     *
+     * @see ParallelApplicationLoader
+     */
+    private void loadApplications(Iterator<?> deployments, int threads, List<Application> standaloneAdapters) {
+        logger.log(Level.INFO, KernelLoggerInfo.parallelLoadingApplications, threads);
+
+        // Resolve the services needed by the deployment before starting the threads
+        initializeRuntimeDependencies();
+
+        Set<String> sequentialApps = new HashSet<>();
+        for (Application systemApp : systemApplications.getApplications()) {
+            sequentialApps.add(systemApp.getName());
+        }
+        for (Application standaloneAdapter : standaloneAdapters) {
+            sequentialApps.add(standaloneAdapter.getName());
+        }
+
+        ParallelApplicationLoader loader = new ParallelApplicationLoader(threads);
+        while (deployments.hasNext()) {
+            Application app = (Application) deployments.next();
+            ApplicationRef appRef = server.getApplicationRef(app.getName());
+            if (sequentialApps.contains(app.getName())) {
+                processApplication(app, appRef);
+            } else {
+                loader.add(app.getName(), Integer.parseInt(app.getDeploymentOrder()), app.getLibraries(),
+                    app.getDeployProperties().getProperty(LOAD_AFTER_PROPERTY), () -> processApplication(app, appRef));
+            }
+        }
+
+        long startTime = System.currentTimeMillis();
+        try {
+            Map<String, Long> loadTimes = loader.load();
+            logger.log(Level.INFO, KernelLoggerInfo.parallelLoadingApplicationsTime,
+                new Object[] {loadTimes.size(), threads, System.currentTimeMillis() - startTime, loadTimes});
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.log(Level.WARNING, KernelLoggerInfo.parallelLoadingApplicationsInterrupted, e);
+        }
+    }
+
     private void initializeRuntimeDependencies() {
         // ApplicationLoaderService needs to be initialized after
         // ManagedBeanManagerImpl. By injecting ManagedBeanManagerImpl,
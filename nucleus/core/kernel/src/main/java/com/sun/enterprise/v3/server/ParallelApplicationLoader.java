@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.v3.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Loads applications concurrently on a bounded number of threads, respecting their dependencies.
+ * <p>
+ * The applications are added in the deployment order. An application is loaded only after all
+ * applications added before it which
+ * <ul>
+ * <li>have a lower deployment order, so the {@code deployment-order} attribute is honored,
+ * <li>share a library with it, as they share the class loader of the library,
+ * <li>are named in its {@code load-after} hint
+ * </ul>
+ * were loaded. Failed loads are reported by the load task itself and do not block the dependent
+ * applications, as with the sequential loading.
+ */
+final class ParallelApplicationLoader {
+
+    private static final Logger LOG = Logger.getLogger(ParallelApplicationLoader.class.getName());
+
+    private final int threads;
+    private final List<Node> nodes = new ArrayList<>();
+
+    /**
+     * @param threads maximal number of applications loaded at the same time
+     */
+    ParallelApplicationLoader(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Adds the application to be loaded.
+     *
+     * @param name name of the application
+     * @param deploymentOrder deployment order of the application
+     * @param libraries comma separated libraries of the application, can be null
+     * @param loadAfter comma separated names of applications which must be loaded before, can be null
+     * @param load task loading the application
+     */
+    void add(String name, int deploymentOrder, String libraries, String loadAfter, Runnable load) {
+        nodes.add(new Node(name, deploymentOrder, split(libraries), split(loadAfter), load));
+    }
+
+    /**
+     * Loads all added applications and waits until they are loaded.
+     *
+     * @return load times of the applications in milliseconds, in the order they completed
+     * @throws InterruptedException if interrupted while waiting, the loads already started continue
+     */
+    Map<String, Long> load() throws InterruptedException {
+        resolveDependencies();
+        Map<String, Long> loadTimes = Collections.synchronizedMap(new LinkedHashMap<>());
+        if (nodes.isEmpty()) {
+            return loadTimes;
+        }
+
+        CountDownLatch done = new CountDownLatch(nodes.size());
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "application-loader-" + threadCount.incrementAndGet());
+            thread.setContextClassLoader(contextClassLoader);
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (Node node : nodes) {
+                if (node.pending.get() == 0) {
+                    submit(executor, node, loadTimes, done);
+                }
+            }
+            done.await();
+        } finally {
+            executor.shutdown();
+        }
+        return loadTimes;
+    }
+
+    private void submit(ExecutorService executor, Node node, Map<String, Long> loadTimes, CountDownLatch done) {
+        executor.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                node.load.run();
+            } catch (RuntimeException | Error e) {
+                LOG.log(Level.SEVERE, "Loading of application " + node.name + " failed", e);
+            } finally {
+                loadTimes.put(node.name, (System.nanoTime() - start) / 1_000_000L);
+                // The dependents did not count down yet, so the latch cannot reach zero meanwhile
+                done.countDown();
+                for (Node dependent : node.dependents) {
+                    if (dependent.pending.decrementAndGet() == 0) {
+                        try {
+                            submit(executor, dependent, loadTimes, done);
+                        } catch (RejectedExecutionException e) {
+                            LOG.log(Level.WARNING, "Application {0} was not loaded, the loading was interrupted", dependent.name);
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Application depends only on applications added before it, so the graph cannot contain cycles.
+     */
+    private void resolveDependencies() {
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            for (int j = 0; j < i; j++) {
+                Node previous = nodes.get(j);
+                if (previous.deploymentOrder < node.deploymentOrder
+                    || !Collections.disjoint(previous.libraries, node.libraries)
+                    || node.loadAfter.contains(previous.name)) {
+                    previous.dependents.add(node);
+                    node.pending.incrementAndGet();
+                }
+            }
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.log(Level.FINE, "Application {0} waits for {1} applications", new Object[] {node.name, node.pending});
+            }
+        }
+    }
+
+    private static Set<String> split(String values) {
+        if (values == null || values.isBlank()) {
+            return Collections.emptySet();
+        }
+        Set<String> result = new HashSet<>();
+        for (String value : values.split(",")) {
+            if (!value.isBlank()) {
+                result.add(value.strip());
+            }
+        }
+        return result;
+    }
+
+    private static final class Node {
+
+        final String name;
+        final int deploymentOrder;
+        final Set<String> libraries;
+        final Set<String> loadAfter;
+        final Runnable load;
+        final List<Node> dependents = new ArrayList<>();
+        final AtomicInteger pending = new AtomicInteger();
+
+        Node(String name, int deploymentOrder, Set<String> libraries, Set<String> loadAfter, Runnable load) {
+            this.name = name;
+            this.deploymentOrder = deploymentOrder;
+            this.libraries = libraries;
+            this.loadAfter = loadAfter;
+            this.load = load;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023, 2025 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2023, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -596,4 +596,21 @@ public class KernelLoggerInfo {
             level = "INFO")
     public static final String adminGuiInstallProblem = LOGMSG_PREFIX + "-00093";
 
+    @LogMessageInfo(
+            message = "Loading applications on {0} threads",
+            level = "INFO")
+    public static final String parallelLoadingApplications = LOGMSG_PREFIX + "-00094";
+
+    @LogMessageInfo(
+            message = "Loading {0} applications on {1} threads done in {2} ms, load times in ms: {3}",
+            level = "INFO")
+    public static final String parallelLoadingApplicationsTime = LOGMSG_PREFIX + "-00095";
+
+    @LogMessageInfo(
+            message = "Loading of applications was interrupted",
+            cause = "The server startup was interrupted while applications were loaded.",
+            action = "Check the system logs.",
+            level = "WARNING")
+    public static final String parallelLoadingApplicationsInterrupted = LOGMSG_PREFIX + "-00096";
+
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.v3.server;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ParallelApplicationLoaderTest {
+
+    private final List<String> loaded = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void independentApplicationsAreLoadedConcurrently() throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(3);
+        ParallelApplicationLoader loader = new ParallelApplicationLoader(3);
+        for (String name : List.of("a", "b", "c")) {
+            loader.add(name, 100, null, null, () -> {
+                try {
+                    // Fails unless all three are loaded at the same time
+                    barrier.await(10, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                loaded.add(name);
+            });
+        }
+
+        assertThat(loader.load(), aMapWithSize(3));
+        assertThat(loaded, containsInAnyOrder("a", "b", "c"));
+    }
+
+    @Test
+    public void deploymentOrderIsHonored() throws Exception {
+        ParallelApplicationLoader loader = new ParallelApplicationLoader(4);
+        add(loader, "first", 10, null, null);
+        add(loader, "second", 20, null, null);
+        add(loader, "second-too", 20, null, null);
+        add(loader, "third", 30, null, null);
+
+        loader.load();
+        assertThat(loaded.indexOf("first"), lessThan(loaded.indexOf("second")));
+        assertThat(loaded.indexOf("first"), lessThan(loaded.indexOf("second-too")));
+        assertThat(loaded.indexOf("second"), lessThan(loaded.indexOf("third")));
+        assertThat(loaded.indexOf("second-too"), lessThan(loaded.indexOf("third")));
+    }
+
+    @Test
+    public void applicationsSharingLibraryAreLoadedInOrder() throws Exception {
+        ParallelApplicationLoader loader = new ParallelApplicationLoader(4);
+        add(loader, "a", 100, "lib1.jar", null);
+        add(loader, "b", 100, "lib2.jar", null);
+        add(loader, "c", 100, "lib3.jar, lib1.jar", null);
+        add(loader, "d", 100, null, "b");
+
+        Map<String, Long> loadTimes = loader.load();
+        assertThat(loadTimes.keySet(), containsInAnyOrder("a", "b", "c", "d"));
+        assertThat(loaded.indexOf("a"), lessThan(loaded.indexOf("c")));
+        assertThat(loaded.indexOf("b"), lessThan(loaded.indexOf("d")));
+    }
+
+    @Test
+    public void failureDoesNotBlockDependentApplications() throws Exception {
+        ParallelApplicationLoader loader = new ParallelApplicationLoader(2);
+        loader.add("broken", 10, null, null, () -> {
+            throw new IllegalStateException("Expected failure");
+        });
+        add(loader, "dependent", 20, null, null);
+
+        assertThat(loader.load().keySet(), contains("broken", "dependent"));
+        assertThat(loaded, contains("dependent"));
+    }
+
+    @Test
+    public void invalidNumberOfThreads() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelApplicationLoader(0));
+    }
+
+    private void add(ParallelApplicationLoader loader, String name, int order, String libraries, String loadAfter) {
+        loader.add(name, order, libraries, loadAfter, () -> {
+            try {
+                Thread.sleep(20L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            loaded.add(name);
+        });
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.v3.server;
+
+import com.sun.enterprise.config.serverbeans.Server;
+
+import jakarta.inject.Inject;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import org.glassfish.api.ActionReport;
+import org.glassfish.api.admin.ServerEnvironment;
+import org.glassfish.api.deployment.DeployCommandParameters;
+import org.glassfish.api.deployment.UndeployCommandParameters;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
+import org.glassfish.internal.data.ApplicationInfo;
+import org.glassfish.internal.data.ApplicationRegistry;
+import org.glassfish.internal.deployment.Deployment;
+import org.glassfish.internal.deployment.ExtendedDeploymentContext;
+import org.glassfish.main.core.kernel.test.KernelJUnitExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Deploys several applications concurrently, the same way as {@link ApplicationLoaderService} does at startup.
+ */
+@ExtendWith(KernelJUnitExtension.class)
+public class ParallelDeploymentTest {
+
+    private static final int APPLICATIONS = 16;
+
+    @Inject
+    private ServiceLocator locator;
+
+    @TempDir
+    private Path directory;
+
+    @BeforeEach
+    public void registerServer() {
+        Server server = locator.getService(Server.class, "server");
+        assertThat(server, notNullValue());
+        ServiceLocatorUtilities.addOneConstant(locator, server, ServerEnvironment.DEFAULT_INSTANCE_NAME, Server.class);
+    }
+
+    @Test
+    public void applicationsAreDeployedInParallel() throws Exception {
+        Deployment deployment = locator.getService(Deployment.class);
+        ApplicationRegistry registry = locator.getService(ApplicationRegistry.class);
+        Map<String, ActionReport.ExitCode> exitCodes = new ConcurrentHashMap<>();
+        List<String> names = new ArrayList<>();
+
+        ParallelApplicationLoader loader = new ParallelApplicationLoader(4);
+        for (int i = 0; i < APPLICATIONS; i++) {
+            String name = "parallel" + i;
+            names.add(name);
+            File source = Files.createDirectory(directory.resolve(name)).toFile();
+            loader.add(name, 100, null, null, () -> {
+                DeployCommandParameters params = new DeployCommandParameters(source);
+                params.name = name;
+                params.target = "server";
+                ActionReport report = locator.getService(ActionReport.class, "hk2-agent");
+                try {
+                    ExtendedDeploymentContext context = deployment.getBuilder(Logger.getAnonymousLogger(), params, report)
+                        .source(source).build();
+                    deployment.deploy(context);
+                    // Other applications are being added to the registry meanwhile
+                    assertThat(registry.getAllApplicationNames(), hasItem(name));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                exitCodes.put(name, report.getActionExitCode());
+            });
+        }
+
+        assertThat(loader.load(), aMapWithSize(APPLICATIONS));
+        assertThat(exitCodes.keySet(), containsInAnyOrder(names.toArray()));
+        for (String name : names) {
+            assertThat(name, exitCodes.get(name), equalTo(ActionReport.ExitCode.SUCCESS));
+            ApplicationInfo info = registry.get(name);
+            assertThat(name, info, notNullValue());
+            assertThat(info.getName(), equalTo(name));
+        }
+
+        for (String name : names) {
+            UndeployCommandParameters params = new UndeployCommandParameters(name);
+            params.target = "server";
+            ActionReport report = locator.getService(ActionReport.class, "hk2-agent");
+            ExtendedDeploymentContext context = deployment.getBuilder(Logger.getAnonymousLogger(), params, report)
+                .source(directory.resolve(name).toFile()).build();
+            deployment.undeploy(name, context);
+            assertThat(registry.getAllApplicationNames(), not(hasItem(name)));
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2009, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -19,20 +19,20 @@ package com.sun.enterprise.server.logging.logviewer.backend;
 
 import com.sun.enterprise.server.logging.parser.LogParser;
 import com.sun.enterprise.server.logging.parser.LogParserFactory;
-import com.sun.enterprise.server.logging.parser.LogParserListener;
 import com.sun.enterprise.server.logging.parser.ParsedLogRecord;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.InputStreamReader;
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.logging.Level;
 
-import static com.sun.enterprise.server.logging.LogFacade.LOGGING_LOGGER;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
 
 
 /**
@@ -40,10 +40,14 @@ import static com.sun.enterprise.server.logging.LogFacade.LOGGING_LOGGER;
  * This class encapsulates the log file so that its details are not
  * exposed. "getLongEntries" returns an unfiltered List of LogEntry objects
  * from the requested record number. It will always search forward.
- * getIndexSize() returns the number of records between each index.
+ * getIndexSize() returns the default number of records returned at once.
  * getLastIndexNumber returns the last index.
  * </P>
  * <P>
+ * Records are located using the {@link LogFileIndex}, so just the requested
+ * records are read and parsed.
+ * </P>
+ * <P>
  * This class also contains an inner class for storing LogEntry
  * objects.
  * </P>
@@ -57,14 +61,12 @@ public class LogFile implements java.io.Serializable {
 
     private final long _indexSize = 10;
     private final String _logFileName;
-    private final List<Long> _recordIdx = new ArrayList<>();
 
     /**
      * Constructor
      */
     public LogFile(String name) {
         _logFileName = name;
-        _recordIdx.add(0L);
     }
 
     /**
@@ -88,128 +90,95 @@ public class LogFile implements java.io.Serializable {
         if (startingRecord < 0) {
             return null;
         }
-
-        // Open the file at the desired starting Record
-        final long recordsToIgnore = (startingRecord % getIndexSize());
-        try (BufferedReader reader = getFilePosition(startingRecord - recordsToIgnore)) {
-            final List<LogEntry> results = new ArrayList<>();
-            if (reader == null) {
-                return results;
-            }
-
-            File logFile = new File(getLogFileName());
-            LogParser logParser = LogParserFactory.getInstance().createLogParser(logFile );
-            logParser.parseLog(reader, new LogParserListener() {
-
-                long counter = 0;
-
-
-                @Override
-                public void foundLogRecord(long position, ParsedLogRecord logRecord) {
-                    counter++;
-                    if (counter <= recordsToIgnore) {
-                        return;
-                    }
-                    if (results.size() < maxRecords) {
-                        LogEntry entry = new LogEntry(startingRecord + results.size());
-                        entry.setLoggedDateTime(logRecord.getTimestamp());
-                        entry.setLoggedLevel(logRecord.getLevel());
-                        entry.setLoggedLoggerName(logRecord.getLogger());
-                        entry.setLoggedMessage(logRecord.getMessage());
-                        entry.setLoggedNameValuePairs(logRecord.getSupplementalAttributes().toString());
-                        entry.setLoggedProduct(logRecord.getProductId());
-                        entry.setMessageId(logRecord.getMessageKey());
-                        results.add(entry);
-                    }
-                }
-            });
-            return results;
-        } catch (Exception ex) {
-            throw new IllegalStateException(ex);
+        final long end = Math.min(getRecordCount(), startingRecord + maxRecords);
+        final long[] recordNumbers = new long[(int) Math.max(0, end - startingRecord)];
+        for (int i = 0; i < recordNumbers.length; i++) {
+            recordNumbers[i] = startingRecord + i;
         }
+        return getLogEntries(recordNumbers);
     }
 
 
     /**
-     * This method builds the file index in the beginning.  The index is for
-     * the beginning of every record after the size specified by '_indexSize'
-     * variable.
+     * Reads and parses the records. Records which cannot be parsed are skipped.
+     *
+     * @param recordNumbers numbers of records found by {@link #findRecords(long, boolean, int, LogFileIndex.Query)}
+     *            or lower than {@link #getRecordCount()}
+     * @return entries in the same order as the record numbers
      */
-    private synchronized void buildLogFileIndex() {
-        // Open the file and skip to the where we left off
-        final long startPos = _recordIdx.get(_recordIdx.size() - 1);
-        final long localIndexSize = getIndexSize();
-        try (BufferedReader reader = getLogFileReader(startPos)) {
-            File logFile = new File(getLogFileName());
-            LogParser logParser = LogParserFactory.getInstance().createLogParser(logFile);
-            if (logParser != null) {
-                logParser.parseLog(reader, new LogParserListener() {
-
-                    long recordNumber = (_recordIdx.size() - 1) * localIndexSize;
-
-                    @Override
-                    public void foundLogRecord(long position, ParsedLogRecord object) {
-                        long modIndex = recordNumber % localIndexSize;
-                        if (modIndex == 0) {
-                            _recordIdx.add(startPos + position);
-                        }
-                        recordNumber++;
-                    }
-                });
+    List<LogEntry> getLogEntries(final long[] recordNumbers) {
+        final List<LogEntry> results = new ArrayList<>(recordNumbers.length);
+        if (recordNumbers.length == 0) {
+            return results;
+        }
+        final LogFileIndex index = getIndex();
+        try (FileChannel channel = FileChannel.open(getPath(), READ)) {
+            final LogParser logParser = LogParserFactory.getInstance().createLogParser(new File(getLogFileName()));
+            for (long recordNumber : recordNumbers) {
+                final long offset = index.getOffset(recordNumber);
+                final ByteBuffer content = ByteBuffer.allocate(Math.toIntExact(index.getEndOffset(recordNumber) - offset));
+                while (content.hasRemaining() && channel.read(content, offset + content.position()) >= 0) {
+                    // read until the buffer is full or the end of the file
+                }
+                final ParsedLogRecord logRecord = LogFileIndex.parse(logParser,
+                    new String(content.array(), 0, content.position(), UTF_8));
+                if (logRecord == null) {
+                    continue;
+                }
+                LogEntry entry = new LogEntry(recordNumber);
+                entry.setLoggedDateTime(logRecord.getTimestamp());
+                entry.setLoggedLevel(logRecord.getLevel());
+                entry.setLoggedLoggerName(logRecord.getLogger());
+                entry.setLoggedMessage(logRecord.getMessage());
+                entry.setLoggedNameValuePairs(logRecord.getSupplementalAttributes().toString());
+                entry.setLoggedProduct(logRecord.getProductId());
+                entry.setMessageId(logRecord.getMessageKey());
+                results.add(entry);
             }
+            return results;
         } catch (Exception ex) {
-            throw new RuntimeException(ex);
+            throw new IllegalStateException(ex);
         }
     }
 
+
     /**
-     * This method returns the file position given the record number.
+     * Finds records which can match the query using just the index, without reading the log file.
      *
-     * @return The file position.
-     * @param    recordNumber    The Record Number
+     * @param recordNumber number of the first record to check
+     * @param forward true to search records with higher numbers, false to search records with lower numbers
+     * @param maxCount the maximal count of records to return
+     * @param query the conditions
+     * @return numbers of found records in the order of the search
      */
-    private BufferedReader getFilePosition(long recordNumber) {
-        // The index is stored from the second slot. i.e., if there
-        // are 100 records and the index will be on 20, 40, 60, 80, 100
-        // if the _indexSize is 20. We don't store '0' hence we subtract
-        // from 1 to get the right index
-        int index = (int) (recordNumber / getIndexSize());
-        if (index >= _recordIdx.size()) {
-            return null;
-        }
-        Long filePosition = _recordIdx.get(index);
-        return getLogFileReader(filePosition);
+    long[] findRecords(long recordNumber, boolean forward, int maxCount, LogFileIndex.Query query) {
+        return getIndex().find(recordNumber, forward, maxCount, query);
     }
 
+
     /**
-     * This method opens the server.log file and moves the stream to
-     * the specified filePosition.
+     * Updates the index with records appended to the log file.
+     *
+     * @return the number of records in the log file
      */
-    protected BufferedReader getLogFileReader(long fromFilePosition) {
-        FileInputStream file = null;
+    public long getRecordCount() {
+        final LogFileIndex index = getIndex();
         try {
-            file = new FileInputStream(getLogFileName());
-            long bytesToSkip = fromFilePosition - 1;
-            if (bytesToSkip > 0) {
-                long bytesSkipped = file.skip(bytesToSkip);
-                if (bytesSkipped != bytesToSkip) {
-                    LOGGING_LOGGER.log(Level.WARNING, "Did not skip {0} bytes while positioning reader in {1}",
-                        new Object[] {bytesToSkip, getLogFileName()});
-                }
-            }
-            BufferedReader reader = new BufferedReader(new InputStreamReader(file));
-            return reader;
-        } catch (Exception ex) {
-            LOGGING_LOGGER.log(Level.SEVERE, "Error reading from file: " + getLogFileName(), ex);
-            if (file != null) {
-                try {
-                    file.close();
-                } catch (Exception ex2) {
-                    LOGGING_LOGGER.log(Level.SEVERE, "Error closing file: " + getLogFileName(), ex2);
-                }
-            }
+            index.update(LogParserFactory.getInstance().createLogParser(new File(getLogFileName())));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not index the log file " + getLogFileName(), ex);
         }
-        return null;
+        return index.getRecordCount();
+    }
+
+
+    private LogFileIndex getIndex() {
+        return LogFileIndex.of(getPath());
+    }
+
+
+    private Path getPath() {
+        return Path.of(getLogFileName());
     }
 
 
@@ -218,12 +187,11 @@ public class LogFile implements java.io.Serializable {
     }
 
     /**
-     * The log records are indexed, this method returns the last index.  It
-     * will ensure that the indexes are up-to-date.
+     * The log records are indexed, this method returns the number of the last
+     * group of getIndexSize() records.  It will ensure that the indexes are up-to-date.
      */
     public long getLastIndexNumber() {
-        buildLogFileIndex();
-        return _recordIdx.size() - 1;
+        return Math.max(0, getRecordCount() - 1) / getIndexSize();
     }
 
 
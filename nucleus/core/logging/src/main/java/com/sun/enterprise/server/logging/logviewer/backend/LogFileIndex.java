@@ -0,0 +1,658 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.server.logging.logviewer.backend;
+
+import com.sun.enterprise.server.logging.parser.LogParser;
+import com.sun.enterprise.server.logging.parser.LogParserException;
+import com.sun.enterprise.server.logging.parser.ParsedLogRecord;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.zip.CRC32;
+
+import static com.sun.enterprise.server.logging.LogFacade.LOGGING_LOGGER;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Index of log records in a log file.
+ * <p>
+ * For every record the index holds the byte offset of its first line, its timestamp,
+ * the integer value of its level and the id of its logger name. The entries have a fixed size
+ * and are stored in the memory mapped {@code .logviewer/<log file name>.idx} sidecar file,
+ * logger names are stored in the {@code .loggers} file, one per line, the line number is the id.
+ * The sidecar files are in a subdirectory, because the log file rotation deletes files
+ * starting with the log file name.
+ * <p>
+ * The index is updated incrementally, only the content appended to the log file since
+ * the last update is scanned. The last record of the file can still be written, so it is
+ * never persisted and it is scanned again by every update. If the log file is shorter than
+ * the indexed content or its beginning changed, the file was rotated and the index is rebuilt.
+ * If the sidecar files cannot be written, the index is kept just in memory.
+ * <p>
+ * The index is used to find records matching the time range, level and logger conditions
+ * of a query without reading and parsing the log file. The check is conservative, records
+ * with an unknown timestamp or level always pass it.
+ */
+final class LogFileIndex {
+
+    static final String INDEX_DIRECTORY = ".logviewer";
+
+    static final long UNKNOWN_TIME = Long.MIN_VALUE;
+    static final int UNKNOWN_LEVEL = Integer.MIN_VALUE;
+    static final int NO_LOGGER = -1;
+
+    private static final int MAGIC = 0x47464c49;
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 64;
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_RECORD_COUNT = 8;
+    private static final int H_SCAN_OFFSET = 16;
+    private static final int H_LOGGERS_LENGTH = 24;
+    private static final int H_LOGGER_COUNT = 32;
+    private static final int H_FINGERPRINT_LENGTH = 36;
+    private static final int H_FINGERPRINT = 40;
+
+    private static final int ENTRY_SIZE = 24;
+    private static final int E_OFFSET = 0;
+    private static final int E_TIME = 8;
+    private static final int E_LEVEL = 16;
+    private static final int E_LOGGER = 20;
+
+    private static final int SEGMENT_SHIFT = 13;
+    private static final int SEGMENT_ENTRIES = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_ENTRIES - 1;
+
+    private static final int FINGERPRINT_MAX = 256;
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    /** Only one instance may write the sidecar files */
+    private static final Map<Path, LogFileIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private final Path logFile;
+    private final Path indexFile;
+    private final Path loggersFile;
+    private boolean persistent;
+
+    private ByteBuffer header;
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private final List<String> loggers = new ArrayList<>();
+    private final Map<String, Integer> loggerIds = new HashMap<>();
+
+    /** Number of complete records, persisted in the index */
+    private long recordCount;
+    /** Where the next update continues, start of the last record if there is some */
+    private long scanOffset;
+    private long loggersLength;
+    private int fingerprintLength;
+    private long fingerprint;
+
+    /** Entry of the last record, which can still be written. Null if there is no record after the scan offset. */
+    private long[] lastRecord;
+
+
+    /**
+     * Opens the persisted index or creates a new one. Does not read the log file.
+     *
+     * @param logFile the indexed log file
+     * @return the index shared by all users of the log file
+     */
+    static LogFileIndex of(Path logFile) {
+        return INDEXES.computeIfAbsent(logFile.toAbsolutePath().normalize(), LogFileIndex::new);
+    }
+
+
+    private LogFileIndex(Path logFile) {
+        this.logFile = logFile;
+        final Path directory = logFile.getParent().resolve(INDEX_DIRECTORY);
+        final String name = logFile.getFileName().toString();
+        this.indexFile = directory.resolve(name + ".idx");
+        this.loggersFile = directory.resolve(name + ".loggers");
+        this.persistent = true;
+        try {
+            Files.createDirectories(directory);
+            header = map(0, HEADER_SIZE);
+            if (header.getInt(H_MAGIC) == MAGIC && header.getInt(H_VERSION) == VERSION && load()) {
+                return;
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGING_LOGGER.log(Level.WARNING, "Cannot use the index file " + indexFile + ", the index will be kept in memory.", e);
+            persistent = false;
+            if (header != null) {
+                header.putInt(H_MAGIC, 0);
+            }
+            header = ByteBuffer.allocate(HEADER_SIZE);
+            segments.clear();
+        }
+        reset();
+    }
+
+
+    /**
+     * Indexes the content appended to the log file since the last update.
+     *
+     * @param parser parser of the log file format
+     * @throws IOException if the log file cannot be read
+     */
+    synchronized void update(final LogParser parser) throws IOException {
+        try (FileChannel channel = FileChannel.open(logFile, READ)) {
+            final long length = channel.size();
+            if (!isSameFile(channel, length)) {
+                LOGGING_LOGGER.log(Level.FINE, "The log file {0} was replaced, rebuilding its index.", logFile);
+                reset();
+                updateFingerprint(channel, length);
+            }
+            scan(channel, length, parser);
+        }
+        writeHeader();
+    }
+
+
+    /**
+     * @return the number of indexed records, including the last record of the file
+     */
+    synchronized long getRecordCount() {
+        return lastRecord == null ? recordCount : recordCount + 1;
+    }
+
+
+    /**
+     * @param record the record number
+     * @return byte offset of the record in the log file
+     */
+    synchronized long getOffset(final long record) {
+        if (record == recordCount) {
+            return lastRecord[0];
+        }
+        return entry(record).getLong(position(record) + E_OFFSET);
+    }
+
+
+    /**
+     * @param record the record number
+     * @return byte offset of the end of the record in the log file
+     */
+    synchronized long getEndOffset(final long record) {
+        if (record == recordCount) {
+            return lastRecord[1];
+        }
+        return getOffset(record + 1);
+    }
+
+
+    /**
+     * Finds records which can match the query.
+     *
+     * @param from number of the first record to check
+     * @param forward true to search records with higher numbers, false to search records with lower numbers
+     * @param maxCount the maximal count of records to return
+     * @param query the conditions
+     * @return numbers of found records in the order of the search, never null
+     */
+    synchronized long[] find(final long from, final boolean forward, final int maxCount, final Query query) {
+        final BitSet acceptedLoggers = query.resolveLoggers(loggerIds);
+        final long count = getRecordCount();
+        long[] found = new long[Math.min(maxCount, 64)];
+        int size = 0;
+        for (long record = from; size < maxCount && record >= 0 && record < count; record += forward ? 1 : -1) {
+            final long time;
+            final int level;
+            final int logger;
+            if (record == recordCount) {
+                time = lastRecord[2];
+                level = (int) lastRecord[3];
+                logger = (int) lastRecord[4];
+            } else {
+                final ByteBuffer entry = entry(record);
+                final int position = position(record);
+                time = entry.getLong(position + E_TIME);
+                level = entry.getInt(position + E_LEVEL);
+                logger = entry.getInt(position + E_LOGGER);
+            }
+            if (query.matches(time, level) && (acceptedLoggers == null || logger >= 0 && acceptedLoggers.get(logger))) {
+                if (size == found.length) {
+                    found = Arrays.copyOf(found, (int) Math.min(maxCount, size * 2L));
+                }
+                found[size++] = record;
+            }
+        }
+        return size == found.length ? found : Arrays.copyOf(found, size);
+    }
+
+
+    /**
+     * Parses a single log record.
+     *
+     * @param parser parser of the log file format
+     * @param content the content of the record
+     * @return the parsed record or null if the content could not be parsed
+     */
+    static ParsedLogRecord parse(final LogParser parser, final String content) {
+        final ParsedLogRecord[] result = new ParsedLogRecord[1];
+        try {
+            parser.parseLog(new BufferedReader(new StringReader(content), Math.max(1, content.length())), (position, record) -> {
+                if (result[0] == null) {
+                    result[0] = record;
+                }
+            });
+        } catch (LogParserException | RuntimeException e) {
+            LOGGING_LOGGER.log(Level.FINEST, e, () -> "Could not parse the log record: " + content);
+            return null;
+        }
+        return result[0];
+    }
+
+
+    private boolean isSameFile(final FileChannel channel, final long length) throws IOException {
+        if (length < scanOffset) {
+            return false;
+        }
+        if (fingerprintLength > 0 && computeFingerprint(channel, fingerprintLength) != fingerprint) {
+            return false;
+        }
+        if (fingerprintLength < FINGERPRINT_MAX && length > fingerprintLength) {
+            updateFingerprint(channel, length);
+        }
+        return true;
+    }
+
+
+    private void updateFingerprint(final FileChannel channel, final long length) throws IOException {
+        fingerprintLength = (int) Math.min(length, FINGERPRINT_MAX);
+        fingerprint = computeFingerprint(channel, fingerprintLength);
+    }
+
+
+    private static long computeFingerprint(final FileChannel channel, final int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                break;
+            }
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(buffer.flip());
+        return crc.getValue();
+    }
+
+
+    /**
+     * Reads the log file from the scan offset line by line. The current record is kept
+     * in the buffer until the next record starts, then it is parsed and added to the index.
+     * <p>
+     * The log file is read, not mapped. A mapping would be released only by the garbage collector
+     * and a mapped file cannot be renamed or deleted on Windows, so it would break the log rotation.
+     */
+    private void scan(final FileChannel channel, final long length, final LogParser parser) throws IOException {
+        byte[] buffer = new byte[CHUNK_SIZE];
+        ByteBuffer view = ByteBuffer.wrap(buffer);
+        // Offset of buffer[0] in the file
+        long bufferOffset = scanOffset;
+        int size = 0;
+        int lineStart = 0;
+        int recordStart = -1;
+        long position = scanOffset;
+        while (position < length) {
+            // Drop what is not needed any more: indexed records and content before the first record
+            final int keepFrom = recordStart >= 0 ? recordStart : lineStart;
+            if (keepFrom > 0) {
+                size -= keepFrom;
+                System.arraycopy(buffer, keepFrom, buffer, 0, size);
+                bufferOffset += keepFrom;
+                lineStart -= keepFrom;
+                if (recordStart >= 0) {
+                    recordStart = 0;
+                }
+            }
+
+            final int chunk = (int) Math.min(length - position, CHUNK_SIZE);
+            if (size + chunk > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + chunk));
+                view = ByteBuffer.wrap(buffer);
+            }
+            view.limit(size + chunk).position(size);
+            while (view.hasRemaining() && channel.read(view, position + view.position() - size) >= 0) {
+                // Read the whole chunk unless the file was truncated meanwhile
+            }
+            final int read = view.position() - size;
+            final int end = size + read;
+            position += read;
+            // The end of the file ends the line too, even if it is not complete yet
+            final boolean endOfFile = position == length || read < chunk;
+            final int lastLineEnd = endOfFile ? end - 1 : -1;
+            for (int i = size; i < end; i++) {
+                if (buffer[i] != '\n' && i != lastLineEnd) {
+                    continue;
+                }
+                if (parser.isRecordStart(decodeLine(buffer, lineStart, i + 1))) {
+                    if (recordStart >= 0) {
+                        addEntry(bufferOffset + recordStart, describe(parser, buffer, recordStart, lineStart));
+                    }
+                    recordStart = lineStart;
+                }
+                if (buffer[i] == '\n') {
+                    lineStart = i + 1;
+                }
+            }
+            size = end;
+            if (endOfFile) {
+                break;
+            }
+        }
+        if (recordStart >= 0) {
+            final long[] description = describe(parser, buffer, recordStart, size);
+            scanOffset = bufferOffset + recordStart;
+            lastRecord = new long[] {scanOffset, bufferOffset + size, description[0], description[1], description[2]};
+        } else {
+            scanOffset = bufferOffset + lineStart;
+            lastRecord = null;
+        }
+    }
+
+
+    private static String decodeLine(final byte[] buffer, final int start, final int end) {
+        int lineEnd = end;
+        if (lineEnd > start && buffer[lineEnd - 1] == '\n') {
+            lineEnd--;
+        }
+        if (lineEnd > start && buffer[lineEnd - 1] == '\r') {
+            lineEnd--;
+        }
+        return new String(buffer, start, lineEnd - start, UTF_8);
+    }
+
+
+    /**
+     * @return timestamp, level value and logger id of the record
+     */
+    private long[] describe(final LogParser parser, final byte[] buffer, final int start, final int end) {
+        final ParsedLogRecord record = parse(parser, new String(buffer, start, end - start, UTF_8));
+        if (record == null) {
+            return new long[] {UNKNOWN_TIME, UNKNOWN_LEVEL, NO_LOGGER};
+        }
+        final OffsetDateTime timestamp = record.getTimestamp();
+        return new long[] {
+            timestamp == null ? UNKNOWN_TIME : timestamp.toInstant().toEpochMilli(),
+            toLevelValue(record.getLevel()),
+            toLoggerId(record.getLogger()),
+        };
+    }
+
+
+    /**
+     * Uses the same level parsing as {@link LogFilter#levelCheck(String, String, boolean)}.
+     */
+    static int toLevelValue(final String level) {
+        if (level == null) {
+            return UNKNOWN_LEVEL;
+        }
+        try {
+            return Level.parse(level).intValue();
+        } catch (IllegalArgumentException e) {
+            return UNKNOWN_LEVEL;
+        }
+    }
+
+
+    private int toLoggerId(final String logger) {
+        if (logger == null) {
+            return NO_LOGGER;
+        }
+        final String name = logger.trim();
+        final Integer id = loggerIds.get(name);
+        if (id != null) {
+            return id;
+        }
+        final int newId = loggers.size();
+        loggers.add(name);
+        loggerIds.put(name, newId);
+        return newId;
+    }
+
+
+    private void addEntry(final long offset, final long[] description) throws IOException {
+        final int segment = (int) (recordCount >>> SEGMENT_SHIFT);
+        if (segment == segments.size()) {
+            segments.add(map(HEADER_SIZE + (long) segment * SEGMENT_ENTRIES * ENTRY_SIZE, SEGMENT_ENTRIES * ENTRY_SIZE));
+        }
+        final ByteBuffer entry = segments.get(segment);
+        final int position = position(recordCount);
+        entry.putLong(position + E_OFFSET, offset);
+        entry.putLong(position + E_TIME, description[0]);
+        entry.putInt(position + E_LEVEL, (int) description[1]);
+        entry.putInt(position + E_LOGGER, (int) description[2]);
+        recordCount++;
+    }
+
+
+    private ByteBuffer entry(final long record) {
+        return segments.get((int) (record >>> SEGMENT_SHIFT));
+    }
+
+
+    private static int position(final long record) {
+        return ((int) record & SEGMENT_MASK) * ENTRY_SIZE;
+    }
+
+
+    /**
+     * Persists new logger names and then the header, so the header never refers to missing data.
+     */
+    private void writeHeader() {
+        if (persistent) {
+            try (FileChannel channel = FileChannel.open(loggersFile, CREATE, WRITE)) {
+                final int savedCount = header.getInt(H_LOGGER_COUNT);
+                if (loggers.size() > savedCount || channel.size() != loggersLength) {
+                    final StringBuilder names = new StringBuilder();
+                    for (String name : loggers.subList(savedCount, loggers.size())) {
+                        names.append(name).append('\n');
+                    }
+                    final ByteBuffer bytes = ByteBuffer.wrap(names.toString().getBytes(UTF_8));
+                    channel.truncate(loggersLength);
+                    while (bytes.hasRemaining()) {
+                        channel.write(bytes, loggersLength + bytes.position());
+                    }
+                    loggersLength += bytes.capacity();
+                }
+            } catch (IOException e) {
+                LOGGING_LOGGER.log(Level.WARNING, "Cannot write the index file " + loggersFile
+                    + ", the index will be kept in memory.", e);
+                persistent = false;
+                header.putInt(H_MAGIC, 0);
+                return;
+            }
+        }
+        header.putInt(H_VERSION, VERSION);
+        header.putLong(H_RECORD_COUNT, recordCount);
+        header.putLong(H_SCAN_OFFSET, scanOffset);
+        header.putLong(H_LOGGERS_LENGTH, loggersLength);
+        header.putInt(H_LOGGER_COUNT, loggers.size());
+        header.putInt(H_FINGERPRINT_LENGTH, fingerprintLength);
+        header.putLong(H_FINGERPRINT, fingerprint);
+        header.putInt(H_MAGIC, MAGIC);
+    }
+
+
+    /**
+     * Loads the persisted index described by the header.
+     *
+     * @return false if the persisted index is not consistent.
+     */
+    private boolean load() throws IOException {
+        recordCount = header.getLong(H_RECORD_COUNT);
+        scanOffset = header.getLong(H_SCAN_OFFSET);
+        loggersLength = header.getLong(H_LOGGERS_LENGTH);
+        fingerprintLength = header.getInt(H_FINGERPRINT_LENGTH);
+        fingerprint = header.getLong(H_FINGERPRINT);
+        final int loggerCount = header.getInt(H_LOGGER_COUNT);
+        if (recordCount < 0 || scanOffset < 0 || loggersLength < 0 || loggersLength > Integer.MAX_VALUE
+            || !Files.exists(loggersFile) || Files.size(loggersFile) < loggersLength) {
+            return false;
+        }
+        final byte[] names = new byte[(int) loggersLength];
+        try (FileChannel channel = FileChannel.open(loggersFile, READ)) {
+            final ByteBuffer buffer = ByteBuffer.wrap(names);
+            while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+                // read until the buffer is full
+            }
+        }
+        int start = 0;
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] == '\n') {
+                toLoggerId(new String(names, start, i - start, UTF_8));
+                start = i + 1;
+            }
+        }
+        if (loggers.size() != loggerCount) {
+            return false;
+        }
+        final long segmentCount = (recordCount + SEGMENT_MASK) >>> SEGMENT_SHIFT;
+        for (int segment = 0; segment < segmentCount; segment++) {
+            segments.add(map(HEADER_SIZE + (long) segment * SEGMENT_ENTRIES * ENTRY_SIZE, SEGMENT_ENTRIES * ENTRY_SIZE));
+        }
+        return true;
+    }
+
+
+    /**
+     * Drops all indexed records. Mapped segments are reused, the index file is never truncated,
+     * because it is not possible to unmap them.
+     */
+    private void reset() {
+        recordCount = 0;
+        scanOffset = 0;
+        loggersLength = 0;
+        fingerprintLength = 0;
+        fingerprint = 0;
+        lastRecord = null;
+        loggers.clear();
+        loggerIds.clear();
+        header.putInt(H_MAGIC, 0);
+        header.putInt(H_LOGGER_COUNT, 0);
+        writeHeader();
+    }
+
+
+    /**
+     * Maps the region of the index file or allocates it in memory if the index is not persistent.
+     */
+    private ByteBuffer map(final long position, final int size) throws IOException {
+        if (persistent) {
+            try (FileChannel channel = FileChannel.open(indexFile, CREATE, READ, WRITE)) {
+                return channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+            } catch (IOException e) {
+                LOGGING_LOGGER.log(Level.WARNING, "Cannot write the index file " + indexFile
+                    + ", the index will be kept in memory.", e);
+                persistent = false;
+                header.putInt(H_MAGIC, 0);
+            }
+        }
+        return ByteBuffer.allocate(size);
+    }
+
+
+    /**
+     * Conditions of a query, which can be checked using just the index.
+     */
+    static final class Query {
+
+        private final long fromTime;
+        private final long toTime;
+        private final int level;
+        private final boolean onlyLevel;
+        private final List<String> loggers;
+
+        /**
+         * Same conditions as checked by {@link LogFilter#dateTimeCheck(OffsetDateTime, Instant, Instant)},
+         * {@link LogFilter#levelCheck(String, String, boolean)} and {@link LogFilter#moduleCheck(String, List)}.
+         *
+         * @param fromDate can be null
+         * @param toDate can be null
+         * @param level can be null
+         * @param onlyLevel true to accept just the level, false to accept also more severe levels
+         * @param loggers names of loggers, can be null
+         */
+        Query(Instant fromDate, Instant toDate, String level, boolean onlyLevel, List<?> loggers) {
+            if (fromDate == null || toDate == null) {
+                this.fromTime = Long.MIN_VALUE;
+                this.toTime = Long.MAX_VALUE;
+            } else {
+                // Index holds milliseconds truncated, so the range must be truncated too.
+                this.fromTime = fromDate.toEpochMilli();
+                this.toTime = toDate.toEpochMilli();
+            }
+            this.level = level == null ? UNKNOWN_LEVEL : toLevelValue(level.trim());
+            this.onlyLevel = onlyLevel;
+            if (loggers == null || loggers.isEmpty()) {
+                this.loggers = null;
+            } else {
+                this.loggers = new ArrayList<>(loggers.size());
+                for (Object logger : loggers) {
+                    this.loggers.add(((String) logger).trim());
+                }
+            }
+        }
+
+
+        /**
+         * @return ids of accepted loggers or null if any logger is accepted
+         */
+        BitSet resolveLoggers(Map<String, Integer> loggerIds) {
+            if (loggers == null) {
+                return null;
+            }
+            final BitSet ids = new BitSet();
+            for (String logger : loggers) {
+                final Integer id = loggerIds.get(logger);
+                if (id != null) {
+                    ids.set(id);
+                }
+            }
+            return ids;
+        }
+
+
+        boolean matches(long time, int recordLevel) {
+            if (time != UNKNOWN_TIME && (time < fromTime || time > toTime)) {
+                return false;
+            }
+            if (level == UNKNOWN_LEVEL || recordLevel == UNKNOWN_LEVEL) {
+                return true;
+            }
+            return onlyLevel ? recordLevel == level : recordLevel >= level;
+        }
+    }
+}
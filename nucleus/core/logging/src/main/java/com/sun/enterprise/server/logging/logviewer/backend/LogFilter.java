@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2025 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2009, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -189,10 +189,6 @@ public class LogFilter {
             }
         }
 
-        // TO DO: If the fromRecord count is zero and the fromDate entry is
-        // non-null, then the system should take advantage of file Indexing.
-        // It should move the file position to the marker where the DateTime
-        // query matches.
         try {
             return fetchRecordsUsingQuery(logFile, startingRecord, nxt, forwd,
                 reqCount, fromDate, toDate, logLevel,
@@ -420,10 +416,6 @@ public class LogFilter {
             }
         }
 
-        // TO DO: If the fromRecord count is zero and the fromDate entry is
-        // non-null, then the system should take advantage of file Indexing.
-        // It should move the file position to the marker where the DateTime
-        // query matches.
         try {
             return fetchRecordsUsingQuery(logFile, startingRecord, nxt, forwd,
                 reqCount, fromDate, toDate, logLevel,
@@ -442,97 +434,30 @@ public class LogFilter {
         LogFile logFile, long startingRecord, boolean next, boolean forward,
         long requestedCount, Instant fromDate, Instant toDate, String logLevel,
         boolean onlyLevel, List listOfModules, Properties nameValueMap, String anySearch) {
-        // If !next, then set to search in reverse
-        boolean origForward = forward;
-        if (next) {
-            startingRecord++;
-            forward = true;
-        } else {
-            forward = false;
-        }
-
-        // Setup forward/reverse stuff
-        int inc = 1;
-        int start = 0;  // depends on length of results (for reverse)
-        int end = -1;   // depends on length of results (for forward)
-        long searchChunkIncrement = requestedCount;
-        if (!forward) {
-            inc = -1;
-            // Move back to find records before the startingRecord
-            // -1 because we still want to see the starting record (only if in
-            // "next" mode)
-            startingRecord -=
-                ((next) ? (searchChunkIncrement - 1) : (searchChunkIncrement));
-            if (startingRecord < 0) {
-                // Don't go past the original startingRecord
-                searchChunkIncrement += startingRecord;
-                startingRecord = 0;
-            }
-        }
-
-        // Make sure the module names are correct
-        //updateModuleList(listOfModules);
+        final LogFileIndex.Query query = new LogFileIndex.Query(fromDate, toDate, logLevel, onlyLevel, listOfModules);
+        // If !next, then search in reverse the records before the startingRecord
+        final long recordCount = logFile.getRecordCount();
+        long recordNumber = next ? startingRecord + 1 : Math.min(startingRecord, recordCount) - 1;
 
-        // Keep pulling records to search through until we get enough matches
+        // Keep pulling records matching the index until we get enough matches
         List results = new ArrayList();
-        List records = null;
-        LogFile.LogEntry entry = null;
         while (results.size() < requestedCount) {
-            // The following will always return unfiltered forward records
-            records = logFile.getLogEntries(
-                startingRecord, searchChunkIncrement);
-            if (records == null) {
+            final long[] candidates = logFile.findRecords(recordNumber, next,
+                (int) Math.min(requestedCount - results.size(), Integer.MAX_VALUE), query);
+            if (candidates.length == 0) {
                 break;
             }
-
-            // Determine end/start
-            if (forward) {
-                end = records.size();
-            } else {
-                start = records.size() - 1;
-            }
-
-            // Loop through the records, filtering and storing the matches
-            for (int count = start;
-                (count != end) && (results.size() < requestedCount);
-                count += inc) {
-                entry = (LogFile.LogEntry) records.get(count);
+            for (LogFile.LogEntry entry : logFile.getLogEntries(candidates)) {
                 if (allChecks(entry, fromDate, toDate, logLevel, onlyLevel,
                     listOfModules, nameValueMap, anySearch)) {
                     results.add(entry);
                 }
             }
-
-            // Update startingRecord / searchChunkIncrement & check for finish
-            if (forward) {
-                // If the record size is smaller than requested, then there
-                // are no more records.
-                if (records.size() < searchChunkIncrement) {
-                    break;
-                }
-
-                // Get starting record BEFORE updating searchChunkIncrement to
-                // skip all the records we already saw
-                startingRecord += searchChunkIncrement * inc;
-                searchChunkIncrement = requestedCount - results.size();
-            } else {
-                // If we already searched from 0, then there are no more
-                if (startingRecord == 0) {
-                    break;
-                }
-
-                // Get starting record AFTER updating searchChunkIncrement
-                searchChunkIncrement = requestedCount - results.size();
-                startingRecord += searchChunkIncrement * inc;
-                if (startingRecord < 1) {
-                    searchChunkIncrement += startingRecord;
-                    startingRecord = 0;
-                }
-            }
+            recordNumber = candidates[candidates.length - 1] + (next ? 1 : -1);
         }
 
         // Deal with previous&forward or next&reverse
-        if (next ^ origForward) {
+        if (next ^ forward) {
             List reversedResults = new ArrayList();
             // Reverse the results
             for (int count = results.size() - 1; count > -1; count--) {
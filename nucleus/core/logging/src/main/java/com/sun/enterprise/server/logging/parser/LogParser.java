@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2013, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -88,4 +88,16 @@ public interface LogParser {
 
     void parseLog(BufferedReader reader, LogParserListener listener) throws LogParserException;
 
+
+    /**
+     * Lines which are not record starts are continuation of the previous record or,
+     * before the first record, content which is ignored by the parser.
+     *
+     * @param line a line of the log file without the line terminator
+     * @return true if the line starts a new log record
+     */
+    default boolean isRecordStart(String line) {
+        return true;
+    }
+
 }
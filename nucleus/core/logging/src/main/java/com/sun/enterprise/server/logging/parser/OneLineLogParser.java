@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -65,4 +65,9 @@ public class OneLineLogParser implements LogParser {
         }
     }
 
+
+    @Override
+    public boolean isRecordStart(String line) {
+        return PATTERN.matcher(line).matches();
+    }
 }
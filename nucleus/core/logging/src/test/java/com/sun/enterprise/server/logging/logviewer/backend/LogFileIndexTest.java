@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.server.logging.logviewer.backend;
+
+import com.sun.enterprise.server.logging.logviewer.backend.LogFile.LogEntry;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogFileIndexTest {
+
+    private static final String UNIFORM_SERVER_LOG_FILE = "/com/sun/enterprise/server/logging/parser/uniform-server.log";
+
+    @TempDir
+    private Path directory;
+    private Path logFile;
+    private byte[] content;
+
+    @BeforeEach
+    public void copyLogFile() throws Exception {
+        try (InputStream input = LogFileIndexTest.class.getResourceAsStream(UNIFORM_SERVER_LOG_FILE)) {
+            content = input.readAllBytes();
+        }
+        logFile = directory.resolve("server.log");
+        Files.write(logFile, content);
+    }
+
+
+    @Test
+    public void recordsAreIndexedIncrementally() throws Exception {
+        final int split = new String(content, UTF_8).indexOf("[#|2022-06-30T22:57:35.757") + 10;
+        Files.write(logFile, Arrays.copyOf(content, split));
+        final LogFile file = new LogFile(logFile.toString());
+        assertThat(file.getRecordCount(), equalTo(9L));
+        assertThat(file.getLogEntries(8, 10), hasSize(0));
+
+        Files.write(logFile, Arrays.copyOfRange(content, split, content.length), StandardOpenOption.APPEND);
+        assertThat(file.getRecordCount(), equalTo(16L));
+        final List<LogEntry> entries = file.getLogEntries(8, 10);
+        assertAll(
+            () -> assertThat(entries, hasSize(8)),
+            () -> assertThat(entries.get(0).getRecordNumber(), equalTo(8L)),
+            () -> assertThat(entries.get(0).getLoggedDateTime(), equalTo(OffsetDateTime.parse("2022-06-30T22:57:35.757+02:00"))),
+            () -> assertThat(entries.get(7).getRecordNumber(), equalTo(15L)),
+            () -> assertThat(entries.get(7).getLoggedLoggerName(), equalTo("jakarta.enterprise.bootstrap")),
+            () -> assertTrue(Files.exists(directory.resolve(LogFileIndex.INDEX_DIRECTORY).resolve("server.log.idx")))
+        );
+    }
+
+
+    @Test
+    public void replacedFileIsIndexedAgain() throws Exception {
+        final LogFile file = new LogFile(logFile.toString());
+        assertThat(file.getRecordCount(), equalTo(16L));
+        final int secondRecord = new String(content, UTF_8).indexOf("[#|", 1);
+        Files.write(logFile, Arrays.copyOfRange(content, secondRecord, content.length));
+        assertThat(file.getRecordCount(), equalTo(15L));
+        assertThat(file.getLogEntries(0, 1).get(0).getLoggedDateTime(),
+            equalTo(OffsetDateTime.parse("2022-06-30T22:57:35.351+02:00")));
+    }
+
+
+    @Test
+    public void fileLargerThanChunkIsIndexedAndCanBeRotated() throws Exception {
+        final int copies = 30;
+        for (int i = 1; i < copies; i++) {
+            Files.write(logFile, content, StandardOpenOption.APPEND);
+        }
+        final LogFile file = new LogFile(logFile.toString());
+        assertThat(file.getRecordCount(), equalTo(16L * copies));
+        final List<LogEntry> entries = file.getLogEntries(16L * copies - 9, 2);
+        assertAll(
+            () -> assertThat(entries, hasSize(2)),
+            () -> assertThat(entries.get(1).getLoggedDateTime(), equalTo(OffsetDateTime.parse("2022-06-30T22:57:35.757+02:00")))
+        );
+
+        // The log file is not mapped, so the rotation can move it away
+        Files.move(logFile, directory.resolve("server.log_2022-06-30T22-58-00"));
+        Files.write(logFile, content);
+        assertThat(file.getRecordCount(), equalTo(16L));
+    }
+
+
+    @Test
+    public void queryUsesIndex() throws Exception {
+        final LogFile file = new LogFile(logFile.toString());
+        assertThat(file.getRecordCount(), equalTo(16L));
+        final LogFileIndex.Query byTime = new LogFileIndex.Query(
+            OffsetDateTime.parse("2022-06-30T22:57:35.740+02:00").toInstant(),
+            OffsetDateTime.parse("2022-06-30T22:57:35.787+02:00").toInstant(), null, false, null);
+        final LogFileIndex.Query byLogger = new LogFileIndex.Query(null, null, "INFO", true,
+            List.of(" jakarta.enterprise.system.core "));
+        assertAll(
+            () -> assertThat(file.findRecords(0, true, 100, byTime), equalTo(new long[] {7, 8, 9, 10, 11})),
+            () -> assertThat(file.findRecords(15, false, 3, byLogger), equalTo(new long[] {14, 11, 10})),
+            () -> assertThat(file.findRecords(0, true, 100,
+                new LogFileIndex.Query(null, null, "WARNING", false, null)), equalTo(new long[0]))
+        );
+    }
+}
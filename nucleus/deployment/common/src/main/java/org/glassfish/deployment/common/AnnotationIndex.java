@@ -0,0 +1,431 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.deployment.common;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarInputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.api.admin.ServerEnvironment;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.internal.api.Globals;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.objectweb.asm.Opcodes.ASM9;
+
+/**
+ * Persistent index of the class level annotations used in jar files.
+ * <p>
+ * The index of a jar lists the descriptors of all annotations of its classes and is stored in the
+ * {@value #INDEX_DIRECTORY} directory of the generated directory of the domain, named by the SHA-256
+ * hash of the jar content. So the classes of a jar are scanned only once, the index is reused on
+ * redeployments and restarts as long as the jar does not change. The hash is computed in the same pass
+ * as the scan. A jar already known by its path, size and modification time is not read at all, other
+ * jars are hashed only if a jar of the same size was indexed.
+ * <p>
+ * A scan looking for some annotations stops at the first class using one of them, as the scan without
+ * the index did. The index is written only when the whole jar was scanned.
+ * <p>
+ * An index file records the jar it was created for. When the server starts, the index files of jars
+ * which were removed or changed since are deleted, the others are known by their jar from then on.
+ * Within the server instance the index file of a jar is deleted when the jar changes.
+ */
+public final class AnnotationIndex {
+
+    private static final Logger LOG = DeploymentContextImpl.deplLogger;
+
+    static final String INDEX_DIRECTORY = "annotation-index";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String INDEX_HEADER = "# annotation index v2";
+    private static final String JAR_PREFIX = "# jar ";
+
+    private static volatile AnnotationIndex instance;
+
+    private final Path directory;
+    /** Indexed jars by their canonical path */
+    private final Map<String, IndexedJar> indexes = new ConcurrentHashMap<>();
+    /** Sizes of the indexed jars, only a jar of one of these sizes can have an index under another path */
+    private final Set<Long> indexedSizes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param directory directory of the index files, created when needed
+     */
+    AnnotationIndex(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return the index of the server instance, null if not running in the server
+     */
+    public static AnnotationIndex getInstance() {
+        AnnotationIndex index = instance;
+        if (index == null) {
+            ServiceLocator locator = Globals.getDefaultHabitat();
+            ServerEnvironment env = locator == null ? null : locator.getService(ServerEnvironment.class);
+            if (env == null || env.getApplicationStubPath() == null) {
+                return null;
+            }
+            synchronized (AnnotationIndex.class) {
+                index = instance;
+                if (index == null) {
+                    index = new AnnotationIndex(new File(env.getApplicationStubPath(), INDEX_DIRECTORY).toPath());
+                    index.prune();
+                    instance = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the descriptors of the class level annotations used in the jar, like
+     * {@code Ljakarta/ejb/Stateless;}. The jar is scanned only if it was not indexed yet.
+     *
+     * @param jar the jar file
+     * @return unmodifiable set of annotation descriptors
+     * @throws IOException if the jar cannot be read
+     */
+    public Set<String> getAnnotations(File jar) throws IOException {
+        return getAnnotations(jar, Set.of());
+    }
+
+    /**
+     * Checks whether any class of the jar is annotated by one of the annotations. If the jar was not
+     * indexed yet, the scan stops at the first such class.
+     *
+     * @param jar the jar file
+     * @param annotations descriptors of the annotations
+     * @return true if one of the annotations is used
+     * @throws IOException if the jar cannot be read
+     */
+    public boolean containsAny(File jar, Collection<String> annotations) throws IOException {
+        return !Collections.disjoint(getAnnotations(jar, annotations), annotations);
+    }
+
+    /**
+     * @param wanted the scan stops at the first class annotated by one of these, the jar is then not indexed
+     * @return all annotations of the jar, or those found until the scan stopped
+     */
+    private Set<String> getAnnotations(File jar, Collection<String> wanted) throws IOException {
+        String path = jar.getCanonicalPath();
+        long size = jar.length();
+        long lastModified = jar.lastModified();
+        IndexedJar indexed = indexes.get(path);
+        if (indexed != null && indexed.size == size && indexed.lastModified == lastModified) {
+            if (indexed.annotations != null) {
+                return indexed.annotations;
+            }
+            // Known from the index file header since the start, read it now
+            Set<String> annotations = read(directory.resolve(indexed.hash + INDEX_SUFFIX));
+            if (annotations != null) {
+                indexes.replace(path, indexed, new IndexedJar(path, size, lastModified, indexed.hash, annotations));
+                return annotations;
+            }
+        }
+
+        String hash = null;
+        Set<String> annotations = null;
+        if (indexedSizes.contains(size)) {
+            // The same content may be indexed under another path
+            hash = hash(jar);
+            annotations = read(directory.resolve(hash + INDEX_SUFFIX));
+        }
+        if (annotations == null) {
+            IndexScanner scanner = new IndexScanner(wanted);
+            hash = scanner.scan(jar);
+            if (hash == null) {
+                LOG.log(Level.FINEST, "Stopped the scan of {0} at a wanted annotation, not indexed", jar);
+                if (indexed != null && indexes.remove(path, indexed)) {
+                    deleteUnreferenced(indexed.hash);
+                }
+                return scanner.annotations;
+            }
+            annotations = Collections.unmodifiableSet(scanner.annotations);
+            Path indexFile = directory.resolve(hash + INDEX_SUFFIX);
+            write(indexFile, new IndexedJar(path, size, lastModified, hash, annotations));
+            indexedSizes.add(size);
+            LOG.log(Level.FINE, "Indexed {0} annotations of {1}", new Object[] {annotations.size(), jar});
+        } else {
+            LOG.log(Level.FINEST, "Using annotation index {0} of {1}", new Object[] {hash, jar});
+        }
+        IndexedJar previous = indexes.put(path, new IndexedJar(path, size, lastModified, hash, annotations));
+        if (previous != null && !previous.hash.equals(hash)) {
+            deleteUnreferenced(previous.hash);
+        }
+        return annotations;
+    }
+
+    /**
+     * Deletes the index files of jars which do not exist anymore or changed since they were indexed,
+     * and temporary files left by an interrupted write. The jars of the other index files are known
+     * from then on, without hashing them again.
+     */
+    void prune() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                IndexedJar indexed = null;
+                if (name.endsWith(INDEX_SUFFIX)) {
+                    indexed = readCurrent(file, name.substring(0, name.length() - INDEX_SUFFIX.length()));
+                }
+                if (indexed != null) {
+                    indexes.put(indexed.path, indexed);
+                    indexedSizes.add(indexed.size);
+                } else if ((name.endsWith(TEMP_SUFFIX) || name.endsWith(INDEX_SUFFIX)) && Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            LOG.log(Level.FINE, "Cannot prune the annotation index " + directory, e);
+        }
+        LOG.log(Level.FINE, "Deleted {0} stale files of the annotation index {1}", new Object[] {deleted, directory});
+    }
+
+    /**
+     * Reads the header of the index file, the annotations are read when the jar is used.
+     *
+     * @return the jar recorded in the index file, null if it does not exist or changed
+     */
+    private static IndexedJar readCurrent(Path indexFile, String hash) {
+        try (BufferedReader reader = Files.newBufferedReader(indexFile, UTF_8)) {
+            if (!INDEX_HEADER.equals(reader.readLine())) {
+                return null;
+            }
+            String jarLine = reader.readLine();
+            if (jarLine == null || !jarLine.startsWith(JAR_PREFIX)) {
+                return null;
+            }
+            String[] jar = jarLine.substring(JAR_PREFIX.length()).split(" ", 3);
+            if (jar.length != 3) {
+                return null;
+            }
+            long size = Long.parseLong(jar[0]);
+            long lastModified = Long.parseLong(jar[1]);
+            File file = new File(jar[2]);
+            if (!file.isFile() || file.length() != size || file.lastModified() != lastModified) {
+                return null;
+            }
+            return new IndexedJar(jar[2], size, lastModified, hash, null);
+        } catch (IOException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void deleteUnreferenced(String hash) {
+        for (IndexedJar indexed : indexes.values()) {
+            if (indexed.hash.equals(hash)) {
+                return;
+            }
+        }
+        try {
+            Files.deleteIfExists(directory.resolve(hash + INDEX_SUFFIX));
+        } catch (IOException e) {
+            LOG.log(Level.FINE, "Cannot delete annotation index " + hash + INDEX_SUFFIX, e);
+        }
+    }
+
+    private static String hash(File jar) throws IOException {
+        MessageDigest digest = newDigest();
+        try (InputStream is = new DigestInputStream(Files.newInputStream(jar.toPath()), digest)) {
+            is.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Set<String> read(Path indexFile) {
+        if (!Files.isRegularFile(indexFile)) {
+            return null;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(indexFile, UTF_8)) {
+            if (!INDEX_HEADER.equals(reader.readLine())) {
+                return null;
+            }
+            String jarLine = reader.readLine();
+            if (jarLine == null || !jarLine.startsWith(JAR_PREFIX)) {
+                return null;
+            }
+            Set<String> annotations = new HashSet<>();
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (!line.isEmpty()) {
+                    annotations.add(line);
+                }
+            }
+            return Collections.unmodifiableSet(annotations);
+        } catch (IOException e) {
+            LOG.log(Level.FINE, "Cannot read annotation index " + indexFile + ", the jar will be scanned again", e);
+            return null;
+        }
+    }
+
+    private void write(Path indexFile, IndexedJar jar) {
+        try {
+            Files.createDirectories(directory);
+            // Concurrent deployments may index the same jar, the complete file is moved in place
+            Path tempFile = Files.createTempFile(directory, "index", TEMP_SUFFIX);
+            try {
+                try (Writer writer = Files.newBufferedWriter(tempFile, UTF_8)) {
+                    writer.write(INDEX_HEADER);
+                    writer.write('\n');
+                    writer.write(JAR_PREFIX + jar.size + ' ' + jar.lastModified + ' ' + jar.path);
+                    writer.write('\n');
+                    for (String annotation : jar.annotations) {
+                        writer.write(annotation);
+                        writer.write('\n');
+                    }
+                }
+                Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            LOG.log(Level.FINE, "Cannot write annotation index " + indexFile, e);
+        }
+    }
+
+    /**
+     * Scans the classes of a jar and of its top level jars, as GenericAnnotationDetector does,
+     * reading the jar once to hash it at the same time.
+     */
+    private static final class IndexScanner extends AnnotationScanner {
+
+        private final Collection<String> wanted;
+        private final Set<String> annotations = new HashSet<>();
+        private boolean found;
+
+        IndexScanner(Collection<String> wanted) {
+            super(ASM9);
+            this.wanted = wanted;
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            annotations.add(descriptor);
+            if (wanted.contains(descriptor)) {
+                found = true;
+            }
+            return null;
+        }
+
+        /**
+         * @return the hash of the jar content, null if the scan stopped at a wanted annotation
+         */
+        String scan(File jar) throws IOException {
+            MessageDigest digest = newDigest();
+            try (DigestInputStream content = new DigestInputStream(new BufferedInputStream(Files.newInputStream(jar.toPath()),
+                64 * 1024), digest); JarInputStream jarStream = new JarInputStream(content, false)) {
+                for (JarEntry entry = jarStream.getNextJarEntry(); entry != null; entry = jarStream.getNextJarEntry()) {
+                    String name = entry.getName();
+                    if (name.endsWith(".class")) {
+                        scanClass(jarStream, name, jar);
+                    } else if (name.endsWith(".jar") && name.indexOf('/') == -1) {
+                        scanNested(jarStream, name, jar);
+                    }
+                    if (found) {
+                        return null;
+                    }
+                }
+                // The central directory
+                content.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+        private void scanNested(JarInputStream jarStream, String name, File jar) throws IOException {
+            InputStream entry = new FilterInputStream(jarStream) {
+                @Override
+                public void close() {
+                    // The entries of the outer jar are read further
+                }
+            };
+            try (JarInputStream nestedJar = new JarInputStream(entry, false)) {
+                for (JarEntry nested = nestedJar.getNextJarEntry(); nested != null; nested = nestedJar.getNextJarEntry()) {
+                    if (nested.getName().endsWith(".class")) {
+                        scanClass(nestedJar, name + '!' + nested.getName(), jar);
+                        if (found) {
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+
+        private void scanClass(InputStream is, String name, File jar) throws IOException {
+            try {
+                new ClassReader(is).accept(this, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+            } catch (RuntimeException e) {
+                // Not a valid class file, it cannot be loaded either
+                LOG.log(Level.FINE, "Cannot scan " + name + " in " + jar, e);
+            }
+        }
+    }
+
+    private static final class IndexedJar {
+
+        private final String path;
+        private final long size;
+        private final long lastModified;
+        private final String hash;
+        /** Null until the index file is read */
+        private final Set<String> annotations;
+
+        IndexedJar(String path, long size, long lastModified, String hash, Set<String> annotations) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+            this.annotations = annotations;
+        }
+    }
+}
@@ -1,6 +1,6 @@
 /*
  * Copyright (c) 2009, 2018 Oracle and/or its affiliates. All rights reserved.
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -110,6 +110,9 @@ public class GenericAnnotationDetector extends AnnotationScanner {
 
     @Override
     public void scanArchive(ReadableArchive archive) {
+        if (scanIndexed(archive)) {
+            return;
+        }
         try {
             int crFlags = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
             Enumeration<String> entries = archive.entries();
@@ -127,6 +130,12 @@ public class GenericAnnotationDetector extends AnnotationScanner {
                 } else if (entryName.endsWith(".jar") && entryName.indexOf('/') == -1) {
                     // scan class files inside top level jar
                     try (ReadableArchive jarSubArchive = archive.getSubArchive(entryName)) {
+                        if (scanIndexed(jarSubArchive)) {
+                            if (found) {
+                                return;
+                            }
+                            continue;
+                        }
                         Enumeration<String> jarEntries = jarSubArchive.entries();
                         while (jarEntries.hasMoreElements()) {
                             String jarEntryName = jarEntries.nextElement();
@@ -150,4 +159,31 @@ public class GenericAnnotationDetector extends AnnotationScanner {
           deplLogger.log(Level.WARNING, FAILED_ANNOTATION_SCAN, e.getMessage());
         }
     }
+
+    /**
+     * Uses the persistent annotation index if the archive is a jar file, so the classes of jars
+     * which did not change since the last scan are not read again.
+     *
+     * @return true if the archive was checked by the index
+     */
+    private boolean scanIndexed(ReadableArchive archive) {
+        AnnotationIndex index = AnnotationIndex.getInstance();
+        URI uri = archive.getURI();
+        if (index == null || uri == null || !"file".equals(uri.getScheme())) {
+            return false;
+        }
+        File file = new File(uri);
+        if (!file.isFile()) {
+            return false;
+        }
+        try {
+            if (index.containsAny(file, annotations)) {
+                found = true;
+            }
+            return true;
+        } catch (IOException e) {
+            deplLogger.log(Level.FINE, "Cannot use the annotation index of " + file + ", scanning the archive", e);
+            return false;
+        }
+    }
 }
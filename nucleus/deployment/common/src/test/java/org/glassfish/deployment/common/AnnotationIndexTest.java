@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.deployment.common;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AnnotationIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void annotationsAreIndexedByContent() throws Exception {
+        Path indexDir = tempDir.resolve(AnnotationIndex.INDEX_DIRECTORY);
+        File jar = createJar(tempDir.resolve("annotated.jar"), Annotated.class, AnnotationIndexTest.class);
+
+        assertThat(new AnnotationIndex(indexDir).getAnnotations(jar), contains("Ljava/lang/Deprecated;"));
+        assertThat(listIndexFiles(indexDir), hasSize(1));
+
+        // The same content under another name uses the stored index
+        File copy = Files.copy(jar.toPath(), tempDir.resolve("copy.jar")).toFile();
+        Path indexFile = listIndexFiles(indexDir).get(0);
+        Files.writeString(indexFile, "Lcom/example/FromIndex;\n", StandardOpenOption.APPEND);
+        AnnotationIndex restarted = new AnnotationIndex(indexDir);
+        restarted.prune();
+        assertThat(restarted.getAnnotations(copy), containsInAnyOrder("Ljava/lang/Deprecated;", "Lcom/example/FromIndex;"));
+        assertThat(listIndexFiles(indexDir), hasSize(1));
+    }
+
+    @Test
+    public void unchangedJarsAreNotReadAfterRestart() throws Exception {
+        Path indexDir = tempDir.resolve(AnnotationIndex.INDEX_DIRECTORY);
+        File jar = createJar(tempDir.resolve("unchanged.jar"), Annotated.class);
+        assertThat(new AnnotationIndex(indexDir).getAnnotations(jar), contains("Ljava/lang/Deprecated;"));
+
+        // Neither hashed nor scanned, the garbage of the same size and modification time is not noticed
+        long lastModified = jar.lastModified();
+        Files.write(jar.toPath(), new byte[(int) jar.length()]);
+        assertTrue(jar.setLastModified(lastModified));
+        AnnotationIndex restarted = new AnnotationIndex(indexDir);
+        restarted.prune();
+        assertThat(restarted.getAnnotations(jar), contains("Ljava/lang/Deprecated;"));
+    }
+
+    @Test
+    public void scanStopsAtWantedAnnotation() throws Exception {
+        Path indexDir = tempDir.resolve(AnnotationIndex.INDEX_DIRECTORY);
+        AnnotationIndex index = new AnnotationIndex(indexDir);
+        File jar = createJar(tempDir.resolve("annotated.jar"), Annotated.class, AnnotationIndexTest.class);
+
+        assertTrue(index.containsAny(jar, List.of("Ljava/lang/Deprecated;")));
+        // The jar was not scanned completely, so it is not indexed
+        assertFalse(Files.exists(indexDir));
+
+        assertFalse(index.containsAny(jar, List.of("Ljakarta/ejb/Stateless;")));
+        assertThat(listIndexFiles(indexDir), hasSize(1));
+        assertTrue(index.containsAny(jar, List.of("Ljava/lang/Deprecated;")));
+    }
+
+    @Test
+    public void modifiedJarIsScannedAgain() throws Exception {
+        Path indexDir = tempDir.resolve(AnnotationIndex.INDEX_DIRECTORY);
+        AnnotationIndex index = new AnnotationIndex(indexDir);
+        File jar = createJar(tempDir.resolve("modified.jar"), Annotated.class);
+        assertThat(index.getAnnotations(jar), contains("Ljava/lang/Deprecated;"));
+
+        createJar(jar.toPath(), AnnotationIndexTest.class);
+        // The size differs, so the jar is hashed again even if the modification time is the same
+        assertThat(index.getAnnotations(jar), empty());
+        // The index of the previous content is not used by any jar anymore
+        assertThat(listIndexFiles(indexDir), hasSize(1));
+
+        createJar(jar.toPath(), Annotated.class);
+        assertThat(index.getAnnotations(jar), contains("Ljava/lang/Deprecated;"));
+        assertThat(listIndexFiles(indexDir), hasSize(1));
+    }
+
+    @Test
+    public void indexOfChangedJarIsKeptWhileUsedByAnotherJar() throws Exception {
+        Path indexDir = tempDir.resolve(AnnotationIndex.INDEX_DIRECTORY);
+        AnnotationIndex index = new AnnotationIndex(indexDir);
+        File jar = createJar(tempDir.resolve("changed.jar"), Annotated.class);
+        File copy = Files.copy(jar.toPath(), tempDir.resolve("copy.jar")).toFile();
+        index.getAnnotations(jar);
+        index.getAnnotations(copy);
+
+        createJar(jar.toPath(), AnnotationIndexTest.class);
+        assertThat(index.getAnnotations(jar), empty());
+        assertThat(listIndexFiles(indexDir), hasSize(2));
+    }
+
+    @Test
+    public void staleIndexFilesArePruned() throws Exception {
+        Path indexDir = tempDir.resolve(AnnotationIndex.INDEX_DIRECTORY);
+        File kept = createJar(tempDir.resolve("kept.jar"), Annotated.class);
+        File removed = createJar(tempDir.resolve("removed.jar"), AnnotationIndexTest.class);
+        File changed = createJar(tempDir.resolve("changed.jar"), Annotated.class, AnnotationIndexTest.class);
+        AnnotationIndex index = new AnnotationIndex(indexDir);
+        index.getAnnotations(kept);
+        index.getAnnotations(removed);
+        index.getAnnotations(changed);
+        Files.createFile(indexDir.resolve("index123.tmp"));
+        assertThat(listIndexFiles(indexDir), hasSize(4));
+
+        Files.delete(removed.toPath());
+        createJar(changed.toPath(), Annotated.class);
+        new AnnotationIndex(indexDir).prune();
+
+        assertThat(listIndexFiles(indexDir), hasSize(1));
+        AnnotationIndex restarted = new AnnotationIndex(indexDir);
+        restarted.prune();
+        assertThat(restarted.getAnnotations(kept), contains("Ljava/lang/Deprecated;"));
+        assertThat(listIndexFiles(indexDir), hasSize(1));
+    }
+
+    @Test
+    public void classesOfTopLevelJarsAreIndexed() throws Exception {
+        Path indexDir = tempDir.resolve(AnnotationIndex.INDEX_DIRECTORY);
+        Path archive = tempDir.resolve("packaged.rar");
+        try (OutputStream os = Files.newOutputStream(archive); JarOutputStream jos = new JarOutputStream(os)) {
+            addClasses(jos, AnnotationIndexTest.class);
+            jos.putNextEntry(new JarEntry("lib.jar"));
+            ByteArrayOutputStream nested = new ByteArrayOutputStream();
+            try (JarOutputStream nestedJar = new JarOutputStream(nested)) {
+                addClasses(nestedJar, Annotated.class);
+            }
+            jos.write(nested.toByteArray());
+            jos.closeEntry();
+        }
+
+        assertThat(new AnnotationIndex(indexDir).getAnnotations(archive.toFile()), contains("Ljava/lang/Deprecated;"));
+        assertTrue(new AnnotationIndex(indexDir).containsAny(archive.toFile(), List.of("Ljava/lang/Deprecated;")));
+    }
+
+    private static File createJar(Path path, Class<?>... classes) throws Exception {
+        try (OutputStream os = Files.newOutputStream(path); JarOutputStream jos = new JarOutputStream(os)) {
+            addClasses(jos, classes);
+        }
+        return path.toFile();
+    }
+
+    private static void addClasses(JarOutputStream jos, Class<?>... classes) throws Exception {
+        for (Class<?> clazz : classes) {
+            String name = clazz.getName().replace('.', '/') + ".class";
+            jos.putNextEntry(new JarEntry(name));
+            try (InputStream is = clazz.getClassLoader().getResourceAsStream(name)) {
+                is.transferTo(jos);
+            }
+            jos.closeEntry();
+        }
+    }
+
+    private static List<Path> listIndexFiles(Path indexDir) throws Exception {
+        try (Stream<Path> files = Files.list(indexDir)) {
+            return files.toList();
+        }
+    }
+
+    @Deprecated
+    static class Annotated {
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -23,6 +23,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.logging.Level;
@@ -240,6 +241,24 @@ public class ConfigurationHelper {
     }
 
 
+    /**
+     * Joins <code>prefix.key</code>, uses the result to call the
+     * {@link LogManager#getProperty(String)} and parses the retrieved value.
+     * The value is the name of the enum constant, case insensitive.
+     * Parsing exceptions are consumed by the {@link LoggingPropertyErrorHandler}
+     * given in constructor.
+     * @param <E> type of the enum
+     *
+     * @param key key relative to the prefix given in constructor
+     * @param defaultValue must not be null, it defines the enum type.
+     * @return parsed enum constant or defaultValue
+     */
+    public <E extends Enum<E>> E getEnum(final LogProperty key, final E defaultValue) {
+        final Class<E> enumClass = defaultValue.getDeclaringClass();
+        return parse(key, defaultValue, v -> Enum.valueOf(enumClass, v.trim().toUpperCase(Locale.ROOT)));
+    }
+
+
     /**
      * Joins <code>prefix.key</code>, uses the result to call the
      * {@link LogManager#getProperty(String)} and parses the retrieved value.
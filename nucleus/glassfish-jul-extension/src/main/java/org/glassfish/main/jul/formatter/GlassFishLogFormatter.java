@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,9 +16,11 @@
 
 package org.glassfish.main.jul.formatter;
 
+import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Formatter;
 import java.util.logging.LogRecord;
 
@@ -77,10 +79,18 @@ public abstract class GlassFishLogFormatter extends Formatter {
             + ", ISO Local datetime: " + ISO_LOCAL_DATE_TIME + ", ISO-8601 formatter: " + DEFAULT_DATETIME_FORMATTER);
     }
 
+    /** Bigger builders are not kept for reuse, they would just waste the memory */
+    private static final int MAX_REUSED_BUILDER_CAPACITY = 64 * 1024;
+
     private boolean printSequenceNumber;
     private boolean printSource;
     private DateTimeFormatter timestampFormatter = DEFAULT_DATETIME_FORMATTER;
 
+    /** Builder for the next record, null while some thread is using it */
+    private final AtomicReference<StringBuilder> recordBuilder = new AtomicReference<>();
+    /** The {@link #DEFAULT_DATETIME_FORMATTER} output of the last second, without the fraction */
+    private volatile TimestampSecond lastTimestampSecond;
+
 
     /**
      * Creates an instance and initializes defaults from log manager's configuration
@@ -211,6 +221,69 @@ public abstract class GlassFishLogFormatter extends Formatter {
     }
 
 
+    /**
+     * Provides an empty builder for the formatted record. The builder is reused by subsequent
+     * calls after it is returned by the {@link #releaseRecordBuilder(StringBuilder)}, unless
+     * it is used by another thread at the same time.
+     *
+     * @param initialCapacity initial capacity of a new builder
+     * @return empty {@link StringBuilder}
+     */
+    protected final StringBuilder acquireRecordBuilder(final int initialCapacity) {
+        final StringBuilder builder = recordBuilder.getAndSet(null);
+        if (builder == null) {
+            return new StringBuilder(initialCapacity);
+        }
+        builder.setLength(0);
+        return builder;
+    }
+
+
+    /**
+     * Returns the builder for reuse. It must not be used by the caller after that.
+     *
+     * @param builder the builder obtained by {@link #acquireRecordBuilder(int)}
+     * @return content of the builder
+     */
+    protected final String releaseRecordBuilder(final StringBuilder builder) {
+        final String formatted = builder.toString();
+        if (builder.capacity() <= MAX_REUSED_BUILDER_CAPACITY) {
+            recordBuilder.set(builder);
+        }
+        return formatted;
+    }
+
+
+    /**
+     * Appends the record's timestamp formatted by the {@link #getTimestampFormatter()}.
+     * <p>
+     * With the default formatter, only the fraction of the second is formatted for each record,
+     * the rest changes just once per second.
+     *
+     * @param output target
+     * @param record the record
+     */
+    protected final void appendTimestamp(final StringBuilder output, final GlassFishLogRecord record) {
+        if (timestampFormatter != DEFAULT_DATETIME_FORMATTER) {
+            timestampFormatter.formatTo(record.getTime(), output);
+            return;
+        }
+        final Instant instant = record.getInstant();
+        TimestampSecond second = lastTimestampSecond;
+        if (second == null || second.epochSecond != instant.getEpochSecond()) {
+            second = new TimestampSecond(instant.getEpochSecond(),
+                DEFAULT_DATETIME_FORMATTER.format(record.getTime().withNano(0)));
+            lastTimestampSecond = second;
+        }
+        output.append(second.beforeFraction).append('.');
+        final int micros = instant.getNano() / 1000;
+        for (int divisor = 100_000; divisor > micros && divisor > 1; divisor /= 10) {
+            output.append('0');
+        }
+        output.append(micros).append(second.afterFraction);
+    }
+
+
     @Override
     public final String format(final LogRecord record) {
         return formatRecord(record);
@@ -237,6 +310,22 @@ public abstract class GlassFishLogFormatter extends Formatter {
     }
 
 
+    private static final class TimestampSecond {
+
+        private final long epochSecond;
+        private final String beforeFraction;
+        private final String afterFraction;
+
+        TimestampSecond(final long epochSecond, final String formatted) {
+            this.epochSecond = epochSecond;
+            // The fraction is always 6 digits long, see ISO_LOCAL_TIME
+            final int fraction = formatted.indexOf('.', formatted.indexOf('T'));
+            this.beforeFraction = formatted.substring(0, fraction);
+            this.afterFraction = formatted.substring(fraction + 7);
+        }
+    }
+
+
     /**
      * Configuration property set of this formatter
      */
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  * Copyright (c) 2011, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,7 +17,6 @@
 
 package org.glassfish.main.jul.formatter;
 
-import java.time.OffsetDateTime;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
 
@@ -117,8 +116,8 @@ public class ODLLogFormatter extends GlassFishLogFormatter {
             final String msgId = record.getMessageKey();
             final String loggerName = record.getLoggerName();
             final String threadName = record.getThreadName();
-            final StringBuilder output = new StringBuilder(REC_BUFFER_CAPACITY);
-            appendTimestamp(output, record.getTime());
+            final StringBuilder output = acquireRecordBuilder(REC_BUFFER_CAPACITY);
+            appendTimestampField(output, record);
             appendProductId(output);
             appendLogLevel(output, logLevel);
             appendMessageKey(output, msgId);
@@ -138,16 +137,16 @@ public class ODLLogFormatter extends GlassFishLogFormatter {
                 output.append(FIELD_END_MARKER).append(FIELD_END_MARKER);
             }
             output.append(lineSeparator()).append(lineSeparator());
-            return output.toString();
+            return releaseRecordBuilder(output);
         } catch (final Exception e) {
             error(getClass(), "Error in formatting Logrecord", e);
             return record.getMessage();
         }
     }
 
-    private void appendTimestamp(final StringBuilder output, final OffsetDateTime timestamp) {
+    private void appendTimestampField(final StringBuilder output, final GlassFishLogRecord record) {
         output.append(FIELD_BEGIN_MARKER);
-        output.append(getTimestampFormatter().format(timestamp));
+        appendTimestamp(output, record);
         output.append(FIELD_END_MARKER).append(fieldSeparator);
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,7 +16,6 @@
 
 package org.glassfish.main.jul.formatter;
 
-import java.util.Arrays;
 import java.util.logging.Formatter;
 import java.util.logging.LogRecord;
 import java.util.logging.Logger;
@@ -95,8 +94,8 @@ public class OneLineFormatter extends GlassFishLogFormatter {
         if (record.getMessage() == null) {
             return "";
         }
-        final StringBuilder sb = new StringBuilder(256);
-        sb.append(getTimestampFormatter().format(record.getTime()));
+        final StringBuilder sb = acquireRecordBuilder(256);
+        appendTimestamp(sb, record);
         addPadded(record.getLevel(), this.sizeOfLevel, sb);
         addPadded(record.getThreadName(), this.sizeOfThread, sb);
         if (isPrintSource()) {
@@ -115,26 +114,17 @@ public class OneLineFormatter extends GlassFishLogFormatter {
             sb.append(record.getThrownStackTrace());
         }
 
-        return sb.append(LINE_SEPARATOR).toString();
+        return releaseRecordBuilder(sb.append(LINE_SEPARATOR));
     }
 
 
     private void addPadded(final Object value, final int size, final StringBuilder sb) {
         final String text = value == null ? "" : String.valueOf(value);
         sb.append(' ');
-        sb.append(getPad(text, size));
-        sb.append(text.length() <= size ? text : text.substring(text.length() - size));
-    }
-
-
-    private char[] getPad(final String text, final int size) {
-        final int countOfSpaces = size - text.length();
-        if (countOfSpaces <= 0) {
-            return new char[0];
+        for (int i = text.length(); i < size; i++) {
+            sb.append(' ');
         }
-        final char[] spaces = new char[countOfSpaces];
-        Arrays.fill(spaces, ' ');
-        return spaces;
+        sb.append(text, Math.max(0, text.length() - size), text.length());
     }
 
     /**
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  * Copyright (c) 2006, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -143,10 +143,10 @@ public class UniformLogFormatter extends GlassFishLogFormatter {
                 return "";
             }
 
-            final String timestamp = getTimestampFormatter().format(record.getTime());
             final Level logLevel = record.getLevel();
-            final StringBuilder output = new StringBuilder(REC_BUFFER_CAPACITY).append(recordBeginMarker);
-            appendTimestamp(output, timestamp);
+            final StringBuilder output = acquireRecordBuilder(REC_BUFFER_CAPACITY).append(recordBeginMarker);
+            appendTimestamp(output, record);
+            output.append(recordFieldSeparator);
             appendLogLevel(output, logLevel);
             appendProductId(output);
             appendLoggerName(output, record.getLoggerName());
@@ -159,7 +159,7 @@ public class UniformLogFormatter extends GlassFishLogFormatter {
             output.append(message);
             output.append(recordEndMarker);
             output.append(lineSeparator()).append(lineSeparator());
-            return output.toString();
+            return releaseRecordBuilder(output);
         } catch (final Exception e) {
             new ErrorManager().error("Error in formatting Logrecord", e, ErrorManager.FORMAT_FAILURE);
             return record.getMessage();
@@ -167,12 +167,6 @@ public class UniformLogFormatter extends GlassFishLogFormatter {
     }
 
 
-    private void appendTimestamp(final StringBuilder output, final String timestamp) {
-        output.append(timestamp);
-        output.append(recordFieldSeparator);
-    }
-
-
     private void appendLogLevel(final StringBuilder output, final Level logLevel) {
         output.append(logLevel.getName());
         output.append(recordFieldSeparator);
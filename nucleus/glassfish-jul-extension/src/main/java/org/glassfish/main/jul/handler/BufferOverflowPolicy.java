@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.main.jul.handler;
+
+import java.util.logging.Level;
+
+/**
+ * What happens with a log record coming to a full log record buffer.
+ * <p>
+ * Dropped records are counted and the count is reported by a {@link Level#WARNING} record
+ * as soon as the buffer accepts records again.
+ */
+public enum BufferOverflowPolicy {
+
+    /**
+     * The logging thread waits until the buffer has a free capacity, but for the buffer timeout
+     * at most. After the timeout the buffer is cleared.
+     */
+    BLOCK,
+    /**
+     * The record is dropped, the logging thread never waits.
+     */
+    DROP,
+    /**
+     * Records with the {@link Level#WARNING} level and higher are handled as with {@link #BLOCK}.
+     * Only every hundredth less severe record is handled so, others are dropped.
+     */
+    SAMPLE,
+    ;
+}
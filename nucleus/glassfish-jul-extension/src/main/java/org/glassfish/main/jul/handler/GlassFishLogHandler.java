@@ -44,8 +44,10 @@ import static java.util.logging.Level.ALL;
 import static java.util.logging.Level.INFO;
 import static java.util.logging.Level.SEVERE;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.BUFFER_CAPACITY;
+import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.BUFFER_OVERFLOW_POLICY;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.BUFFER_TIMEOUT;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.DEFAULT_BUFFER_CAPACITY;
+import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.DEFAULT_BUFFER_OVERFLOW_POLICY;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.DEFAULT_BUFFER_TIMEOUT;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.DEFAULT_ROTATION_LIMIT_MB;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.ENABLED;
@@ -122,6 +124,7 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
         configuration.setFlushFrequency(helper.getNonNegativeInteger(FLUSH_FREQUENCY, 1));
         configuration.setBufferCapacity(helper.getInteger(BUFFER_CAPACITY, DEFAULT_BUFFER_CAPACITY));
         configuration.setBufferTimeout(helper.getInteger(BUFFER_TIMEOUT, DEFAULT_BUFFER_TIMEOUT));
+        configuration.setBufferOverflowPolicy(helper.getEnum(BUFFER_OVERFLOW_POLICY, DEFAULT_BUFFER_OVERFLOW_POLICY));
 
         final Integer rotationLimitMB = helper.getInteger(ROTATION_LIMIT_SIZE, DEFAULT_ROTATION_LIMIT_MB);
         final long rotationLimitB = GlassFishLoggingConstants.BYTES_PER_MEGABYTES
@@ -148,7 +151,8 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
         // parent StreamHandler already set level, filter, encoding and formatter.
         setLevel(configuration.getLevel());
         setEncoding(configuration.getEncoding());
-        this.logRecordBuffer = new LogRecordBuffer(configuration.getBufferCapacity(), configuration.getBufferTimeout());
+        this.logRecordBuffer = new LogRecordBuffer(configuration.getBufferCapacity(), configuration.getBufferTimeout(),
+            configuration.getBufferOverflowPolicy());
 
         reconfigure(configuration);
     }
@@ -192,7 +196,8 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
         try {
             // stop using output, but allow collecting records. Logging system can continue to work.
             this.status = GlassFishLogHandlerStatus.ACCEPTING;
-            this.logRecordBuffer.reconfigure(newConfiguration.getBufferCapacity(), newConfiguration.getBufferTimeout());
+            this.logRecordBuffer.reconfigure(newConfiguration.getBufferCapacity(), newConfiguration.getBufferTimeout(),
+                newConfiguration.getBufferOverflowPolicy());
             if (this.rotationTimerTask != null) {
                 // to avoid another task from last configuration runs it's action.
                 this.rotationTimerTask.cancel();
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -25,6 +25,7 @@ import java.util.logging.Level;
 import org.glassfish.main.jul.cfg.GlassFishLoggingConstants;
 
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.DEFAULT_BUFFER_CAPACITY;
+import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.DEFAULT_BUFFER_OVERFLOW_POLICY;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.DEFAULT_BUFFER_TIMEOUT;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.DEFAULT_ROTATION_LIMIT_MB;
 
@@ -45,6 +46,7 @@ public class GlassFishLogHandlerConfiguration implements Cloneable {
 
     private int bufferCapacity = DEFAULT_BUFFER_CAPACITY;
     private int bufferTimeout = DEFAULT_BUFFER_TIMEOUT;
+    private BufferOverflowPolicy bufferOverflowPolicy = DEFAULT_BUFFER_OVERFLOW_POLICY;
 
     private boolean rotationOnDateChange;
     private int rotationTimeLimitMinutes;
@@ -148,6 +150,24 @@ public class GlassFishLogHandlerConfiguration implements Cloneable {
     }
 
 
+    /**
+     * @return what happens with a new record if the buffer is full.
+     *         Default is {@link BufferOverflowPolicy#BLOCK}
+     */
+    public BufferOverflowPolicy getBufferOverflowPolicy() {
+        return bufferOverflowPolicy;
+    }
+
+
+    /**
+     * @param bufferOverflowPolicy what happens with a new record if the buffer is full.
+     *            Null sets the default.
+     */
+    public void setBufferOverflowPolicy(final BufferOverflowPolicy bufferOverflowPolicy) {
+        this.bufferOverflowPolicy = bufferOverflowPolicy == null ? DEFAULT_BUFFER_OVERFLOW_POLICY : bufferOverflowPolicy;
+    }
+
+
     public long getRotationSizeLimitBytes() {
         return rotationSizeLimitBytes;
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -51,6 +51,11 @@ public enum GlassFishLogHandlerProperty implements LogProperty {
      * 0 means wait forever.
      */
     BUFFER_TIMEOUT("buffer.timeoutInSeconds"),
+    /**
+     * What happens with a new record if the buffer is full, see {@link BufferOverflowPolicy}.
+     * Default is {@link BufferOverflowPolicy#BLOCK}.
+     */
+    BUFFER_OVERFLOW_POLICY("buffer.overflowPolicy"),
     /** Count of records processed until handler flushes the output */
     FLUSH_FREQUENCY("flushFrequency"),
     /** Log STDOUT and STDERR to the log file too */
@@ -70,6 +75,7 @@ public enum GlassFishLogHandlerProperty implements LogProperty {
     public static final int DEFAULT_ROTATION_LIMIT_MB = 100;
     public static final int DEFAULT_BUFFER_CAPACITY = 10_000;
     public static final int DEFAULT_BUFFER_TIMEOUT = 0;
+    public static final BufferOverflowPolicy DEFAULT_BUFFER_OVERFLOW_POLICY = BufferOverflowPolicy.BLOCK;
 
     private final String propertyName;
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2025 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,10 +16,12 @@
 
 package org.glassfish.main.jul.handler;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 
 import org.glassfish.main.jul.record.GlassFishLogRecord;
@@ -28,8 +30,13 @@ import org.glassfish.main.jul.tracing.GlassFishLoggingTracer;
 /**
  * The buffer for log records.
  * <p>
- * If it is full and another record is comming to the buffer, the record will wait until the
- * buffer would have a free capacity, but only for a maxWait seconds.
+ * Records are stored in a preallocated ring. Logging threads claim a slot by a compare and set,
+ * so they don't wait for each other and they don't allocate anything. Records are provided
+ * to consumers in the order in which the slots were claimed.
+ * <p>
+ * What happens if the buffer is full and another record is comming to the buffer, depends on
+ * the {@link BufferOverflowPolicy}. With the {@link BufferOverflowPolicy#BLOCK}, the record
+ * will wait until the buffer would have a free capacity, but only for a maxWait seconds.
  * <p>
  * If the buffer would not have free capacity even after the maxWait time, the buffer will be
  * automatically cleared, the incomming record will be lost and there will be a stacktrace in
@@ -39,17 +46,34 @@ import org.glassfish.main.jul.tracing.GlassFishLoggingTracer;
  * but it's previous unprocessed log records would be lost.
  * <li>If the maxWait is lower than 1, the calling thread would be blocked until some records would
  * be processed. It may remain blocked forever.
+ * <li>If the waiting thread is interrupted, the incomming record is dropped.
  * </ul>
+ * Dropped records are counted and consumers receive a {@link Level#WARNING} record with the count
+ * before the next record from the buffer.
  *
  * @author David Matejcek
  */
 class LogRecordBuffer {
 
-    private final BlockingQueue<GlassFishLogRecord> pendingRecords = new LinkedBlockingQueue<>();
-    private final CapacitySemaphore availableCapacity;
+    /** With the {@link BufferOverflowPolicy#SAMPLE}, one of this count of records is not dropped */
+    static final int SAMPLE_RATE = 100;
+
+    /** Guards the consumer side of the rings */
+    private final ReentrantLock consumerLock = new ReentrantLock();
+    private final AtomicLong droppedRecords = new AtomicLong();
+    private final AtomicLong sampledRecords = new AtomicLong();
+
+    /** Ring for new records */
+    private volatile Ring producerRing;
+    /** Ring with the oldest records, it is followed by newer rings after reconfiguration */
+    private volatile Ring consumerRing;
+    private volatile Thread waitingConsumer;
+    /** Producers waiting for a free capacity, the consumer unparks one of them per released slot */
+    private final ConcurrentLinkedQueue<Thread> waitingProducers = new ConcurrentLinkedQueue<>();
 
     private volatile int capacity;
     private volatile int maxWait;
+    private volatile BufferOverflowPolicy overflowPolicy;
 
 
     /**
@@ -88,9 +112,25 @@ class LogRecordBuffer {
      *            forever.
      */
     LogRecordBuffer(final int capacity, final int maxWait) {
+        this(capacity, maxWait, BufferOverflowPolicy.BLOCK);
+    }
+
+
+    /**
+     * The buffer for log records.
+     *
+     * @param capacity capacity of the buffer.
+     * @param maxWait maximal time in seconds to wait for the free capacity. If &lt; 1, can wait
+     *            forever.
+     * @param overflowPolicy what to do with records coming to the full buffer. Null means
+     *            {@link BufferOverflowPolicy#BLOCK}.
+     */
+    LogRecordBuffer(final int capacity, final int maxWait, final BufferOverflowPolicy overflowPolicy) {
         this.capacity = capacity;
         this.maxWait = maxWait;
-        this.availableCapacity = new CapacitySemaphore(capacity);
+        this.overflowPolicy = overflowPolicy == null ? BufferOverflowPolicy.BLOCK : overflowPolicy;
+        this.producerRing = new Ring(capacity);
+        this.consumerRing = this.producerRing;
     }
 
 
@@ -101,22 +141,40 @@ class LogRecordBuffer {
      * @param newMaxWait maximal time in seconds to wait for the free capacity. If &lt; 1, can wait
      *            forever.
      */
-    public synchronized void reconfigure(final int newCapacity, final int newMaxWait) {
-        if (this.maxWait != newMaxWait) {
-            this.maxWait = newMaxWait;
-        }
+    public void reconfigure(final int newCapacity, final int newMaxWait) {
+        reconfigure(newCapacity, newMaxWait, overflowPolicy);
+    }
 
-        final int permitsToAdd = newCapacity - capacity;
-        if (permitsToAdd == 0) {
+
+    /**
+     * Reconfigures the buffer.
+     * <p>
+     * If the capacity changes, new records go to a new ring. Records in the previous ring are
+     * still provided first.
+     *
+     * @param newCapacity capacity of the buffer.
+     * @param newMaxWait maximal time in seconds to wait for the free capacity. If &lt; 1, can wait
+     *            forever.
+     * @param newOverflowPolicy what to do with records coming to the full buffer. Null means
+     *            {@link BufferOverflowPolicy#BLOCK}.
+     */
+    public synchronized void reconfigure(final int newCapacity, final int newMaxWait,
+        final BufferOverflowPolicy newOverflowPolicy) {
+        this.maxWait = newMaxWait;
+        this.overflowPolicy = newOverflowPolicy == null ? BufferOverflowPolicy.BLOCK : newOverflowPolicy;
+        if (newCapacity == capacity) {
             // no need to change the capacity
             return;
         }
-        if (permitsToAdd > 0) {
-            this.availableCapacity.release(permitsToAdd);
-        } else {
-            this.availableCapacity.reducePermits(-permitsToAdd);
-        }
+        final Ring previousRing = this.producerRing;
+        final Ring ring = new Ring(newCapacity);
+        this.producerRing = ring;
+        // Producers still using the previous ring will move to the new ring.
+        previousRing.close(ring);
         this.capacity = newCapacity;
+        signalConsumer();
+        // Waiting producers can use the new ring
+        signalAllProducers();
     }
 
 
@@ -124,7 +182,7 @@ class LogRecordBuffer {
      * @return true if there are not pending records to provide.
      */
     public boolean isEmpty() {
-        return pendingRecords.isEmpty();
+        return getSize() == 0;
     }
 
 
@@ -132,7 +190,11 @@ class LogRecordBuffer {
      * @return count of records in the buffer waiting to be processed.
      */
     public int getSize() {
-        return pendingRecords.size();
+        long size = 0;
+        for (Ring ring = consumerRing; ring != null; ring = ring.next) {
+            size += ring.getSize();
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
     }
 
 
@@ -144,32 +206,64 @@ class LogRecordBuffer {
     }
 
 
+    /**
+     * @return count of records dropped since the last report to consumers.
+     */
+    public long getDroppedCount() {
+        return droppedRecords.get();
+    }
+
+
     /**
      * Waits for a record or thread interrupt signal
      *
      * @return {@link GlassFishLogRecord} or null if interrupted.
      */
     public GlassFishLogRecord pollOrWait() {
-        final GlassFishLogRecord logRecord;
-        try {
-            logRecord = pendingRecords.take();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return null;
-        }
-        if (availableCapacity.availablePermits() < this.capacity) {
-            availableCapacity.release();
+        final Thread consumer = Thread.currentThread();
+        while (true) {
+            GlassFishLogRecord logRecord = poll();
+            if (logRecord != null) {
+                return logRecord;
+            }
+            if (consumer.isInterrupted()) {
+                return null;
+            }
+            // Producers read this after publishing a record, so one of us always sees the other.
+            waitingConsumer = consumer;
+            try {
+                logRecord = poll();
+                if (logRecord != null) {
+                    return logRecord;
+                }
+                LockSupport.park(this);
+            } finally {
+                waitingConsumer = null;
+            }
         }
-        return logRecord;
     }
 
+
     /**
      * @return null if there are no pending records, first in the buffer otherwise.
      */
     public GlassFishLogRecord poll() {
-        GlassFishLogRecord logRecord = pendingRecords.poll();
-        if (logRecord != null && availableCapacity.availablePermits() < this.capacity) {
-            availableCapacity.release();
+        final GlassFishLogRecord logRecord;
+        consumerLock.lock();
+        try {
+            if (droppedRecords.get() > 0) {
+                final long dropped = droppedRecords.getAndSet(0);
+                if (dropped > 0) {
+                    return new GlassFishLogRecord(Level.WARNING, this + ": " + dropped
+                        + " log records were dropped, because the buffer was full.", false);
+                }
+            }
+            logRecord = pollFromRings();
+        } finally {
+            consumerLock.unlock();
+        }
+        if (logRecord != null) {
+            signalProducer();
         }
         return logRecord;
     }
@@ -181,6 +275,14 @@ class LogRecordBuffer {
      * @param record
      */
     public void add(final GlassFishLogRecord record) {
+        if (offer(record)) {
+            return;
+        }
+        final BufferOverflowPolicy policy = overflowPolicy;
+        if (policy == BufferOverflowPolicy.DROP || policy == BufferOverflowPolicy.SAMPLE && !isSampled(record)) {
+            droppedRecords.incrementAndGet();
+            return;
+        }
         if (maxWait > 0) {
             addWithTimeout(record);
         } else {
@@ -189,37 +291,53 @@ class LogRecordBuffer {
     }
 
 
+    private boolean isSampled(final GlassFishLogRecord record) {
+        return record.getLevel().intValue() >= Level.WARNING.intValue()
+            || sampledRecords.incrementAndGet() % SAMPLE_RATE == 0;
+    }
+
+
     /**
      * This prevents deadlock - when the waiting is not successful, it forcibly drops all waiting records.
      * Logs an error after that.
      */
     private void addWithTimeout(final GlassFishLogRecord record) {
-        try {
-            if (availableCapacity.tryAcquire(maxWait, TimeUnit.SECONDS)) {
-                pendingRecords.add(record);
-                availableCapacity.release();
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(maxWait);
+        while (!offer(record)) {
+            if (Thread.currentThread().isInterrupted()) {
+                GlassFishLoggingTracer.stacktrace(getClass(), "addWithTimeout - interrupted, the record was dropped.");
+                droppedRecords.incrementAndGet();
+                // We might have consumed the signal of a released slot
+                signalProducer();
+                return;
+            }
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            if (offerOrPark(record, remaining)) {
                 return;
             }
-        } catch (final InterruptedException e) {
-            GlassFishLoggingTracer.stacktrace(getClass(),
-                "addWithTimeout - interrupted, adding waiting records before shutdown.");
-            pendingRecords.add(record);
-            availableCapacity.release();
-            Thread.currentThread().interrupt();
-            return;
         }
 
-        availableCapacity.drainPermits();
-        pendingRecords.clear();
+        consumerLock.lock();
+        try {
+            while (pollFromRings() != null) {
+                // dropping all waiting records
+            }
+        } finally {
+            consumerLock.unlock();
+        }
+        signalAllProducers();
 
         // Note: the record is not meaningful for the message. The cause is in another place.
-        pendingRecords.add(new GlassFishLogRecord(Level.SEVERE, //
+        if (!offer(new GlassFishLogRecord(Level.SEVERE, //
                 this + ": The buffer was forcibly cleared after " + maxWait + " s timeout for adding another log record." //
                         + " Log records were lost." //
                         + " It might be caused by a recursive deadlock," //
-                        + " you can increase the capacity or the timeout to avoid this.", false));
-
-        availableCapacity.release(capacity - 1);
+                        + " you can increase the capacity or the timeout to avoid this.", false))) {
+            droppedRecords.incrementAndGet();
+        }
     }
 
 
@@ -227,46 +345,205 @@ class LogRecordBuffer {
      * This prevents losing any records, but may end up in deadlock if the capacity is reached.
      */
     private void addWithUnlimitedWaiting(final GlassFishLogRecord record) {
+        while (!offer(record)) {
+            if (Thread.currentThread().isInterrupted()) {
+                GlassFishLoggingTracer.stacktrace(getClass(),
+                    "addWithUnlimitedWaiting - interrupted, the record was dropped.");
+                droppedRecords.incrementAndGet();
+                // We might have consumed the signal of a released slot
+                signalProducer();
+                return;
+            }
+            if (offerOrPark(record, 0L)) {
+                return;
+            }
+        }
+    }
+
+
+    /**
+     * Adds the record or parks the current thread until the consumer releases a slot.
+     *
+     * @param record the record to add
+     * @param nanos maximal time to park, 0 to park until unparked
+     * @return true if the record was added, false if it should be offered again.
+     */
+    private boolean offerOrPark(final GlassFishLogRecord record, final long nanos) {
+        final Thread producer = Thread.currentThread();
+        // The consumer reads this after releasing a slot, so one of us always sees the other.
+        waitingProducers.add(producer);
         try {
-            availableCapacity.acquire();
-        } catch (final InterruptedException e) {
-            GlassFishLoggingTracer.stacktrace(getClass(),
-                "addWithUnlimitedWaiting - interrupted, adding waiting records before shutdown.");
-            Thread.currentThread().interrupt();
+            if (offer(record)) {
+                return true;
+            }
+            if (nanos > 0) {
+                LockSupport.parkNanos(this, nanos);
+            } else {
+                LockSupport.park(this);
+            }
+            return false;
+        } finally {
+            waitingProducers.remove(producer);
+        }
+    }
+
+
+    /**
+     * @return false if the buffer is full.
+     */
+    private boolean offer(final GlassFishLogRecord record) {
+        while (true) {
+            final Ring ring = producerRing;
+            final int result = ring.offer(record);
+            if (result == Ring.ADDED) {
+                signalConsumer();
+                return true;
+            }
+            if (result == Ring.FULL) {
+                return false;
+            }
+            // The ring was closed by reconfiguration, the producerRing is already the new one.
+        }
+    }
+
+
+    private void signalConsumer() {
+        final Thread consumer = waitingConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+
+    private void signalProducer() {
+        final Thread producer = waitingProducers.poll();
+        if (producer != null) {
+            LockSupport.unpark(producer);
+        }
+    }
+
+
+    private void signalAllProducers() {
+        // Woken producers remove themselves
+        for (Thread producer : waitingProducers) {
+            LockSupport.unpark(producer);
+        }
+    }
+
+
+    /**
+     * Must be called with the consumerLock held.
+     */
+    private GlassFishLogRecord pollFromRings() {
+        Ring ring = consumerRing;
+        while (true) {
+            final GlassFishLogRecord logRecord = ring.poll();
+            if (logRecord != null || !ring.isDrained()) {
+                return logRecord;
+            }
+            ring = ring.next;
+            consumerRing = ring;
         }
-        pendingRecords.add(record);
-        availableCapacity.release();
     }
 
 
     /**
      * Returns simple name of this class and size/capacity
      *
-     * @return ie.: LogRecordBuffer@2b488078[usage=5/10000, maxWaitTime=60 s]
+     * @return ie.: LogRecordBuffer@2b488078[usage=5/10000, maxWaitTime=60 s, overflowPolicy=BLOCK]
      */
     @Override
     public String toString() {
-        return super.toString() + "[usage=" + getSize() + "/" + getCapacity() + ", maxWaitTime=" + maxWait + " s]";
+        return super.toString() + "[usage=" + getSize() + "/" + getCapacity() + ", maxWaitTime=" + maxWait
+            + " s, overflowPolicy=" + overflowPolicy + "]";
     }
 
-    private static class CapacitySemaphore extends Semaphore {
 
-        private static final long serialVersionUID = -4575150599241117311L;
+    /**
+     * Bounded ring of slots, many producers, consumers must be serialized.
+     * <p>
+     * A producer claims the slot by incrementing the tail and then stores the record to it.
+     * The consumer takes records from the head until it finds an empty slot, which is either
+     * not claimed yet or not stored yet. The ring can be closed, then producers cannot claim
+     * any more slots and must use the next ring.
+     */
+    private static final class Ring {
+
+        static final int ADDED = 0;
+        static final int FULL = 1;
+        static final int CLOSED = 2;
+
+        private static final long CLOSED_FLAG = 1L << 62;
+        private static final int MAX_CAPACITY = 1 << 30;
+
+        private final int capacity;
+        private final int mask;
+        private final AtomicReferenceArray<GlassFishLogRecord> slots;
+        /** Next sequence to claim, with the {@link #CLOSED_FLAG} once the ring is closed */
+        private final AtomicLong tail = new AtomicLong();
+        /** Next sequence to consume, written only by the consumer */
+        private volatile long head;
+        private volatile Ring next;
+
+        Ring(final int capacity) {
+            this.capacity = Math.min(Math.max(capacity, 1), MAX_CAPACITY);
+            int size = Integer.highestOneBit(this.capacity);
+            if (size < this.capacity) {
+                size <<= 1;
+            }
+            this.mask = size - 1;
+            this.slots = new AtomicReferenceArray<>(size);
+        }
+
+
+        int offer(final GlassFishLogRecord record) {
+            long sequence;
+            do {
+                sequence = tail.get();
+                if ((sequence & CLOSED_FLAG) != 0) {
+                    return CLOSED;
+                }
+                if (sequence - head >= capacity) {
+                    return FULL;
+                }
+            } while (!tail.compareAndSet(sequence, sequence + 1));
+            // The consumer emptied the slot before it moved the head
+            slots.set((int) sequence & mask, record);
+            return ADDED;
+        }
+
 
-        private CapacitySemaphore(int capacity) {
-            super(capacity, true);
+        GlassFishLogRecord poll() {
+            final long sequence = head;
+            final int index = (int) sequence & mask;
+            final GlassFishLogRecord record = slots.get(index);
+            if (record == null) {
+                return null;
+            }
+            slots.lazySet(index, null);
+            // Releases the slot to producers
+            head = sequence + 1;
+            return record;
         }
 
-        @Override
-        protected void reducePermits(int reduction) {
-            super.reducePermits(reduction);
+
+        int getSize() {
+            return (int) Math.max(0, (tail.get() & ~CLOSED_FLAG) - head);
+        }
+
+
+        void close(final Ring nextRing) {
+            this.next = nextRing;
+            tail.getAndUpdate(sequence -> sequence | CLOSED_FLAG);
         }
 
 
-        @Override
-        public String toString() {
-            return super.toString() + "[availablePermits=" + availablePermits() + "][waitingThreadsForPermits="
-                + getQueueLength() + "]";
+        /**
+         * @return true if the ring is closed and all claimed slots were consumed.
+         */
+        boolean isDrained() {
+            final long sequence = tail.get();
+            return (sequence & CLOSED_FLAG) != 0 && (sequence & ~CLOSED_FLAG) == head;
         }
     }
 }
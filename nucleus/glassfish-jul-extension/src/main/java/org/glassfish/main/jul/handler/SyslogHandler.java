@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2025 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2006, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -31,6 +31,7 @@ import org.glassfish.main.jul.record.GlassFishLogRecord;
 import org.glassfish.main.jul.record.MessageResolver;
 
 import static org.glassfish.main.jul.handler.SyslogHandlerProperty.BUFFER_CAPACITY;
+import static org.glassfish.main.jul.handler.SyslogHandlerProperty.BUFFER_OVERFLOW_POLICY;
 import static org.glassfish.main.jul.handler.SyslogHandlerProperty.BUFFER_TIMEOUT;
 import static org.glassfish.main.jul.handler.SyslogHandlerProperty.ENABLED;
 import static org.glassfish.main.jul.handler.SyslogHandlerProperty.ENCODING;
@@ -64,7 +65,8 @@ public class SyslogHandler extends Handler {
 
         final int bufferCapacity = helper.getInteger(BUFFER_CAPACITY, 5000);
         final int bufferTimeout = helper.getInteger(BUFFER_TIMEOUT, 300);
-        pendingRecords = new LogRecordBuffer(bufferCapacity, bufferTimeout);
+        final BufferOverflowPolicy overflowPolicy = helper.getEnum(BUFFER_OVERFLOW_POLICY, BufferOverflowPolicy.BLOCK);
+        pendingRecords = new LogRecordBuffer(bufferCapacity, bufferTimeout, overflowPolicy);
 
         final String host = helper.getString(HOST, getLocalHost());
         final int port = helper.getInteger(PORT, 514);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2022, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -55,6 +55,11 @@ public enum SyslogHandlerProperty implements LogProperty {
      * 0 means wait forever.
      */
     BUFFER_TIMEOUT("buffer.timeoutInSeconds"),
+    /**
+     * What happens with a new record if the buffer is full, see {@link BufferOverflowPolicy}.
+     * Default is {@link BufferOverflowPolicy#BLOCK}.
+     */
+    BUFFER_OVERFLOW_POLICY("buffer.overflowPolicy"),
     ;
 
     private final String propertyName;
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.main.jul.handler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+import org.glassfish.main.jul.record.GlassFishLogRecord;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class LogRecordBufferTest {
+
+    @Test
+    public void recordsAreProvidedInOrder() {
+        final LogRecordBuffer buffer = new LogRecordBuffer(3);
+        buffer.add(record(Level.INFO, "1"));
+        buffer.add(record(Level.INFO, "2"));
+        assertThat(buffer.getSize(), equalTo(2));
+        assertThat(buffer.poll().getMessage(), equalTo("1"));
+        buffer.add(record(Level.INFO, "3"));
+        buffer.add(record(Level.INFO, "4"));
+        assertAll(
+            () -> assertThat(buffer.poll().getMessage(), equalTo("2")),
+            () -> assertThat(buffer.pollOrWait().getMessage(), equalTo("3")),
+            () -> assertThat(buffer.poll().getMessage(), equalTo("4")),
+            () -> assertThat(buffer.poll(), nullValue())
+        );
+    }
+
+
+    @Test
+    public void droppedRecordsAreReported() {
+        final LogRecordBuffer buffer = new LogRecordBuffer(2, 0, BufferOverflowPolicy.DROP);
+        for (int i = 0; i < 5; i++) {
+            buffer.add(record(Level.SEVERE, Integer.toString(i)));
+        }
+        final GlassFishLogRecord report = buffer.poll();
+        assertAll(
+            () -> assertThat(report.getLevel(), equalTo(Level.WARNING)),
+            () -> assertThat(report.getMessage(), containsString("3 log records were dropped")),
+            () -> assertThat(buffer.poll().getMessage(), equalTo("0")),
+            () -> assertThat(buffer.poll().getMessage(), equalTo("1")),
+            () -> assertThat(buffer.poll(), nullValue())
+        );
+    }
+
+
+    @Test
+    public void sampledRecords() {
+        final LogRecordBuffer buffer = new LogRecordBuffer(1, 0, BufferOverflowPolicy.SAMPLE);
+        buffer.add(record(Level.INFO, "first"));
+        // The last record of the sample would wait forever, the rest is dropped.
+        for (int i = 1; i < LogRecordBuffer.SAMPLE_RATE; i++) {
+            buffer.add(record(Level.FINE, Integer.toString(i)));
+        }
+        assertAll(
+            () -> assertThat(buffer.getDroppedCount(), equalTo(LogRecordBuffer.SAMPLE_RATE - 1L)),
+            () -> assertThat(buffer.getSize(), equalTo(1))
+        );
+    }
+
+
+    @Test
+    public void timeoutClearsTheBuffer() {
+        final LogRecordBuffer buffer = new LogRecordBuffer(1, 1);
+        buffer.add(record(Level.INFO, "first"));
+        buffer.add(record(Level.INFO, "second"));
+        final GlassFishLogRecord report = buffer.poll();
+        assertAll(
+            () -> assertThat(report.getLevel(), equalTo(Level.SEVERE)),
+            () -> assertThat(report.getMessage(), containsString("The buffer was forcibly cleared")),
+            () -> assertThat(buffer.poll(), nullValue())
+        );
+    }
+
+
+    @Test
+    public void concurrentProducersAndReconfiguration() throws Exception {
+        final int producers = 4;
+        final int records = 10_000;
+        final LogRecordBuffer buffer = new LogRecordBuffer(16);
+        final ExecutorService executor = Executors.newFixedThreadPool(producers + 1);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                final String prefix = p + ":";
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < records; i++) {
+                        buffer.add(record(Level.INFO, prefix + i));
+                    }
+                }));
+            }
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 100; i++) {
+                    buffer.reconfigure(8 + i % 5 * 7, 0);
+                    Thread.yield();
+                }
+            }));
+
+            final int[] last = new int[producers];
+            Arrays.fill(last, -1);
+            for (int count = 0; count < producers * records; count++) {
+                final String[] message = buffer.pollOrWait().getMessage().split(":");
+                final int producer = Integer.parseInt(message[0]);
+                final int index = Integer.parseInt(message[1]);
+                assertThat("Record of the producer " + producer, index, equalTo(last[producer] + 1));
+                last[producer] = index;
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(buffer.poll(), nullValue());
+    }
+
+
+    @Test
+    public void blockedProducerParksUntilSlotIsReleased() throws Exception {
+        final LogRecordBuffer buffer = new LogRecordBuffer(1);
+        buffer.add(record(Level.INFO, "first"));
+        final Thread producer = new Thread(() -> buffer.add(record(Level.INFO, "second")));
+        producer.start();
+        try {
+            // A producer polling the buffer in a loop would be in the TIMED_WAITING state
+            final long deadline = System.currentTimeMillis() + 10_000L;
+            while (producer.getState() != Thread.State.WAITING || LockSupport.getBlocker(producer) != buffer) {
+                assertThat("Producer state", System.currentTimeMillis() < deadline, equalTo(true));
+                Thread.sleep(1L);
+            }
+
+            assertThat(buffer.poll().getMessage(), equalTo("first"));
+            producer.join(10_000L);
+            assertAll(
+                () -> assertThat(producer.isAlive(), equalTo(false)),
+                () -> assertThat(buffer.poll().getMessage(), equalTo("second")),
+                () -> assertThat(buffer.poll(), nullValue())
+            );
+        } finally {
+            producer.interrupt();
+        }
+    }
+
+
+    @Test
+    public void everyBlockedProducerIsWoken() throws Exception {
+        final int producers = 8;
+        final int records = 1_000;
+        final LogRecordBuffer buffer = new LogRecordBuffer(1, 0);
+        final ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < records; i++) {
+                        buffer.add(record(Level.INFO, Integer.toString(i)));
+                    }
+                }));
+            }
+            for (int count = 0; count < producers * records; count++) {
+                buffer.pollOrWait();
+                if (count % 100 == 0) {
+                    // Let the producers park on the full buffer
+                    Thread.sleep(1L);
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(buffer.poll(), nullValue());
+    }
+
+
+    private static GlassFishLogRecord record(final Level level, final String message) {
+        return new GlassFishLogRecord(level, message, false);
+    }
+}